@@ -26,6 +26,7 @@ import java.nio.charset.Charset;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.Arrays;
 import java.util.UUID;
 
 import static grakn.core.common.exception.ErrorMessage.ThingWrite.ILLEGAL_STRING_SIZE;
@@ -56,6 +57,14 @@ public class Bytes {
         return joint;
     }
 
+    /**
+     * Compares two keys lexicographically as unsigned bytes, which is the order
+     * in which the storage sorts its keys.
+     */
+    public static int compareKeys(byte[] key1, byte[] key2) {
+        return Arrays.compareUnsigned(key1, key2);
+    }
+
     public static byte[] stripPrefix(byte[] bytes, int prefixLength) {
         return copyOfRange(bytes, prefixLength, bytes.length);
     }
@@ -77,7 +86,11 @@ public class Bytes {
 
     public static int unsignedBytesToShort(byte[] bytes) {
         assert bytes.length == SHORT_SIZE;
-        return ((bytes[0] << 8) & 0xff00) | (bytes[1] & 0xff);
+        return unsignedBytesToShort(bytes, 0);
+    }
+
+    public static int unsignedBytesToShort(byte[] bytes, int from) {
+        return ((bytes[from] << 8) & 0xff00) | (bytes[from + 1] & 0xff);
     }
 
     public static byte[] shortToSortedBytes(int num) {
@@ -89,8 +102,15 @@ public class Bytes {
 
     public static short sortedBytesToShort(byte[] bytes) {
         assert bytes.length == SHORT_SIZE;
-        bytes[0] = (byte) (bytes[0] ^ 0x80);
-        return ByteBuffer.wrap(bytes).getShort();
+        return sortedBytesToShort(bytes, 0);
+    }
+
+    /**
+     * Decodes a {@code short} from the sorted bytes at a given position in an
+     * array, such as a key read from storage, without copying or modifying them.
+     */
+    public static short sortedBytesToShort(byte[] bytes, int from) {
+        return (short) (unsignedBytesToShort(bytes, from) ^ 0x8000);
     }
 
     public static byte[] integerToSortedBytes(int num) {
@@ -123,8 +143,23 @@ public class Bytes {
 
     public static long sortedBytesToLong(byte[] bytes) {
         assert bytes.length == LONG_SIZE;
-        bytes[0] = (byte) (bytes[0] ^ 0x80);
-        return ByteBuffer.wrap(bytes).getLong();
+        return sortedBytesToLong(bytes, 0);
+    }
+
+    /**
+     * Decodes a {@code long} from the sorted bytes at a given position in an
+     * array, such as a key read from storage, without copying or modifying them.
+     */
+    public static long sortedBytesToLong(byte[] bytes, int from) {
+        return bytesToRawLong(bytes, from) ^ Long.MIN_VALUE;
+    }
+
+    private static long bytesToRawLong(byte[] bytes, int from) {
+        long value = 0;
+        for (int i = from; i < from + LONG_SIZE; i++) {
+            value = (value << 8) | (bytes[i] & 0xff);
+        }
+        return value;
     }
 
     public static byte[] longToBytes(long num) {
@@ -170,14 +205,18 @@ public class Bytes {
 
     public static double sortedBytesToDouble(byte[] bytes) {
         assert bytes.length == DOUBLE_SIZE;
-        if ((bytes[0] & 0x80) == 0x80) {
-            bytes[0] = (byte) (bytes[0] ^ 0x80);
-        } else {
-            for (int i = 0; i < DOUBLE_SIZE; i++) {
-                bytes[i] = (byte) (bytes[i] ^ 0xff);
-            }
-        }
-        return ByteBuffer.wrap(bytes).getDouble();
+        return sortedBytesToDouble(bytes, 0);
+    }
+
+    /**
+     * Decodes a {@code double} from the sorted bytes at a given position in an
+     * array, reversing {@link #doubleToSortedBytes(double)} without copying or
+     * modifying them.
+     */
+    public static double sortedBytesToDouble(byte[] bytes, int from) {
+        final long sortedBits = bytesToRawLong(bytes, from);
+        if (sortedBits < 0) return Double.longBitsToDouble(sortedBits ^ Long.MIN_VALUE);
+        else return Double.longBitsToDouble(~sortedBits);
     }
 
     public static byte[] stringToBytes(String value, Charset encoding) throws GraknCheckedException {
@@ -189,9 +228,12 @@ public class Bytes {
     }
 
     public static String bytesToString(byte[] bytes, Charset encoding) {
-        int stringLength = unsignedBytesToShort(new byte[]{bytes[0], bytes[1]});
-        final byte[] x = copyOfRange(bytes, SHORT_SIZE, SHORT_SIZE + stringLength);
-        return new String(x, encoding);
+        return bytesToString(bytes, 0, encoding);
+    }
+
+    public static String bytesToString(byte[] bytes, int from, Charset encoding) {
+        final int stringLength = unsignedBytesToShort(bytes, from);
+        return new String(bytes, from + SHORT_SIZE, stringLength, encoding);
     }
 
     public static byte booleanToByte(boolean value) {
@@ -207,7 +249,11 @@ public class Bytes {
     }
 
     public static java.time.LocalDateTime bytesToDateTime(byte[] bytes, ZoneId timeZoneID) {
-        return LocalDateTime.ofInstant(Instant.ofEpochMilli(sortedBytesToLong(bytes)), timeZoneID);
+        return bytesToDateTime(bytes, 0, timeZoneID);
+    }
+
+    public static java.time.LocalDateTime bytesToDateTime(byte[] bytes, int from, ZoneId timeZoneID) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(sortedBytesToLong(bytes, from)), timeZoneID);
     }
 
     public static byte[] uuidToBytes(UUID uuid) {
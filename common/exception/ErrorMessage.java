@@ -67,6 +67,8 @@ public abstract class ErrorMessage extends grakn.common.exception.ErrorMessage {
                 new Server(15, "Iteration was requested for ID '%s', but this ID does not correspond to an existing query iterator.");
         public static final Server DUPLICATE_REQUEST =
                 new Server(16, "The request with ID '%s' is a duplicate.");
+        public static final Server UNRECOGNISED_STORAGE_PROFILE =
+                new Server(17, "The storage profile '%s' was not recognised.");
 
         private static final String codePrefix = "SRV";
         private static final String messagePrefix = "Invalid Server Operation";
@@ -115,6 +117,10 @@ public abstract class ErrorMessage extends grakn.common.exception.ErrorMessage {
                 new Database(3, "Database with the name '%s' has been deleted.");
         public static final Database DATABASE_CLOSED =
                 new Database(4, "Attempted to open a new session from the database '%s' that has been closed.");
+        public static final Database DATABASE_UNPARTITIONED =
+                new Database(5, "The database '%s' stores its data without the partitions of this version, and has to be migrated before it can be opened.");
+        public static final Database DATABASE_BULK_LOADING =
+                new Database(6, "The database '%s' is being bulk loaded, and cannot be opened by a session until the load is complete.");
 
         private static final String codePrefix = "DBS";
         private static final String messagePrefix = "Invalid Database Operations";
@@ -159,6 +165,8 @@ public abstract class ErrorMessage extends grakn.common.exception.ErrorMessage {
                 new Transaction(9, "Transaction can not be null.");
         public static final Transaction BAD_TRANSACTION_TYPE =
                 new Transaction(10, "The transaction type '%s' was not recognised.");
+        public static final Transaction ILLEGAL_DURABILITY =
+                new Transaction(11, "The durability '%s' cannot be used in a schema transaction, which is always synced.");
 
         private static final String codePrefix = "TXN";
         private static final String messagePrefix = "Invalid Transaction Operation";
@@ -444,6 +452,8 @@ public abstract class ErrorMessage extends grakn.common.exception.ErrorMessage {
                 new Migrator(3, "The type '%s' (originally '%s') is not defined in the schema.");
         public static final Migrator INVALID_DATA =
                 new Migrator(4, "The data being imported is invalid.");
+        public static final Migrator BULK_LOAD_DATABASE_NOT_EMPTY =
+                new Migrator(5, "The database '%s' must be empty, and have no open sessions, to be bulk loaded.");
 
         private static final String codePrefix = "MIG";
         private static final String messagePrefix = "Migrator failure";
@@ -21,6 +21,7 @@ package grakn.core.common.iterator;
 import grakn.common.collection.Either;
 
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -65,6 +66,15 @@ public class Iterators {
         return new LinkedIterators<>(converted);
     }
 
+    /**
+     * Merges two iterators sorted in the same order of their keys, returning only
+     * the element of the first iterator when both hold an element with the same key.
+     */
+    public static <T, K> MergedIterator<T, K> merge(ResourceIterator<T> first, ResourceIterator<T> second,
+                                                    Function<T, K> key, Comparator<? super K> comparator) {
+        return new MergedIterator<>(first, second, key, comparator);
+    }
+
     public static <T> LoopIterator<T> loop(T seed, Predicate<T> predicate, UnaryOperator<T> function) {
         return new LoopIterator<>(seed, predicate, function);
     }
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.common.iterator;
+
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * Merges two iterators that are sorted in the same order of their keys into a
+ * single iterator in that order. When both iterators hold an element with the
+ * same key, only the element of the first iterator is returned.
+ *
+ * This allows an iterator over buffered writes to overlay an iterator over the
+ * storage in constant memory, unlike a {@code DistinctIterator}, which keeps
+ * every element that it has returned. Neither iterator may return null.
+ */
+public class MergedIterator<T, K> implements ResourceIterator<T> {
+
+    private final ResourceIterator<T> first;
+    private final ResourceIterator<T> second;
+    private final Function<T, K> key;
+    private final Comparator<? super K> comparator;
+    private T firstNext;
+    private T secondNext;
+    private K firstKey;
+    private K secondKey;
+
+    MergedIterator(ResourceIterator<T> first, ResourceIterator<T> second, Function<T, K> key,
+                   Comparator<? super K> comparator) {
+        this.first = first;
+        this.second = second;
+        this.key = key;
+        this.comparator = comparator;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (firstNext == null && first.hasNext()) firstKey = key.apply(firstNext = first.next());
+        if (secondNext == null && second.hasNext()) secondKey = key.apply(secondNext = second.next());
+        return firstNext != null || secondNext != null;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        final int comparison;
+        if (secondNext == null) comparison = -1;
+        else if (firstNext == null) comparison = 1;
+        else comparison = comparator.compare(firstKey, secondKey);
+
+        final T result;
+        if (comparison <= 0) {
+            result = firstNext;
+            firstNext = null;
+            firstKey = null;
+            if (comparison == 0) {
+                secondNext = null;
+                secondKey = null;
+            }
+        } else {
+            result = secondNext;
+            secondNext = null;
+            secondKey = null;
+        }
+        return result;
+    }
+
+    @Override
+    public void recycle() {
+        first.recycle();
+        second.recycle();
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.common.iterator;
+
+import grakn.common.collection.Pair;
+import org.junit.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static grakn.common.collection.Collections.list;
+import static grakn.common.collection.Collections.pair;
+import static grakn.core.common.iterator.Iterators.iterate;
+import static grakn.core.common.iterator.Iterators.merge;
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.fail;
+
+public class MergedIteratorTest {
+
+    private static MergedIterator<Integer, Integer> mergeIntegers(List<Integer> first, List<Integer> second) {
+        return merge(iterate(first), iterate(second), i -> i, Comparator.naturalOrder());
+    }
+
+    @Test
+    public void test_merge_interleaves_elements_in_order() {
+        assertEquals(list(1, 2, 3, 4, 5, 6, 7), mergeIntegers(list(1, 4, 5, 7), list(2, 3, 6)).toList());
+    }
+
+    @Test
+    public void test_merge_with_one_empty_iterator_returns_the_other() {
+        assertEquals(list(1, 2, 3), mergeIntegers(list(1, 2, 3), list()).toList());
+        assertEquals(list(1, 2, 3), mergeIntegers(list(), list(1, 2, 3)).toList());
+        assertEquals(list(), mergeIntegers(list(), list()).toList());
+    }
+
+    @Test
+    public void test_merge_returns_the_first_element_of_equal_keys() {
+        List<Pair<Integer, String>> first = list(pair(1, "first"), pair(3, "first"), pair(4, "first"));
+        List<Pair<Integer, String>> second = list(pair(1, "second"), pair(2, "second"), pair(4, "second"), pair(5, "second"));
+        List<Pair<Integer, String>> merged = merge(iterate(first), iterate(second), Pair::first,
+                                                   Comparator.<Integer>naturalOrder()).toList();
+        assertEquals(list(pair(1, "first"), pair(2, "second"), pair(3, "first"),
+                          pair(4, "first"), pair(5, "second")), merged);
+    }
+
+    @Test
+    public void test_merge_of_identical_iterators_returns_each_element_once() {
+        assertEquals(list(1, 2, 3), mergeIntegers(list(1, 2, 3), list(1, 2, 3)).toList());
+    }
+
+    @Test
+    public void test_merge_follows_the_order_of_the_comparator() {
+        MergedIterator<Integer, Integer> merged = merge(iterate(list(9, 5, 1)), iterate(list(8, 5, 2)),
+                                                        i -> i, Comparator.<Integer>reverseOrder());
+        assertEquals(list(9, 8, 5, 2, 1), merged.toList());
+    }
+
+    @Test
+    public void test_next_after_the_end_throws() {
+        MergedIterator<Integer, Integer> merged = mergeIntegers(list(1), list(1));
+        merged.next();
+        assertFalse(merged.hasNext());
+        try {
+            merged.next();
+            fail();
+        } catch (NoSuchElementException ignored) {
+        }
+    }
+}
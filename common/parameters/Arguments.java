@@ -72,5 +72,27 @@ public class Arguments {
 
             public boolean isWrite() { return isWrite; }
         }
+
+        /**
+         * How durable the writes of a transaction are once it has committed.
+         */
+        public enum Durability {
+            /**
+             * The write-ahead log is synced to disk before the commit returns,
+             * so committed writes survive a crash of the machine.
+             */
+            SYNC,
+            /**
+             * The write-ahead log is written but not synced, so committed writes
+             * survive a crash of the server, but the last ones may be lost if the
+             * machine crashes.
+             */
+            ASYNC,
+            /**
+             * The write-ahead log is not written, so committed writes are lost if
+             * the server crashes before they are flushed from memory.
+             */
+            NO_WAL
+        }
     }
 }
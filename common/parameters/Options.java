@@ -19,6 +19,8 @@ package grakn.core.common.parameters;
 
 import grakn.core.common.exception.GraknException;
 
+import java.util.Optional;
+
 import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_ARGUMENT;
 
 public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options<?, ?>> {
@@ -28,6 +30,8 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
     public static final int DEFAULT_BATCH_SIZE = 50;
     public static final int DEFAULT_SESSION_IDLE_TIMEOUT_MILLIS = 10000;
     public static final int DEFAULT_SCHEMA_LOCK_ACQUIRE_TIMEOUT_MILLIS = 10000;
+    public static final int DEFAULT_READ_CACHE_SIZE = 100_000;
+    public static final int DEFAULT_WRITE_SPILL_THRESHOLD = 0;
 
     private PARENT parent;
     private Boolean infer = null;
@@ -35,6 +39,8 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
     private Integer batchSize = null;
     private Integer sessionIdlTimeoutMillis = 10000;
     private Integer schemaLockAcquireTimeoutMillis = 10000;
+    private Integer readCacheSize = null;
+    private Integer writeSpillThreshold = null;
 
     abstract SELF getThis();
 
@@ -99,13 +105,199 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
         return getThis();
     }
 
+    /**
+     * The maximum number of persisted vertices a {@code READ} transaction keeps
+     * cached, beyond which the least recently used ones are evicted.
+     */
+    public int readCacheSize() {
+        if (readCacheSize != null) return readCacheSize;
+        else if (parent != null) return parent.readCacheSize();
+        else return DEFAULT_READ_CACHE_SIZE;
+    }
+
+    public SELF readCacheSize(int readCacheSize) {
+        this.readCacheSize = readCacheSize;
+        return getThis();
+    }
+
+    /**
+     * The number of vertices a {@code WRITE} transaction holds in memory,
+     * beyond which it spills them into the write batch of its storage
+     * transaction, or 0 if it never spills them.
+     */
+    public int writeSpillThreshold() {
+        if (writeSpillThreshold != null) return writeSpillThreshold;
+        else if (parent != null) return parent.writeSpillThreshold();
+        else return DEFAULT_WRITE_SPILL_THRESHOLD;
+    }
+
+    public SELF writeSpillThreshold(int writeSpillThreshold) {
+        this.writeSpillThreshold = writeSpillThreshold;
+        return getThis();
+    }
+
     public static class Database extends Options<Options<?, ?>, Database> {
 
+        public static final String DEFAULT_STORAGE_PROFILE = "default";
+        public static final int DEFAULT_STORAGE_GROUP_COMMIT_WINDOW_MICROS = 0;
+        public static final int DEFAULT_STORAGE_GROUP_COMMIT_SIZE = 64;
+        public static final long DEFAULT_STORAGE_DATA_CACHE_SIZE = 64L * 1024 * 1024;
+        public static final int DEFAULT_STATISTICS_COUNTER_THREADS = 2;
+        public static final int DEFAULT_STATISTICS_COUNTER_BATCH_SIZE = 10_000;
+        public static final int DEFAULT_STATISTICS_SAMPLE_INTERVAL = 60;
+        public static final int DEFAULT_STATISTICS_SAMPLE_SIZE = 1_024;
+
+        private String storageProfile = null;
+        private Long storageBlockCacheSize = null;
+        private Long storageWriteBufferSize = null;
+        private Integer storageMaxOpenFiles = null;
+        private Integer storageBackgroundJobs = null;
+        private Integer storageGroupCommitWindowMicros = null;
+        private Integer storageGroupCommitSize = null;
+        private Long storageDataCacheSize = null;
+        private Integer statisticsCounterThreads = null;
+        private Integer statisticsCounterBatchSize = null;
+        private Integer statisticsSampleInterval = null;
+        private Integer statisticsSampleSize = null;
+
         @Override
         Database getThis() {
             return this;
         }
 
+        public String storageProfile() {
+            if (storageProfile != null) return storageProfile;
+            else return DEFAULT_STORAGE_PROFILE;
+        }
+
+        public Database storageProfile(String storageProfile) {
+            this.storageProfile = storageProfile;
+            return this;
+        }
+
+        public Optional<Long> storageBlockCacheSize() {
+            return Optional.ofNullable(storageBlockCacheSize);
+        }
+
+        public Database storageBlockCacheSize(long storageBlockCacheSize) {
+            this.storageBlockCacheSize = storageBlockCacheSize;
+            return this;
+        }
+
+        public Optional<Long> storageWriteBufferSize() {
+            return Optional.ofNullable(storageWriteBufferSize);
+        }
+
+        public Database storageWriteBufferSize(long storageWriteBufferSize) {
+            this.storageWriteBufferSize = storageWriteBufferSize;
+            return this;
+        }
+
+        public Optional<Integer> storageMaxOpenFiles() {
+            return Optional.ofNullable(storageMaxOpenFiles);
+        }
+
+        public Database storageMaxOpenFiles(int storageMaxOpenFiles) {
+            this.storageMaxOpenFiles = storageMaxOpenFiles;
+            return this;
+        }
+
+        public Optional<Integer> storageBackgroundJobs() {
+            return Optional.ofNullable(storageBackgroundJobs);
+        }
+
+        public Database storageBackgroundJobs(int storageBackgroundJobs) {
+            this.storageBackgroundJobs = storageBackgroundJobs;
+            return this;
+        }
+
+        public int storageGroupCommitWindowMicros() {
+            if (storageGroupCommitWindowMicros != null) return storageGroupCommitWindowMicros;
+            else return DEFAULT_STORAGE_GROUP_COMMIT_WINDOW_MICROS;
+        }
+
+        public Database storageGroupCommitWindowMicros(int storageGroupCommitWindowMicros) {
+            this.storageGroupCommitWindowMicros = storageGroupCommitWindowMicros;
+            return this;
+        }
+
+        public int storageGroupCommitSize() {
+            if (storageGroupCommitSize != null) return storageGroupCommitSize;
+            else return DEFAULT_STORAGE_GROUP_COMMIT_SIZE;
+        }
+
+        public Database storageGroupCommitSize(int storageGroupCommitSize) {
+            this.storageGroupCommitSize = storageGroupCommitSize;
+            return this;
+        }
+
+        /**
+         * @return the size in bytes of the cache of persisted vertices shared by the read
+         * transactions of each database, or 0 if the cache is disabled
+         */
+        public long storageDataCacheSize() {
+            if (storageDataCacheSize != null) return storageDataCacheSize;
+            else return DEFAULT_STORAGE_DATA_CACHE_SIZE;
+        }
+
+        public Database storageDataCacheSize(long storageDataCacheSize) {
+            this.storageDataCacheSize = storageDataCacheSize;
+            return this;
+        }
+
+        /**
+         * @return the number of threads of each database that count statistics in the background,
+         * each counting its own partition of the count jobs
+         */
+        public int statisticsCounterThreads() {
+            if (statisticsCounterThreads != null) return statisticsCounterThreads;
+            else return DEFAULT_STATISTICS_COUNTER_THREADS;
+        }
+
+        public Database statisticsCounterThreads(int statisticsCounterThreads) {
+            this.statisticsCounterThreads = statisticsCounterThreads;
+            return this;
+        }
+
+        /**
+         * @return the maximum number of count jobs counted in each transaction of the background counter
+         */
+        public int statisticsCounterBatchSize() {
+            if (statisticsCounterBatchSize != null) return statisticsCounterBatchSize;
+            else return DEFAULT_STATISTICS_COUNTER_BATCH_SIZE;
+        }
+
+        public Database statisticsCounterBatchSize(int statisticsCounterBatchSize) {
+            this.statisticsCounterBatchSize = statisticsCounterBatchSize;
+            return this;
+        }
+
+        /**
+         * @return the interval in seconds at which the values of the attributes of each database are sampled
+         */
+        public int statisticsSampleInterval() {
+            if (statisticsSampleInterval != null) return statisticsSampleInterval;
+            else return DEFAULT_STATISTICS_SAMPLE_INTERVAL;
+        }
+
+        public Database statisticsSampleInterval(int statisticsSampleInterval) {
+            this.statisticsSampleInterval = statisticsSampleInterval;
+            return this;
+        }
+
+        /**
+         * @return the maximum number of attributes of each type sampled for the histogram of its values
+         */
+        public int statisticsSampleSize() {
+            if (statisticsSampleSize != null) return statisticsSampleSize;
+            else return DEFAULT_STATISTICS_SAMPLE_SIZE;
+        }
+
+        public Database statisticsSampleSize(int statisticsSampleSize) {
+            this.statisticsSampleSize = statisticsSampleSize;
+            return this;
+        }
+
         public Database parent(Options<?, ?> parent) {
             throw GraknException.of(ILLEGAL_ARGUMENT);
         }
@@ -121,10 +313,21 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
 
     public static class Transaction extends Options<Session, Transaction> {
 
+        private Arguments.Transaction.Durability durability = null;
+
         @Override
         Transaction getThis() {
             return this;
         }
+
+        public Optional<Arguments.Transaction.Durability> durability() {
+            return Optional.ofNullable(durability);
+        }
+
+        public Transaction durability(Arguments.Transaction.Durability durability) {
+            this.durability = durability;
+            return this;
+        }
     }
 
     public static class Query extends Options<Transaction, Query> {
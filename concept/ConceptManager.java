@@ -42,11 +42,15 @@ import grakn.core.graph.vertex.TypeVertex;
 import grakn.core.graph.vertex.Vertex;
 import grakn.core.traversal.common.VertexMap;
 import graql.lang.pattern.variable.Reference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
 import static grakn.core.common.exception.ErrorMessage.Transaction.UNSUPPORTED_OPERATION;
@@ -54,6 +58,7 @@ import static grakn.core.common.exception.ErrorMessage.TypeWrite.ATTRIBUTE_VALUE
 
 public final class ConceptManager {
 
+    private static final Logger LOG = LoggerFactory.getLogger(ConceptManager.class);
     private final GraphManager graphMgr;
 
     public ConceptManager(GraphManager graphMgr) {
@@ -176,9 +181,39 @@ public final class ConceptManager {
     }
 
     public void validateThings() {
-        graphMgr.data().vertices().parallel()
-                .filter(v -> !v.isInferred() && v.isModified() && !v.encoding().equals(Encoding.Vertex.Thing.ROLE))
-                .forEach(v -> ThingImpl.of(v).validate());
+        final Optional<GraknException> exception = modifiedThings()
+                .flatMap(v -> ThingImpl.of(v).validate().stream()).findAny();
+        if (exception.isPresent()) throw graphMgr.exception(exception.get());
+    }
+
+    /**
+     * Spills the things held by the data graph of this transaction into storage,
+     * if it holds more of them than its spill threshold. Spilled things are not
+     * validated on commit, so they are only spilled once every modified thing is
+     * valid, and are otherwise held until a later query, or a later batch of the
+     * same query, such as one that gives a relation its role players.
+     *
+     * Spilled things are evicted from the graph, so a concept that was read
+     * before a spill must be read again by its IID before it is written to.
+     *
+     * @return true if the things were spilled
+     */
+    public boolean spillThings() {
+        if (!graphMgr.data().exceedsSpillThreshold()) return false;
+        if (graphMgr.data().vertices().anyMatch(ThingVertex::isInferred)) {
+            LOG.warn("Not spilling the things of the transaction into storage, as some of them are inferred");
+            return false;
+        } else if (modifiedThings().anyMatch(v -> !ThingImpl.of(v).validate().isEmpty())) {
+            LOG.warn("Not spilling the things of the transaction into storage, as some of them are not yet valid");
+            return false;
+        }
+        graphMgr.data().spill();
+        return true;
+    }
+
+    private Stream<ThingVertex> modifiedThings() {
+        return graphMgr.data().vertices().parallel()
+                .filter(v -> !v.isInferred() && v.isModified() && !v.encoding().equals(Encoding.Vertex.Thing.ROLE));
     }
 
     public GraknException exception(ErrorMessage error) {
@@ -18,11 +18,13 @@
 
 package grakn.core.concept.thing;
 
+import grakn.core.common.exception.GraknException;
 import grakn.core.concept.Concept;
 import grakn.core.concept.type.AttributeType;
 import grakn.core.concept.type.RoleType;
 import grakn.core.concept.type.ThingType;
 
+import java.util.List;
 import java.util.stream.Stream;
 
 public interface Thing extends Concept {
@@ -139,9 +141,11 @@ public interface Thing extends Concept {
     boolean isDeleted();
 
     /**
-     * Validates and throws an exception if there is any violation.
+     * Validates this {@code Thing}.
+     *
+     * @return an exception for every violation, or an empty list if there is none
      */
-    void validate();
+    List<GraknException> validate();
 
     Entity asEntity();
 
@@ -27,6 +27,7 @@ import grakn.core.graph.iid.PrefixIID;
 import grakn.core.graph.vertex.AttributeVertex;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.stream.Stream;
 
 import static grakn.common.util.Objects.className;
@@ -85,8 +86,8 @@ public abstract class AttributeImpl<VALUE> extends ThingImpl implements Attribut
     }
 
     @Override
-    public void validate() {
-        super.validate();
+    public List<GraknException> validate() {
+        return super.validate();
     }
 
     @Override
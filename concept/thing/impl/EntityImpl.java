@@ -18,10 +18,13 @@
 
 package grakn.core.concept.thing.impl;
 
+import grakn.core.common.exception.GraknException;
 import grakn.core.concept.thing.Entity;
 import grakn.core.concept.type.impl.EntityTypeImpl;
 import grakn.core.graph.vertex.ThingVertex;
 
+import java.util.List;
+
 import static grakn.core.graph.util.Encoding.Vertex.Thing.ENTITY;
 
 public class EntityImpl extends ThingImpl implements Entity {
@@ -41,8 +44,8 @@ public class EntityImpl extends ThingImpl implements Entity {
     }
 
     @Override
-    public void validate() {
-        super.validate();
+    public List<GraknException> validate() {
+        return super.validate();
     }
 
     @Override
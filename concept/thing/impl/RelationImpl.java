@@ -116,11 +116,12 @@ public class RelationImpl extends ThingImpl implements Relation {
     }
 
     @Override
-    public void validate() {
-        super.validate();
+    public List<GraknException> validate() {
+        final List<GraknException> exceptions = super.validate();
         if (!vertex.outs().edge(RELATING).to().hasNext()) {
-            throw exception(GraknException.of(RELATION_PLAYER_MISSING, getType().getLabel()));
+            exceptions.add(GraknException.of(RELATION_PLAYER_MISSING, getType().getLabel()));
         }
+        return exceptions;
     }
 
     @Override
@@ -32,6 +32,7 @@ import grakn.core.graph.iid.PrefixIID;
 import grakn.core.graph.vertex.AttributeVertex;
 import grakn.core.graph.vertex.ThingVertex;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
@@ -194,12 +195,14 @@ public abstract class ThingImpl implements Thing {
     }
 
     @Override
-    public void validate() {
+    public List<GraknException> validate() {
+        final List<GraknException> exceptions = new ArrayList<>();
         if (getHas(true).map(Attribute::getType).count() < getType().getOwns(true).count()) {
             final Set<AttributeType> missing = getType().getOwns(true).collect(toSet());
             missing.removeAll(getHas(true).map(Attribute::getType).collect(toSet()));
-            throw exception(GraknException.of(THING_KEY_MISSING, getType().getLabel(), printTypeSet(missing)));
+            exceptions.add(GraknException.of(THING_KEY_MISSING, getType().getLabel(), printTypeSet(missing)));
         }
+        return exceptions;
     }
 
     @Override
@@ -189,6 +189,17 @@ public interface AttributeType extends ThingType {
 
         Pattern getRegex();
 
+        /**
+         * Enables the trigram index of the values of this attribute type, which is
+         * used to find the attributes matching {@code contains} and {@code like}
+         * predicates, and indexes the values of the existing attributes.
+         */
+        void setTrigramIndex();
+
+        void unsetTrigramIndex();
+
+        boolean hasTrigramIndex();
+
         Attribute.String put(java.lang.String value);
 
         Attribute.String put(java.lang.String value, boolean isInferred);
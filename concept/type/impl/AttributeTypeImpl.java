@@ -769,6 +769,25 @@ public abstract class AttributeTypeImpl extends ThingTypeImpl implements Attribu
             return vertex.regex();
         }
 
+        @Override
+        public void setTrigramIndex() {
+            if (vertex.isTrigramIndexed()) return;
+            vertex.isTrigramIndexed(true);
+            graphMgr.data().putTrigramIndex(vertex);
+        }
+
+        @Override
+        public void unsetTrigramIndex() {
+            if (!vertex.isTrigramIndexed()) return;
+            vertex.isTrigramIndexed(false);
+            graphMgr.data().deleteTrigramIndex(vertex);
+        }
+
+        @Override
+        public boolean hasTrigramIndex() {
+            return vertex.isTrigramIndexed();
+        }
+
         @Override
         public Attribute.String put(java.lang.String value) {
             return put(value, false);
@@ -860,6 +879,16 @@ public abstract class AttributeTypeImpl extends ThingTypeImpl implements Attribu
             public void unsetRegex() {
                 throw exception(GraknException.of(ROOT_TYPE_MUTATION));
             }
+
+            @Override
+            public void setTrigramIndex() {
+                throw exception(GraknException.of(ROOT_TYPE_MUTATION));
+            }
+
+            @Override
+            public void unsetTrigramIndex() {
+                throw exception(GraknException.of(ROOT_TYPE_MUTATION));
+            }
         }
     }
 
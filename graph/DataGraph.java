@@ -19,14 +19,19 @@
 package grakn.core.graph;
 
 import grakn.common.collection.Pair;
+import grakn.core.common.collection.Bytes;
 import grakn.core.common.exception.GraknCheckedException;
 import grakn.core.common.exception.GraknException;
 import grakn.core.common.iterator.ResourceIterator;
 import grakn.core.common.parameters.Label;
 import grakn.core.graph.iid.EdgeIID;
+import grakn.core.graph.iid.IndexIID;
+import grakn.core.graph.iid.InfixIID;
 import grakn.core.graph.iid.PrefixIID;
 import grakn.core.graph.iid.VertexIID;
 import grakn.core.graph.util.Encoding;
+import grakn.core.graph.util.Histogram;
+import grakn.core.graph.util.HyperLogLog;
 import grakn.core.graph.util.KeyGenerator;
 import grakn.core.graph.util.StatisticsBytes;
 import grakn.core.graph.util.Storage;
@@ -37,64 +42,145 @@ import grakn.core.graph.vertex.Vertex;
 import grakn.core.graph.vertex.impl.AttributeVertexImpl;
 import grakn.core.graph.vertex.impl.ThingVertexImpl;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static grakn.common.collection.Collections.list;
 import static grakn.common.collection.Collections.pair;
+import static grakn.common.collection.Collections.set;
 import static grakn.common.util.Objects.className;
 import static grakn.core.common.collection.Bytes.bytesToLong;
+import static grakn.core.common.collection.Bytes.compareKeys;
+import static grakn.core.common.collection.Bytes.dateTimeToBytes;
+import static grakn.core.common.collection.Bytes.doubleToSortedBytes;
 import static grakn.core.common.collection.Bytes.join;
 import static grakn.core.common.collection.Bytes.longToBytes;
+import static grakn.core.common.collection.Bytes.longToSortedBytes;
 import static grakn.core.common.collection.Bytes.stripPrefix;
+import static grakn.core.common.collection.Bytes.unsignedBytesToShort;
+import static grakn.core.common.collection.Bytes.unsignedShortToBytes;
 import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_CAST;
 import static grakn.core.common.exception.ErrorMessage.ThingWrite.ILLEGAL_STRING_SIZE;
-import static grakn.core.common.iterator.Iterators.link;
+import static grakn.core.common.iterator.Iterators.empty;
+import static grakn.core.common.iterator.Iterators.iterate;
+import static grakn.core.common.iterator.Iterators.loop;
+import static grakn.core.common.iterator.Iterators.merge;
 import static grakn.core.common.iterator.Iterators.tree;
 import static grakn.core.graph.iid.VertexIID.Thing.generate;
+import static grakn.core.graph.util.Encoding.Direction.Adjacency.IN;
+import static grakn.core.graph.util.Encoding.Direction.Adjacency.OUT;
+import static grakn.core.graph.util.Encoding.Edge.Thing.HAS;
+import static grakn.core.graph.util.Encoding.Edge.Thing.PLAYING;
+import static grakn.core.graph.util.Encoding.Edge.Thing.RELATING;
+import static grakn.core.graph.util.Encoding.Edge.Thing.ROLEPLAYER;
 import static grakn.core.graph.util.Encoding.Edge.Type.SUB;
 import static grakn.core.graph.util.Encoding.Prefix.VERTEX_ATTRIBUTE_TYPE;
 import static grakn.core.graph.util.Encoding.Prefix.VERTEX_ENTITY_TYPE;
 import static grakn.core.graph.util.Encoding.Prefix.VERTEX_RELATION_TYPE;
 import static grakn.core.graph.util.Encoding.StatisticsCountJobValue.CREATED;
 import static grakn.core.graph.util.Encoding.StatisticsCountJobValue.DELETED;
+import static grakn.core.graph.util.Encoding.ValueType.STRING_ENCODING;
 import static grakn.core.graph.util.Encoding.ValueType.STRING_MAX_SIZE;
+import static grakn.core.graph.util.Encoding.ValueType.STRING_SIZE_ENCODING;
+import static grakn.core.graph.util.Encoding.ValueType.TIME_ZONE_ID;
 import static grakn.core.graph.util.Encoding.Vertex.Thing.ATTRIBUTE;
 import static grakn.core.graph.util.StatisticsBytes.attributeCountJobKey;
 import static grakn.core.graph.util.StatisticsBytes.attributeCountedKey;
 import static grakn.core.graph.util.StatisticsBytes.hasEdgeCountJobKey;
 import static grakn.core.graph.util.StatisticsBytes.hasEdgeCountKey;
 import static grakn.core.graph.util.StatisticsBytes.hasEdgeTotalCountKey;
+import static grakn.core.graph.util.StatisticsBytes.rolePlayerCountKey;
 import static grakn.core.graph.util.StatisticsBytes.snapshotKey;
+import static grakn.core.graph.util.StatisticsBytes.valueHistogramKey;
+import static grakn.core.graph.util.StatisticsBytes.valueSketchKey;
 import static grakn.core.graph.util.StatisticsBytes.vertexCountKey;
+import static grakn.core.graph.util.StatisticsBytes.vertexDegreeKey;
 import static grakn.core.graph.util.StatisticsBytes.vertexTransitiveCountKey;
+import static java.util.Arrays.copyOf;
+import static java.util.Arrays.copyOfRange;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.stream.Stream.concat;
 
 public class DataGraph implements Graph {
 
+    private static final Logger LOG = LoggerFactory.getLogger(DataGraph.class);
+    private static final int TRIGRAM_SAMPLE_SIZE = 1_000;
+    // Commits of at least this many vertices report their progress and the time spent in each phase
+    private static final int LARGE_COMMIT_SIZE = 100_000;
+    private static final int COMMIT_PROGRESS_INTERVAL = 100_000;
+    private static final int COMMIT_PARTITION_MIN_SIZE = 1_024;
+    private static final int COMMIT_PARTITIONS = ForkJoinPool.getCommonPoolParallelism() * 4;
     private final Storage.Data storage;
     private final SchemaGraph schemaGraph;
     private final KeyGenerator.Data.Buffered keyGenerator;
     private final ConcurrentMap<VertexIID.Thing, ThingVertex> thingsByIID;
-    private final ConcurrentMap<VertexIID.Type, Set<ThingVertex>> thingsByTypeIID;
+    private final ConcurrentMap<VertexIID.Type, NavigableSet<ThingVertex>> thingsByTypeIID;
     private final AttributesByIID attributesByIID;
+    private final PersistedVertices persistedVertices;
     private final Statistics statistics;
+    private final boolean isReadOnly;
+    private final int spillThreshold;
     private boolean isModified;
+    private boolean isTrigramIndexModified;
 
-    public DataGraph(Storage.Data storage, SchemaGraph schemaGraph) {
+    /**
+     * Constructs the graph of things of a transaction.
+     *
+     * In a write transaction, every vertex read or written remains cached until
+     * the transaction is closed, as any of them may be modified. In a read
+     * transaction, the unmodified persisted vertices are only cached up to
+     * {@code readCacheSize}, beyond which the least recently used ones are
+     * evicted, while the vertices the transaction buffers or modifies (such as
+     * those inferred by the reasoner) remain pinned.
+     *
+     * A write transaction with a {@code spillThreshold} spills the vertices it
+     * holds into storage once it holds more of them than the threshold, so that
+     * its writes are buffered by the write batch of its storage transaction,
+     * rather than in memory (see {@code spill()}).
+     *
+     * @param storage         the storage of the transaction
+     * @param schemaGraph     the schema graph of the transaction
+     * @param statisticsCache the statistics of the things of the database, shared by its transactions
+     * @param isReadOnly      whether the transaction is a read transaction
+     * @param readCacheSize   the maximum number of persisted vertices cached by a read transaction
+     * @param spillThreshold  the number of vertices held by a write transaction beyond which
+     *                        they are spilled into storage, or 0 if they never are
+     */
+    public DataGraph(Storage.Data storage, SchemaGraph schemaGraph, StatisticsCache statisticsCache,
+                     boolean isReadOnly, int readCacheSize, int spillThreshold) {
         this.storage = storage;
         this.schemaGraph = schemaGraph;
+        this.isReadOnly = isReadOnly;
+        this.spillThreshold = isReadOnly ? 0 : spillThreshold;
         keyGenerator = new KeyGenerator.Data.Buffered();
         thingsByIID = new ConcurrentHashMap<>();
         thingsByTypeIID = new ConcurrentHashMap<>();
         attributesByIID = new AttributesByIID();
-        statistics = new Statistics(schemaGraph, storage);
+        persistedVertices = isReadOnly ? new PersistedVertices(readCacheSize) : null;
+        statistics = new Statistics(schemaGraph, storage, statisticsCache, isReadOnly);
     }
 
     @Override
@@ -110,6 +196,10 @@ public class DataGraph implements Graph {
         return statistics;
     }
 
+    public boolean isReadOnly() {
+        return isReadOnly;
+    }
+
     public Stream<ThingVertex> vertices() {
         return concat(thingsByIID.values().stream(), attributesByIID.valueStream());
     }
@@ -133,10 +223,19 @@ public class DataGraph implements Graph {
         // assert storage.isOpen();
         // enable the the line above
         if (iid.encoding().equals(ATTRIBUTE)) return convert(iid.asAttribute());
-        else return thingsByIID.computeIfAbsent(iid, i -> ThingVertexImpl.of(this, i));
+        else if (persistedVertices == null) return thingsByIID.computeIfAbsent(iid, i -> ThingVertexImpl.of(this, i));
+
+        final ThingVertex vertex = thingsByIID.get(iid);
+        if (vertex != null) return vertex;
+        else return persistedVertices.computeIfAbsent(iid, i -> ThingVertexImpl.of(this, i));
     }
 
     public AttributeVertex<?> convert(VertexIID.Attribute<?> attIID) {
+        if (persistedVertices != null) {
+            final AttributeVertex<?> vertex = attributesByIID.forValueType(attIID.valueType()).get(attIID);
+            if (vertex != null) return vertex;
+            else return persistedVertices.computeIfAbsent(attIID, i -> AttributeVertexImpl.of(this, i.asAttribute())).asAttribute();
+        }
         switch (attIID.valueType()) {
             case BOOLEAN:
                 return attributesByIID.booleans.computeIfAbsent(
@@ -167,16 +266,26 @@ public class DataGraph implements Graph {
     public ThingVertex create(TypeVertex typeVertex, boolean isInferred) {
         assert storage.isOpen();
         assert !typeVertex.isAttributeType();
-        final VertexIID.Thing iid = generate(keyGenerator, typeVertex.iid(), typeVertex.properLabel());
+        // Vertices that may be spilled into storage are given their final IID from the start
+        final VertexIID.Thing iid = generate(spillThreshold > 0 ? storage.dataKeyGenerator() : keyGenerator,
+                                             typeVertex.iid(), typeVertex.properLabel());
         final ThingVertex vertex = new ThingVertexImpl.Buffered(this, iid, isInferred);
         thingsByIID.put(iid, vertex);
-        thingsByTypeIID.computeIfAbsent(typeVertex.iid(), t -> new HashSet<>()).add(vertex);
+        thingsByTypeIID.computeIfAbsent(typeVertex.iid(), t -> newThingSet()).add(vertex);
         statistics.vertexCreated(typeVertex.iid());
         return vertex;
     }
 
+    @SuppressWarnings("unchecked")
     private <VALUE, ATT_IID extends VertexIID.Attribute<VALUE>, ATT_VERTEX extends AttributeVertex<VALUE>>
     ATT_VERTEX getOrReadFromStorage(Map<ATT_IID, ATT_VERTEX> map, ATT_IID attIID, Function<ATT_IID, ATT_VERTEX> vertexConstructor) {
+        if (persistedVertices != null) {
+            final ATT_VERTEX vertex = map.get(attIID);
+            if (vertex != null) return vertex;
+            else if (persistedVertices.contains(attIID) || storage.get(attIID.bytes()) != null) {
+                return (ATT_VERTEX) persistedVertices.computeIfAbsent(attIID, iid -> vertexConstructor.apply(attIID));
+            } else return null;
+        }
         return map.computeIfAbsent(attIID, iid -> {
             final byte[] val = storage.get(iid.bytes());
             if (val != null) return vertexConstructor.apply(iid);
@@ -190,7 +299,16 @@ public class DataGraph implements Graph {
                 (key, value) -> convert(EdgeIID.InwardsISA.of(key).end())
         );
         if (!thingsByTypeIID.containsKey(typeVertex.iid())) return storageIterator;
-        else return link(list(thingsByTypeIID.get(typeVertex.iid()).iterator(), storageIterator)).distinct();
+        else return merge(iterate(thingsByTypeIID.get(typeVertex.iid())), storageIterator, v -> v.iid().bytes(), Bytes::compareKeys);
+    }
+
+    /**
+     * Returns a set of things in the order of their IIDs, which is the order in
+     * which the storage iterates over the things of a type, so that the things
+     * buffered in the set can be merged with those in storage as they are read.
+     */
+    private static NavigableSet<ThingVertex> newThingSet() {
+        return new ConcurrentSkipListSet<>((v1, v2) -> compareKeys(v1.iid().bytes(), v2.iid().bytes()));
     }
 
     public AttributeVertex<Boolean> get(TypeVertex type, boolean value) {
@@ -260,6 +378,244 @@ public class DataGraph implements Graph {
         );
     }
 
+    /**
+     * Returns the attributes of a type whose values lie between two bounds, by
+     * seeking over the range of the attribute keys that sort between them, as
+     * values are encoded in attribute IIDs in an order-preserving form.
+     *
+     * @param type the attribute type of the attributes
+     * @param from the inclusive lower bound of the values, or null if unbounded
+     * @param to   the inclusive upper bound of the values, or null if unbounded
+     * @return an iterator over the attributes of the type within the bounds
+     */
+    public ResourceIterator<AttributeVertex<Long>> get(TypeVertex type, @Nullable Long from, @Nullable Long to) {
+        assert storage.isOpen();
+        assert type.isAttributeType();
+        assert type.valueType().valueClass().equals(Long.class);
+
+        return getRange(type, from != null ? longToSortedBytes(from) : null, to != null ? longToSortedBytes(to) : null)
+                .map(AttributeVertex::asLong);
+    }
+
+    public ResourceIterator<AttributeVertex<Double>> get(TypeVertex type, @Nullable Double from, @Nullable Double to) {
+        assert storage.isOpen();
+        assert type.isAttributeType();
+        assert type.valueType().valueClass().equals(Double.class);
+
+        return getRange(type, from != null ? doubleToSortedBytes(from) : null, to != null ? doubleToSortedBytes(to) : null)
+                .map(AttributeVertex::asDouble);
+    }
+
+    public ResourceIterator<AttributeVertex<LocalDateTime>> get(TypeVertex type, @Nullable LocalDateTime from,
+                                                                @Nullable LocalDateTime to) {
+        assert storage.isOpen();
+        assert type.isAttributeType();
+        assert type.valueType().valueClass().equals(LocalDateTime.class);
+
+        return getRange(type, from != null ? dateTimeToBytes(from, TIME_ZONE_ID) : null,
+                        to != null ? dateTimeToBytes(to, TIME_ZONE_ID) : null).map(AttributeVertex::asDateTime);
+    }
+
+    /**
+     * Returns the attributes of a string type whose values lie between two bounds,
+     * in the order of their UTF-8 bytes. String values are prefixed by their length,
+     * so the strings between two bounds are not contiguous in the key space: they
+     * are scanned one length at a time, seeking over the lengths that do not exist.
+     *
+     * @param type the attribute type of the attributes
+     * @param from the inclusive lower bound of the values, or null if unbounded
+     * @param to   the inclusive upper bound of the values, or null if unbounded
+     * @return an iterator over the attributes of the type within the bounds
+     */
+    public ResourceIterator<AttributeVertex<String>> get(TypeVertex type, @Nullable String from, @Nullable String to) {
+        assert storage.isOpen();
+        assert type.isAttributeType();
+        assert type.valueType().valueClass().equals(String.class);
+
+        final byte[] prefix = join(ATTRIBUTE.prefix().bytes(), type.iid().bytes(), type.valueType().bytes());
+        final byte[] fromBytes = from != null ? from.getBytes(STRING_ENCODING) : new byte[0];
+        final byte[] toBytes = to != null ? to.getBytes(STRING_ENCODING) : null;
+        final int minLength = nextStringLength(prefix, 0);
+        final ResourceIterator<AttributeVertex<?>> storageIterator;
+        if (minLength < 0) storageIterator = empty();
+        else storageIterator = loop(minLength, length -> length >= 0, length -> nextStringLength(prefix, length + 1))
+                .<AttributeVertex<?>>flatMap(length -> {
+                    final byte[] lengthPrefix = join(prefix, unsignedShortToBytes(length));
+                    final byte[] fromKey = join(lengthPrefix, copyOf(fromBytes, Math.min(fromBytes.length, length)));
+                    final byte[] toKey = toBytes == null ? null : join(
+                            lengthPrefix, copyOf(toBytes, Math.min(toBytes.length, length)), new byte[]{0}
+                    );
+                    return storage.iterate(lengthPrefix, fromKey, toKey, (key, value) -> convert(VertexIID.Attribute.of(key)));
+                });
+        return getRange(type, prefix.length + STRING_SIZE_ENCODING, fromBytes, toBytes, storageIterator)
+                .map(AttributeVertex::asString);
+    }
+
+    private ResourceIterator<AttributeVertex<?>> getRange(TypeVertex type, @Nullable byte[] from, @Nullable byte[] to) {
+        final byte[] prefix = join(ATTRIBUTE.prefix().bytes(), type.iid().bytes(), type.valueType().bytes());
+        final ResourceIterator<AttributeVertex<?>> storageIterator = storage.iterate(
+                prefix, from != null ? join(prefix, from) : prefix, to != null ? join(prefix, to, new byte[]{0}) : null,
+                (key, value) -> convert(VertexIID.Attribute.of(key))
+        );
+        return getRange(type, prefix.length, from, to, storageIterator);
+    }
+
+    private ResourceIterator<AttributeVertex<?>> getRange(TypeVertex type, int valueIndex, @Nullable byte[] from,
+                                                          @Nullable byte[] to, ResourceIterator<AttributeVertex<?>> storageIterator) {
+        final ResourceIterator<AttributeVertex<?>> iterator;
+        if (!thingsByTypeIID.containsKey(type.iid())) iterator = storageIterator;
+        else iterator = merge(
+                iterate(thingsByTypeIID.get(type.iid())).filter(ThingVertex::isAttribute).map(ThingVertex::asAttribute),
+                storageIterator, v -> v.iid().bytes(), Bytes::compareKeys
+        );
+        return iterator.filter(attribute -> {
+            final byte[] value = stripPrefix(attribute.iid().bytes(), valueIndex);
+            return (from == null || Arrays.compareUnsigned(value, from) >= 0) &&
+                    (to == null || Arrays.compareUnsigned(value, to) <= 0);
+        });
+    }
+
+    private int nextStringLength(byte[] prefix, int length) {
+        if (length > STRING_MAX_SIZE) return -1;
+        final ResourceIterator<Integer> lengths = storage.iterate(
+                prefix, join(prefix, unsignedShortToBytes(length)), null,
+                (key, value) -> unsignedBytesToShort(copyOfRange(key, prefix.length, prefix.length + STRING_SIZE_ENCODING))
+        );
+        final int next = lengths.hasNext() ? lengths.next() : -1;
+        lengths.recycle();
+        return next;
+    }
+
+    /**
+     * Returns the candidate attributes of a string type whose values may contain
+     * every given trigram, through the trigram index of the type. Only the keys of
+     * one trigram are scanned: the one with the fewest attributes, estimated by
+     * counting a bounded sample of the keys of each trigram. The attributes put in
+     * this transaction are not indexed yet, so they are all candidates.
+     *
+     * @param type     the string attribute type, which must be trigram indexed
+     * @param trigrams the trigrams that the attribute values must contain
+     * @return an iterator over a superset of the attributes containing every trigram
+     */
+    public ResourceIterator<AttributeVertex<String>> getByTrigrams(TypeVertex type, Set<String> trigrams) {
+        assert storage.isOpen();
+        assert type.isAttributeType() && type.isTrigramIndexed();
+        assert type.valueType().valueClass().equals(String.class);
+        assert !trigrams.isEmpty();
+
+        byte[] rarestPrefix = null;
+        int rarestCount = Integer.MAX_VALUE;
+        for (String trigram : trigrams) {
+            final byte[] prefix = IndexIID.Trigram.prefix(type.iid(), trigram);
+            final ResourceIterator<byte[]> sample = storage.iterate(prefix, (key, value) -> key).limit(TRIGRAM_SAMPLE_SIZE);
+            int count = 0;
+            for (; sample.hasNext(); sample.next()) count++;
+            sample.recycle();
+            if (count < rarestCount) {
+                rarestPrefix = prefix;
+                rarestCount = count;
+            }
+            if (count == 0) break;
+        }
+        final ResourceIterator<AttributeVertex<?>> storageIterator = storage.iterate(
+                rarestPrefix, (key, value) -> convert(IndexIID.Trigram.of(key).attribute())
+        );
+        final ResourceIterator<AttributeVertex<?>> iterator;
+        if (!thingsByTypeIID.containsKey(type.iid())) iterator = storageIterator;
+        else iterator = merge(
+                iterate(thingsByTypeIID.get(type.iid())).filter(ThingVertex::isAttribute).map(ThingVertex::asAttribute),
+                storageIterator, v -> v.iid().bytes(), Bytes::compareKeys
+        );
+        return iterator.map(AttributeVertex::asString);
+    }
+
+    /**
+     * Returns true if the trigram index of a string attribute type is enabled,
+     * and has been built over the attributes that existed when it was enabled.
+     *
+     * The trigram index is enabled in the schema keyspace, but written in the
+     * data keyspace, which cannot be committed atomically with it. The index is
+     * therefore only complete once its build has been committed with a marker:
+     * the key of the trigram index prefix of the type. Until then, the attributes
+     * of the type have to be scanned.
+     *
+     * @param type the string attribute type
+     * @return true if the trigram index of the type can be read
+     */
+    public boolean hasTrigramIndex(TypeVertex type) {
+        assert storage.isOpen();
+        return type.isTrigramIndexed() && storage.get(IndexIID.Trigram.prefix(type.iid())) != null;
+    }
+
+    /**
+     * Writes the trigram index of every attribute of a string type, when the
+     * trigram index of the type is enabled, followed by the marker that the
+     * index has been built. Any keys left over from a previous index of the type,
+     * which would no longer have been maintained, are deleted first.
+     *
+     * @param type the string attribute type to index
+     */
+    public void putTrigramIndex(TypeVertex type) {
+        assert storage.isOpen();
+        assert type.isAttributeType() && type.valueType().valueClass().equals(String.class);
+        deleteTrigramIndex(type);
+        get(type).filter(ThingVertex::isAttribute).map(v -> v.asAttribute().asString()).forEachRemaining(attribute -> {
+            for (String trigram : IndexIID.Trigram.trigrams(attribute.value())) {
+                storage.put(IndexIID.Trigram.of(type.iid(), trigram, attribute.iid().asString()).bytes());
+            }
+        });
+        storage.put(IndexIID.Trigram.prefix(type.iid()));
+    }
+
+    /**
+     * Deletes the trigram index of every attribute of a string type, including
+     * its marker, when the trigram index of the type is disabled.
+     *
+     * @param type the string attribute type to stop indexing
+     */
+    public void deleteTrigramIndex(TypeVertex type) {
+        assert storage.isOpen();
+        final ResourceIterator<byte[]> keys = storage.iterate(IndexIID.Trigram.prefix(type.iid()), (key, value) -> key);
+        while (keys.hasNext()) storage.delete(keys.next());
+        isTrigramIndexModified = true;
+    }
+
+    /**
+     * Builds the trigram index of every string attribute type that has it enabled
+     * but not built, and deletes the trigram index of every one that has it
+     * disabled but not deleted, which is left behind when the database stops
+     * between the commit of the schema and that of the index.
+     *
+     * @return true if any trigram index has been written to
+     */
+    public boolean repairTrigramIndexes() {
+        assert storage.isOpen();
+        schemaGraph.attributeTypes(Encoding.ValueType.STRING).forEachRemaining(type -> {
+            final byte[] prefix = IndexIID.Trigram.prefix(type.iid());
+            if (type.isTrigramIndexed() && storage.get(prefix) == null) {
+                LOG.warn("Building the trigram index of attribute type '{}', which was enabled but not built", type.label());
+                putTrigramIndex(type);
+            } else if (!type.isTrigramIndexed()) {
+                final ResourceIterator<byte[]> keys = storage.iterate(prefix, (key, value) -> key);
+                final boolean hasIndex = keys.hasNext();
+                keys.recycle();
+                if (hasIndex) {
+                    LOG.warn("Deleting the trigram index of attribute type '{}', which was disabled but not deleted", type.label());
+                    deleteTrigramIndex(type);
+                }
+            }
+        });
+        return isTrigramIndexModified;
+    }
+
+    /**
+     * @return true if the trigram index of any attribute type has been written
+     * to, which must be committed to the data keyspace after the schema
+     */
+    public boolean isTrigramIndexModified() {
+        return isTrigramIndexModified;
+    }
+
     public AttributeVertex<Boolean> put(TypeVertex type, boolean value, boolean isInferred) {
         assert storage.isOpen();
         assert type.isAttributeType();
@@ -269,11 +625,12 @@ public class DataGraph implements Graph {
                 new VertexIID.Attribute.Boolean(type.iid(), value),
                 iid -> {
                     final AttributeVertex<Boolean> v = new AttributeVertexImpl.Boolean(this, iid, isInferred);
-                    thingsByTypeIID.computeIfAbsent(type.iid(), t -> new HashSet<>()).add(v);
+                    thingsByTypeIID.computeIfAbsent(type.iid(), t -> newThingSet()).add(v);
                     return v;
                 }
         );
         if (!isInferred && vertex.isInferred()) vertex.isInferred(false);
+        if (persistedVertices != null) persistedVertices.remove(vertex.iid());
         statistics.attributeVertexCreated(vertex.iid());
         return vertex;
     }
@@ -287,11 +644,12 @@ public class DataGraph implements Graph {
                 new VertexIID.Attribute.Long(type.iid(), value),
                 iid -> {
                     final AttributeVertex<Long> v = new AttributeVertexImpl.Long(this, iid, isInferred);
-                    thingsByTypeIID.computeIfAbsent(type.iid(), t -> new HashSet<>()).add(v);
+                    thingsByTypeIID.computeIfAbsent(type.iid(), t -> newThingSet()).add(v);
                     return v;
                 }
         );
         if (!isInferred && vertex.isInferred()) vertex.isInferred(false);
+        if (persistedVertices != null) persistedVertices.remove(vertex.iid());
         statistics.attributeVertexCreated(vertex.iid());
         return vertex;
     }
@@ -305,11 +663,12 @@ public class DataGraph implements Graph {
                 new VertexIID.Attribute.Double(type.iid(), value),
                 iid -> {
                     final AttributeVertex<Double> v = new AttributeVertexImpl.Double(this, iid, isInferred);
-                    thingsByTypeIID.computeIfAbsent(type.iid(), t -> new HashSet<>()).add(v);
+                    thingsByTypeIID.computeIfAbsent(type.iid(), t -> newThingSet()).add(v);
                     return v;
                 }
         );
         if (!isInferred && vertex.isInferred()) vertex.isInferred(false);
+        if (persistedVertices != null) persistedVertices.remove(vertex.iid());
         statistics.attributeVertexCreated(vertex.iid());
         return vertex;
     }
@@ -334,11 +693,12 @@ public class DataGraph implements Graph {
         final AttributeVertex<String> vertex = attributesByIID.strings.computeIfAbsent(
                 attIID, iid -> {
                     final AttributeVertex<String> v = new AttributeVertexImpl.String(this, iid, isInferred);
-                    thingsByTypeIID.computeIfAbsent(type.iid(), t -> new HashSet<>()).add(v);
+                    thingsByTypeIID.computeIfAbsent(type.iid(), t -> newThingSet()).add(v);
                     return v;
                 }
         );
         if (!isInferred && vertex.isInferred()) vertex.isInferred(false);
+        if (persistedVertices != null) persistedVertices.remove(vertex.iid());
         statistics.attributeVertexCreated(vertex.iid());
         return vertex;
     }
@@ -352,11 +712,12 @@ public class DataGraph implements Graph {
                 new VertexIID.Attribute.DateTime(type.iid(), value),
                 iid -> {
                     final AttributeVertex<LocalDateTime> v = new AttributeVertexImpl.DateTime(this, iid, isInferred);
-                    thingsByTypeIID.computeIfAbsent(type.iid(), t -> new HashSet<>()).add(v);
+                    thingsByTypeIID.computeIfAbsent(type.iid(), t -> newThingSet()).add(v);
                     return v;
                 }
         );
         if (!isInferred && vertex.isInferred()) vertex.isInferred(false);
+        if (persistedVertices != null) persistedVertices.remove(vertex.iid());
         statistics.attributeVertexCreated(vertex.iid());
         return vertex;
     }
@@ -381,6 +742,20 @@ public class DataGraph implements Graph {
         } else delete(vertex.asAttribute());
     }
 
+    /**
+     * Pins a persisted vertex that has been modified in a read transaction,
+     * such as by having inferred edges put on it, so that it is no longer
+     * evicted from the cache of persisted vertices.
+     *
+     * @param vertex the persisted vertex that has been modified
+     */
+    public void pin(ThingVertex vertex) {
+        if (persistedVertices == null || vertex.status().equals(Encoding.Status.BUFFERED)) return;
+        if (vertex.isAttribute()) attributesByIID.putIfAbsent(vertex.asAttribute());
+        else thingsByIID.putIfAbsent(vertex.iid(), vertex);
+        persistedVertices.remove(vertex.iid());
+    }
+
     public void setModified() {
         assert storage.isOpen();
         if (!isModified) isModified = true;
@@ -390,36 +765,131 @@ public class DataGraph implements Graph {
         return isModified;
     }
 
+    /**
+     * @return true if this graph spills its vertices into storage, and holds more
+     * of them than its spill threshold
+     */
+    public boolean exceedsSpillThreshold() {
+        return spillThreshold > 0 && thingsByIID.size() + attributesByIID.size() > spillThreshold;
+    }
+
+    /**
+     * Spills every vertex held by this graph into storage, together with its
+     * edges, and evicts them from memory.
+     *
+     * The writes of a transaction are indexed in the write batch of its RocksDB
+     * transaction, which lives off the Java heap, and from which the transaction
+     * reads its own writes. A spilled vertex is therefore read back from storage
+     * as a persisted vertex, and its writes are committed from the write batch,
+     * together with those of the vertices that are still held on commit. Things
+     * are given their final IIDs when they are created by a graph that spills,
+     * so no spilled key refers to a buffered IID.
+     *
+     * Every vertex held by the graph is spilled at once, so that no vertex left
+     * in memory refers to an evicted one, and none of them are while any is
+     * inferred, as inferred vertices are never written to storage. Vertices must
+     * only be spilled between queries, or between the answers of a query, once the
+     * things they hold are validated, as spilled things are not validated again on
+     * commit. A vertex read before a spill is no longer held by the graph, and has
+     * to be read again before it is written to.
+     */
+    public void spill() {
+        assert storage.isOpen() && spillThreshold > 0;
+        if (vertices().anyMatch(ThingVertex::isInferred)) return;
+        final long startNanos = System.nanoTime();
+        final Vertex<?, ?>[] vertices = vertices().toArray(Vertex<?, ?>[]::new);
+        forEachPartition(vertices, false, Vertex::commit);
+        statistics.spill();
+        thingsByIID.clear();
+        thingsByTypeIID.clear();
+        attributesByIID.clear();
+        LOG.debug("Spilled {} vertices into storage in {} ms", vertices.length,
+                  NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+    }
+
     @Override
     public void clear() {
         thingsByIID.clear();
         thingsByTypeIID.clear();
         attributesByIID.clear();
+        if (persistedVertices != null) persistedVertices.clear();
         statistics.clear();
     }
 
     /**
      * Commits all the writes captured in this graph into storage.
      *
-     * We start off by generating new IIDs for every {@code ThingVertex} (which
-     * does not actually include {@code AttributeVertex}). We then write the every
-     * {@code ThingVertex} onto the storage. Once all commit operations for every
-     * {@code ThingVertex} is done, we the write all the {@code AttributeVertex}
-     * as the last step. Since the write operations to storage are serialised
-     * anyways, we don't need to parallelise the streams to commit the vertices.
+     * We start off by generating new IIDs for every buffered {@code ThingVertex}
+     * (which does not actually include {@code AttributeVertex}), unless they were
+     * given their final IIDs on creation, as they are in a graph that spills its
+     * vertices into storage. Once every IID
+     * is final, we write every {@code ThingVertex} and {@code AttributeVertex},
+     * together with their edges, onto the storage. Each phase splits the vertices
+     * into contiguous partitions that are committed by separate threads, and the
+     * storage buffers the writes of each thread separately while the graph is
+     * being committed, so that the partitions are serialised into batches in
+     * parallel, without contending on the storage. An edge is written by
+     * whichever of its two vertices is committed first.
+     *
+     * Commits of at least {@code LARGE_COMMIT_SIZE} vertices log their progress
+     * and the time spent in each phase.
      */
     @Override
     public void commit() {
-        thingsByIID.values().parallelStream().filter(v -> v.status().equals(Encoding.Status.BUFFERED) && !v.isInferred()).forEach(
-                vertex -> vertex.iid(generate(storage.dataKeyGenerator(), vertex.type().iid(), vertex.type().properLabel()))
-        ); // thingByIID no longer contains valid mapping from IID to TypeVertex
-        thingsByIID.values().stream().filter(v -> !v.isInferred()).forEach(Vertex::commit);
-        attributesByIID.valueStream().forEach(Vertex::commit);
+        final long startNanos = System.nanoTime();
+        final Vertex<?, ?>[] things = thingsByIID.values().stream().filter(v -> !v.isInferred()).toArray(Vertex<?, ?>[]::new);
+        final Vertex<?, ?>[] vertices = concat(Arrays.stream(things), attributesByIID.valueStream()).toArray(Vertex<?, ?>[]::new);
+        final boolean isLarge = vertices.length >= LARGE_COMMIT_SIZE;
+
+        if (spillThreshold == 0) {
+            forEachPartition(things, false, vertex -> {
+                final ThingVertex thing = vertex.asThing();
+                if (thing.status().equals(Encoding.Status.BUFFERED)) {
+                    thing.iid(generate(storage.dataKeyGenerator(), thing.type().iid(), thing.type().properLabel()));
+                }
+            }); // thingByIID no longer contains valid mapping from IID to TypeVertex
+        }
+        final long generatedNanos = System.nanoTime();
+        forEachPartition(vertices, isLarge, Vertex::commit);
+        final long writtenNanos = System.nanoTime();
         statistics.commit();
-
+        final long endNanos = System.nanoTime();
+
+        if (isLarge) {
+            LOG.info("Committed {} things and {} attributes in {} ms: {} ms generating IIDs, " +
+                             "{} ms writing vertices and edges, {} ms writing statistics",
+                     things.length, vertices.length - things.length, NANOSECONDS.toMillis(endNanos - startNanos),
+                     NANOSECONDS.toMillis(generatedNanos - startNanos), NANOSECONDS.toMillis(writtenNanos - generatedNanos),
+                     NANOSECONDS.toMillis(endNanos - writtenNanos));
+        }
         clear(); // we now flush the indexes after commit, and we do not expect this Graph.Thing to be used again
     }
 
+    /**
+     * Applies an action to every vertex, split into contiguous partitions of at
+     * least {@code COMMIT_PARTITION_MIN_SIZE} vertices, which are processed in
+     * parallel. Every partition is processed by a single thread, in order.
+     *
+     * @param vertices        the vertices to process
+     * @param reportsProgress true if the number of vertices processed should be
+     *                        logged every {@code COMMIT_PROGRESS_INTERVAL} vertices of a partition
+     * @param action          the action to apply to every vertex
+     */
+    private static void forEachPartition(Vertex<?, ?>[] vertices, boolean reportsProgress, Consumer<Vertex<?, ?>> action) {
+        final int partitions = Math.max(1, Math.min(COMMIT_PARTITIONS, vertices.length / COMMIT_PARTITION_MIN_SIZE));
+        final AtomicLong processed = new AtomicLong();
+        IntStream.range(0, partitions).parallel().forEach(partition -> {
+            final int start = (int) ((long) vertices.length * partition / partitions);
+            final int end = (int) ((long) vertices.length * (partition + 1) / partitions);
+            for (int i = start; i < end; i++) {
+                action.accept(vertices[i]);
+                if (reportsProgress && (i - start + 1) % COMMIT_PROGRESS_INTERVAL == 0) {
+                    LOG.info("Committed {} of {} vertices", processed.addAndGet(COMMIT_PROGRESS_INTERVAL), vertices.length);
+                }
+            }
+        });
+    }
+
     private static class AttributesByIID {
 
         private final ConcurrentMap<VertexIID.Attribute.Boolean, AttributeVertex<Boolean>> booleans;
@@ -444,6 +914,10 @@ public class DataGraph implements Graph {
                                                dateTimes.values().stream()))));
         }
 
+        int size() {
+            return booleans.size() + longs.size() + doubles.size() + strings.size() + dateTimes.size();
+        }
+
         void clear() {
             booleans.clear();
             longs.clear();
@@ -452,6 +926,26 @@ public class DataGraph implements Graph {
             dateTimes.clear();
         }
 
+        void putIfAbsent(AttributeVertex<?> vertex) {
+            switch (vertex.valueType()) {
+                case BOOLEAN:
+                    booleans.putIfAbsent(vertex.iid().asBoolean(), vertex.asBoolean());
+                    break;
+                case LONG:
+                    longs.putIfAbsent(vertex.iid().asLong(), vertex.asLong());
+                    break;
+                case DOUBLE:
+                    doubles.putIfAbsent(vertex.iid().asDouble(), vertex.asDouble());
+                    break;
+                case STRING:
+                    strings.putIfAbsent(vertex.iid().asString(), vertex.asString());
+                    break;
+                case DATETIME:
+                    dateTimes.putIfAbsent(vertex.iid().asDateTime(), vertex.asDateTime());
+                    break;
+            }
+        }
+
         void remove(VertexIID.Attribute<?> iid) {
             switch (iid.valueType()) {
                 case BOOLEAN:
@@ -491,35 +985,118 @@ public class DataGraph implements Graph {
         }
     }
 
+    /**
+     * A size-bounded cache of the unmodified persisted vertices read by a read
+     * transaction, which evicts the least recently used vertices once it holds
+     * more than its capacity.
+     *
+     * The cache is split into segments by the hash of the vertex IID, each of
+     * which is an access-ordered map guarded by its own lock, so that the
+     * concurrent workers of a traversal do not contend on a single lock.
+     */
+    private static class PersistedVertices {
+
+        private static final int SEGMENTS = 16;
+        private final List<Map<VertexIID.Thing, ThingVertex>> segments;
+
+        PersistedVertices(int capacity) {
+            final int segmentCapacity = Math.max(1, capacity / SEGMENTS);
+            segments = new ArrayList<>(SEGMENTS);
+            for (int i = 0; i < SEGMENTS; i++) {
+                segments.add(new LinkedHashMap<VertexIID.Thing, ThingVertex>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<VertexIID.Thing, ThingVertex> eldest) {
+                        return size() > segmentCapacity;
+                    }
+                });
+            }
+        }
+
+        private Map<VertexIID.Thing, ThingVertex> segment(VertexIID.Thing iid) {
+            final int hash = iid.hashCode();
+            return segments.get((hash ^ (hash >>> 16)) & (SEGMENTS - 1));
+        }
+
+        ThingVertex computeIfAbsent(VertexIID.Thing iid, Function<VertexIID.Thing, ThingVertex> vertexConstructor) {
+            final Map<VertexIID.Thing, ThingVertex> segment = segment(iid);
+            synchronized (segment) {
+                return segment.computeIfAbsent(iid, vertexConstructor);
+            }
+        }
+
+        boolean contains(VertexIID.Thing iid) {
+            final Map<VertexIID.Thing, ThingVertex> segment = segment(iid);
+            synchronized (segment) {
+                return segment.containsKey(iid);
+            }
+        }
+
+        ThingVertex remove(VertexIID.Thing iid) {
+            final Map<VertexIID.Thing, ThingVertex> segment = segment(iid);
+            synchronized (segment) {
+                return segment.remove(iid);
+            }
+        }
+
+        void clear() {
+            for (Map<VertexIID.Thing, ThingVertex> segment : segments) {
+                synchronized (segment) {
+                    segment.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * The statistics of the things of the graph, as seen by a transaction.
+     *
+     * The persisted statistics are read from an immutable snapshot of the
+     * statistics shared by every transaction of the database, taken when the
+     * transaction is opened, over which the deltas of the transaction are
+     * overlaid. The deltas that a commit merges into storage are collected, to
+     * be published to the shared statistics once the commit has succeeded.
+     */
     public static class Statistics {
-        private final ConcurrentMap<VertexIID.Type, Long> persistedVertexCount;
+        // The owners of a sampled attribute are counted up to this number, to bound the cost of sampling
+        private static final int MAX_SAMPLED_OWNERS = 100_000;
+        private static final double SAMPLING_CHANGE_THRESHOLD = 0.1;
+
         private final ConcurrentMap<VertexIID.Type, Long> persistedVertexTransitiveCount;
         private final ConcurrentMap<VertexIID.Type, Long> deltaVertexCount;
-        private final ConcurrentMap<Pair<VertexIID.Type, VertexIID.Type>, Long> persistedHasEdgeCount;
-        private final ConcurrentMap<VertexIID.Type, Long> persistedHasEdgeTotalCount;
+        private final ConcurrentMap<StatisticsCache.RolePlayer, Long> deltaRolePlayerCount;
+        private final ConcurrentMap<Pair<VertexIID.Thing, Encoding.Infix>, Long> persistedVertexDegree;
+        private final ConcurrentMap<Pair<VertexIID.Thing, Encoding.Infix>, Long> deltaVertexDegree;
+        private final Set<VertexIID.Thing> deletedVertexDegrees;
         private final ConcurrentMap<VertexIID.Attribute<?>, Encoding.StatisticsCountJobValue> attributeVertexCountJobs;
         private final ConcurrentMap<Pair<VertexIID.Thing, VertexIID.Attribute<?>>, Encoding.StatisticsCountJobValue> hasEdgeCountJobs;
         private boolean needsBackgroundCounting;
+        private int writtenCountJobs;
         private final SchemaGraph schemaGraph;
         private final Storage storage;
-        private final long snapshot;
+        private final StatisticsCache cache;
+        private final StatisticsCache.Snapshot persisted;
+        private final StatisticsCache.Delta committed;
 
-        public Statistics(SchemaGraph schemaGraph, Storage storage) {
-            persistedVertexCount = new ConcurrentHashMap<>();
+        public Statistics(SchemaGraph schemaGraph, Storage storage, StatisticsCache cache, boolean isReadOnly) {
             persistedVertexTransitiveCount = new ConcurrentHashMap<>();
             deltaVertexCount = new ConcurrentHashMap<>();
-            persistedHasEdgeCount = new ConcurrentHashMap<>();
-            persistedHasEdgeTotalCount = new ConcurrentHashMap<>();
+            deltaRolePlayerCount = new ConcurrentHashMap<>();
+            persistedVertexDegree = isReadOnly ? null : new ConcurrentHashMap<>();
+            deltaVertexDegree = new ConcurrentHashMap<>();
+            deletedVertexDegrees = ConcurrentHashMap.newKeySet();
             attributeVertexCountJobs = new ConcurrentHashMap<>();
             hasEdgeCountJobs = new ConcurrentHashMap<>();
             needsBackgroundCounting = false;
-            snapshot =  bytesToLongOrZero(storage.get(snapshotKey()));
+            writtenCountJobs = 0;
             this.schemaGraph = schemaGraph;
             this.storage = storage;
+            this.cache = cache;
+            persisted = cache.snapshot();
+            committed = new StatisticsCache.Delta();
         }
 
         public long snapshot() {
-            return snapshot;
+            return persisted.version();
         }
 
         public long hasEdgeSum(TypeVertex owner, Set<TypeVertex> attributes) {
@@ -577,6 +1154,234 @@ public class DataGraph implements Graph {
             ).max().orElse(0);
         }
 
+        /**
+         * Sums the role player edges of relations of the given types, in which
+         * players of the given types play roles of the given types. An empty set
+         * of types matches every type.
+         *
+         * @param relationTypes the labels of the types of the relations
+         * @param roleTypes     the scoped labels of the role types
+         * @param playerTypes   the labels of the types of the players
+         * @return the number of role player edges that match the given types
+         */
+        public long rolePlayerSum(Set<Label> relationTypes, Set<Label> roleTypes, Set<Label> playerTypes) {
+            final Set<VertexIID.Type> relationTypeIIDs = typeIIDs(relationTypes);
+            final Set<VertexIID.Type> roleTypeIIDs = typeIIDs(roleTypes);
+            final Set<VertexIID.Type> playerTypeIIDs = typeIIDs(playerTypes);
+            final Predicate<StatisticsCache.RolePlayer> matches = rolePlayer ->
+                    (relationTypes.isEmpty() || relationTypeIIDs.contains(rolePlayer.relationType())) &&
+                            (roleTypes.isEmpty() || roleTypeIIDs.contains(rolePlayer.roleType())) &&
+                            (playerTypes.isEmpty() || playerTypeIIDs.contains(rolePlayer.playerType()));
+            final long sum = rolePlayerSum(persisted.rolePlayerCount(), matches) +
+                    rolePlayerSum(deltaRolePlayerCount, matches);
+            return Math.max(sum, 0);
+        }
+
+        /**
+         * @return false if no role player has been counted, as in a database whose relations
+         * were all written before role players were counted, in which case estimates should
+         * fall back to the counts of the role instances
+         */
+        public boolean hasRolePlayerCounts() {
+            return !persisted.rolePlayerCount().isEmpty() || !deltaRolePlayerCount.isEmpty();
+        }
+
+        private long rolePlayerSum(Map<StatisticsCache.RolePlayer, Long> counts,
+                                   Predicate<StatisticsCache.RolePlayer> matches) {
+            long sum = 0;
+            for (Map.Entry<StatisticsCache.RolePlayer, Long> count : counts.entrySet()) {
+                if (matches.test(count.getKey())) sum += count.getValue();
+            }
+            return sum;
+        }
+
+        /**
+         * @param relationTypes the labels of the types of the relations, or an empty set for every relation type
+         * @return the mean number of role players of the relations of the given types
+         */
+        public double relationArityMean(Set<Label> relationTypes) {
+            final long relations = relationTypes.isEmpty()
+                    ? thingVertexTransitiveCount(schemaGraph.rootRelationType())
+                    : thingVertexSum(relationTypes);
+            if (relations <= 0) return 0;
+            return (double) rolePlayerSum(relationTypes, set(), set()) / relations;
+        }
+
+        private Set<VertexIID.Type> typeIIDs(Set<Label> labels) {
+            final Set<VertexIID.Type> typeIIDs = new HashSet<>();
+            for (Label label : labels) {
+                final TypeVertex type = schemaGraph.getType(label);
+                if (type != null) typeIIDs.add(type.iid());
+            }
+            return typeIIDs;
+        }
+
+        /**
+         * @return the estimated number of distinct values of the attributes of the type
+         */
+        public long distinctValueCount(TypeVertex attributeType) {
+            final HyperLogLog sketch = cache.valueSketch(attributeType.iid());
+            if (sketch != null) return sketch.estimate();
+            else return thingVertexCount(attributeType);
+        }
+
+        /**
+         * @return the histogram of the values of the attributes of the type when it
+         * was last sampled, or null if it never was
+         */
+        @Nullable
+        public Histogram valueHistogram(TypeVertex attributeType) {
+            return cache.valueHistogram(attributeType.iid());
+        }
+
+        /**
+         * Estimates the number of owners of the given types that own an attribute
+         * of the given type with a value that is looked up by equality.
+         *
+         * Values are assumed to be looked up as often as they are owned, so the
+         * number of owners of a value is the ownership-weighted mean number of
+         * owners of the sampled attributes of the type, which grows with the skew
+         * of ownership. It falls back to the mean number of owners of a distinct
+         * value if the type has not been sampled yet.
+         *
+         * @param owners        the types of the owners
+         * @param attributeType the type of the attribute
+         * @return the estimated number of owners of the given types of a value of the attribute type
+         */
+        public double hasEdgeEqualityFanOut(Set<TypeVertex> owners, TypeVertex attributeType) {
+            final long ownedTotal = hasEdgeSum(schemaGraph.ownersOfAttributeType(attributeType), attributeType);
+            if (ownedTotal <= 0) return 0;
+            final double ownedFraction = Math.min(1.0, (double) hasEdgeSum(owners, attributeType) / ownedTotal);
+            final Histogram histogram = valueHistogram(attributeType);
+            if (histogram != null && histogram.degreeWeightedMean() > 0) {
+                return histogram.degreeWeightedMean() * ownedFraction;
+            } else {
+                final long distinctValues = distinctValueCount(attributeType);
+                return distinctValues > 0 ? (double) ownedTotal / distinctValues * ownedFraction : 0;
+            }
+        }
+
+        /**
+         * @return true if the attribute type has never been sampled while it had
+         * attributes, or if its number of attributes has changed by more than a
+         * tenth since it was last sampled
+         */
+        public boolean needsSampling(TypeVertex attributeType) {
+            final Histogram histogram = valueHistogram(attributeType);
+            final long count = thingVertexCount(attributeType);
+            if (histogram == null) return count > 0;
+            else return Math.abs(count - histogram.population()) > histogram.population() * SAMPLING_CHANGE_THRESHOLD;
+        }
+
+        /**
+         * Samples the values of the attributes of a type, to rebuild the sketch of
+         * its distinct values and the histogram of its values, which are written to
+         * storage, and published to every transaction once this one is committed.
+         *
+         * Every attribute of the type is offered to the sketch, while a uniform
+         * sample of them is drawn, of which the owners are counted.
+         *
+         * @param attributeType the attribute type to sample
+         * @param sampleSize    the maximum number of attributes sampled for the histogram
+         */
+        public void sampleValues(TypeVertex attributeType, int sampleSize) {
+            assert attributeType.isAttributeType();
+            final HyperLogLog sketch = new HyperLogLog();
+            final List<byte[]> sample = new ArrayList<>(sampleSize);
+            final Random random = new Random();
+            final byte[] prefix = join(ATTRIBUTE.prefix().bytes(), attributeType.iid().bytes());
+            long population = 0;
+            final ResourceIterator<byte[]> attributes = storage.iterate(prefix, (key, value) -> key);
+            while (attributes.hasNext()) {
+                final byte[] attIID = attributes.next();
+                sketch.offer(attIID);
+                if (population < sampleSize) {
+                    sample.add(attIID);
+                } else {
+                    final long index = (long) (random.nextDouble() * (population + 1));
+                    if (index < sampleSize) sample.set((int) index, attIID);
+                }
+                population++;
+            }
+            final List<Histogram.Sample> samples = new ArrayList<>(sample.size());
+            for (byte[] attIID : sample) {
+                samples.add(new Histogram.Sample(stripPrefix(attIID, prefix.length), ownerCount(attIID)));
+            }
+            final Histogram histogram = Histogram.build(population, samples);
+            storage.put(valueSketchKey(attributeType.iid()), sketch.bytes());
+            storage.put(valueHistogramKey(attributeType.iid()), histogram.bytes());
+            committed.sampled(attributeType.iid(), sketch, histogram);
+        }
+
+        private long ownerCount(byte[] attIID) {
+            final ResourceIterator<byte[]> owners = storage.iterate(
+                    join(attIID, InfixIID.Thing.of(HAS.in()).bytes()), (key, value) -> key
+            ).limit(MAX_SAMPLED_OWNERS);
+            long count = 0;
+            while (owners.hasNext()) {
+                owners.next();
+                count++;
+            }
+            return count;
+        }
+
+        /**
+         * Returns the approximate number of edges of an encoding in a direction of
+         * a persisted thing vertex, as of the start of this transaction, including
+         * the edges deleted by it.
+         *
+         * The persisted degrees are memoised by a write transaction, together with
+         * its deltas, but not by a read transaction, whose vertices memoise their
+         * own degrees instead, so that they are bounded by its cache of vertices.
+         *
+         * Only has edges and role player edges are counted, at both of their ends.
+         * A role has a single playing edge and a single relating edge, while the
+         * playing edges of a player and the relating edges of a relation are as
+         * many as its role player edges.
+         *
+         * @param thingIID  the IID of the persisted thing vertex
+         * @param encoding  the encoding of the edges
+         * @param direction the direction of the edges from the thing vertex
+         * @return the approximate number of edges
+         */
+        public long thingVertexDegree(VertexIID.Thing thingIID, Encoding.Edge.Thing encoding,
+                                      Encoding.Direction.Adjacency direction) {
+            if (thingIID.encoding() == Encoding.Vertex.Thing.ROLE) {
+                return direction.isIn() && (encoding == PLAYING || encoding == RELATING) ? 1 : 0;
+            } else if (encoding == PLAYING || encoding == RELATING) {
+                if (direction.isIn()) return 0;
+                else return thingVertexDegree(thingIID, ROLEPLAYER, encoding == PLAYING ? IN : OUT);
+            }
+            final Encoding.Infix infix = direction.isOut() ? encoding.out() : encoding.in();
+            final Pair<VertexIID.Thing, Encoding.Infix> degree = pair(thingIID, infix);
+            if (persistedVertexDegree == null) return persistedVertexDegree(thingIID, infix);
+            final long persistedDegree = persistedVertexDegree.computeIfAbsent(
+                    degree, d -> persistedVertexDegree(thingIID, infix)
+            );
+            return Math.max(persistedDegree + deltaVertexDegree.getOrDefault(degree, 0L), 0);
+        }
+
+        private long persistedVertexDegree(VertexIID.Thing thingIID, Encoding.Infix infix) {
+            final byte[] value = storage.get(vertexDegreeKey(thingIID, infix));
+            return value == null ? 0L : bytesToLong(value);
+        }
+
+        public void thingEdgeCommitted(Encoding.Edge.Thing encoding, VertexIID.Thing fromIID, VertexIID.Thing toIID) {
+            if (encoding != HAS && encoding != ROLEPLAYER) return;
+            deltaVertexDegree.merge(pair(fromIID, encoding.out()), 1L, Long::sum);
+            deltaVertexDegree.merge(pair(toIID, encoding.in()), 1L, Long::sum);
+        }
+
+        public void thingEdgeDeleted(Encoding.Edge.Thing encoding, VertexIID.Thing fromIID, VertexIID.Thing toIID) {
+            if (encoding != HAS && encoding != ROLEPLAYER) return;
+            deltaVertexDegree.merge(pair(fromIID, encoding.out()), -1L, Long::sum);
+            deltaVertexDegree.merge(pair(toIID, encoding.in()), -1L, Long::sum);
+        }
+
+        public void thingVertexDeleted(VertexIID.Thing thingIID) {
+            deletedVertexDegrees.add(thingIID);
+        }
+
         public boolean needsBackgroundCounting() {
             return needsBackgroundCounting;
         }
@@ -589,6 +1394,18 @@ public class DataGraph implements Graph {
             deltaVertexCount.compute(typeIID, (k, v) -> (v == null ? 0 : v) - 1);
         }
 
+        public void rolePlayerCreated(VertexIID.Type relationTypeIID, VertexIID.Type roleTypeIID,
+                                      VertexIID.Type playerTypeIID) {
+            deltaRolePlayerCount.compute(new StatisticsCache.RolePlayer(relationTypeIID, roleTypeIID, playerTypeIID),
+                                         (k, v) -> (v == null ? 0 : v) + 1);
+        }
+
+        public void rolePlayerDeleted(VertexIID.Type relationTypeIID, VertexIID.Type roleTypeIID,
+                                      VertexIID.Type playerTypeIID) {
+            deltaRolePlayerCount.compute(new StatisticsCache.RolePlayer(relationTypeIID, roleTypeIID, playerTypeIID),
+                                         (k, v) -> (v == null ? 0 : v) - 1);
+        }
+
         public void attributeVertexCreated(VertexIID.Attribute<?> attIID) {
             attributeVertexCountJobs.put(attIID, CREATED);
             needsBackgroundCounting = true;
@@ -626,36 +1443,20 @@ public class DataGraph implements Graph {
         }
 
         private long persistedVertexCount(VertexIID.Type typeIID, boolean isTransitive) {
-            if (isTransitive) {
-                return persistedVertexTransitiveCount.computeIfAbsent(typeIID, iid -> {
-                    if (isRootTypeIID(typeIID)) {
-                        return bytesToLongOrZero(storage.get(vertexTransitiveCountKey(typeIID)));
-                    } else {
-                        ResourceIterator<TypeVertex> subTypes = schemaGraph.convert(typeIID).ins().edge(SUB).from();
-                        long childrenPersistedCount = 0;
-                        while (subTypes.hasNext()) {
-                            TypeVertex subType = subTypes.next();
-                            childrenPersistedCount += persistedVertexCount(subType.iid(), true);
-                        }
-                        long persistedCount = persistedVertexCount(typeIID, false);
-                        return childrenPersistedCount + persistedCount;
-                    }
-                });
-            } else {
-                return persistedVertexCount.computeIfAbsent(typeIID, iid ->
-                        bytesToLongOrZero(storage.get(vertexCountKey(typeIID))));
-            }
+            if (!isTransitive) return persisted.vertexCount(typeIID);
+            else if (isRootTypeIID(typeIID)) return persisted.vertexTransitiveCount(typeIID);
+            else return persistedVertexTransitiveCount.computeIfAbsent(typeIID, iid -> tree(
+                    schemaGraph.convert(typeIID), v -> v.ins().edge(SUB).from()
+            ).stream().mapToLong(t -> persisted.vertexCount(t.iid())).sum());
         }
 
         private long persistedHasEdgeCount(VertexIID.Type thingTypeIID, VertexIID.Type attTypeIID) {
-            return persistedHasEdgeCount.computeIfAbsent(pair(thingTypeIID, attTypeIID), iid ->
-                    bytesToLongOrZero(storage.get(hasEdgeCountKey(thingTypeIID, attTypeIID))));
+            return persisted.hasEdgeCount(thingTypeIID, attTypeIID);
         }
 
         private long persistedHasEdgeTotalCount(VertexIID.Type rootTypeIID) {
             if (isRootTypeIID(rootTypeIID)) {
-                return persistedHasEdgeTotalCount.computeIfAbsent(rootTypeIID, iid ->
-                        bytesToLongOrZero(storage.get(hasEdgeTotalCountKey(rootTypeIID))));
+                return persisted.hasEdgeTotalCount(rootTypeIID);
             } else if (rootTypeIID.equals(schemaGraph.rootThingType().iid())) {
                 return persistedHasEdgeTotalCount(schemaGraph.rootEntityType().iid()) +
                         persistedHasEdgeTotalCount(schemaGraph.rootRelationType().iid()) +
@@ -673,128 +1474,267 @@ public class DataGraph implements Graph {
                     typeIID.equals(schemaGraph.rootRoleType().iid());
         }
 
+        /**
+         * Publishes the deltas merged into storage by this transaction to the
+         * statistics shared by every transaction of the database, once the
+         * transaction has been committed.
+         */
+        public void publish() {
+            cache.publish(committed);
+        }
+
         private void commit() {
             deltaVertexCount.forEach((typeIID, delta) -> {
-                storage.mergeUntracked(vertexCountKey(typeIID), longToBytes(delta));
+                mergeVertexCount(typeIID, delta);
                 if (typeIID.encoding().prefix() == VERTEX_ENTITY_TYPE) {
-                    storage.mergeUntracked(vertexTransitiveCountKey(schemaGraph.rootEntityType().iid()), longToBytes(delta));
+                    mergeVertexTransitiveCount(schemaGraph.rootEntityType().iid(), delta);
                 } else if (typeIID.encoding().prefix() == VERTEX_RELATION_TYPE) {
-                    storage.mergeUntracked(vertexTransitiveCountKey(schemaGraph.rootRelationType().iid()), longToBytes(delta));
+                    mergeVertexTransitiveCount(schemaGraph.rootRelationType().iid(), delta);
                 } else if (typeIID.encoding().prefix() == Encoding.Prefix.VERTEX_ROLE_TYPE) {
-                    storage.mergeUntracked(vertexTransitiveCountKey(schemaGraph.rootRoleType().iid()), longToBytes(delta));
+                    mergeVertexTransitiveCount(schemaGraph.rootRoleType().iid(), delta);
                 }
             });
+            writeCountJobs();
+            deltaRolePlayerCount.forEach((rolePlayer, delta) -> {
+                if (delta != 0) mergeRolePlayerCount(rolePlayer, delta);
+            });
+            if (!deltaVertexCount.isEmpty() || !deltaRolePlayerCount.isEmpty()) mergeSnapshot();
+            mergeVertexDegrees();
+            deletedVertexDegrees.forEach(thingIID -> {
+                for (Encoding.Edge.Thing encoding : list(HAS, ROLEPLAYER)) {
+                    storage.delete(vertexDegreeKey(thingIID, encoding.out()));
+                    storage.delete(vertexDegreeKey(thingIID, encoding.in()));
+                }
+            });
+        }
+
+        private void mergeVertexCount(VertexIID.Type typeIID, long delta) {
+            storage.mergeUntracked(vertexCountKey(typeIID), longToBytes(delta));
+            committed.vertexCount(typeIID, delta);
+        }
+
+        private void mergeVertexTransitiveCount(VertexIID.Type rootTypeIID, long delta) {
+            storage.mergeUntracked(vertexTransitiveCountKey(rootTypeIID), longToBytes(delta));
+            committed.vertexTransitiveCount(rootTypeIID, delta);
+        }
+
+        private void mergeHasEdgeCount(VertexIID.Type thingTypeIID, VertexIID.Type attTypeIID, long delta) {
+            storage.mergeUntracked(hasEdgeCountKey(thingTypeIID, attTypeIID), longToBytes(delta));
+            committed.hasEdgeCount(thingTypeIID, attTypeIID, delta);
+        }
+
+        private void mergeHasEdgeTotalCount(VertexIID.Type rootTypeIID, long delta) {
+            storage.mergeUntracked(hasEdgeTotalCountKey(rootTypeIID), longToBytes(delta));
+            committed.hasEdgeTotalCount(rootTypeIID, delta);
+        }
+
+        private void mergeRolePlayerCount(StatisticsCache.RolePlayer rolePlayer, long delta) {
+            storage.mergeUntracked(rolePlayerCountKey(
+                    rolePlayer.relationType(), rolePlayer.roleType(), rolePlayer.playerType()
+            ), longToBytes(delta));
+            committed.rolePlayerCount(rolePlayer, delta);
+        }
+
+        private void mergeSnapshot() {
+            storage.mergeUntracked(snapshotKey(), longToBytes(1));
+            committed.version(1);
+        }
+
+        /**
+         * Writes the count jobs and the degree deltas of the vertices spilled into
+         * storage, and forgets them, as they grow with the number of vertices and
+         * edges written by the transaction. The deltas of the counts of types are
+         * kept until the transaction is committed.
+         */
+        private void spill() {
+            writeCountJobs();
+            attributeVertexCountJobs.clear();
+            hasEdgeCountJobs.clear();
+            mergeVertexDegrees();
+            deltaVertexDegree.clear();
+            persistedVertexDegree.clear();
+        }
+
+        private void writeCountJobs() {
+            writtenCountJobs += attributeVertexCountJobs.size() + hasEdgeCountJobs.size();
             attributeVertexCountJobs.forEach((attIID, countWorkValue) -> storage.putUntracked(
                     attributeCountJobKey(attIID), countWorkValue.bytes()
             ));
             hasEdgeCountJobs.forEach((hasEdge, countWorkValue) -> storage.putUntracked(
                     hasEdgeCountJobKey(hasEdge.first(), hasEdge.second()), countWorkValue.bytes()
             ));
-            if (!deltaVertexCount.isEmpty()) {
-                storage.mergeUntracked(snapshotKey(), longToBytes(1));
-            }
+        }
+
+        private void mergeVertexDegrees() {
+            deltaVertexDegree.forEach((degree, delta) -> {
+                if (delta != 0 && !deletedVertexDegrees.contains(degree.first())) {
+                    storage.mergeUntracked(vertexDegreeKey(degree.first(), degree.second()), longToBytes(delta));
+                }
+            });
         }
 
         private void clear() {
-            persistedVertexCount.clear();
             persistedVertexTransitiveCount.clear();
             deltaVertexCount.clear();
-            persistedHasEdgeCount.clear();
+            deltaRolePlayerCount.clear();
+            if (persistedVertexDegree != null) persistedVertexDegree.clear();
+            deltaVertexDegree.clear();
+            deletedVertexDegrees.clear();
             attributeVertexCountJobs.clear();
             hasEdgeCountJobs.clear();
         }
 
-        public void processCountJobs() {
-            ResourceIterator<CountJob> countJobs = storage.iterate(StatisticsBytes.countJobKey(), CountJob::of);
-            while (countJobs.hasNext()) {
-                CountJob countJob = countJobs.next();
+        /**
+         * @return the number of count jobs that this transaction wrote to storage when it was committed,
+         * including those written when its vertices were spilled
+         */
+        public int countJobCount() {
+            return writtenCountJobs;
+        }
+
+        /**
+         * Processes up to {@code batchSize} count jobs of a range of the count
+         * jobs in storage, and deletes them.
+         *
+         * Every count job is processed by the range that its key falls into, so
+         * the jobs of an attribute, or of a has edge, are never processed by two
+         * ranges concurrently. The jobs are read from where the previous batch of
+         * the range stopped, so consecutive batches do not read over the jobs that
+         * earlier batches deleted, and wrap around to the start of the range to
+         * read the jobs written behind it. The deltas of the jobs are aggregated in
+         * memory, so each count is merged into storage once per batch rather than
+         * once per job.
+         *
+         * @param range     the range of the count jobs to process
+         * @param batchSize the maximum number of count jobs to process
+         * @return the number of count jobs processed, which is less than {@code batchSize}
+         * only if every count job of the range has been processed
+         */
+        public int processCountJobs(CountJobRange range, int batchSize) {
+            final Map<VertexIID.Type, Long> vertexCounts = new HashMap<>();
+            final Map<Pair<VertexIID.Type, VertexIID.Type>, Long> hasEdgeCounts = new HashMap<>();
+            range.next = range.from;
+            int processed = processCountJobs(range, range.from, range.end, batchSize, vertexCounts, hasEdgeCounts);
+            if (processed < batchSize && !Arrays.equals(range.from, range.start)) {
+                processed += processCountJobs(range, range.start, range.from, batchSize - processed,
+                                              vertexCounts, hasEdgeCounts);
+            }
+            vertexCounts.forEach((typeIID, delta) -> {
+                if (delta == 0) return;
+                mergeVertexCount(typeIID, delta);
+                mergeVertexTransitiveCount(schemaGraph.rootAttributeType().iid(), delta);
+            });
+            hasEdgeCounts.forEach((types, delta) -> {
+                if (delta == 0) return;
+                mergeHasEdgeCount(types.first(), types.second(), delta);
+                if (types.first().encoding().prefix() == VERTEX_ENTITY_TYPE) {
+                    mergeHasEdgeTotalCount(schemaGraph.rootEntityType().iid(), delta);
+                } else if (types.first().encoding().prefix() == VERTEX_RELATION_TYPE) {
+                    mergeHasEdgeTotalCount(schemaGraph.rootRelationType().iid(), delta);
+                } else if (types.first().encoding().prefix() == VERTEX_ATTRIBUTE_TYPE) {
+                    mergeHasEdgeTotalCount(schemaGraph.rootAttributeType().iid(), delta);
+                }
+            });
+            if (processed > 0) mergeSnapshot();
+            return processed;
+        }
+
+        private int processCountJobs(CountJobRange range, byte[] from, @Nullable byte[] to, int batchSize,
+                                     Map<VertexIID.Type, Long> vertexCounts,
+                                     Map<Pair<VertexIID.Type, VertexIID.Type>, Long> hasEdgeCounts) {
+            final ResourceIterator<CountJob> countJobs = storage.iterate(
+                    StatisticsBytes.countJobKey(), from, to, CountJob::of
+            );
+            int processed = 0;
+            while (processed < batchSize && countJobs.hasNext()) {
+                final CountJob countJob = countJobs.next();
                 if (countJob instanceof CountJob.Attribute) {
-                    processAttributeCountJob(countJob);
+                    processAttributeCountJob(countJob, vertexCounts);
                 } else if (countJob instanceof CountJob.HasEdge) {
-                    processHasEdgeCountJob(countJob);
+                    processHasEdgeCountJob(countJob, hasEdgeCounts);
                 } else {
                     assert false;
                 }
                 storage.delete(countJob.key());
+                range.next = countJob.key();
+                processed++;
             }
-            storage.mergeUntracked(snapshotKey(), longToBytes(1));
+            countJobs.recycle();
+            return processed;
         }
 
-        private void processAttributeCountJob(CountJob countJob) {
+        private void processAttributeCountJob(CountJob countJob, Map<VertexIID.Type, Long> vertexCounts) {
             VertexIID.Attribute<?> attIID = countJob.asAttribute().attIID();
+            byte[] counted = storage.get(attributeCountedKey(attIID));
             if (countJob.value() == CREATED) {
-                processAttributeCreatedCountJob(attIID);
+                if (counted == null) {
+                    vertexCounts.merge(attIID.type(), 1L, Long::sum);
+                    committed.value(attIID.type(), attIID.bytes());
+                    storage.put(attributeCountedKey(attIID));
+                }
             } else if (countJob.value() == DELETED) {
-                processAttributeDeletedCountJob(attIID);
+                if (counted != null) {
+                    vertexCounts.merge(attIID.type(), -1L, Long::sum);
+                    storage.delete(attributeCountedKey(attIID));
+                }
             } else {
                 assert false;
             }
         }
 
-        private void processAttributeCreatedCountJob(VertexIID.Attribute<?> attIID) {
-            byte[] counted = storage.get(attributeCountedKey(attIID));
-            if (counted == null) {
-                storage.mergeUntracked(vertexCountKey(attIID.type()), longToBytes(1));
-                storage.mergeUntracked(vertexTransitiveCountKey(schemaGraph.rootAttributeType().iid()), longToBytes(1));
-                storage.put(attributeCountedKey(attIID));
-            }
-        }
-
-        private void processAttributeDeletedCountJob(VertexIID.Attribute<?> attIID) {
-            byte[] counted = storage.get(attributeCountedKey(attIID));
-            if (counted != null) {
-                storage.mergeUntracked(vertexCountKey(attIID.type()), longToBytes(-1));
-                storage.mergeUntracked(vertexTransitiveCountKey(schemaGraph.rootAttributeType().iid()), longToBytes(-1));
-                storage.delete(attributeCountedKey(attIID));
-            }
-        }
-
-        private void processHasEdgeCountJob(CountJob countJob) {
+        private void processHasEdgeCountJob(CountJob countJob,
+                                            Map<Pair<VertexIID.Type, VertexIID.Type>, Long> hasEdgeCounts) {
             VertexIID.Thing thingIID = countJob.asHasEdge().thingIID();
             VertexIID.Attribute<?> attIID = countJob.asHasEdge().attIID();
+            byte[] counted = storage.get(StatisticsBytes.hasEdgeCountedKey(thingIID, attIID));
             if (countJob.value() == CREATED) {
-                processHasEdgeCreatedCountJob(thingIID, attIID);
+                if (counted == null) {
+                    hasEdgeCounts.merge(pair(thingIID.type(), attIID.type()), 1L, Long::sum);
+                    storage.put(StatisticsBytes.hasEdgeCountedKey(thingIID, attIID));
+                }
             } else if (countJob.value() == DELETED) {
-                processHasEdgeDeletedCountJob(thingIID, attIID);
+                if (counted != null) {
+                    hasEdgeCounts.merge(pair(thingIID.type(), attIID.type()), -1L, Long::sum);
+                    storage.delete(StatisticsBytes.hasEdgeCountedKey(thingIID, attIID));
+                }
             } else {
                 assert false;
             }
         }
 
-        private void processHasEdgeCreatedCountJob(VertexIID.Thing thingIID, VertexIID.Attribute<?> attIID) {
-            byte[] counted = storage.get(StatisticsBytes.hasEdgeCountedKey(thingIID, attIID));
-            if (counted == null) {
-                storage.mergeUntracked(hasEdgeCountKey(thingIID.type(), attIID.type()), longToBytes(1));
-                if (thingIID.type().encoding().prefix() == VERTEX_ENTITY_TYPE) {
-                    storage.mergeUntracked(hasEdgeTotalCountKey(schemaGraph.rootEntityType().iid()), longToBytes(1));
-                } else if (thingIID.type().encoding().prefix() == VERTEX_RELATION_TYPE) {
-                    storage.mergeUntracked(hasEdgeTotalCountKey(schemaGraph.rootRelationType().iid()), longToBytes(1));
-                } else if (thingIID.type().encoding().prefix() == VERTEX_ATTRIBUTE_TYPE) {
-                    storage.mergeUntracked(hasEdgeTotalCountKey(schemaGraph.rootAttributeType().iid()), longToBytes(1));
-                }
-                storage.put(StatisticsBytes.hasEdgeCountedKey(thingIID, attIID));
+        /**
+         * A contiguous range of the partitions of the count jobs, which is processed
+         * by a single worker of the background counter, and remembers where the
+         * last committed batch of the range stopped.
+         */
+        public static class CountJobRange {
+
+            private final byte[] start;
+            private final byte[] end;
+            private byte[] from;
+            private byte[] next;
+
+            /**
+             * @param range  the index of this range
+             * @param ranges the number of ranges that the partitions of the count jobs are split into
+             */
+            public CountJobRange(int range, int ranges) {
+                assert ranges <= StatisticsBytes.COUNT_JOB_PARTITIONS;
+                start = StatisticsBytes.countJobKey(StatisticsBytes.COUNT_JOB_PARTITIONS * range / ranges);
+                end = StatisticsBytes.countJobKey(StatisticsBytes.COUNT_JOB_PARTITIONS * (range + 1) / ranges);
+                from = start;
+                next = start;
             }
-        }
 
-        private void processHasEdgeDeletedCountJob(VertexIID.Thing thingIID, VertexIID.Attribute<?> attIID) {
-            byte[] counted = storage.get(StatisticsBytes.hasEdgeCountedKey(thingIID, attIID));
-            if (counted != null) {
-                storage.mergeUntracked(hasEdgeCountKey(thingIID.type(), attIID.type()), longToBytes(-1));
-                if (thingIID.type().encoding().prefix() == VERTEX_ENTITY_TYPE) {
-                    storage.mergeUntracked(hasEdgeTotalCountKey(schemaGraph.rootEntityType().iid()), longToBytes(-1));
-                } else if (thingIID.type().encoding().prefix() == VERTEX_RELATION_TYPE) {
-                    storage.mergeUntracked(hasEdgeTotalCountKey(schemaGraph.rootRelationType().iid()), longToBytes(-1));
-                } else if (thingIID.type().encoding().prefix() == VERTEX_ATTRIBUTE_TYPE) {
-                    storage.mergeUntracked(hasEdgeTotalCountKey(schemaGraph.rootAttributeType().iid()), longToBytes(-1));
-                }
-                storage.delete(StatisticsBytes.hasEdgeCountedKey(thingIID, attIID));
+            /**
+             * Moves the start of the next batch to where the last batch stopped,
+             * once that batch has been committed.
+             */
+            public void committed() {
+                from = next;
             }
         }
 
-        private long bytesToLongOrZero(byte[] bytes) {
-            return bytes != null ? bytesToLong(bytes) : 0;
-        }
-
         public abstract static class CountJob {
             private final Encoding.StatisticsCountJobValue value;
             private final byte[] key;
@@ -805,7 +1745,7 @@ public class DataGraph implements Graph {
             }
 
             public static CountJob of(byte[] key, byte[] value) {
-                byte[] countJobKey = stripPrefix(key, PrefixIID.LENGTH);
+                byte[] countJobKey = stripPrefix(key, PrefixIID.LENGTH + StatisticsBytes.COUNT_JOB_PARTITION_LENGTH);
                 Encoding.StatisticsCountJobType countJobType = Encoding.StatisticsCountJobType.of(new byte[]{countJobKey[0]});
                 Encoding.StatisticsCountJobValue countJobValue = Encoding.StatisticsCountJobValue.of(value);
                 byte[] countJobIID = stripPrefix(countJobKey, PrefixIID.LENGTH);
@@ -814,7 +1754,7 @@ public class DataGraph implements Graph {
                     return new Attribute(key, attIID, countJobValue);
                 } else if (countJobType == Encoding.StatisticsCountJobType.HAS_EDGE) {
                     VertexIID.Thing thingIID = VertexIID.Thing.extract(countJobIID, 0);
-                    VertexIID.Attribute<?> attIID = VertexIID.Attribute.extract(countJobIID, thingIID.bytes().length);
+                    VertexIID.Attribute<?> attIID = VertexIID.Attribute.extract(countJobIID, thingIID.length());
                     return new HasEdge(key, thingIID, attIID, countJobValue);
                 } else {
                     assert false;
@@ -0,0 +1,354 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.graph;
+
+import grakn.common.collection.Pair;
+import grakn.core.common.iterator.ResourceIterator;
+import grakn.core.graph.iid.PrefixIID;
+import grakn.core.graph.iid.VertexIID;
+import grakn.core.graph.util.Encoding;
+import grakn.core.graph.util.Histogram;
+import grakn.core.graph.util.HyperLogLog;
+import grakn.core.graph.util.Storage;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static grakn.common.collection.Collections.pair;
+import static grakn.core.common.collection.Bytes.bytesToLong;
+import static grakn.core.graph.util.StatisticsBytes.snapshotKey;
+import static java.util.Arrays.copyOfRange;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableMap;
+
+/**
+ * The persisted statistics of the things of a database, held in memory and
+ * shared by every transaction of the database, so that transactions do not
+ * read them from storage.
+ *
+ * The statistics are loaded from storage when the database is opened, and
+ * every commit that writes to them, including those of the background counter,
+ * publishes the deltas it merged into storage once the commit has succeeded.
+ * Every published delta replaces the statistics with a new immutable
+ * {@code Snapshot}, versioned by the snapshot counter of the statistics in
+ * storage, so a transaction reads a consistent snapshot of the statistics
+ * without any locking.
+ */
+public class StatisticsCache {
+
+    private volatile Snapshot snapshot;
+    private final ConcurrentMap<VertexIID.Type, HyperLogLog> valueSketches;
+    private final ConcurrentMap<VertexIID.Type, Histogram> valueHistograms;
+
+    public StatisticsCache() {
+        snapshot = new Snapshot(0, emptyMap(), emptyMap(), emptyMap(), emptyMap(), emptyMap());
+        valueSketches = new ConcurrentHashMap<>();
+        valueHistograms = new ConcurrentHashMap<>();
+    }
+
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Returns the sketch of the distinct values of the attributes of a type,
+     * which is rebuilt whenever the type is sampled, and offered the values of
+     * the attributes counted in between. Unlike the counts, sketches are not
+     * versioned, as they are only ever approximate.
+     *
+     * @param attTypeIID the IID of the attribute type
+     * @return the sketch of the distinct values of the type, or null if it has never been built
+     */
+    @Nullable
+    public HyperLogLog valueSketch(VertexIID.Type attTypeIID) {
+        return valueSketches.get(attTypeIID);
+    }
+
+    /**
+     * @param attTypeIID the IID of the attribute type
+     * @return the histogram of the values of the type when it was last sampled, or null if it never was
+     */
+    @Nullable
+    public Histogram valueHistogram(VertexIID.Type attTypeIID) {
+        return valueHistograms.get(attTypeIID);
+    }
+
+    /**
+     * Replaces the statistics with those persisted in storage.
+     *
+     * @param storage the storage of the data keyspace of the database
+     */
+    public synchronized void load(Storage storage) {
+        final Map<VertexIID.Type, Long> vertexCount = new HashMap<>();
+        final Map<VertexIID.Type, Long> vertexTransitiveCount = new HashMap<>();
+        final Map<Pair<VertexIID.Type, VertexIID.Type>, Long> hasEdgeCount = new HashMap<>();
+        final Map<VertexIID.Type, Long> hasEdgeTotalCount = new HashMap<>();
+        final Map<RolePlayer, Long> rolePlayerCount = new HashMap<>();
+        final int typeIndex = PrefixIID.LENGTH;
+        final int infixIndex = typeIndex + VertexIID.Type.LENGTH;
+        final ResourceIterator<byte[][]> counts = storage.iterate(
+                Encoding.Prefix.STATISTICS_THINGS.bytes(), (key, value) -> new byte[][]{key, value}
+        );
+        while (counts.hasNext()) {
+            final byte[][] count = counts.next();
+            final VertexIID.Type typeIID = VertexIID.Type.of(copyOfRange(count[0], typeIndex, infixIndex));
+            final byte infix = count[0][infixIndex];
+            if (infix == Encoding.StatisticsInfix.VALUE_SKETCH.key()) {
+                valueSketches.put(typeIID, HyperLogLog.of(count[1]));
+                continue;
+            } else if (infix == Encoding.StatisticsInfix.VALUE_HISTOGRAM.key()) {
+                valueHistograms.put(typeIID, Histogram.of(count[1]));
+                continue;
+            }
+            final long value = bytesToLong(count[1]);
+            if (infix == Encoding.StatisticsInfix.VERTEX_COUNT.key()) {
+                vertexCount.put(typeIID, value);
+            } else if (infix == Encoding.StatisticsInfix.VERTEX_TRANSITIVE_COUNT.key()) {
+                vertexTransitiveCount.put(typeIID, value);
+            } else if (infix == Encoding.StatisticsInfix.HAS_EDGE_COUNT.key()) {
+                hasEdgeCount.put(pair(typeIID, VertexIID.Type.of(copyOfRange(
+                        count[0], infixIndex + 1, infixIndex + 1 + VertexIID.Type.LENGTH
+                ))), value);
+            } else if (infix == Encoding.StatisticsInfix.HAS_EDGE_TOTAL_COUNT.key()) {
+                hasEdgeTotalCount.put(typeIID, value);
+            } else if (infix == Encoding.StatisticsInfix.ROLE_PLAYER_COUNT.key()) {
+                final int roleTypeIndex = infixIndex + 1;
+                final int playerTypeIndex = roleTypeIndex + VertexIID.Type.LENGTH;
+                rolePlayerCount.put(new RolePlayer(
+                        typeIID, VertexIID.Type.of(copyOfRange(count[0], roleTypeIndex, playerTypeIndex)),
+                        VertexIID.Type.of(copyOfRange(count[0], playerTypeIndex, playerTypeIndex + VertexIID.Type.LENGTH))
+                ), value);
+            }
+        }
+        final byte[] version = storage.get(snapshotKey());
+        snapshot = new Snapshot(version != null ? bytesToLong(version) : 0, unmodifiableMap(vertexCount),
+                                unmodifiableMap(vertexTransitiveCount), unmodifiableMap(hasEdgeCount),
+                                unmodifiableMap(hasEdgeTotalCount), unmodifiableMap(rolePlayerCount));
+    }
+
+    /**
+     * Publishes the deltas of a commit, once they have been merged into storage.
+     *
+     * @param delta the deltas that the commit merged into the statistics in storage
+     */
+    public synchronized void publish(Delta delta) {
+        if (!delta.isEmpty()) snapshot = snapshot.apply(delta);
+        delta.valueSketches.forEach(valueSketches::put);
+        delta.valueHistograms.forEach(valueHistograms::put);
+        delta.values.forEach((attTypeIID, values) -> {
+            final HyperLogLog sketch = valueSketches.get(attTypeIID);
+            if (sketch != null) values.forEach(sketch::offer);
+        });
+    }
+
+    public static class Snapshot {
+
+        private final long version;
+        private final Map<VertexIID.Type, Long> vertexCount;
+        private final Map<VertexIID.Type, Long> vertexTransitiveCount;
+        private final Map<Pair<VertexIID.Type, VertexIID.Type>, Long> hasEdgeCount;
+        private final Map<VertexIID.Type, Long> hasEdgeTotalCount;
+        private final Map<RolePlayer, Long> rolePlayerCount;
+
+        private Snapshot(long version, Map<VertexIID.Type, Long> vertexCount,
+                         Map<VertexIID.Type, Long> vertexTransitiveCount,
+                         Map<Pair<VertexIID.Type, VertexIID.Type>, Long> hasEdgeCount,
+                         Map<VertexIID.Type, Long> hasEdgeTotalCount,
+                         Map<RolePlayer, Long> rolePlayerCount) {
+            this.version = version;
+            this.vertexCount = vertexCount;
+            this.vertexTransitiveCount = vertexTransitiveCount;
+            this.hasEdgeCount = hasEdgeCount;
+            this.hasEdgeTotalCount = hasEdgeTotalCount;
+            this.rolePlayerCount = rolePlayerCount;
+        }
+
+        /**
+         * @return the snapshot counter of the statistics in storage that this snapshot corresponds to
+         */
+        public long version() {
+            return version;
+        }
+
+        public long vertexCount(VertexIID.Type typeIID) {
+            return vertexCount.getOrDefault(typeIID, 0L);
+        }
+
+        public long vertexTransitiveCount(VertexIID.Type rootTypeIID) {
+            return vertexTransitiveCount.getOrDefault(rootTypeIID, 0L);
+        }
+
+        public long hasEdgeCount(VertexIID.Type thingTypeIID, VertexIID.Type attTypeIID) {
+            return hasEdgeCount.getOrDefault(pair(thingTypeIID, attTypeIID), 0L);
+        }
+
+        public long hasEdgeTotalCount(VertexIID.Type rootTypeIID) {
+            return hasEdgeTotalCount.getOrDefault(rootTypeIID, 0L);
+        }
+
+        /**
+         * @return the number of role player edges, by the types of their relation, role and player
+         */
+        public Map<RolePlayer, Long> rolePlayerCount() {
+            return rolePlayerCount;
+        }
+
+        private Snapshot apply(Delta delta) {
+            return new Snapshot(version + delta.version,
+                                merge(vertexCount, delta.vertexCount),
+                                merge(vertexTransitiveCount, delta.vertexTransitiveCount),
+                                merge(hasEdgeCount, delta.hasEdgeCount),
+                                merge(hasEdgeTotalCount, delta.hasEdgeTotalCount),
+                                merge(rolePlayerCount, delta.rolePlayerCount));
+        }
+
+        private static <KEY> Map<KEY, Long> merge(Map<KEY, Long> counts, Map<KEY, Long> deltas) {
+            if (deltas.isEmpty()) return counts;
+            final Map<KEY, Long> merged = new HashMap<>(counts);
+            deltas.forEach((key, delta) -> merged.merge(key, delta, Long::sum));
+            return unmodifiableMap(merged);
+        }
+    }
+
+    /**
+     * The deltas that a commit merges into the statistics in storage, collected
+     * so that they can be published to the cache once the commit has succeeded.
+     */
+    public static class Delta {
+
+        private final Map<VertexIID.Type, Long> vertexCount;
+        private final Map<VertexIID.Type, Long> vertexTransitiveCount;
+        private final Map<Pair<VertexIID.Type, VertexIID.Type>, Long> hasEdgeCount;
+        private final Map<VertexIID.Type, Long> hasEdgeTotalCount;
+        private final Map<RolePlayer, Long> rolePlayerCount;
+        private final Map<VertexIID.Type, List<byte[]>> values;
+        private final Map<VertexIID.Type, HyperLogLog> valueSketches;
+        private final Map<VertexIID.Type, Histogram> valueHistograms;
+        private long version;
+
+        public Delta() {
+            vertexCount = new HashMap<>();
+            vertexTransitiveCount = new HashMap<>();
+            hasEdgeCount = new HashMap<>();
+            hasEdgeTotalCount = new HashMap<>();
+            rolePlayerCount = new HashMap<>();
+            values = new HashMap<>();
+            valueSketches = new HashMap<>();
+            valueHistograms = new HashMap<>();
+            version = 0;
+        }
+
+        public synchronized void vertexCount(VertexIID.Type typeIID, long delta) {
+            vertexCount.merge(typeIID, delta, Long::sum);
+        }
+
+        public synchronized void vertexTransitiveCount(VertexIID.Type rootTypeIID, long delta) {
+            vertexTransitiveCount.merge(rootTypeIID, delta, Long::sum);
+        }
+
+        public synchronized void hasEdgeCount(VertexIID.Type thingTypeIID, VertexIID.Type attTypeIID, long delta) {
+            hasEdgeCount.merge(pair(thingTypeIID, attTypeIID), delta, Long::sum);
+        }
+
+        public synchronized void hasEdgeTotalCount(VertexIID.Type rootTypeIID, long delta) {
+            hasEdgeTotalCount.merge(rootTypeIID, delta, Long::sum);
+        }
+
+        public synchronized void rolePlayerCount(RolePlayer rolePlayer, long delta) {
+            rolePlayerCount.merge(rolePlayer, delta, Long::sum);
+        }
+
+        /**
+         * Records the value of an attribute that has been counted, to be offered to
+         * the sketch of the distinct values of its type.
+         */
+        public synchronized void value(VertexIID.Type attTypeIID, byte[] value) {
+            values.computeIfAbsent(attTypeIID, t -> new ArrayList<>()).add(value);
+        }
+
+        /**
+         * Records the sketch and histogram of the values of an attribute type that
+         * has been sampled, to replace those of the type.
+         */
+        public synchronized void sampled(VertexIID.Type attTypeIID, HyperLogLog sketch, Histogram histogram) {
+            valueSketches.put(attTypeIID, sketch);
+            valueHistograms.put(attTypeIID, histogram);
+        }
+
+        public synchronized void version(long delta) {
+            version += delta;
+        }
+
+        private synchronized boolean isEmpty() {
+            return version == 0 && vertexCount.isEmpty() && vertexTransitiveCount.isEmpty() &&
+                    hasEdgeCount.isEmpty() && hasEdgeTotalCount.isEmpty() && rolePlayerCount.isEmpty();
+        }
+    }
+
+    /**
+     * The types of the relation, the role and the player of a role player edge,
+     * by which role player edges are counted.
+     */
+    public static class RolePlayer {
+
+        private final VertexIID.Type relationType;
+        private final VertexIID.Type roleType;
+        private final VertexIID.Type playerType;
+        private final int hash;
+
+        public RolePlayer(VertexIID.Type relationType, VertexIID.Type roleType, VertexIID.Type playerType) {
+            this.relationType = relationType;
+            this.roleType = roleType;
+            this.playerType = playerType;
+            this.hash = Objects.hash(relationType, roleType, playerType);
+        }
+
+        public VertexIID.Type relationType() {
+            return relationType;
+        }
+
+        public VertexIID.Type roleType() {
+            return roleType;
+        }
+
+        public VertexIID.Type playerType() {
+            return playerType;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) return true;
+            if (object == null || getClass() != object.getClass()) return false;
+            final RolePlayer that = (RolePlayer) object;
+            return relationType.equals(that.relationType) && roleType.equals(that.roleType) &&
+                    playerType.equals(that.playerType);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
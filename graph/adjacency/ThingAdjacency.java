@@ -24,6 +24,8 @@ import grakn.core.graph.iid.IID;
 import grakn.core.graph.util.Encoding;
 import grakn.core.graph.vertex.ThingVertex;
 
+import java.util.List;
+
 public interface ThingAdjacency {
 
     /**
@@ -60,6 +62,18 @@ public interface ThingAdjacency {
      */
     ThingEdge edge(Encoding.Edge.Thing encoding, ThingVertex adjacent);
 
+    /**
+     * Returns the edges of type {@code encoding} that connect to each of the
+     * {@code adjacents} vertices, looking up all the persisted edges in a single
+     * batch rather than one at a time.
+     *
+     * @param encoding  type of the edge to filter by
+     * @param adjacents vertices that the edges connect to
+     * @return the edges that connect to each of the {@code adjacents}, in the
+     * same order, with {@code null} for every vertex that is not connected
+     */
+    List<ThingEdge> edge(Encoding.Edge.Thing encoding, List<? extends ThingVertex> adjacents);
+
     /**
      * Returns an edge of type {@code encoding} that connects to an {@code adjacent}
      * vertex, that is an optimisation edge over a given {@code optimised} vertex.
@@ -18,6 +18,7 @@
 
 package grakn.core.graph.adjacency.impl;
 
+import grakn.core.common.collection.Bytes;
 import grakn.core.common.iterator.ResourceIterator;
 import grakn.core.graph.adjacency.ThingAdjacency;
 import grakn.core.graph.edge.Edge;
@@ -30,32 +31,50 @@ import grakn.core.graph.iid.SuffixIID;
 import grakn.core.graph.util.Encoding;
 import grakn.core.graph.vertex.ThingVertex;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.function.Predicate;
 
-import static grakn.common.collection.Collections.list;
 import static grakn.core.common.collection.Bytes.join;
 import static grakn.core.common.iterator.Iterators.iterate;
-import static grakn.core.common.iterator.Iterators.link;
+import static grakn.core.common.iterator.Iterators.merge;
 import static java.util.Arrays.copyOfRange;
 import static java.util.Collections.emptyIterator;
 import static java.util.concurrent.ConcurrentHashMap.newKeySet;
 
 public abstract class ThingAdjacencyImpl implements ThingAdjacency {
 
+    // Adjacencies hold their edges in an array up to this many edges, beyond which they index them by infix
+    private static final int COMPACT_EDGES_MAX_SIZE = 16;
+    private static final ThingEdgeImpl[] EMPTY_EDGES = new ThingEdgeImpl[0];
+
     final ThingVertex owner;
     final Encoding.Direction.Adjacency direction;
-    final ConcurrentMap<InfixIID.Thing, Set<InfixIID.Thing>> infixes;
-    final ConcurrentMap<InfixIID.Thing, Set<ThingEdge>> edges;
-
+    private volatile ThingEdgeImpl[] compactEdges;
+    private volatile InfixIndex infixIndex;
+
+    /**
+     * Constructs the adjacency of a vertex in a direction.
+     *
+     * Most vertices only have a handful of edges, so an adjacency starts off
+     * compact: its edges are held in an array that is copied on every write,
+     * and matched against a look-ahead by comparing the bytes of their keys in
+     * place, without building their infixes. Once an adjacency holds more than
+     * {@code COMPACT_EDGES_MAX_SIZE} edges, they are moved to an index of their
+     * infixes, which is looked up in constant time, but costs a pair of maps and
+     * a chain of infixes for every edge.
+     */
     ThingAdjacencyImpl(ThingVertex owner, Encoding.Direction.Adjacency direction) {
         this.owner = owner;
         this.direction = direction;
-        this.infixes = new ConcurrentHashMap<>();
-        this.edges = new ConcurrentHashMap<>();
+        this.compactEdges = EMPTY_EDGES;
+        this.infixIndex = null;
     }
 
     InfixIID.Thing infixIID(Encoding.Edge.Thing encoding, IID... lookAhead) {
@@ -77,25 +96,23 @@ public abstract class ThingAdjacencyImpl implements ThingAdjacency {
     }
 
     ResourceIterator<ThingEdge> bufferedEdgeIterator(Encoding.Edge.Thing encoding, IID[] lookAhead) {
-        Set<ThingEdge> result;
-        InfixIID.Thing infixIID = infixIID(encoding, lookAhead);
-        if (lookAhead.length == encoding.lookAhead()) {
-            return iterate((result = edges.get(infixIID)) != null ? result.iterator() : emptyIterator());
-        }
-
-        assert lookAhead.length < encoding.lookAhead();
-        Set<InfixIID.Thing> iids = new HashSet<>();
-        iids.add(infixIID);
-        for (int i = lookAhead.length; i < encoding.lookAhead() && !iids.isEmpty(); i++) {
-            Set<InfixIID.Thing> newIIDs = new HashSet<>();
-            for (InfixIID.Thing iid : iids) {
-                Set<InfixIID.Thing> someNewIIDs = infixes.get(iid);
-                if (someNewIIDs != null) newIIDs.addAll(someNewIIDs);
-            }
-            iids = newIIDs;
+        final InfixIndex index = infixIndex;
+        if (index != null) return index.get(encoding, lookAhead);
+        final ThingEdgeImpl[] edges = compactEdges;
+        if (edges == null) return infixIndex.get(encoding, lookAhead); // the adjacency has just been indexed
+        if (edges.length == 0) return iterate(emptyIterator());
+
+        final byte[] lookAheadBytes;
+        if (lookAhead.length == 0) lookAheadBytes = new byte[0];
+        else if (lookAhead.length == 1) lookAheadBytes = lookAhead[0].bytes();
+        else {
+            final byte[][] lookAheadIIDs = new byte[lookAhead.length][];
+            for (int i = 0; i < lookAhead.length; i++) lookAheadIIDs[i] = lookAhead[i].bytes();
+            lookAheadBytes = join(lookAheadIIDs);
         }
-
-        return iterate(iids).flatMap(iid -> iterate(edges.get(iid)));
+        return iterate(Arrays.<ThingEdge>asList(edges)).filter(
+                edge -> edge.encoding() == encoding && ((ThingEdgeImpl) edge).hasLookAhead(direction, lookAheadBytes)
+        );
     }
 
     @Override
@@ -130,16 +147,18 @@ public abstract class ThingAdjacencyImpl implements ThingAdjacency {
         return edge;
     }
 
-    private ThingEdgeImpl put(Encoding.Edge.Thing encoding, ThingEdgeImpl edge, IID[] infixes, boolean isModified, boolean recurse) {
-        assert encoding.lookAhead() == infixes.length;
-        InfixIID.Thing infixIID = infixIID(encoding);
-        for (int i = 0; i < encoding.lookAhead(); i++) {
-            this.infixes.computeIfAbsent(infixIID, x -> newKeySet()).add(
-                    infixIID = infixIID(encoding, copyOfRange(infixes, 0, i + 1))
-            );
-        }
-        edges.computeIfAbsent(infixIID, iid -> newKeySet()).add(edge);
-        if (isModified) owner.isModified();
+    @Override
+    public List<ThingEdge> edge(Encoding.Edge.Thing encoding, List<? extends ThingVertex> adjacents) {
+        List<ThingEdge> edges = new ArrayList<>(adjacents.size());
+        for (ThingVertex adjacent : adjacents) edges.add(edge(encoding, adjacent));
+        return edges;
+    }
+
+    private ThingEdgeImpl put(ThingEdgeImpl edge, boolean isModified, boolean recurse) {
+        final InfixIndex index = infixIndex;
+        if (index != null) index.put(edge);
+        else putCompact(edge);
+        if (isModified) owner.graph().pin(owner);
         if (recurse) {
             if (direction.isOut()) ((ThingAdjacencyImpl) edge.to().ins()).putNonRecursive(edge);
             else ((ThingAdjacencyImpl) edge.from().outs()).putNonRecursive(edge);
@@ -147,6 +166,28 @@ public abstract class ThingAdjacencyImpl implements ThingAdjacency {
         return edge;
     }
 
+    private synchronized void putCompact(ThingEdgeImpl edge) {
+        if (infixIndex != null) {
+            infixIndex.put(edge);
+            return;
+        }
+        final ThingEdgeImpl[] edges = compactEdges;
+        for (ThingEdgeImpl existing : edges) {
+            if (existing.equals(edge)) return;
+        }
+        if (edges.length < COMPACT_EDGES_MAX_SIZE) {
+            final ThingEdgeImpl[] newEdges = Arrays.copyOf(edges, edges.length + 1);
+            newEdges[edges.length] = edge;
+            compactEdges = newEdges;
+        } else {
+            final InfixIndex index = new InfixIndex();
+            for (ThingEdgeImpl existing : edges) index.put(existing);
+            index.put(edge);
+            infixIndex = index;
+            compactEdges = null;
+        }
+    }
+
     @Override
     public ThingEdgeImpl put(Encoding.Edge.Thing encoding, ThingVertex adjacent) {
         assert !encoding.isOptimisation();
@@ -156,8 +197,7 @@ public abstract class ThingAdjacencyImpl implements ThingAdjacency {
         ThingEdgeImpl edge = direction.isOut()
                 ? new ThingEdgeImpl.Buffered(encoding, owner, adjacent)
                 : new ThingEdgeImpl.Buffered(encoding, adjacent, owner);
-        IID[] infixes = new IID[]{adjacent.iid().prefix(), adjacent.iid().type()};
-        return put(encoding, edge, infixes, true, true);
+        return put(edge, true, true);
     }
 
     @Override
@@ -166,26 +206,49 @@ public abstract class ThingAdjacencyImpl implements ThingAdjacency {
         ThingEdgeImpl edge = direction.isOut()
                 ? new ThingEdgeImpl.Buffered(encoding, owner, adjacent, optimised)
                 : new ThingEdgeImpl.Buffered(encoding, adjacent, owner, optimised);
-        IID[] infixes = new IID[]{optimised.iid().type(), adjacent.iid().prefix(), adjacent.iid().type()};
-        return put(encoding, edge, infixes, true, true);
+        return put(edge, true, true);
     }
 
     private void putNonRecursive(ThingEdgeImpl edge) {
-        put(edge.encoding(), edge, infixTails(edge), true, false);
+        put(edge, true, false);
     }
 
+    /**
+     * Caches a persisted edge read from storage in this adjacency.
+     *
+     * Read transactions do not cache persisted edges, as an edge holds on to
+     * the vertices it connects, which would keep them from being evicted from
+     * the bounded cache of persisted vertices. The edges are read again from
+     * storage instead.
+     *
+     * @param edge the persisted edge read from storage
+     * @return the edge that was provided
+     */
     @Override
     public ThingEdge cache(ThingEdge edge) {
-        return put(edge.encoding(), (ThingEdgeImpl) edge, infixTails(edge), false, false);
+        if (owner.graph().isReadOnly()) return edge;
+        return put((ThingEdgeImpl) edge, false, false);
     }
 
     @Override
     public void remove(ThingEdge edge) {
-        InfixIID.Thing infixIID = infixIID(edge.encoding(), infixTails(edge));
-        if (edges.containsKey(infixIID)) {
-            edges.get(infixIID).remove(edge);
-            owner.setModified();
+        final InfixIndex index = infixIndex;
+        if (index != null ? index.remove(edge) : removeCompact(edge)) owner.setModified();
+    }
+
+    private synchronized boolean removeCompact(ThingEdge edge) {
+        if (infixIndex != null) return infixIndex.remove(edge);
+        final ThingEdgeImpl[] edges = compactEdges;
+        for (int i = 0; i < edges.length; i++) {
+            if (edges[i].equals(edge)) {
+                final ThingEdgeImpl[] newEdges = new ThingEdgeImpl[edges.length - 1];
+                System.arraycopy(edges, 0, newEdges, 0, i);
+                System.arraycopy(edges, i + 1, newEdges, i, edges.length - i - 1);
+                compactEdges = newEdges;
+                return true;
+            }
         }
+        return false;
     }
 
     @Override
@@ -195,7 +258,69 @@ public abstract class ThingAdjacencyImpl implements ThingAdjacency {
 
     @Override
     public void commit() {
-        edges.values().forEach(edges -> edges.forEach(Edge::commit));
+        final InfixIndex index = infixIndex;
+        if (index != null) index.commit();
+        else for (ThingEdgeImpl edge : compactEdges) edge.commit();
+    }
+
+    /**
+     * The edges of an adjacency with many edges, indexed by the infixes of their
+     * keys, and by every shorter infix of those, so that the edges matching a
+     * look-ahead of any length are looked up without scanning the others.
+     */
+    private class InfixIndex {
+
+        private final ConcurrentMap<InfixIID.Thing, Set<InfixIID.Thing>> infixes;
+        private final ConcurrentMap<InfixIID.Thing, Set<ThingEdge>> edges;
+
+        InfixIndex() {
+            infixes = new ConcurrentHashMap<>();
+            edges = new ConcurrentHashMap<>();
+        }
+
+        ResourceIterator<ThingEdge> get(Encoding.Edge.Thing encoding, IID[] lookAhead) {
+            Set<ThingEdge> result;
+            InfixIID.Thing infixIID = infixIID(encoding, lookAhead);
+            if (lookAhead.length == encoding.lookAhead()) {
+                return iterate((result = edges.get(infixIID)) != null ? result.iterator() : emptyIterator());
+            }
+
+            assert lookAhead.length < encoding.lookAhead();
+            Set<InfixIID.Thing> iids = new HashSet<>();
+            iids.add(infixIID);
+            for (int i = lookAhead.length; i < encoding.lookAhead() && !iids.isEmpty(); i++) {
+                Set<InfixIID.Thing> newIIDs = new HashSet<>();
+                for (InfixIID.Thing iid : iids) {
+                    Set<InfixIID.Thing> someNewIIDs = infixes.get(iid);
+                    if (someNewIIDs != null) newIIDs.addAll(someNewIIDs);
+                }
+                iids = newIIDs;
+            }
+
+            return iterate(iids).flatMap(iid -> iterate(edges.get(iid)));
+        }
+
+        void put(ThingEdgeImpl edge) {
+            final IID[] infixTails = infixTails(edge);
+            InfixIID.Thing infixIID = infixIID(edge.encoding());
+            for (int i = 0; i < infixTails.length; i++) {
+                infixes.computeIfAbsent(infixIID, x -> newKeySet()).add(
+                        infixIID = infixIID(edge.encoding(), copyOfRange(infixTails, 0, i + 1))
+                );
+            }
+            edges.computeIfAbsent(infixIID, iid -> newKeySet()).add(edge);
+        }
+
+        boolean remove(ThingEdge edge) {
+            final Set<ThingEdge> infixEdges = edges.get(infixIID(edge.encoding(), infixTails(edge)));
+            if (infixEdges == null) return false;
+            infixEdges.remove(edge);
+            return true;
+        }
+
+        void commit() {
+            edges.values().forEach(set -> set.forEach(Edge::commit));
+        }
     }
 
     static class ThingIteratorBuilderImpl implements ThingIteratorBuilder {
@@ -255,12 +380,29 @@ public abstract class ThingAdjacencyImpl implements ThingAdjacency {
             super(owner, direction);
         }
 
+        /**
+         * Returns the edges of this adjacency, by merging the edges buffered in
+         * memory with those read from storage, in the order of their keys.
+         *
+         * The edges read from storage and cached in memory are read again from
+         * storage, so only the buffered edges that are yet to be written are sorted
+         * by their keys, which takes as much memory as there are such edges, rather
+         * than as there are edges in storage.
+         */
         private ResourceIterator<ThingEdge> edgeIterator(Encoding.Edge.Thing encoding, IID... lookahead) {
             byte[] iid = join(owner.iid().bytes(), infixIID(encoding, lookahead).bytes());
             ResourceIterator<ThingEdge> storageIterator =
                     owner.graph().storage().iterate(iid, (key, value) -> cache(new ThingEdgeImpl.Persisted(owner.graph(), EdgeIID.Thing.of(key))));
-            ResourceIterator<ThingEdge> bufferedIterator = bufferedEdgeIterator(encoding, lookahead);
-            return link(list(bufferedIterator, storageIterator)).distinct();
+            TreeMap<byte[], ThingEdge> bufferedEdges = new TreeMap<>(Bytes::compareKeys);
+            bufferedEdgeIterator(encoding, lookahead).forEachRemaining(edge -> {
+                if (edge instanceof ThingEdgeImpl.Buffered) bufferedEdges.put(key(edge), edge);
+            });
+            if (bufferedEdges.isEmpty()) return storageIterator;
+            else return merge(iterate(bufferedEdges.values()), storageIterator, this::key, Bytes::compareKeys);
+        }
+
+        private byte[] key(ThingEdge edge) {
+            return (direction.isOut() ? edge.outIID() : edge.inIID()).bytes();
         }
 
         @Override
@@ -284,6 +426,34 @@ public abstract class ThingAdjacencyImpl implements ThingAdjacency {
             else return cache(new ThingEdgeImpl.Persisted(owner.graph(), edgeIID));
         }
 
+        @Override
+        public List<ThingEdge> edge(Encoding.Edge.Thing encoding, List<? extends ThingVertex> adjacents) {
+            assert !encoding.isOptimisation();
+            List<ThingEdge> edges = new ArrayList<>(adjacents.size());
+            List<Integer> positions = new ArrayList<>();
+            List<EdgeIID.Thing> edgeIIDs = new ArrayList<>();
+            List<byte[]> keys = new ArrayList<>();
+            for (ThingVertex adjacent : adjacents) {
+                ThingEdge edge = super.edge(encoding, adjacent);
+                if (edge == null) {
+                    EdgeIID.Thing edgeIID = EdgeIID.Thing.of(owner.iid(), infixIID(encoding), adjacent.iid());
+                    positions.add(edges.size());
+                    edgeIIDs.add(edgeIID);
+                    keys.add(edgeIID.bytes());
+                }
+                edges.add(edge);
+            }
+            if (keys.isEmpty()) return edges;
+
+            List<byte[]> values = owner.graph().storage().multiGet(keys);
+            for (int i = 0; i < values.size(); i++) {
+                if (values.get(i) != null) {
+                    edges.set(positions.get(i), cache(new ThingEdgeImpl.Persisted(owner.graph(), edgeIIDs.get(i))));
+                }
+            }
+            return edges;
+        }
+
         @Override
         public ThingEdge edge(Encoding.Edge.Thing encoding, ThingVertex adjacent, ThingVertex optimised) {
             assert encoding.isOptimisation();
@@ -22,6 +22,7 @@ import grakn.core.graph.DataGraph;
 import grakn.core.graph.edge.ThingEdge;
 import grakn.core.graph.iid.EdgeIID;
 import grakn.core.graph.iid.InfixIID;
+import grakn.core.graph.iid.PrefixIID;
 import grakn.core.graph.iid.SuffixIID;
 import grakn.core.graph.iid.VertexIID;
 import grakn.core.graph.util.Encoding;
@@ -49,6 +50,27 @@ public abstract class ThingEdgeImpl implements ThingEdge {
         deleted = new AtomicBoolean(false);
     }
 
+    /**
+     * Returns true if the key of this edge in a direction starts with a look-ahead
+     * after the IID of the vertex it is read from and the head of its infix. The
+     * look-ahead is the role type of an optimisation edge, followed by the prefix
+     * and the type of the adjacent vertex, or the beginning of them. This matches
+     * an edge against a look-ahead without building the key or infix of the edge.
+     *
+     * @param direction the direction of the key of the edge
+     * @param lookAhead the bytes of the look-ahead, which may be shorter than a full one
+     * @return true if the edge matches the look-ahead
+     */
+    public abstract boolean hasLookAhead(Encoding.Direction.Adjacency direction, byte[] lookAhead);
+
+    static boolean regionEquals(byte[] bytes, int offset, byte[] lookAhead, int from, int length) {
+        if (offset + length > bytes.length) return false;
+        for (int i = 0; i < length; i++) {
+            if (bytes[offset + i] != lookAhead[from + i]) return false;
+        }
+        return true;
+    }
+
     public static class Buffered extends ThingEdgeImpl implements ThingEdge {
 
         private final AtomicBoolean committed;
@@ -127,6 +149,15 @@ public abstract class ThingEdgeImpl implements ThingEdge {
             return Optional.ofNullable(optimised);
         }
 
+        @Override
+        public boolean hasLookAhead(Encoding.Direction.Adjacency direction, byte[] lookAhead) {
+            final byte[] adjacent = (direction.isOut() ? to : from).iid().bytes();
+            if (optimised == null) return regionEquals(adjacent, 0, lookAhead, 0, lookAhead.length);
+            final int roleTypeLength = Math.min(VertexIID.Type.LENGTH, lookAhead.length);
+            return regionEquals(optimised.iid().bytes(), PrefixIID.LENGTH, lookAhead, 0, roleTypeLength) &&
+                    regionEquals(adjacent, 0, lookAhead, roleTypeLength, lookAhead.length - roleTypeLength);
+        }
+
         /**
          * Deletes this {@code Edge} from connecting between two {@code Vertex}.
          *
@@ -144,15 +175,28 @@ public abstract class ThingEdgeImpl implements ThingEdge {
                 }
                 if (encoding == Encoding.Edge.Thing.HAS) {
                     graph.stats().hasEdgeDeleted(from.iid(), to.iid().asAttribute());
+                } else if (encoding == Encoding.Edge.Thing.ROLEPLAYER && committed.get()) {
+                    graph.stats().rolePlayerDeleted(from.iid().type(), optimised.iid().type(), to.iid().type());
                 }
             }
         }
 
+        /**
+         * Writes this {@code Edge} into storage, and counts it in the statistics.
+         *
+         * Role players are counted here, rather than when the edge is put, so that
+         * only the role players that are written are counted, and never those of
+         * inferred relations, which are not.
+         */
         @Override
         public void commit() {
             if (committed.compareAndSet(false, true)) {
                 graph.storage().put(outIID().bytes());
                 graph.storage().put(inIID().bytes());
+                graph.stats().thingEdgeCommitted(encoding, from.iid(), to.iid());
+                if (encoding == Encoding.Edge.Thing.ROLEPLAYER && !from.isInferred()) {
+                    graph.stats().rolePlayerCreated(from.iid().type(), optimised.iid().type(), to.iid().type());
+                }
             }
         }
 
@@ -196,11 +240,11 @@ public abstract class ThingEdgeImpl implements ThingEdge {
 
     public static class Persisted extends ThingEdgeImpl implements ThingEdge {
 
-        private final EdgeIID.Thing outIID;
-        private final EdgeIID.Thing inIID;
         private final VertexIID.Thing fromIID;
         private final VertexIID.Thing toIID;
-        private final VertexIID.Thing optimisedIID;
+        private EdgeIID.Thing outIID;
+        private EdgeIID.Thing inIID;
+        private VertexIID.Thing optimisedIID;
         private final int hash;
         private ThingVertex from;
         private ThingVertex to;
@@ -218,6 +262,11 @@ public abstract class ThingEdgeImpl implements ThingEdge {
          * The head of this edge may or may not be overriding another vertex.
          * If it does the {@code overriddenIID} will not be null.
          *
+         * The {@code fromIID} and {@code toIID} are views over the bytes of the
+         * given {@code iid}, and the {@code iid} of the opposite direction, as
+         * well as the {@code optimisedIID}, are only built when they are needed,
+         * so that reading an edge from storage does not copy its key.
+         *
          * @param graph the graph comprised of all the vertices
          * @param iid   the {@code iid} of a persisted edge
          */
@@ -228,19 +277,10 @@ public abstract class ThingEdgeImpl implements ThingEdge {
                 fromIID = iid.start();
                 toIID = iid.end();
                 outIID = iid;
-                inIID = EdgeIID.Thing.of(iid.end(), iid.infix().inwards(), iid.start(), iid.suffix());
             } else {
                 fromIID = iid.end();
                 toIID = iid.start();
                 inIID = iid;
-                outIID = EdgeIID.Thing.of(iid.end(), iid.infix().outwards(), iid.start(), iid.suffix());
-            }
-            if (!iid.suffix().isEmpty()) {
-                optimisedIID = VertexIID.Thing.of(join(
-                        VERTEX_ROLE.bytes(), iid.infix().asRolePlayer().tail().bytes(), iid.suffix().bytes()
-                ));
-            } else {
-                optimisedIID = null;
             }
 
             this.hash = hash(Persisted.class, encoding, fromIID.hashCode(), toIID.hashCode());
@@ -253,14 +293,27 @@ public abstract class ThingEdgeImpl implements ThingEdge {
 
         @Override
         public EdgeIID.Thing outIID() {
+            if (outIID == null) outIID = inIID.reversed();
             return outIID;
         }
 
         @Override
         public EdgeIID.Thing inIID() {
+            if (inIID == null) inIID = outIID.reversed();
             return inIID;
         }
 
+        private VertexIID.Thing optimisedIID() {
+            if (optimisedIID != null) return optimisedIID;
+            final EdgeIID.Thing iid = outIID != null ? outIID : inIID;
+            if (!iid.suffix().isEmpty()) {
+                optimisedIID = VertexIID.Thing.of(join(
+                        VERTEX_ROLE.bytes(), iid.infix().asRolePlayer().tail().bytes(), iid.suffix().bytes()
+                ));
+            }
+            return optimisedIID;
+        }
+
         @Override
         public ThingVertex from() {
             if (from != null) return from;
@@ -277,10 +330,16 @@ public abstract class ThingEdgeImpl implements ThingEdge {
             return to;
         }
 
+        @Override
+        public boolean hasLookAhead(Encoding.Direction.Adjacency direction, byte[] lookAhead) {
+            final int lookAheadIndex = (direction.isOut() ? fromIID : toIID).length() + InfixIID.LENGTH;
+            return regionEquals((direction.isOut() ? outIID() : inIID()).bytes(), lookAheadIndex, lookAhead, 0, lookAhead.length);
+        }
+
         @Override
         public Optional<ThingVertex> optimised() {
             if (optimised != null) return Optional.of(optimised);
-            if (optimisedIID != null) optimised = graph.convert(optimisedIID);
+            if (optimisedIID() != null) optimised = graph.convert(optimisedIID());
             return Optional.ofNullable(optimised);
         }
 
@@ -298,10 +357,13 @@ public abstract class ThingEdgeImpl implements ThingEdge {
             if (deleted.compareAndSet(false, true)) {
                 from().outs().remove(this);
                 to().ins().remove(this);
-                graph.storage().delete(this.outIID.bytes());
-                graph.storage().delete(this.inIID.bytes());
+                graph.storage().delete(outIID().bytes());
+                graph.storage().delete(inIID().bytes());
+                graph.stats().thingEdgeDeleted(encoding, fromIID, toIID);
                 if (encoding == Encoding.Edge.Thing.HAS) {
                     graph.stats().hasEdgeDeleted(fromIID, toIID.asAttribute());
+                } else if (encoding == Encoding.Edge.Thing.ROLEPLAYER) {
+                    graph.stats().rolePlayerDeleted(fromIID.type(), optimisedIID().type(), toIID.type());
                 }
             }
         }
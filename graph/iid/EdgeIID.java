@@ -21,8 +21,15 @@ package grakn.core.graph.iid;
 import grakn.core.graph.util.Encoding;
 
 import static grakn.core.common.collection.Bytes.join;
-import static java.util.Arrays.copyOfRange;
 
+/**
+ * The IID of an edge, which is the key it is stored under.
+ *
+ * The IIDs of the vertices, infix and suffix of an edge are extracted lazily,
+ * as views over the bytes of the edge rather than copies of them, so reading
+ * an edge from storage allocates its key and the IIDs that are asked for, but
+ * no copies of their bytes.
+ */
 public abstract class EdgeIID<
         EDGE_ENCODING extends Encoding.Edge,
         EDGE_INFIX extends InfixIID<EDGE_ENCODING>,
@@ -46,17 +53,17 @@ public abstract class EdgeIID<
     public abstract VERTEX_IID_END end();
 
     int infixIndex() {
-        if (infixIndex == 0) infixIndex = start().bytes.length;
+        if (infixIndex == 0) infixIndex = start().length();
         return infixIndex;
     }
 
     int endIndex() {
-        if (endIndex == 0) endIndex = infixIndex() + infix().bytes.length;
+        if (endIndex == 0) endIndex = infixIndex() + infix().length();
         return endIndex;
     }
 
     int suffixIndex() {
-        if (suffixIndex == 0) suffixIndex = endIndex() + end().bytes.length;
+        if (suffixIndex == 0) suffixIndex = endIndex() + end().length();
         return suffixIndex;
     }
 
@@ -72,9 +79,9 @@ public abstract class EdgeIID<
     @Override
     public String toString() {
         if (readableString == null) {
-            readableString = "[" + start().bytes.length + ": " + start().toString() + "]" +
+            readableString = "[" + start().length() + ": " + start().toString() + "]" +
                     "[" + infix().length() + ": " + infix().toString() + "]" +
-                    "[" + end().bytes.length + ": " + end().toString() + "]";
+                    "[" + end().length() + ": " + end().toString() + "]";
         }
         return readableString;
     }
@@ -90,25 +97,25 @@ public abstract class EdgeIID<
         }
 
         public static Type of(VertexIID.Type start, Encoding.Infix infix, VertexIID.Type end) {
-            return new Type(join(start.bytes, infix.bytes(), end.bytes));
+            return new Type(join(start.bytes(), infix.bytes(), end.bytes()));
         }
 
         @Override
         public InfixIID.Type infix() {
-            if (infix == null) infix = InfixIID.Type.extract(bytes, VertexIID.Type.LENGTH);
+            if (infix == null) infix = InfixIID.Type.extract(bytes(), VertexIID.Type.LENGTH);
             return infix;
         }
 
         @Override
         public VertexIID.Type start() {
-            if (start == null) start = VertexIID.Type.of(copyOfRange(bytes, 0, VertexIID.Type.LENGTH));
+            if (start == null) start = VertexIID.Type.extract(bytes(), 0);
             return start;
         }
 
         @Override
         public VertexIID.Type end() {
             if (end != null) return end;
-            end = VertexIID.Type.of(copyOfRange(bytes, bytes.length - VertexIID.Type.LENGTH, bytes.length));
+            end = VertexIID.Type.extract(bytes(), length() - VertexIID.Type.LENGTH);
             return end;
         }
     }
@@ -131,27 +138,49 @@ public abstract class EdgeIID<
             return new Thing(join(start.bytes(), infix.bytes(), end.bytes(), suffix.bytes()));
         }
 
+        /**
+         * Returns the IID of the same edge in the opposite direction, i.e. with
+         * its start and end swapped, and the direction of its infix flipped.
+         *
+         * The IID is written straight from the bytes of this IID, rather than
+         * joined from copies of its start, infix, end and suffix.
+         *
+         * @return the IID of this edge in the opposite direction
+         */
+        public EdgeIID.Thing reversed() {
+            final byte[] bytes = bytes();
+            final byte[] reversed = new byte[bytes.length];
+            final int startLength = infixIndex(), infixLength = endIndex() - infixIndex();
+            final int endLength = suffixIndex() - endIndex();
+            System.arraycopy(bytes, endIndex(), reversed, 0, endLength);
+            System.arraycopy(bytes, infixIndex(), reversed, endLength, infixLength);
+            reversed[endLength] = isOutwards() ? encoding().in().key() : encoding().out().key();
+            System.arraycopy(bytes, 0, reversed, endLength + infixLength, startLength);
+            System.arraycopy(bytes, suffixIndex(), reversed, suffixIndex(), bytes.length - suffixIndex());
+            return new Thing(reversed);
+        }
+
         @Override
         public InfixIID.Thing infix() {
-            if (infix == null) infix = InfixIID.Thing.extract(bytes, infixIndex());
+            if (infix == null) infix = InfixIID.Thing.extract(bytes(), infixIndex());
             return infix;
         }
 
         public SuffixIID suffix() {
-            if (suffix == null) suffix = SuffixIID.of(copyOfRange(bytes, suffixIndex(), bytes.length));
+            if (suffix == null) suffix = SuffixIID.extract(bytes(), suffixIndex());
             return suffix;
         }
 
         @Override
         public VertexIID.Thing start() {
-            if (start == null) start = VertexIID.Thing.extract(bytes, 0);
+            if (start == null) start = VertexIID.Thing.extract(bytes(), 0);
 
             return start;
         }
 
         @Override
         public VertexIID.Thing end() {
-            if (end == null) end = VertexIID.Thing.extract(bytes, endIndex());
+            if (end == null) end = VertexIID.Thing.extract(bytes(), endIndex());
             return end;
         }
 
@@ -160,7 +189,7 @@ public abstract class EdgeIID<
             if (readableString == null) {
                 readableString = super.toString();
                 if (!suffix().isEmpty()) {
-                    readableString += "[" + suffix().bytes.length + ": " + suffix().toString() + "]";
+                    readableString += "[" + suffix().length() + ": " + suffix().toString() + "]";
                 }
             }
             return readableString;
@@ -181,7 +210,7 @@ public abstract class EdgeIID<
         }
 
         public static InwardsISA of(VertexIID.Type start, VertexIID.Thing end) {
-            return new InwardsISA(join(start.bytes, Encoding.Edge.ISA.in().bytes(), end.bytes));
+            return new InwardsISA(join(start.bytes(), Encoding.Edge.ISA.in().bytes(), end.bytes()));
         }
 
         @Override
@@ -192,14 +221,14 @@ public abstract class EdgeIID<
         @Override
         public VertexIID.Type start() {
             if (start != null) return start;
-            start = VertexIID.Type.of(copyOfRange(bytes, 0, VertexIID.Type.LENGTH));
+            start = VertexIID.Type.extract(bytes(), 0);
             return start;
         }
 
         @Override
         public VertexIID.Thing end() {
             if (end != null) return end;
-            end = VertexIID.Thing.of(copyOfRange(bytes, VertexIID.Type.LENGTH + 1, bytes.length));
+            end = VertexIID.Thing.extract(bytes(), VertexIID.Type.LENGTH + InfixIID.LENGTH);
             return end;
         }
     }
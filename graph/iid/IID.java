@@ -20,22 +20,67 @@ package grakn.core.graph.iid;
 
 import java.util.Arrays;
 
+import static java.util.Arrays.copyOfRange;
+
+/**
+ * An identifier of a vertex, an edge, or a part of either in storage.
+ *
+ * An IID either owns an array of its bytes, or is a view over a region of a
+ * larger array that it shares with other IIDs, such as the key of an edge
+ * read from storage, which the IIDs of its vertices, infix and suffix are
+ * extracted from. A view decodes its parts, compares and hashes itself in
+ * place, and only copies its bytes into an array of its own when they are
+ * asked for through {@link #bytes()}, i.e. when they escape to be written to
+ * or looked up in storage.
+ */
 public abstract class IID {
 
     String readableString; // for debugging
-    final byte[] bytes;
+    private final byte[] buffer;
+    private final int offset;
+    private final int length;
+    private byte[] bytes;
     private int hash = 0;
 
     IID(byte[] bytes) {
+        this.buffer = bytes;
+        this.offset = 0;
+        this.length = bytes.length;
         this.bytes = bytes;
     }
 
+    IID(byte[] buffer, int offset, int length) {
+        assert offset >= 0 && offset + length <= buffer.length;
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+        this.bytes = offset == 0 && length == buffer.length ? buffer : null;
+    }
+
     public byte[] bytes() {
+        if (bytes == null) bytes = copyOfRange(buffer, offset, offset + length);
         return bytes;
     }
 
+    byte[] buffer() {
+        return buffer;
+    }
+
+    int offset() {
+        return offset;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    byte get(int index) {
+        assert index < length;
+        return buffer[offset + index];
+    }
+
     public boolean isEmpty() {
-        return bytes.length == 0;
+        return length == 0;
     }
 
     @Override
@@ -46,12 +91,17 @@ public abstract class IID {
         if (this == object) return true;
         if (object == null || getClass() != object.getClass()) return false;
         final IID that = (IID) object;
-        return Arrays.equals(this.bytes, that.bytes);
+        return Arrays.equals(this.buffer, this.offset, this.offset + this.length,
+                             that.buffer, that.offset, that.offset + that.length);
     }
 
     @Override
     public final int hashCode() {
-        if (hash == 0) hash = Arrays.hashCode(bytes);
+        if (hash == 0) {
+            int result = 1;
+            for (int i = offset; i < offset + length; i++) result = 31 * result + buffer[i];
+            hash = result;
+        }
         return hash;
     }
 
@@ -23,6 +23,8 @@ import grakn.core.graph.util.Encoding;
 
 import javax.annotation.Nullable;
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
 
 import static grakn.core.common.collection.Bytes.DOUBLE_SIZE;
 import static grakn.core.common.collection.Bytes.LONG_SIZE;
@@ -70,7 +72,7 @@ public abstract class IndexIID extends IID {
         public String toString() {
             if (readableString == null) {
                 readableString = "[" + PrefixIID.LENGTH + ": " + Encoding.Index.TYPE.toString() + "]" +
-                        "[" + (bytes.length - PrefixIID.LENGTH) + ": " + new String(copyOfRange(bytes, PrefixIID.LENGTH, bytes.length), STRING_ENCODING) + "]";
+                        "[" + (bytes().length - PrefixIID.LENGTH) + ": " + new String(copyOfRange(bytes(), PrefixIID.LENGTH, bytes().length), STRING_ENCODING) + "]";
             }
             return readableString;
         }
@@ -98,7 +100,7 @@ public abstract class IndexIID extends IID {
         public String toString() {
             if (readableString == null) {
                 readableString = "[" + PrefixIID.LENGTH + ": " + Encoding.Index.RULE.toString() + "]" +
-                        "[" + (bytes.length - PrefixIID.LENGTH) + ": " + new String(copyOfRange(bytes, PrefixIID.LENGTH, bytes.length), STRING_ENCODING) + "]";
+                        "[" + (bytes().length - PrefixIID.LENGTH) + ": " + new String(copyOfRange(bytes(), PrefixIID.LENGTH, bytes().length), STRING_ENCODING) + "]";
             }
             return readableString;
         }
@@ -117,15 +119,15 @@ public abstract class IndexIID extends IID {
         }
 
         public static Attribute of(boolean value, VertexIID.Type typeIID) {
-            return newAttributeIndex(Encoding.ValueType.BOOLEAN.bytes(), new byte[]{booleanToByte(value)}, typeIID.bytes);
+            return newAttributeIndex(Encoding.ValueType.BOOLEAN.bytes(), new byte[]{booleanToByte(value)}, typeIID.bytes());
         }
 
         public static Attribute of(long value, VertexIID.Type typeIID) {
-            return newAttributeIndex(Encoding.ValueType.LONG.bytes(), longToSortedBytes(value), typeIID.bytes);
+            return newAttributeIndex(Encoding.ValueType.LONG.bytes(), longToSortedBytes(value), typeIID.bytes());
         }
 
         public static Attribute of(double value, VertexIID.Type typeIID) {
-            return newAttributeIndex(Encoding.ValueType.DOUBLE.bytes(), doubleToSortedBytes(value), typeIID.bytes);
+            return newAttributeIndex(Encoding.ValueType.DOUBLE.bytes(), doubleToSortedBytes(value), typeIID.bytes());
         }
 
         public static Attribute of(String value, VertexIID.Type typeIID) {
@@ -135,33 +137,33 @@ public abstract class IndexIID extends IID {
             } catch (Exception e) {
                 throw GraknException.of(ILLEGAL_STATE);
             }
-            return newAttributeIndex(Encoding.ValueType.STRING.bytes(), stringBytes, typeIID.bytes);
+            return newAttributeIndex(Encoding.ValueType.STRING.bytes(), stringBytes, typeIID.bytes());
         }
 
         public static Attribute of(LocalDateTime value, VertexIID.Type typeIID) {
-            return newAttributeIndex(Encoding.ValueType.DATETIME.bytes(), dateTimeToBytes(value, TIME_ZONE_ID), typeIID.bytes);
+            return newAttributeIndex(Encoding.ValueType.DATETIME.bytes(), dateTimeToBytes(value, TIME_ZONE_ID), typeIID.bytes());
         }
 
         @Override
         public String toString() {
             if (readableString == null) {
-                final Encoding.ValueType valueType = Encoding.ValueType.of(bytes[PrefixIID.LENGTH]);
+                final Encoding.ValueType valueType = Encoding.ValueType.of(bytes()[PrefixIID.LENGTH]);
                 final String value;
                 switch (valueType) {
                     case BOOLEAN:
-                        value = byteToBoolean(bytes[VALUE_INDEX]).toString();
+                        value = byteToBoolean(bytes()[VALUE_INDEX]).toString();
                         break;
                     case LONG:
-                        value = sortedBytesToLong(copyOfRange(bytes, VALUE_INDEX, VALUE_INDEX + LONG_SIZE)) + "";
+                        value = sortedBytesToLong(copyOfRange(bytes(), VALUE_INDEX, VALUE_INDEX + LONG_SIZE)) + "";
                         break;
                     case DOUBLE:
-                        value = sortedBytesToDouble(copyOfRange(bytes, VALUE_INDEX, VALUE_INDEX + DOUBLE_SIZE)) + "";
+                        value = sortedBytesToDouble(copyOfRange(bytes(), VALUE_INDEX, VALUE_INDEX + DOUBLE_SIZE)) + "";
                         break;
                     case STRING:
-                        value = bytesToString(copyOfRange(bytes, VALUE_INDEX, bytes.length - VertexIID.Type.LENGTH), STRING_ENCODING);
+                        value = bytesToString(copyOfRange(bytes(), VALUE_INDEX, bytes().length - VertexIID.Type.LENGTH), STRING_ENCODING);
                         break;
                     case DATETIME:
-                        value = bytesToDateTime(copyOfRange(bytes, VALUE_INDEX, bytes.length - VertexIID.Type.LENGTH), TIME_ZONE_ID).toString();
+                        value = bytesToDateTime(copyOfRange(bytes(), VALUE_INDEX, bytes().length - VertexIID.Type.LENGTH), TIME_ZONE_ID).toString();
                         break;
                     default:
                         value = "";
@@ -170,8 +172,85 @@ public abstract class IndexIID extends IID {
 
                 readableString = "[" + PrefixIID.LENGTH + ": " + Encoding.Index.ATTRIBUTE.toString() + "]" +
                         "[" + VertexIID.Attribute.VALUE_TYPE_LENGTH + ": " + valueType.toString() + "]" +
-                        "[" + (bytes.length - (PrefixIID.LENGTH + VertexIID.Attribute.VALUE_TYPE_LENGTH + VertexIID.Type.LENGTH)) + ": " + value + "]" +
-                        "[" + VertexIID.Type.LENGTH + ": " + VertexIID.Type.of(copyOfRange(bytes, bytes.length - VertexIID.Type.LENGTH, bytes.length)).toString() + "]";
+                        "[" + (bytes().length - (PrefixIID.LENGTH + VertexIID.Attribute.VALUE_TYPE_LENGTH + VertexIID.Type.LENGTH)) + ": " + value + "]" +
+                        "[" + VertexIID.Type.LENGTH + ": " + VertexIID.Type.of(copyOfRange(bytes(), bytes().length - VertexIID.Type.LENGTH, bytes().length)).toString() + "]";
+            }
+            return readableString;
+        }
+    }
+
+    /**
+     * The trigram index of the values of a string attribute type: there is a key
+     * for every trigram (i.e. every sequence of 3 characters) of every attribute
+     * value, followed by the IID of the attribute. The attributes whose values
+     * contain a given trigram are found by scanning the keys prefixed by it.
+     */
+    public static class Trigram extends IndexIID {
+
+        public static final int LENGTH = 3;
+        static final int TRIGRAM_INDEX = PrefixIID.LENGTH + VertexIID.Type.LENGTH + 1;
+
+        Trigram(byte[] bytes) {
+            super(bytes);
+        }
+
+        public static Trigram of(byte[] bytes) {
+            return new Trigram(bytes);
+        }
+
+        public static Trigram of(VertexIID.Type typeIID, String trigram, VertexIID.Attribute.String attributeIID) {
+            return new Trigram(join(prefix(typeIID, trigram), attributeIID.bytes()));
+        }
+
+        /**
+         * Returns the prefix of the trigram index keys of every attribute of a type.
+         *
+         * @param typeIID the IID of the string attribute type
+         * @return a byte array representing the prefix of the trigram index of the type
+         */
+        public static byte[] prefix(VertexIID.Type typeIID) {
+            return join(Encoding.Index.TRIGRAM.prefix().bytes(), typeIID.bytes());
+        }
+
+        /**
+         * Returns the prefix of the trigram index keys of the attributes of a type
+         * whose values contain the given trigram.
+         *
+         * @param typeIID the IID of the string attribute type
+         * @param trigram the trigram contained by the attribute values
+         * @return a byte array representing the prefix of the index keys of the trigram
+         */
+        public static byte[] prefix(VertexIID.Type typeIID, String trigram) {
+            final byte[] trigramBytes = trigram.getBytes(STRING_ENCODING);
+            return join(prefix(typeIID), new byte[]{(byte) trigramBytes.length}, trigramBytes);
+        }
+
+        /**
+         * Returns the distinct trigrams of a string, by code points, such that a
+         * string contains another only if it has every trigram of the other.
+         *
+         * @param value the string to split into trigrams
+         * @return the set of trigrams of the string, which is empty if it is shorter than a trigram
+         */
+        public static Set<String> trigrams(String value) {
+            final int[] codePoints = value.codePoints().toArray();
+            final Set<String> trigrams = new HashSet<>();
+            for (int i = 0; i + LENGTH <= codePoints.length; i++) trigrams.add(new String(codePoints, i, LENGTH));
+            return trigrams;
+        }
+
+        public VertexIID.Attribute.String attribute() {
+            return VertexIID.Attribute.String.extract(bytes(), TRIGRAM_INDEX + bytes()[TRIGRAM_INDEX - 1]);
+        }
+
+        @Override
+        public String toString() {
+            if (readableString == null) {
+                final int trigramEnd = TRIGRAM_INDEX + bytes()[TRIGRAM_INDEX - 1];
+                readableString = "[" + PrefixIID.LENGTH + ": " + Encoding.Index.TRIGRAM.toString() + "]" +
+                        "[" + VertexIID.Type.LENGTH + ": " + VertexIID.Type.of(copyOfRange(bytes(), PrefixIID.LENGTH, TRIGRAM_INDEX - 1)).toString() + "]" +
+                        "[" + (trigramEnd - TRIGRAM_INDEX) + ": " + new String(copyOfRange(bytes(), TRIGRAM_INDEX, trigramEnd), STRING_ENCODING) + "]" +
+                        "[" + (bytes().length - trigramEnd) + ": " + attribute().toString() + "]";
             }
             return readableString;
         }
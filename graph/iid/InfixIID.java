@@ -27,29 +27,29 @@ import static java.util.Arrays.copyOfRange;
 
 public abstract class InfixIID<EDGE_ENCODING extends Encoding.Edge> extends IID {
 
-    static final int LENGTH = 1;
+    public static final int LENGTH = 1;
 
     private InfixIID(byte[] bytes) {
         super(bytes);
     }
 
+    private InfixIID(byte[] buffer, int offset, int length) {
+        super(buffer, offset, length);
+    }
+
     abstract EDGE_ENCODING encoding();
 
     boolean isOutwards() {
-        return Encoding.Edge.isOut(bytes[0]);
-    }
-
-    public int length() {
-        return bytes.length;
+        return Encoding.Edge.isOut(get(0));
     }
 
     @Override
     public String toString() { // TODO
         if (readableString == null) {
-            readableString = "[1:" + Encoding.Infix.of(bytes[0]).toString() + "]";
-            if (bytes.length > 1) {
-                readableString += "[" + (bytes.length - 1) + ": " +
-                        Arrays.toString(copyOfRange(bytes, 1, bytes.length)) + "]";
+            readableString = "[1:" + Encoding.Infix.of(get(0)).toString() + "]";
+            if (length() > 1) {
+                readableString += "[" + (length() - 1) + ": " +
+                        Arrays.toString(copyOfRange(bytes(), 1, length())) + "]";
             }
         }
         return readableString;
@@ -62,17 +62,21 @@ public abstract class InfixIID<EDGE_ENCODING extends Encoding.Edge> extends IID
             assert bytes.length == LENGTH;
         }
 
+        private Type(byte[] buffer, int offset) {
+            super(buffer, offset, LENGTH);
+        }
+
         static Type of(Encoding.Infix infix) {
             return new Type(infix.bytes());
         }
 
         static Type extract(byte[] bytes, int from) {
-            return new Type(new byte[]{bytes[from]});
+            return new Type(bytes, from);
         }
 
         @Override
         Encoding.Edge.Type encoding() {
-            return Encoding.Edge.Type.of(bytes[0]);
+            return Encoding.Edge.Type.of(get(0));
         }
     }
 
@@ -82,12 +86,16 @@ public abstract class InfixIID<EDGE_ENCODING extends Encoding.Edge> extends IID
             super(bytes);
         }
 
+        private Thing(byte[] buffer, int offset, int length) {
+            super(buffer, offset, length);
+        }
+
         static InfixIID.Thing extract(byte[] bytes, int from) {
             final Encoding.Edge.Thing encoding = Encoding.Edge.Thing.of(bytes[from]);
             if ((encoding.equals(Encoding.Edge.Thing.ROLEPLAYER))) {
                 return RolePlayer.extract(bytes, from);
             } else {
-                return new InfixIID.Thing(new byte[]{bytes[from]});
+                return new InfixIID.Thing(bytes, from, LENGTH);
             }
         }
 
@@ -115,19 +123,19 @@ public abstract class InfixIID<EDGE_ENCODING extends Encoding.Edge> extends IID
 
         @Override
         Encoding.Edge.Thing encoding() {
-            return Encoding.Edge.Thing.of(bytes[0]);
+            return Encoding.Edge.Thing.of(get(0));
         }
 
         public InfixIID.Thing outwards() {
             if (isOutwards()) return this;
-            final byte[] copy = Arrays.copyOf(bytes, bytes.length);
+            final byte[] copy = copyOfRange(buffer(), offset(), offset() + length());
             copy[0] = encoding().out().key();
             return new InfixIID.Thing(copy);
         }
 
         public InfixIID.Thing inwards() {
             if (!isOutwards()) return this;
-            final byte[] copy = Arrays.copyOf(bytes, bytes.length);
+            final byte[] copy = copyOfRange(buffer(), offset(), offset() + length());
             copy[0] = encoding().in().key();
             return new InfixIID.Thing(copy);
         }
@@ -145,17 +153,21 @@ public abstract class InfixIID<EDGE_ENCODING extends Encoding.Edge> extends IID
             super(bytes);
         }
 
+        private RolePlayer(byte[] buffer, int offset) {
+            super(buffer, offset, LENGTH + VertexIID.Type.LENGTH);
+        }
+
         public static RolePlayer of(Encoding.Infix infix, VertexIID.Type type) {
             assert type != null && Encoding.Edge.Thing.of(infix).equals(Encoding.Edge.Thing.ROLEPLAYER);
             return new RolePlayer(join(infix.bytes(), type.bytes()));
         }
 
         static RolePlayer extract(byte[] bytes, int from) {
-            return new RolePlayer(join(new byte[]{bytes[from]}, VertexIID.Type.extract(bytes, from + LENGTH).bytes()));
+            return new RolePlayer(bytes, from);
         }
 
         public VertexIID.Type tail() {
-            return VertexIID.Type.extract(bytes, LENGTH);
+            return VertexIID.Type.extract(buffer(), offset() + LENGTH);
         }
     }
 }
@@ -39,7 +39,7 @@ public class PrefixIID extends IID {
 
     @Override
     public String toString() {
-        if (readableString == null) readableString = "[" + Encoding.Prefix.of(bytes[0]).toString() + "]";
+        if (readableString == null) readableString = "[" + Encoding.Prefix.of(bytes()[0]).toString() + "]";
         return readableString;
     }
 }
@@ -70,7 +70,7 @@ public abstract class StructureIID extends IID {
             if (readableString == null) {
                 readableString = "[" + PrefixIID.LENGTH + ": " + encoding().toString() + "][" +
                         (LENGTH - PrefixIID.LENGTH) + ": " +
-                        sortedBytesToShort(copyOfRange(bytes, PrefixIID.LENGTH, LENGTH)) + "]";
+                        sortedBytesToShort(copyOfRange(bytes(), PrefixIID.LENGTH, LENGTH)) + "]";
             }
             return readableString;
         }
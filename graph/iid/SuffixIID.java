@@ -26,13 +26,21 @@ public class SuffixIID extends IID {
         super(bytes);
     }
 
+    private SuffixIID(byte[] buffer, int offset, int length) {
+        super(buffer, offset, length);
+    }
+
     public static SuffixIID of(byte[] bytes) {
         return new SuffixIID(bytes);
     }
 
+    static SuffixIID extract(byte[] bytes, int from) {
+        return new SuffixIID(bytes, from, bytes.length - from);
+    }
+
     @Override
     public String toString() {
-        if (readableString == null) readableString = "Suffix: " + Arrays.toString(bytes);
+        if (readableString == null) readableString = "Suffix: " + Arrays.toString(bytes());
         return readableString;
     }
 }
@@ -57,6 +57,10 @@ public abstract class VertexIID extends IID {
         super(bytes);
     }
 
+    VertexIID(byte[] buffer, int offset, int length) {
+        super(buffer, offset, length);
+    }
+
     public static VertexIID of(byte[] bytes) {
         switch (Encoding.Prefix.of(bytes[0]).type()) {
             case TYPE:
@@ -82,12 +86,16 @@ public abstract class VertexIID extends IID {
             super(bytes);
         }
 
+        private Type(byte[] buffer, int offset) {
+            super(buffer, offset, LENGTH);
+        }
+
         public static VertexIID.Type of(byte[] bytes) {
             return new Type(bytes);
         }
 
         static VertexIID.Type extract(byte[] bytes, int from) {
-            return new Type(copyOfRange(bytes, from, from + LENGTH));
+            return new Type(bytes, from);
         }
 
         public boolean isType() {
@@ -111,7 +119,7 @@ public abstract class VertexIID extends IID {
 
         @Override
         public Encoding.Vertex.Type encoding() {
-            return Encoding.Vertex.Type.of(bytes[0]);
+            return Encoding.Vertex.Type.of(get(0));
         }
 
         @Override
@@ -119,7 +127,7 @@ public abstract class VertexIID extends IID {
             if (readableString == null) {
                 readableString = "[" + PrefixIID.LENGTH + ": " + encoding().toString() + "][" +
                         (VertexIID.Type.LENGTH - PrefixIID.LENGTH) + ": " +
-                        sortedBytesToShort(copyOfRange(bytes, PrefixIID.LENGTH, VertexIID.Type.LENGTH)) + "]";
+                        sortedBytesToShort(buffer(), offset() + PrefixIID.LENGTH) + "]";
             }
             return readableString;
         }
@@ -135,6 +143,10 @@ public abstract class VertexIID extends IID {
             super(bytes);
         }
 
+        private Thing(byte[] buffer, int offset, int length) {
+            super(buffer, offset, length);
+        }
+
         /**
          * Generate an IID for a {@code ThingVertex} for a given {@code Encoding} and {@code TypeVertex}
          *
@@ -156,24 +168,46 @@ public abstract class VertexIID extends IID {
             }
         }
 
+        /**
+         * Extracts the IID of a {@code ThingVertex} that starts at a given position
+         * in a key, as a view over the key rather than a copy of its bytes.
+         *
+         * @param bytes the key that contains the IID of a {@code ThingVertex}
+         * @param from  the position in the key at which the IID starts
+         * @return the IID of the {@code ThingVertex} that shares the bytes of the key
+         */
         public static VertexIID.Thing extract(byte[] bytes, int from) {
             if (Encoding.Vertex.Thing.of(bytes[from]).equals(ATTRIBUTE)) {
                 return VertexIID.Attribute.extract(bytes, from);
             } else {
-                return new VertexIID.Thing(copyOfRange(bytes, from, from + DEFAULT_LENGTH));
+                return new VertexIID.Thing(bytes, from, DEFAULT_LENGTH);
             }
         }
 
+        /**
+         * Returns true if the given key (or prefix of a key) does not extend beyond
+         * the IID of the {@code ThingVertex} it starts with, i.e. it is either the
+         * IID of a vertex, or a prefix shared by vertex IIDs, but not an edge.
+         *
+         * @param key a key that starts with the IID prefix of a {@code ThingVertex}
+         * @return true if the key does not extend beyond the IID of a {@code ThingVertex}
+         */
+        public static boolean isWithinIID(byte[] key) {
+            if (key.length <= PREFIX_W_TYPE_LENGTH) return true;
+            else if (Encoding.Vertex.Thing.of(key[0]).equals(ATTRIBUTE)) return Attribute.isWithinIID(key);
+            else return key.length <= DEFAULT_LENGTH;
+        }
+
         public Type type() {
-            return Type.of(copyOfRange(bytes, PrefixIID.LENGTH, PREFIX_W_TYPE_LENGTH));
+            return Type.extract(buffer(), offset() + PrefixIID.LENGTH);
         }
 
         public Encoding.Vertex.Thing encoding() {
-            return Encoding.Vertex.Thing.of(bytes[0]);
+            return Encoding.Vertex.Thing.of(get(0));
         }
 
         public byte[] key() {
-            return copyOfRange(bytes, PREFIX_W_TYPE_LENGTH, bytes.length);
+            return copyOfRange(buffer(), offset() + PREFIX_W_TYPE_LENGTH, offset() + length());
         }
 
         public boolean isAttribute() {
@@ -190,7 +224,7 @@ public abstract class VertexIID extends IID {
                 readableString = "[" + PrefixIID.LENGTH + ": " + encoding().toString() + "]" +
                         "[" + VertexIID.Type.LENGTH + ": " + type().toString() + "]" +
                         "[" + (DEFAULT_LENGTH - PREFIX_W_TYPE_LENGTH) + ": " +
-                        sortedBytesToLong(copyOfRange(bytes, PREFIX_W_TYPE_LENGTH, DEFAULT_LENGTH)) + "]";
+                        sortedBytesToLong(buffer(), offset() + PREFIX_W_TYPE_LENGTH) + "]";
             }
             return readableString;
         }
@@ -208,6 +242,11 @@ public abstract class VertexIID extends IID {
             valueType = Encoding.ValueType.of(bytes[PREFIX_W_TYPE_LENGTH]);
         }
 
+        Attribute(byte[] buffer, int offset, int length) {
+            super(buffer, offset, length);
+            valueType = Encoding.ValueType.of(buffer[offset + PREFIX_W_TYPE_LENGTH]);
+        }
+
         Attribute(Encoding.ValueType valueType, VertexIID.Type typeIID, byte[] valueBytes) {
             super(join(
                     ATTRIBUTE.prefix().bytes(),
@@ -254,6 +293,27 @@ public abstract class VertexIID extends IID {
             }
         }
 
+        static boolean isWithinIID(byte[] key) {
+            if (key.length <= VALUE_INDEX) return true;
+            switch (Encoding.ValueType.of(key[VALUE_TYPE_INDEX])) {
+                case BOOLEAN:
+                    return key.length <= VALUE_INDEX + 1;
+                case LONG:
+                    return key.length <= VALUE_INDEX + LONG_SIZE;
+                case DOUBLE:
+                    return key.length <= VALUE_INDEX + DOUBLE_SIZE;
+                case DATETIME:
+                    return key.length <= VALUE_INDEX + DATETIME_SIZE;
+                case STRING:
+                    if (key.length <= VALUE_INDEX + STRING_SIZE_ENCODING) return true;
+                    final int strValLen = unsignedBytesToShort(key, VALUE_INDEX);
+                    return key.length <= VALUE_INDEX + STRING_SIZE_ENCODING + strValLen;
+                default:
+                    assert false;
+                    throw GraknException.of(UNRECOGNISED_VALUE);
+            }
+        }
+
         public abstract VALUE value();
 
         public Encoding.ValueType valueType() {
@@ -295,7 +355,7 @@ public abstract class VertexIID extends IID {
                 readableString = "[" + PrefixIID.LENGTH + ": " + ATTRIBUTE.toString() + "]" +
                         "[" + VertexIID.Type.LENGTH + ": " + type().toString() + "]" +
                         "[" + VALUE_TYPE_LENGTH + ": " + valueType().toString() + "]" +
-                        "[" + (bytes.length - VALUE_INDEX) + ": " + value().toString() + "]";
+                        "[" + (length() - VALUE_INDEX) + ": " + value().toString() + "]";
             }
             return readableString;
         }
@@ -306,17 +366,21 @@ public abstract class VertexIID extends IID {
                 super(bytes);
             }
 
+            private Boolean(byte[] buffer, int offset) {
+                super(buffer, offset, VALUE_INDEX + 1);
+            }
+
             public Boolean(VertexIID.Type typeIID, boolean value) {
                 super(Encoding.ValueType.BOOLEAN, typeIID, new byte[]{booleanToByte(value)});
             }
 
             public static VertexIID.Attribute.Boolean extract(byte[] bytes, int from) {
-                return new VertexIID.Attribute.Boolean(copyOfRange(bytes, from, from + PREFIX_W_TYPE_LENGTH + VALUE_TYPE_LENGTH + 1));
+                return new VertexIID.Attribute.Boolean(bytes, from);
             }
 
             @Override
             public java.lang.Boolean value() {
-                return byteToBoolean(bytes[VALUE_INDEX]);
+                return byteToBoolean(get(VALUE_INDEX));
             }
 
             @Override
@@ -331,17 +395,21 @@ public abstract class VertexIID extends IID {
                 super(bytes);
             }
 
+            private Long(byte[] buffer, int offset) {
+                super(buffer, offset, VALUE_INDEX + LONG_SIZE);
+            }
+
             public Long(VertexIID.Type typeIID, long value) {
                 super(Encoding.ValueType.LONG, typeIID, longToSortedBytes(value));
             }
 
             public static VertexIID.Attribute.Long extract(byte[] bytes, int from) {
-                return new VertexIID.Attribute.Long(copyOfRange(bytes, from, from + PREFIX_W_TYPE_LENGTH + VALUE_TYPE_LENGTH + LONG_SIZE));
+                return new VertexIID.Attribute.Long(bytes, from);
             }
 
             @Override
             public java.lang.Long value() {
-                return sortedBytesToLong(copyOfRange(bytes, VALUE_INDEX, VALUE_INDEX + LONG_SIZE));
+                return sortedBytesToLong(buffer(), offset() + VALUE_INDEX);
             }
 
             @Override
@@ -356,17 +424,21 @@ public abstract class VertexIID extends IID {
                 super(bytes);
             }
 
+            private Double(byte[] buffer, int offset) {
+                super(buffer, offset, VALUE_INDEX + DOUBLE_SIZE);
+            }
+
             public Double(VertexIID.Type typeIID, double value) {
                 super(Encoding.ValueType.DOUBLE, typeIID, doubleToSortedBytes(value));
             }
 
             public static VertexIID.Attribute.Double extract(byte[] bytes, int from) {
-                return new VertexIID.Attribute.Double(copyOfRange(bytes, from, from + PREFIX_W_TYPE_LENGTH + VALUE_TYPE_LENGTH + DOUBLE_SIZE));
+                return new VertexIID.Attribute.Double(bytes, from);
             }
 
             @Override
             public java.lang.Double value() {
-                return sortedBytesToDouble(copyOfRange(bytes, VALUE_INDEX, VALUE_INDEX + DOUBLE_SIZE));
+                return sortedBytesToDouble(buffer(), offset() + VALUE_INDEX);
             }
 
             @Override
@@ -381,21 +453,23 @@ public abstract class VertexIID extends IID {
                 super(bytes);
             }
 
+            private String(byte[] buffer, int offset, int length) {
+                super(buffer, offset, length);
+            }
+
             public String(VertexIID.Type typeIID, java.lang.String value) throws GraknCheckedException {
                 super(Encoding.ValueType.STRING, typeIID, stringToBytes(value, STRING_ENCODING));
-                assert bytes.length <= STRING_MAX_SIZE + STRING_SIZE_ENCODING;
+                assert length() <= STRING_MAX_SIZE + STRING_SIZE_ENCODING;
             }
 
             public static VertexIID.Attribute.String extract(byte[] bytes, int from) {
-                int attValIndex = from + VALUE_INDEX;
-                int strValLen = unsignedBytesToShort(copyOfRange(bytes, attValIndex, attValIndex + STRING_SIZE_ENCODING));
-                int stringEnd = from + PREFIX_W_TYPE_LENGTH + VALUE_TYPE_LENGTH + STRING_SIZE_ENCODING + strValLen;
-                return new VertexIID.Attribute.String(copyOfRange(bytes, from, stringEnd));
+                int strValLen = unsignedBytesToShort(bytes, from + VALUE_INDEX);
+                return new VertexIID.Attribute.String(bytes, from, VALUE_INDEX + STRING_SIZE_ENCODING + strValLen);
             }
 
             @Override
             public java.lang.String value() {
-                return bytesToString(copyOfRange(bytes, VALUE_INDEX, bytes.length), STRING_ENCODING);
+                return bytesToString(buffer(), offset() + VALUE_INDEX, STRING_ENCODING);
             }
 
             @Override
@@ -410,17 +484,21 @@ public abstract class VertexIID extends IID {
                 super(bytes);
             }
 
+            private DateTime(byte[] buffer, int offset) {
+                super(buffer, offset, VALUE_INDEX + DATETIME_SIZE);
+            }
+
             public DateTime(VertexIID.Type typeIID, java.time.LocalDateTime value) {
                 super(Encoding.ValueType.DATETIME, typeIID, dateTimeToBytes(value, TIME_ZONE_ID));
             }
 
             public static VertexIID.Attribute.DateTime extract(byte[] bytes, int from) {
-                return new VertexIID.Attribute.DateTime(copyOfRange(bytes, from, from + PREFIX_W_TYPE_LENGTH + VALUE_TYPE_LENGTH + DATETIME_SIZE));
+                return new VertexIID.Attribute.DateTime(bytes, from);
             }
 
             @Override
             public java.time.LocalDateTime value() {
-                return bytesToDateTime(copyOfRange(bytes, VALUE_INDEX, bytes.length), TIME_ZONE_ID);
+                return bytesToDateTime(buffer(), offset() + VALUE_INDEX, TIME_ZONE_ID);
             }
 
             @Override
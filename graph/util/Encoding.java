@@ -21,6 +21,7 @@ package grakn.core.graph.util;
 import grakn.core.common.collection.Bytes;
 import grakn.core.common.exception.GraknException;
 import grakn.core.common.parameters.Label;
+import grakn.core.graph.iid.VertexIID;
 import graql.lang.common.GraqlArg;
 
 import javax.annotation.Nullable;
@@ -132,10 +133,12 @@ public class Encoding {
         INDEX_TYPE(0, PrefixType.INDEX),
         INDEX_RULE(10, PrefixType.INDEX),
         INDEX_ATTRIBUTE(20, PrefixType.INDEX),
+        INDEX_TRIGRAM(30, PrefixType.INDEX),
         STATISTICS_THINGS(50, PrefixType.STATISTICS),
         STATISTICS_COUNT_JOB(51, PrefixType.STATISTICS),
         STATISTICS_COUNTED(52, PrefixType.STATISTICS),
         STATISTICS_SNAPSHOT(53, PrefixType.STATISTICS),
+        STATISTICS_VERTEX_DEGREE(54, PrefixType.STATISTICS),
         VERTEX_THING_TYPE(100, PrefixType.TYPE),
         VERTEX_ENTITY_TYPE(110, PrefixType.TYPE),
         VERTEX_ATTRIBUTE_TYPE(120, PrefixType.TYPE),
@@ -191,6 +194,60 @@ public class Encoding {
         }
     }
 
+    /**
+     * The partitions of the data keyspace, each of which is stored separately
+     * (i.e. in its own column family) so that it can be tuned independently.
+     * The schema keyspace is never partitioned and lives in {@code DEFAULT}.
+     */
+    public enum Partition {
+        DEFAULT("default"),
+        VERTEX("vertex"),
+        EDGE("edge"),
+        ATTRIBUTE("attribute"),
+        STATISTICS("statistics");
+
+        private final String label;
+
+        Partition(String label) {
+            this.label = label;
+        }
+
+        /**
+         * Returns the partition of the data keyspace in which a key is stored.
+         * Keys prefixed by a type in the data keyspace are inwards ISA edges, and
+         * keys (or prefixes) that do not extend beyond the IID of a thing vertex
+         * are vertices. The key may also be a prefix used to seek, in which case
+         * every key with that prefix is guaranteed to be in the same partition.
+         *
+         * @param key the key (or prefix of keys) in the data keyspace
+         * @return the partition that the key belongs to
+         */
+        public static Partition of(byte[] key) {
+            final Prefix prefix = Prefix.of(key[0]);
+            switch (prefix.type()) {
+                case STATISTICS:
+                    return STATISTICS;
+                case INDEX:
+                    return prefix == Prefix.INDEX_ATTRIBUTE ? ATTRIBUTE : DEFAULT;
+                case TYPE:
+                    return EDGE;
+                case THING:
+                    if (!VertexIID.Thing.isWithinIID(key)) return EDGE;
+                    else return prefix == Prefix.VERTEX_ATTRIBUTE ? ATTRIBUTE : VERTEX;
+                default:
+                    return DEFAULT;
+            }
+        }
+
+        public String label() {
+            return label;
+        }
+
+        public byte[] bytes() {
+            return label.getBytes(UTF_8);
+        }
+    }
+
     public enum StatisticsCountJobType {
         ATTRIBUTE_VERTEX(0),
         HAS_EDGE(1);
@@ -251,7 +308,10 @@ public class Encoding {
         VERTEX_COUNT(0),
         VERTEX_TRANSITIVE_COUNT(1),
         HAS_EDGE_COUNT(2),
-        HAS_EDGE_TOTAL_COUNT(3);
+        HAS_EDGE_TOTAL_COUNT(3),
+        ROLE_PLAYER_COUNT(4),
+        VALUE_SKETCH(5),
+        VALUE_HISTOGRAM(6);
 
         private final byte key;
 
@@ -297,6 +357,7 @@ public class Encoding {
         PROPERTY_THEN(6, InfixType.PROPERTY),
         PROPERTY_VALUE(7, InfixType.PROPERTY),
         PROPERTY_VALUE_REF(8, InfixType.PROPERTY),
+        PROPERTY_TRIGRAM_INDEX(9, InfixType.PROPERTY),
         EDGE_ISA_IN(-20, InfixType.EDGE), // EDGE_ISA_OUT does not exist by design
         EDGE_SUB_OUT(30, InfixType.EDGE),
         EDGE_SUB_IN(-30, InfixType.EDGE),
@@ -366,7 +427,8 @@ public class Encoding {
     public enum Index {
         TYPE(Prefix.INDEX_TYPE),
         RULE(Prefix.INDEX_RULE),
-        ATTRIBUTE(Prefix.INDEX_ATTRIBUTE);
+        ATTRIBUTE(Prefix.INDEX_ATTRIBUTE),
+        TRIGRAM(Prefix.INDEX_TRIGRAM);
 
         private final Prefix prefix;
 
@@ -401,6 +463,7 @@ public class Encoding {
         SCOPE(Infix.PROPERTY_SCOPE),
         ABSTRACT(Infix.PROPERTY_ABSTRACT),
         REGEX(Infix.PROPERTY_REGEX),
+        TRIGRAM_INDEX(Infix.PROPERTY_TRIGRAM_INDEX),
         VALUE_TYPE(Infix.PROPERTY_VALUE_TYPE),
         VALUE_REF(Infix.PROPERTY_VALUE_REF),
         VALUE(Infix.PROPERTY_VALUE),
@@ -0,0 +1,211 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.graph.util;
+
+import javax.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An equi-depth histogram of the values of the attributes of a type, built
+ * from a uniform sample of its attributes.
+ *
+ * The values are the keys of the attributes that follow their type, which sort
+ * in the order of the values for every value type but strings, which sort by
+ * their length first. Every bucket holds the same number of sampled attributes,
+ * up to the inclusive upper bound of its values, and the sum of the number of
+ * owners of those attributes, so that the histogram describes both how values
+ * are distributed and how skewed their ownership is.
+ */
+public class Histogram {
+
+    public static final int MAX_BUCKETS = 32;
+
+    private final long population;
+    private final byte[][] upperBounds;
+    private final long[] sampleCounts;
+    private final long[] degreeSums;
+    private final long degreeSquareSum;
+
+    private Histogram(long population, byte[][] upperBounds, long[] sampleCounts, long[] degreeSums,
+                      long degreeSquareSum) {
+        this.population = population;
+        this.upperBounds = upperBounds;
+        this.sampleCounts = sampleCounts;
+        this.degreeSums = degreeSums;
+        this.degreeSquareSum = degreeSquareSum;
+    }
+
+    /**
+     * Builds a histogram from a uniform sample of the attributes of a type.
+     *
+     * @param population the number of attributes of the type that were sampled
+     * @param samples    the sampled attributes, in any order
+     * @return the histogram of the sampled attributes
+     */
+    public static Histogram build(long population, List<Sample> samples) {
+        final List<Sample> sorted = new ArrayList<>(samples);
+        sorted.sort((s1, s2) -> compare(s1.value, s2.value));
+        final int buckets = Math.min(MAX_BUCKETS, sorted.size());
+        final byte[][] upperBounds = new byte[buckets][];
+        final long[] sampleCounts = new long[buckets];
+        final long[] degreeSums = new long[buckets];
+        long degreeSquareSum = 0;
+        int bucket = 0;
+        for (int i = 0; i < sorted.size(); i++) {
+            final Sample sample = sorted.get(i);
+            sampleCounts[bucket]++;
+            degreeSums[bucket] += sample.degree;
+            degreeSquareSum += sample.degree * sample.degree;
+            upperBounds[bucket] = sample.value;
+            if ((long) (i + 1) * buckets >= (long) (bucket + 1) * sorted.size()) bucket++;
+        }
+        return new Histogram(population, upperBounds, sampleCounts, degreeSums, degreeSquareSum);
+    }
+
+    public static Histogram of(byte[] bytes) {
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        final long population = buffer.getLong();
+        final long degreeSquareSum = buffer.getLong();
+        final int buckets = buffer.getInt();
+        final byte[][] upperBounds = new byte[buckets][];
+        final long[] sampleCounts = new long[buckets];
+        final long[] degreeSums = new long[buckets];
+        for (int i = 0; i < buckets; i++) {
+            sampleCounts[i] = buffer.getLong();
+            degreeSums[i] = buffer.getLong();
+            upperBounds[i] = new byte[buffer.getShort() & 0xffff];
+            buffer.get(upperBounds[i]);
+        }
+        return new Histogram(population, upperBounds, sampleCounts, degreeSums, degreeSquareSum);
+    }
+
+    public byte[] bytes() {
+        int size = Long.BYTES * 2 + Integer.BYTES;
+        for (byte[] upperBound : upperBounds) size += Long.BYTES * 2 + Short.BYTES + upperBound.length;
+        final ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putLong(population).putLong(degreeSquareSum).putInt(upperBounds.length);
+        for (int i = 0; i < upperBounds.length; i++) {
+            buffer.putLong(sampleCounts[i]).putLong(degreeSums[i]).putShort((short) upperBounds[i].length);
+            buffer.put(upperBounds[i]);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * @return the number of attributes of the type when it was sampled
+     */
+    public long population() {
+        return population;
+    }
+
+    public int bucketCount() {
+        return upperBounds.length;
+    }
+
+    /**
+     * @return the inclusive upper bound of the values of a bucket
+     */
+    public byte[] upperBound(int bucket) {
+        return upperBounds[bucket];
+    }
+
+    public long sampleCount() {
+        long count = 0;
+        for (long sampleCount : sampleCounts) count += sampleCount;
+        return count;
+    }
+
+    /**
+     * Estimates the fraction of the attributes of the type with values between
+     * two bounds, assuming that values are spread evenly within each bucket that
+     * a bound falls into.
+     *
+     * @param from the inclusive lower bound of the values, or null if unbounded
+     * @param to   the exclusive upper bound of the values, or null if unbounded
+     * @return the estimated fraction of the attributes within the bounds
+     */
+    public double fraction(@Nullable byte[] from, @Nullable byte[] to) {
+        final long samples = sampleCount();
+        if (samples == 0) return 0;
+        double count = 0;
+        for (int i = 0; i < upperBounds.length; i++) {
+            final byte[] lowerBound = i == 0 ? null : upperBounds[i - 1];
+            final boolean isAboveFrom = from == null || (lowerBound != null && compare(lowerBound, from) >= 0);
+            final boolean isBelowTo = to == null || compare(upperBounds[i], to) < 0;
+            final boolean overlapsFrom = from == null || compare(upperBounds[i], from) >= 0;
+            final boolean overlapsTo = to == null || lowerBound == null || compare(lowerBound, to) < 0;
+            if (!overlapsFrom || !overlapsTo) continue;
+            if (isAboveFrom && isBelowTo) count += sampleCounts[i];
+            else if (isAboveFrom || isBelowTo) count += sampleCounts[i] / 2.0;
+            else count += sampleCounts[i] / 3.0;
+        }
+        return count / samples;
+    }
+
+    /**
+     * @return the mean number of owners of an attribute of the type
+     */
+    public double degreeMean() {
+        final long samples = sampleCount();
+        if (samples == 0) return 0;
+        long degreeSum = 0;
+        for (long sum : degreeSums) degreeSum += sum;
+        return (double) degreeSum / samples;
+    }
+
+    /**
+     * Returns the mean number of owners of the attribute of an ownership drawn
+     * at random, which is the expected number of owners of a value that is
+     * looked up as often as it is owned. It is the mean number of owners when
+     * every attribute is owned as often, and grows with the skew of ownership.
+     *
+     * @return the ownership-weighted mean number of owners of an attribute of the type
+     */
+    public double degreeWeightedMean() {
+        long degreeSum = 0;
+        for (long sum : degreeSums) degreeSum += sum;
+        return degreeSum == 0 ? 0 : (double) degreeSquareSum / degreeSum;
+    }
+
+    private static int compare(byte[] bytes1, byte[] bytes2) {
+        final int length = Math.min(bytes1.length, bytes2.length);
+        for (int i = 0; i < length; i++) {
+            final int comparison = Integer.compare(bytes1[i] & 0xff, bytes2[i] & 0xff);
+            if (comparison != 0) return comparison;
+        }
+        return Integer.compare(bytes1.length, bytes2.length);
+    }
+
+    public static class Sample {
+
+        private final byte[] value;
+        private final long degree;
+
+        /**
+         * @param value  the key of the sampled attribute that follows its type
+         * @param degree the number of owners of the sampled attribute
+         */
+        public Sample(byte[] value, long degree) {
+            this.value = value;
+            this.degree = degree;
+        }
+    }
+}
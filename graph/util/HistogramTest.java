@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.graph.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class HistogramTest {
+
+    /**
+     * Builds a histogram of the single byte values 0 to 99, where the lower
+     * half of the values have 1 owner each and the upper half have 3 owners each.
+     */
+    private static Histogram histogram() {
+        List<Histogram.Sample> samples = new ArrayList<>();
+        for (int i = 0; i < 100; i++) samples.add(new Histogram.Sample(value(i), i < 50 ? 1 : 3));
+        Collections.shuffle(samples, new Random(0));
+        return Histogram.build(1_000, samples);
+    }
+
+    private static byte[] value(int value) {
+        return new byte[]{(byte) value};
+    }
+
+    @Test
+    public void test_buckets_are_capped_and_hold_every_sample() {
+        Histogram histogram = histogram();
+        assertEquals(Histogram.MAX_BUCKETS, histogram.bucketCount());
+        assertEquals(100, histogram.sampleCount());
+        assertEquals(1_000, histogram.population());
+        assertArrayEquals(value(99), histogram.upperBound(histogram.bucketCount() - 1));
+    }
+
+    @Test
+    public void test_fraction_estimates() {
+        Histogram histogram = histogram();
+        assertEquals(1.0, histogram.fraction(null, null), 0);
+        assertEquals(0.5, histogram.fraction(value(50), null), 0.05);
+        assertEquals(0.25, histogram.fraction(null, value(25)), 0.05);
+        assertEquals(0.5, histogram.fraction(value(25), value(75)), 0.05);
+        assertEquals(0.0, histogram.fraction(value(200), null), 0);
+    }
+
+    @Test
+    public void test_degree_estimates() {
+        Histogram histogram = histogram();
+        assertEquals(2.0, histogram.degreeMean(), 1e-9);
+        assertEquals(2.5, histogram.degreeWeightedMean(), 1e-9);
+    }
+
+    @Test
+    public void test_serialisation_round_trip() {
+        Histogram histogram = histogram();
+        Histogram read = Histogram.of(histogram.bytes());
+        assertArrayEquals(histogram.bytes(), read.bytes());
+        assertEquals(histogram.population(), read.population());
+        assertEquals(histogram.bucketCount(), read.bucketCount());
+        assertEquals(histogram.fraction(value(25), value(75)), read.fraction(value(25), value(75)), 0);
+        assertEquals(histogram.degreeWeightedMean(), read.degreeWeightedMean(), 0);
+    }
+
+    @Test
+    public void test_empty_histogram() {
+        Histogram histogram = Histogram.of(Histogram.build(0, Collections.emptyList()).bytes());
+        assertEquals(0, histogram.bucketCount());
+        assertEquals(0.0, histogram.fraction(null, null), 0);
+        assertEquals(0.0, histogram.degreeMean(), 0);
+        assertEquals(0.0, histogram.degreeWeightedMean(), 0);
+    }
+}
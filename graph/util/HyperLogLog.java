@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.graph.util;
+
+import grakn.core.common.exception.GraknException;
+
+import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_ARGUMENT;
+import static java.util.Arrays.copyOf;
+
+/**
+ * A HyperLogLog sketch of the number of distinct values offered to it.
+ *
+ * The sketch holds 2^11 registers of one byte, and estimates the number of
+ * distinct values with a standard error of about 2.3%, using linear counting
+ * for small cardinalities. Values can only be added, so a sketch overestimates
+ * the number of distinct values once some of them have been deleted, until it
+ * is rebuilt.
+ */
+public class HyperLogLog {
+
+    private static final int PRECISION = 11;
+    private static final int REGISTERS = 1 << PRECISION;
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        registers = new byte[REGISTERS];
+    }
+
+    private HyperLogLog(byte[] registers) {
+        this.registers = registers;
+    }
+
+    public static HyperLogLog of(byte[] bytes) {
+        if (bytes.length != REGISTERS) throw GraknException.of(ILLEGAL_ARGUMENT);
+        return new HyperLogLog(copyOf(bytes, REGISTERS));
+    }
+
+    public synchronized void offer(byte[] value) {
+        final long hash = hash(value);
+        final int index = (int) (hash >>> (Long.SIZE - PRECISION));
+        final int rank = Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1;
+        if (rank > registers[index]) registers[index] = (byte) rank;
+    }
+
+    public synchronized void merge(HyperLogLog other) {
+        final byte[] otherRegisters = other.bytes();
+        for (int i = 0; i < REGISTERS; i++) {
+            if (otherRegisters[i] > registers[i]) registers[i] = otherRegisters[i];
+        }
+    }
+
+    public synchronized long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) zeros++;
+        }
+        final double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+        if (estimate <= 2.5 * REGISTERS && zeros > 0) return Math.round(REGISTERS * Math.log((double) REGISTERS / zeros));
+        else return Math.round(estimate);
+    }
+
+    public synchronized byte[] bytes() {
+        return copyOf(registers, REGISTERS);
+    }
+
+    public synchronized HyperLogLog copy() {
+        return new HyperLogLog(copyOf(registers, REGISTERS));
+    }
+
+    /**
+     * Hashes a value into 64 bits with FNV-1a, followed by the finaliser of
+     * MurmurHash3 so that every bit of the hash depends on every byte of the value.
+     */
+    private static long hash(byte[] value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.graph.util;
+
+import grakn.core.common.exception.GraknException;
+import org.junit.Test;
+
+import static grakn.core.common.collection.Bytes.longToBytes;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class HyperLogLogTest {
+
+    private static HyperLogLog offerRange(long from, long to) {
+        HyperLogLog hll = new HyperLogLog();
+        for (long i = from; i < to; i++) hll.offer(longToBytes(i));
+        return hll;
+    }
+
+    @Test
+    public void test_empty_estimate_is_zero() {
+        assertEquals(0, new HyperLogLog().estimate());
+    }
+
+    @Test
+    public void test_small_cardinality_is_estimated_closely() {
+        assertEquals(100, offerRange(0, 100).estimate(), 5);
+    }
+
+    @Test
+    public void test_large_cardinality_is_estimated_within_error() {
+        assertEquals(100_000, offerRange(0, 100_000).estimate(), 100_000 * 0.1);
+    }
+
+    @Test
+    public void test_duplicate_values_are_counted_once() {
+        HyperLogLog hll = offerRange(0, 1_000);
+        long estimate = hll.estimate();
+        for (long i = 0; i < 1_000; i++) hll.offer(longToBytes(i));
+        assertEquals(estimate, hll.estimate());
+    }
+
+    @Test
+    public void test_merge_estimates_the_union() {
+        HyperLogLog hll = offerRange(0, 30_000);
+        hll.merge(offerRange(20_000, 50_000));
+        assertEquals(50_000, hll.estimate(), 50_000 * 0.1);
+        assertArrayEquals(offerRange(0, 50_000).bytes(), hll.bytes());
+    }
+
+    @Test
+    public void test_serialisation_round_trip() {
+        HyperLogLog hll = offerRange(0, 10_000);
+        HyperLogLog read = HyperLogLog.of(hll.bytes());
+        assertArrayEquals(hll.bytes(), read.bytes());
+        assertEquals(hll.estimate(), read.estimate());
+    }
+
+    @Test
+    public void test_copy_is_independent() {
+        HyperLogLog hll = offerRange(0, 100);
+        HyperLogLog copy = hll.copy();
+        copy.merge(offerRange(100, 10_000));
+        assertEquals(offerRange(0, 100).estimate(), hll.estimate());
+    }
+
+    @Test(expected = GraknException.class)
+    public void test_reading_bytes_of_the_wrong_length_throws() {
+        HyperLogLog.of(new byte[16]);
+    }
+}
@@ -25,6 +25,8 @@ import grakn.core.graph.iid.PrefixIID;
 import grakn.core.graph.iid.StructureIID;
 import grakn.core.graph.iid.VertexIID;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -143,14 +145,24 @@ public class KeyGenerator {
             this.delta = delta;
         }
 
-        public byte[] forThing(VertexIID.Type typeIID, Label typeLabel) {
-            long key;
-            if ((key = thingKeys.computeIfAbsent(typeIID, k -> new AtomicLong(initialValue)).getAndAdd(delta)) >= LONG_MAX_VALUE
-                    || key <= LONG_MIN_VALUE) {
-                thingKeys.get(typeIID).addAndGet(-1 * delta);
+        public abstract byte[] forThing(VertexIID.Type typeIID, Label typeLabel);
+
+        /**
+         * Allocates a contiguous range of keys for the instances of a type.
+         *
+         * @param typeIID   the IID of the type of the instances
+         * @param typeLabel the label of the type of the instances
+         * @param size      the number of keys in the range
+         * @return the first key of the range, from which every key follows by {@code delta}
+         */
+        long allocate(VertexIID.Type typeIID, Label typeLabel, int size) {
+            final long range = (long) delta * size;
+            final long key = thingKeys.computeIfAbsent(typeIID, k -> new AtomicLong(initialValue)).getAndAdd(range);
+            if (key > LONG_MAX_VALUE - size || key < LONG_MIN_VALUE + size) {
+                thingKeys.get(typeIID).addAndGet(-1 * range);
                 throw GraknException.of(MAX_INSTANCE_REACHED, typeLabel, LONG_MAX_VALUE);
             }
-            return longToSortedBytes(key);
+            return key;
         }
 
         public static class Buffered extends Data {
@@ -158,25 +170,70 @@ public class KeyGenerator {
             public Buffered() {
                 super(BUFFERED.initialValue(), BUFFERED.isIncrement() ? 1 : -1);
             }
+
+            @Override
+            public byte[] forThing(VertexIID.Type typeIID, Label typeLabel) {
+                return longToSortedBytes(allocate(typeIID, typeLabel, 1));
+            }
         }
 
+        /**
+         * Generates the keys of persisted things from ranges of keys leased by
+         * each thread, so that threads committing instances of the same type
+         * concurrently only contend on the counter of the type once per range,
+         * rather than once per instance.
+         *
+         * The leases of a thread outlive the transactions that it commits. Keys
+         * are never given back: the keys left in the leases of the threads when
+         * the database is closed are skipped once it is opened again, as keys
+         * are then allocated from above the last key in storage.
+         */
         public static class Persisted extends Data {
 
+            private static final int LEASE_SIZE = 1_024;
+
+            private final ThreadLocal<Map<VertexIID.Type, Lease>> leases;
+
             public Persisted() {
                 super(PERSISTED.initialValue(), PERSISTED.isIncrement() ? 1 : -1);
+                leases = ThreadLocal.withInitial(HashMap::new);
             }
 
-            public void sync(Storage storage) {
+            @Override
+            public byte[] forThing(VertexIID.Type typeIID, Label typeLabel) {
+                final Map<VertexIID.Type, Lease> threadLeases = leases.get();
+                Lease lease = threadLeases.get(typeIID);
+                if (lease == null || lease.remaining == 0) {
+                    lease = new Lease(allocate(typeIID, typeLabel, LEASE_SIZE), LEASE_SIZE);
+                    threadLeases.put(typeIID, lease);
+                }
+                final long key = lease.next;
+                lease.next += delta;
+                lease.remaining--;
+                return longToSortedBytes(key);
+            }
+
+            /**
+             * Sets the next key of every type that has instances to follow the last
+             * key in storage.
+             *
+             * The types are read from the schema storage, as the keys in the data
+             * storage that start with a type are the edges from the type to its instances.
+             *
+             * @param schemaStorage the storage of the types
+             * @param dataStorage   the storage of the instances
+             */
+            public void sync(Storage schemaStorage, Storage dataStorage) {
                 final Encoding.Vertex.Thing[] thingsWithGeneratedIID = new Encoding.Vertex.Thing[]{ENTITY, RELATION, ROLE};
 
                 for (Encoding.Vertex.Thing thingEncoding : thingsWithGeneratedIID) {
                     final byte[] typeEncoding = Encoding.Vertex.Type.of(thingEncoding).prefix().bytes();
-                    final ResourceIterator<byte[]> typeIterator = storage.iterate(typeEncoding, (iid, value) -> iid)
+                    final ResourceIterator<byte[]> typeIterator = schemaStorage.iterate(typeEncoding, (iid, value) -> iid)
                             .filter(iid1 -> iid1.length == VertexIID.Type.LENGTH);
                     while (typeIterator.hasNext()) {
                         final byte[] typeIID = typeIterator.next();
                         final byte[] prefix = join(thingEncoding.prefix().bytes(), typeIID);
-                        final byte[] lastIID = storage.getLastKey(prefix);
+                        final byte[] lastIID = dataStorage.getLastKey(prefix);
                         final AtomicLong nextValue = lastIID != null ?
                                 new AtomicLong(sortedBytesToLong(copyOfRange(lastIID, PREFIX_W_TYPE_LENGTH, DEFAULT_LENGTH)) + delta) :
                                 new AtomicLong(initialValue);
@@ -184,6 +241,17 @@ public class KeyGenerator {
                     }
                 }
             }
+
+            private static class Lease {
+
+                private long next;
+                private int remaining;
+
+                private Lease(long next, int remaining) {
+                    this.next = next;
+                    this.remaining = remaining;
+                }
+            }
         }
     }
 }
@@ -20,9 +20,15 @@ package grakn.core.graph.util;
 
 import grakn.core.graph.iid.VertexIID;
 
+import java.util.Arrays;
+
 import static grakn.core.common.collection.Bytes.join;
 
 public class StatisticsBytes {
+
+    public static final int COUNT_JOB_PARTITIONS = 256;
+    public static final int COUNT_JOB_PARTITION_LENGTH = 1;
+
     public static byte[] vertexCountKey(VertexIID.Type typeIID) {
         return join(
                 Encoding.Prefix.STATISTICS_THINGS.bytes(),
@@ -52,14 +58,65 @@ public class StatisticsBytes {
                 Encoding.StatisticsInfix.HAS_EDGE_TOTAL_COUNT.bytes());
     }
 
+    public static byte[] rolePlayerCountKey(VertexIID.Type relationTypeIID, VertexIID.Type roleTypeIID,
+                                            VertexIID.Type playerTypeIID) {
+        return join(
+                Encoding.Prefix.STATISTICS_THINGS.bytes(),
+                relationTypeIID.bytes(),
+                Encoding.StatisticsInfix.ROLE_PLAYER_COUNT.bytes(),
+                roleTypeIID.bytes(),
+                playerTypeIID.bytes());
+    }
+
+    public static byte[] valueSketchKey(VertexIID.Type attTypeIID) {
+        return join(
+                Encoding.Prefix.STATISTICS_THINGS.bytes(),
+                attTypeIID.bytes(),
+                Encoding.StatisticsInfix.VALUE_SKETCH.bytes());
+    }
+
+    public static byte[] valueHistogramKey(VertexIID.Type attTypeIID) {
+        return join(
+                Encoding.Prefix.STATISTICS_THINGS.bytes(),
+                attTypeIID.bytes(),
+                Encoding.StatisticsInfix.VALUE_HISTOGRAM.bytes());
+    }
+
+    public static byte[] vertexDegreeKey(VertexIID.Thing thingIID, Encoding.Infix infix) {
+        return join(
+                Encoding.Prefix.STATISTICS_VERTEX_DEGREE.bytes(),
+                thingIID.bytes(),
+                infix.bytes());
+    }
+
     public static byte[] countJobKey() {
         return join(
                 Encoding.Prefix.STATISTICS_COUNT_JOB.bytes());
     }
 
+    /**
+     * Count jobs are spread over {@code COUNT_JOB_PARTITIONS} contiguous key
+     * ranges, by a byte that follows the prefix, so that the background counter
+     * can split the jobs between its workers by key range.
+     *
+     * @param partition the partition of the count jobs, from 0 to {@code COUNT_JOB_PARTITIONS}
+     * @return the first key of the partition, or null if the partition is past the last one
+     */
+    public static byte[] countJobKey(int partition) {
+        if (partition >= COUNT_JOB_PARTITIONS) return null;
+        return join(
+                Encoding.Prefix.STATISTICS_COUNT_JOB.bytes(),
+                new byte[]{(byte) partition});
+    }
+
+    private static byte[] countJobPartition(byte[] countJobIID) {
+        return new byte[]{(byte) Math.floorMod(Arrays.hashCode(countJobIID), COUNT_JOB_PARTITIONS)};
+    }
+
     public static byte[] attributeCountJobKey(VertexIID.Attribute<?> attIID) {
         return join(
                 Encoding.Prefix.STATISTICS_COUNT_JOB.bytes(),
+                countJobPartition(attIID.bytes()),
                 Encoding.StatisticsCountJobType.ATTRIBUTE_VERTEX.bytes(),
                 attIID.bytes());
     }
@@ -71,11 +128,12 @@ public class StatisticsBytes {
     }
 
     public static byte[] hasEdgeCountJobKey(VertexIID.Thing thingIID, VertexIID.Attribute<?> attIID) {
+        final byte[] countJobIID = join(thingIID.bytes(), attIID.bytes());
         return join(
                 Encoding.Prefix.STATISTICS_COUNT_JOB.bytes(),
+                countJobPartition(countJobIID),
                 Encoding.StatisticsCountJobType.HAS_EDGE.bytes(),
-                thingIID.bytes(),
-                attIID.bytes()
+                countJobIID
         );
     }
 
@@ -22,6 +22,8 @@ import grakn.core.common.exception.ErrorMessage;
 import grakn.core.common.exception.GraknException;
 import grakn.core.common.iterator.ResourceIterator;
 
+import javax.annotation.Nullable;
+import java.util.List;
 import java.util.function.BiFunction;
 
 import static grakn.common.util.Objects.className;
@@ -33,6 +35,8 @@ public interface Storage {
 
     byte[] get(byte[] key);
 
+    List<byte[]> multiGet(List<byte[]> keys);
+
     byte[] getLastKey(byte[] prefix);
 
     void delete(byte[] key);
@@ -49,6 +53,12 @@ public interface Storage {
 
     <G> ResourceIterator<G> iterate(byte[] key, BiFunction<byte[], byte[], G> constructor);
 
+    /**
+     * Iterates the keys starting with {@code prefix}, from {@code from} inclusive
+     * up to {@code to} exclusive, or up to the end of the prefix if {@code to} is null.
+     */
+    <G> ResourceIterator<G> iterate(byte[] prefix, byte[] from, @Nullable byte[] to, BiFunction<byte[], byte[], G> constructor);
+
     GraknException exception(ErrorMessage error);
 
     GraknException exception(Exception exception);
@@ -54,6 +54,19 @@ public interface ThingVertex extends Vertex<VertexIID.Thing, Encoding.Vertex.Thi
      */
     ThingAdjacency ins();
 
+    /**
+     * Returns the approximate number of edges of an encoding in a direction of
+     * this {@code ThingVertex}, which is cheap to look up, and can tell a vertex
+     * with millions of edges, such as a popular attribute, from a normal one.
+     *
+     * The edges put on a persisted vertex are only counted once they are committed.
+     *
+     * @param encoding  the encoding of the edges
+     * @param direction the direction of the edges from this {@code ThingVertex}
+     * @return the approximate number of edges
+     */
+    long degree(Encoding.Edge.Thing encoding, Encoding.Direction.Adjacency direction);
+
     /**
      * Returns the {@code TypeVertex} in which this {@code ThingVertex} is an instance of.
      *
@@ -61,6 +61,10 @@ public interface TypeVertex extends Vertex<VertexIID.Type, Encoding.Vertex.Type>
 
     TypeVertex regex(Pattern regex);
 
+    boolean isTrigramIndexed();
+
+    TypeVertex isTrigramIndexed(boolean isTrigramIndexed);
+
     boolean isEntityType();
 
     boolean isAttributeType();
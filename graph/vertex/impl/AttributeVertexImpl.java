@@ -29,10 +29,12 @@ import grakn.core.graph.util.Encoding;
 import grakn.core.graph.vertex.AttributeVertex;
 
 import java.time.LocalDateTime;
+import java.util.Set;
 
 import static grakn.common.util.Objects.className;
 import static grakn.core.common.exception.ErrorMessage.ThingRead.INVALID_THING_VERTEX_CASTING;
 import static grakn.core.common.exception.ErrorMessage.Transaction.ILLEGAL_OPERATION;
+import static java.util.stream.Collectors.toSet;
 
 public abstract class AttributeVertexImpl<VALUE> extends ThingVertexImpl implements AttributeVertex<VALUE> {
 
@@ -83,6 +85,11 @@ public abstract class AttributeVertexImpl<VALUE> extends ThingVertexImpl impleme
         return Encoding.Status.IMMUTABLE;
     }
 
+    @Override
+    public long degree(Encoding.Edge.Thing encoding, Encoding.Direction.Adjacency direction) {
+        return persistedDegree(encoding, direction);
+    }
+
     @Override
     public VALUE value() {
         if (type().valueType().isWritable()) {
@@ -115,8 +122,9 @@ public abstract class AttributeVertexImpl<VALUE> extends ThingVertexImpl impleme
     /**
      * Commits this vertex to be persisted onto storage.
      *
-     * This method is not thread-safe. It uses needs to access and manipulate
-     * {@code AttributeSync} which is not a thread-safe object.
+     * Attribute vertices are written untracked, as concurrent transactions may
+     * insert the same attribute, and this may be called concurrently with the
+     * commit of any other vertex.
      */
     @Override
     public void commit() {
@@ -128,6 +136,10 @@ public abstract class AttributeVertexImpl<VALUE> extends ThingVertexImpl impleme
     private void commitVertex() {
         graph.storage().putUntracked(attributeIID.bytes());
         graph.storage().putUntracked(EdgeIID.InwardsISA.of(type().iid(), iid).bytes());
+        commitIndex();
+    }
+
+    void commitIndex() {
         graph.storage().putUntracked(index().bytes(), attributeIID.bytes());
         // TODO: we should make use of attribute indexes to look up attributes by value (without type) quickly
     }
@@ -259,6 +271,28 @@ public abstract class AttributeVertexImpl<VALUE> extends ThingVertexImpl impleme
             return IndexIID.Attribute.of(value(), type().iid());
         }
 
+        private Set<IndexIID.Trigram> trigramIndex() {
+            return IndexIID.Trigram.trigrams(value()).stream()
+                    .map(trigram -> IndexIID.Trigram.of(type().iid(), trigram, iid().asString()))
+                    .collect(toSet());
+        }
+
+        @Override
+        void commitIndex() {
+            super.commitIndex();
+            if (type().isTrigramIndexed()) {
+                trigramIndex().forEach(trigram -> graph.storage().putUntracked(trigram.bytes()));
+            }
+        }
+
+        @Override
+        void deleteVertexFromIndex() {
+            super.deleteVertexFromIndex();
+            if (type().isTrigramIndexed()) {
+                trigramIndex().forEach(trigram -> graph.storage().delete(trigram.bytes()));
+            }
+        }
+
         @Override
         public boolean isString() { return true; }
 
@@ -19,10 +19,12 @@
 package grakn.core.graph.vertex.impl;
 
 import grakn.core.common.exception.GraknException;
+import grakn.core.common.iterator.ResourceIterator;
 import grakn.core.graph.DataGraph;
 import grakn.core.graph.GraphManager;
 import grakn.core.graph.adjacency.ThingAdjacency;
 import grakn.core.graph.adjacency.impl.ThingAdjacencyImpl;
+import grakn.core.graph.edge.ThingEdge;
 import grakn.core.graph.iid.EdgeIID;
 import grakn.core.graph.iid.VertexIID;
 import grakn.core.graph.util.Encoding;
@@ -30,7 +32,9 @@ import grakn.core.graph.vertex.AttributeVertex;
 import grakn.core.graph.vertex.ThingVertex;
 import grakn.core.graph.vertex.TypeVertex;
 
+import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 import static grakn.common.util.Objects.className;
 import static grakn.core.common.exception.ErrorMessage.ThingRead.INVALID_THING_VERTEX_CASTING;
@@ -45,6 +49,7 @@ public abstract class ThingVertexImpl extends VertexImpl<VertexIID.Thing> implem
     protected final ThingAdjacency ins;
     protected final AtomicBoolean isDeleted;
     protected boolean isInferred;
+    private volatile AtomicLongArray persistedDegrees;
 
     ThingVertexImpl(DataGraph graph, VertexIID.Thing iid, boolean isInferred) {
         super(iid);
@@ -65,6 +70,33 @@ public abstract class ThingVertexImpl extends VertexImpl<VertexIID.Thing> implem
         }
     }
 
+    /**
+     * Returns the degree of this persisted vertex, as counted by the statistics of
+     * its graph. The degrees of a vertex cannot change in a read transaction, so
+     * they are memoised by the vertex, which lives only as long as the cache of
+     * vertices of the transaction holds it.
+     *
+     * @param encoding  the encoding of the edges
+     * @param direction the direction of the edges from this vertex
+     * @return the approximate number of edges
+     */
+    protected long persistedDegree(Encoding.Edge.Thing encoding, Encoding.Direction.Adjacency direction) {
+        if (!graph.isReadOnly()) return graph.stats().thingVertexDegree(iid, encoding, direction);
+        AtomicLongArray degrees = persistedDegrees;
+        if (degrees == null) {
+            final long[] unknown = new long[Encoding.Edge.Thing.values().length * 2];
+            Arrays.fill(unknown, -1);
+            persistedDegrees = degrees = new AtomicLongArray(unknown);
+        }
+        final int index = encoding.ordinal() * 2 + (direction.isOut() ? 0 : 1);
+        long degree = degrees.get(index);
+        if (degree < 0) {
+            degree = graph.stats().thingVertexDegree(iid, encoding, direction);
+            degrees.set(index, degree);
+        }
+        return degree;
+    }
+
     /**
      * Instantiates a new {@code ThingAdjacency} class
      *
@@ -103,6 +135,7 @@ public abstract class ThingVertexImpl extends VertexImpl<VertexIID.Thing> implem
         if (!isModified) {
             isModified = true;
             graph.setModified();
+            graph.pin(this);
         }
     }
 
@@ -153,6 +186,7 @@ public abstract class ThingVertexImpl extends VertexImpl<VertexIID.Thing> implem
     void deleteVertexFromStorage() {
         graph.storage().delete(iid.bytes());
         graph.storage().delete(EdgeIID.InwardsISA.of(type().iid(), iid).bytes());
+        graph.stats().thingVertexDeleted(iid);
     }
 
     void commitEdges() {
@@ -177,6 +211,20 @@ public abstract class ThingVertexImpl extends VertexImpl<VertexIID.Thing> implem
             return Encoding.Status.BUFFERED;
         }
 
+        /**
+         * Counts the edges of this {@code ThingVertex}, which are all buffered.
+         */
+        @Override
+        public long degree(Encoding.Edge.Thing encoding, Encoding.Direction.Adjacency direction) {
+            final ResourceIterator<ThingEdge> edges = (direction.isOut() ? outs : ins).edge(encoding).get();
+            long degree = 0;
+            while (edges.hasNext()) {
+                edges.next();
+                degree++;
+            }
+            return degree;
+        }
+
         @Override
         public void commit() {
             if (isInferred) throw GraknException.of(ILLEGAL_OPERATION);
@@ -219,6 +267,11 @@ public abstract class ThingVertexImpl extends VertexImpl<VertexIID.Thing> implem
             return Encoding.Status.PERSISTED;
         }
 
+        @Override
+        public long degree(Encoding.Edge.Thing encoding, Encoding.Direction.Adjacency direction) {
+            return persistedDegree(encoding, direction);
+        }
+
         @Override
         public void commit() {
             commitEdges();
@@ -45,6 +45,7 @@ import static grakn.core.graph.util.Encoding.Property.ABSTRACT;
 import static grakn.core.graph.util.Encoding.Property.LABEL;
 import static grakn.core.graph.util.Encoding.Property.REGEX;
 import static grakn.core.graph.util.Encoding.Property.SCOPE;
+import static grakn.core.graph.util.Encoding.Property.TRIGRAM_INDEX;
 import static grakn.core.graph.util.Encoding.Property.VALUE_TYPE;
 import static grakn.core.graph.util.Encoding.Vertex.Type.ATTRIBUTE_TYPE;
 import static grakn.core.graph.util.Encoding.Vertex.Type.ENTITY_TYPE;
@@ -63,6 +64,7 @@ public abstract class TypeVertexImpl extends VertexImpl<VertexIID.Type> implemen
     String label;
     String scope;
     Boolean isAbstract; // needs to be declared as the Boolean class
+    Boolean isTrigramIndexed; // needs to be declared as the Boolean class
     Encoding.ValueType valueType;
     Pattern regex;
 
@@ -288,6 +290,18 @@ public abstract class TypeVertexImpl extends VertexImpl<VertexIID.Type> implemen
             return isAbstract != null ? isAbstract : false;
         }
 
+        @Override
+        public boolean isTrigramIndexed() {
+            return isTrigramIndexed != null ? isTrigramIndexed : false;
+        }
+
+        @Override
+        public TypeVertexImpl isTrigramIndexed(boolean isTrigramIndexed) {
+            this.isTrigramIndexed = isTrigramIndexed;
+            this.setModified();
+            return this;
+        }
+
         @Override
         public TypeVertexImpl isAbstract(boolean isAbstract) {
             this.isAbstract = isAbstract;
@@ -347,6 +361,7 @@ public abstract class TypeVertexImpl extends VertexImpl<VertexIID.Type> implemen
             if (isAbstract != null && isAbstract) commitPropertyAbstract();
             if (valueType != null) commitPropertyValueType();
             if (regex != null) commitPropertyRegex();
+            if (isTrigramIndexed != null && isTrigramIndexed) commitPropertyTrigramIndex();
         }
 
         private void commitPropertyScope() {
@@ -368,6 +383,10 @@ public abstract class TypeVertexImpl extends VertexImpl<VertexIID.Type> implemen
         private void commitPropertyRegex() {
             graph.storage().put(join(iid.bytes(), REGEX.infix().bytes()), regex.pattern().getBytes());
         }
+
+        private void commitPropertyTrigramIndex() {
+            graph.storage().put(join(iid.bytes(), TRIGRAM_INDEX.infix().bytes()));
+        }
     }
 
     public static class Persisted extends TypeVertexImpl {
@@ -437,6 +456,23 @@ public abstract class TypeVertexImpl extends VertexImpl<VertexIID.Type> implemen
             return this;
         }
 
+        @Override
+        public boolean isTrigramIndexed() {
+            if (isTrigramIndexed != null) return isTrigramIndexed;
+            final byte[] flag = graph.storage().get(join(iid.bytes(), TRIGRAM_INDEX.infix().bytes()));
+            isTrigramIndexed = flag != null;
+            return isTrigramIndexed;
+        }
+
+        @Override
+        public TypeVertexImpl isTrigramIndexed(boolean isTrigramIndexed) {
+            if (isTrigramIndexed) graph.storage().put(join(iid.bytes(), TRIGRAM_INDEX.infix().bytes()));
+            else graph.storage().delete(join(iid.bytes(), TRIGRAM_INDEX.infix().bytes()));
+            this.isTrigramIndexed = isTrigramIndexed;
+            this.setModified();
+            return this;
+        }
+
         @Override
         public Encoding.ValueType valueType() {
             if (valueType != null) return valueType;
@@ -23,23 +23,30 @@ import grakn.core.common.exception.GraknException;
 import grakn.core.common.iterator.ResourceIterator;
 import grakn.core.common.parameters.Context;
 import grakn.core.common.parameters.Options;
+import grakn.core.concept.Concept;
 import grakn.core.concept.ConceptManager;
 import grakn.core.concept.answer.AnswerGroup;
 import grakn.core.concept.answer.ConceptMap;
 import grakn.core.concept.answer.Numeric;
+import grakn.core.concept.thing.Thing;
 import grakn.core.logic.LogicManager;
 import grakn.core.pattern.Disjunction;
 import grakn.core.reasoner.Reasoner;
+import graql.lang.pattern.variable.Reference;
 import graql.lang.query.GraqlDefine;
 import graql.lang.query.GraqlDelete;
 import graql.lang.query.GraqlInsert;
 import graql.lang.query.GraqlMatch;
 import graql.lang.query.GraqlUndefine;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static grabl.tracing.client.GrablTracingThreadStatic.traceOnThread;
 import static grakn.common.collection.Collections.list;
+import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
 import static grakn.core.common.exception.ErrorMessage.Transaction.SESSION_DATA_VIOLATION;
 import static grakn.core.common.exception.ErrorMessage.Transaction.SESSION_SCHEMA_VIOLATION;
 import static grakn.core.common.iterator.Iterators.iterate;
@@ -47,6 +54,12 @@ import static grakn.core.common.iterator.Iterators.iterate;
 public class QueryManager {
 
     private static final String TRACE_PREFIX = "query.";
+    /**
+     * The number of answers of a match-insert query after which the things of the
+     * transaction may be spilled into storage, so that a single query that inserts
+     * into many answers is not held in memory until it is complete.
+     */
+    private static final int SPILL_INTERVAL = 1_000;
     private final LogicManager logicMgr;
     private final Reasoner reasoner;
     private final ConceptManager conceptMgr;
@@ -82,12 +95,23 @@ public class QueryManager {
     public ResourceIterator<ConceptMap> insert(GraqlInsert query, Options.Query options) {
         if (transactionCtx.sessionType().isSchema()) throw conceptMgr.exception(SESSION_SCHEMA_VIOLATION);
         try (ThreadTrace ignored = traceOnThread(TRACE_PREFIX + "insert")) {
+            conceptMgr.spillThings();
             final Context.Query context = new Context.Query(transactionCtx, options);
             if (query.match().isPresent()) {
-                List<ConceptMap> matched = match(query.match().get()).toList();
-                return iterate(iterate(matched).map(answer -> Inserter.create(
-                        conceptMgr, query.variables(), answer, context
-                ).execute()).toList());
+                // the match is read to its end before anything is inserted, as its answers are produced
+                // by traversals that must not see the inserts, nor read the graph while it is spilled,
+                // but each answer is only held by the IIDs of its things, as are the inserted answers
+                final List<UnloadedAnswer> matched = new ArrayList<>();
+                match(query.match().get()).forEachRemaining(answer -> matched.add(new UnloadedAnswer(answer)));
+                final List<UnloadedAnswer> inserted = new ArrayList<>(matched.size());
+                for (int i = 0; i < matched.size(); i++) {
+                    final ConceptMap answer = matched.set(i, null).load(conceptMgr);
+                    inserted.add(new UnloadedAnswer(
+                            Inserter.create(conceptMgr, query.variables(), answer, context).execute()
+                    ));
+                    if (inserted.size() % SPILL_INTERVAL == 0) conceptMgr.spillThings();
+                }
+                return iterate(inserted).map(answer -> answer.load(conceptMgr));
             } else {
                 return iterate(list(Inserter.create(conceptMgr, query.variables(), context).execute()));
             }
@@ -105,6 +129,7 @@ public class QueryManager {
     public void delete(GraqlDelete query, Options.Query options) {
         if (transactionCtx.sessionType().isSchema()) throw conceptMgr.exception(SESSION_SCHEMA_VIOLATION);
         try (ThreadTrace ignored = traceOnThread(TRACE_PREFIX + "delete")) {
+            conceptMgr.spillThings();
             final Context.Query context = new Context.Query(transactionCtx, options);
             final List<ConceptMap> matched = match(query.match()).toList();
             matched.forEach(existing -> Deleter.create(conceptMgr, query.variables(), existing, context).execute());
@@ -150,4 +175,35 @@ public class QueryManager {
     public ResourceIterator<AnswerGroup<Numeric>> match(GraqlMatch.Group.Aggregate matchGroupAggregate) {
         return null;
     }
+
+    /**
+     * An answer that holds the things in it by their IIDs, rather than by the
+     * vertices that they are read from, so that holding many answers does not
+     * keep the vertices of the things reachable once they are spilled from the
+     * graph. Types are never spilled, so they are held as they are.
+     */
+    private static class UnloadedAnswer {
+
+        private final Map<Reference.Name, Concept> types;
+        private final Map<Reference.Name, byte[]> things;
+
+        private UnloadedAnswer(ConceptMap answer) {
+            types = new HashMap<>();
+            things = new HashMap<>();
+            answer.concepts().forEach((reference, concept) -> {
+                if (concept.isThing()) things.put(reference, concept.asThing().getIID());
+                else types.put(reference, concept);
+            });
+        }
+
+        private ConceptMap load(ConceptManager conceptMgr) {
+            final Map<Reference.Name, Concept> concepts = new HashMap<>(types);
+            things.forEach((reference, iid) -> {
+                final Thing thing = conceptMgr.getThing(iid);
+                if (thing == null) throw conceptMgr.exception(ILLEGAL_STATE);
+                concepts.put(reference, thing);
+            });
+            return new ConceptMap(concepts);
+        }
+    }
 }
@@ -0,0 +1,592 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.rocks;
+
+import grakn.common.collection.Pair;
+import grakn.core.common.exception.GraknCheckedException;
+import grakn.core.common.exception.GraknException;
+import grakn.core.common.parameters.Label;
+import grakn.core.graph.SchemaGraph;
+import grakn.core.graph.StatisticsCache;
+import grakn.core.graph.iid.EdgeIID;
+import grakn.core.graph.iid.IndexIID;
+import grakn.core.graph.iid.InfixIID;
+import grakn.core.graph.iid.SuffixIID;
+import grakn.core.graph.iid.VertexIID;
+import grakn.core.graph.util.Encoding;
+import grakn.core.graph.util.KeyGenerator;
+import grakn.core.graph.vertex.TypeVertex;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.EnvOptions;
+import org.rocksdb.IngestExternalFileOptions;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.SstFileWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static grakn.common.collection.Collections.list;
+import static grakn.core.common.collection.Bytes.longToBytes;
+import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_ARGUMENT;
+import static grakn.core.graph.util.Encoding.Edge.Thing.HAS;
+import static grakn.core.graph.util.Encoding.Edge.Thing.PLAYING;
+import static grakn.core.graph.util.Encoding.Edge.Thing.RELATING;
+import static grakn.core.graph.util.Encoding.Edge.Thing.ROLEPLAYER;
+import static grakn.core.graph.util.Encoding.Edge.Type.RELATES;
+import static grakn.core.graph.util.Encoding.Edge.Type.SUB;
+import static grakn.core.graph.util.StatisticsBytes.attributeCountedKey;
+import static grakn.core.graph.util.StatisticsBytes.hasEdgeCountKey;
+import static grakn.core.graph.util.StatisticsBytes.hasEdgeCountedKey;
+import static grakn.core.graph.util.StatisticsBytes.hasEdgeTotalCountKey;
+import static grakn.core.graph.util.StatisticsBytes.rolePlayerCountKey;
+import static grakn.core.graph.util.StatisticsBytes.snapshotKey;
+import static grakn.core.graph.util.StatisticsBytes.vertexCountKey;
+import static grakn.core.graph.util.StatisticsBytes.vertexDegreeKey;
+import static grakn.core.graph.util.StatisticsBytes.vertexTransitiveCountKey;
+import static java.util.Comparator.reverseOrder;
+
+/**
+ * Loads data into an empty database, bypassing transactions entirely.
+ *
+ * Every key is generated with the same {@code VertexIID}, {@code EdgeIID} and
+ * {@code IndexIID} encoding that the graph uses when it commits, and is sorted
+ * externally per {@code Encoding.Partition}: keys are buffered in memory, and
+ * spilled to disk as sorted runs, which are merged into SST files when the load
+ * is complete. The SST files of each partition are then ingested into its column
+ * family in a single {@code ingestExternalFile} operation, and the partitions are
+ * ingested one after another.
+ *
+ * Statistics are written as already counted, so no count jobs are left for the
+ * background statistics counter. Entities, relations and roles are counted as
+ * they are put, as each of them gets a new IID, while attributes and ownerships,
+ * which may be put more than once, are counted from the distinct keys written
+ * to the SST files of their partitions. The degrees of the vertices are counted
+ * from the distinct has edges and role player edges in the same way, so that the
+ * traversal never mistakes a loaded vertex for one without any edges.
+ *
+ * This class is not thread-safe. The database holds it exclusively, so no
+ * session can be opened on the database until it is closed, and the type
+ * lookups of an import go through the schema cached by this loader instead.
+ */
+public class RocksBulkLoader implements AutoCloseable {
+
+    private static final int RUN_SIZE = 1_000_000;
+    private static final long SST_FILE_SIZE = 256L * 1024 * 1024;
+    private static final Logger LOG = LoggerFactory.getLogger(RocksBulkLoader.class);
+    private static final byte[] EMPTY_ARRAY = new byte[]{};
+    private static final List<Encoding.Partition> INGESTION_ORDER = list(
+            Encoding.Partition.DEFAULT, Encoding.Partition.VERTEX, Encoding.Partition.EDGE,
+            Encoding.Partition.ATTRIBUTE, Encoding.Partition.STATISTICS
+    );
+
+    private final RocksDatabase database;
+    private final RocksDatabase.Cache cache;
+    private final SchemaGraph schemaGraph;
+    private final KeyGenerator.Data keyGenerator;
+    private final Path directory;
+    private final Map<Encoding.Partition, ExternalSorter> sorters;
+    private final Map<VertexIID.Type, Long> vertexCounts;
+    private final Map<Pair<VertexIID.Type, VertexIID.Type>, Long> hasEdgeCounts;
+    private final Map<VertexIID.Type, Long> hasEdgeTotalCounts;
+    private final Map<StatisticsCache.RolePlayer, Long> rolePlayerCounts;
+    private VertexIID.Thing degreeVertex;
+    private Encoding.Infix degreeInfix;
+    private long degree;
+
+    RocksBulkLoader(RocksDatabase database, Path directory) {
+        this.database = database;
+        this.directory = directory;
+        cache = database.borrowCache();
+        schemaGraph = cache.schemaGraph();
+        keyGenerator = database.dataKeyGenerator();
+        sorters = new EnumMap<>(Encoding.Partition.class);
+        vertexCounts = new HashMap<>();
+        hasEdgeCounts = new HashMap<>();
+        hasEdgeTotalCounts = new HashMap<>();
+        rolePlayerCounts = new HashMap<>();
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw GraknException.of(e);
+        }
+    }
+
+    /**
+     * @param label    the label of the type
+     * @param encoding the encoding of the type
+     * @return true if the schema of the database has a type of the given encoding with the given label
+     */
+    public boolean containsType(Label label, Encoding.Vertex.Type encoding) {
+        final TypeVertex type = schemaGraph.getType(label);
+        return type != null && type.encoding() == encoding;
+    }
+
+    /**
+     * Returns the role types that a relation type relates, including the ones it
+     * inherits from its supertypes and does not override, as the concept API does.
+     *
+     * @param relationTypeLabel the label of the relation type
+     * @return the labels of the role types, by their scoped names
+     */
+    public Map<String, Label> relates(Label relationTypeLabel) {
+        final TypeVertex relationType = type(relationTypeLabel);
+        if (!relationType.isRelationType()) throw GraknException.of(ILLEGAL_ARGUMENT);
+        final Map<String, Label> roleTypes = new HashMap<>();
+        final Set<TypeVertex> overridden = new HashSet<>();
+        TypeVertex type = relationType;
+        while (type != null && type.isRelationType()) {
+            type.outs().edge(RELATES).to().filter(role -> !overridden.contains(role)).forEachRemaining(
+                    role -> roleTypes.put(role.properLabel().scopedName(), role.properLabel())
+            );
+            type.outs().edge(RELATES).overridden().filter(Objects::nonNull).forEachRemaining(overridden::add);
+            type = type.outs().edge(SUB).to().firstOrNull();
+        }
+        return roleTypes;
+    }
+
+    /**
+     * Puts a new instance of an entity type or relation type.
+     *
+     * @param typeLabel the label of the entity type or relation type
+     * @return the IID of the new instance
+     */
+    public byte[] putThing(Label typeLabel) {
+        final TypeVertex type = type(typeLabel);
+        if (!type.isEntityType() && !type.isRelationType()) throw GraknException.of(ILLEGAL_ARGUMENT);
+        return putThing(type).bytes();
+    }
+
+    private VertexIID.Thing putThing(TypeVertex type) {
+        final VertexIID.Thing iid = VertexIID.Thing.generate(keyGenerator, type.iid(), type.properLabel());
+        put(iid.bytes());
+        put(EdgeIID.InwardsISA.of(type.iid(), iid).bytes());
+        vertexCounts.merge(type.iid(), 1L, Long::sum);
+        return iid;
+    }
+
+    public byte[] putAttribute(Label typeLabel, boolean value) {
+        final TypeVertex type = attributeType(typeLabel, Encoding.ValueType.BOOLEAN);
+        return putAttribute(type, new VertexIID.Attribute.Boolean(type.iid(), value), IndexIID.Attribute.of(value, type.iid()));
+    }
+
+    public byte[] putAttribute(Label typeLabel, long value) {
+        final TypeVertex type = attributeType(typeLabel, Encoding.ValueType.LONG);
+        return putAttribute(type, new VertexIID.Attribute.Long(type.iid(), value), IndexIID.Attribute.of(value, type.iid()));
+    }
+
+    public byte[] putAttribute(Label typeLabel, double value) {
+        final TypeVertex type = attributeType(typeLabel, Encoding.ValueType.DOUBLE);
+        return putAttribute(type, new VertexIID.Attribute.Double(type.iid(), value), IndexIID.Attribute.of(value, type.iid()));
+    }
+
+    public byte[] putAttribute(Label typeLabel, String value) {
+        final TypeVertex type = attributeType(typeLabel, Encoding.ValueType.STRING);
+        final VertexIID.Attribute.String attIID;
+        try {
+            attIID = new VertexIID.Attribute.String(type.iid(), value);
+        } catch (GraknCheckedException e) {
+            throw GraknException.of(e);
+        }
+        if (type.isTrigramIndexed()) {
+            for (String trigram : IndexIID.Trigram.trigrams(value)) put(IndexIID.Trigram.of(type.iid(), trigram, attIID).bytes());
+        }
+        return putAttribute(type, attIID, IndexIID.Attribute.of(value, type.iid()));
+    }
+
+    public byte[] putAttribute(Label typeLabel, LocalDateTime value) {
+        final TypeVertex type = attributeType(typeLabel, Encoding.ValueType.DATETIME);
+        return putAttribute(type, new VertexIID.Attribute.DateTime(type.iid(), value), IndexIID.Attribute.of(value, type.iid()));
+    }
+
+    private byte[] putAttribute(TypeVertex type, VertexIID.Attribute<?> attIID, IndexIID.Attribute index) {
+        put(attIID.bytes());
+        put(EdgeIID.InwardsISA.of(type.iid(), attIID).bytes());
+        put(index.bytes(), attIID.bytes());
+        put(attributeCountedKey(attIID));
+        return attIID.bytes();
+    }
+
+    /**
+     * Puts an ownership of an attribute by a thing.
+     *
+     * @param ownerIID     the IID of the owner, as returned by this loader
+     * @param attributeIID the IID of the attribute, as returned by this loader
+     */
+    public void putHas(byte[] ownerIID, byte[] attributeIID) {
+        final VertexIID.Thing owner = VertexIID.Thing.of(ownerIID);
+        final VertexIID.Attribute<?> attribute = VertexIID.Attribute.of(attributeIID);
+        put(EdgeIID.Thing.of(owner, InfixIID.Thing.of(HAS.out()), attribute).bytes());
+        put(EdgeIID.Thing.of(attribute, InfixIID.Thing.of(HAS.in()), owner).bytes());
+        put(hasEdgeCountedKey(owner, attribute));
+    }
+
+    /**
+     * Puts a player of a role in a relation, which creates a new instance of the
+     * role type, and the optimised role player edge, as the graph does.
+     *
+     * @param relationIID   the IID of the relation, as returned by this loader
+     * @param roleTypeLabel the scoped label of the role type
+     * @param playerIID     the IID of the player, as returned by this loader
+     */
+    public void putRolePlayer(byte[] relationIID, Label roleTypeLabel, byte[] playerIID) {
+        final TypeVertex roleType = type(roleTypeLabel);
+        if (!roleType.isRoleType()) throw GraknException.of(ILLEGAL_ARGUMENT);
+        final VertexIID.Thing relation = VertexIID.Thing.of(relationIID);
+        final VertexIID.Thing player = VertexIID.Thing.of(playerIID);
+        final VertexIID.Thing role = putThing(roleType);
+
+        put(EdgeIID.Thing.of(relation, InfixIID.Thing.of(RELATING.out()), role).bytes());
+        put(EdgeIID.Thing.of(role, InfixIID.Thing.of(RELATING.in()), relation).bytes());
+        put(EdgeIID.Thing.of(player, InfixIID.Thing.of(PLAYING.out()), role).bytes());
+        put(EdgeIID.Thing.of(role, InfixIID.Thing.of(PLAYING.in()), player).bytes());
+        put(EdgeIID.Thing.of(relation, InfixIID.Thing.of(ROLEPLAYER.out(), roleType.iid()),
+                             player, SuffixIID.of(role.key())).bytes());
+        put(EdgeIID.Thing.of(player, InfixIID.Thing.of(ROLEPLAYER.in(), roleType.iid()),
+                             relation, SuffixIID.of(role.key())).bytes());
+        rolePlayerCounts.merge(new StatisticsCache.RolePlayer(relation.type(), roleType.iid(), player.type()),
+                               1L, Long::sum);
+    }
+
+    /**
+     * Merges every sorted run into SST files, counting the attributes and the
+     * ownerships among the distinct keys written, and then writes the statistics,
+     * and ingests the SST files of each partition into its column family. The
+     * statistics are then published to the statistics cache of the database,
+     * which was empty before the ingestion.
+     *
+     * RocksJava 6.11 can only ingest files into one column family at a time, so
+     * the ingestion of the partitions is not atomic as a whole. The statistics
+     * partition is ingested last, and if any ingestion fails, the key ranges of
+     * the partitions ingested so far are deleted again, which leaves the database
+     * empty, as it was before.
+     */
+    public void ingest() {
+        final RocksConfig config = database.rocksConfig();
+        final Map<Encoding.Partition, List<String>> files = new EnumMap<>(Encoding.Partition.class);
+        final List<Encoding.Partition> ingested = new ArrayList<>();
+        StatisticsCache.Delta statistics = null;
+        RocksDataCache.Invalidation invalidation = null;
+        try (EnvOptions envOptions = new EnvOptions();
+             IngestExternalFileOptions ingestOptions = new IngestExternalFileOptions().setMoveFiles(true)) {
+            for (Encoding.Partition partition : INGESTION_ORDER) {
+                if (partition == Encoding.Partition.STATISTICS) statistics = putStatistics();
+                final ExternalSorter sorter = sorters.get(partition);
+                if (sorter == null) continue;
+                try (org.rocksdb.Options options = new org.rocksdb.Options(config.dbOptions(false), config.partitionOptions(partition))) {
+                    files.put(partition, sorter.writeSstFiles(envOptions, options, key -> countDistinct(partition, key)));
+                }
+            }
+            invalidation = database.dataCache().invalidateAll();
+            for (Encoding.Partition partition : INGESTION_ORDER) {
+                if (!files.containsKey(partition) || files.get(partition).isEmpty()) continue;
+                ingested.add(partition);
+                database.rocksData().ingestExternalFile(database.dataPartitions().get(partition), files.get(partition), ingestOptions);
+            }
+            database.statisticsCache().publish(statistics);
+        } catch (RocksDBException | IOException e) {
+            deleteIngested(ingested);
+            throw GraknException.of(e);
+        } finally {
+            if (invalidation != null) invalidation.complete();
+        }
+    }
+
+    private void countDistinct(Encoding.Partition partition, byte[] key) {
+        final Encoding.Prefix prefix = Encoding.Prefix.of(key[0]);
+        if (partition == Encoding.Partition.ATTRIBUTE && prefix == Encoding.Prefix.VERTEX_ATTRIBUTE) {
+            vertexCounts.merge(VertexIID.Attribute.of(key).type(), 1L, Long::sum);
+        } else if (partition == Encoding.Partition.EDGE && prefix.type() == Encoding.PrefixType.THING) {
+            final EdgeIID.Thing edge = EdgeIID.Thing.of(key);
+            if (edge.encoding() == HAS && edge.isOutwards()) {
+                final VertexIID.Type ownerType = edge.start().type();
+                hasEdgeCounts.merge(new Pair<>(ownerType, edge.end().type()), 1L, Long::sum);
+                hasEdgeTotalCounts.merge(rootTypeIID(ownerType), 1L, Long::sum);
+            }
+            if (edge.encoding() == HAS || edge.encoding() == ROLEPLAYER) {
+                countDegree(edge.start(), edge.isOutwards() ? edge.encoding().out() : edge.encoding().in());
+            }
+        }
+    }
+
+    /**
+     * Counts an edge towards the degree of the vertex it starts from. The edges
+     * of a vertex with the same infix are contiguous in key order, so each degree
+     * is written as soon as the edges of the next vertex, or infix, are reached.
+     */
+    private void countDegree(VertexIID.Thing vertex, Encoding.Infix infix) {
+        if (!vertex.equals(degreeVertex) || infix != degreeInfix) {
+            putDegree();
+            degreeVertex = vertex;
+            degreeInfix = infix;
+        }
+        degree++;
+    }
+
+    private void putDegree() {
+        if (degree > 0) put(vertexDegreeKey(degreeVertex, degreeInfix), longToBytes(degree));
+        degree = 0;
+    }
+
+    private void deleteIngested(List<Encoding.Partition> partitions) {
+        for (Encoding.Partition partition : partitions) {
+            final ExternalSorter sorter = sorters.get(partition);
+            final ColumnFamilyHandle handle = database.dataPartitions().get(partition);
+            try {
+                database.rocksData().deleteRange(handle, sorter.firstKey, sorter.lastKey);
+                database.rocksData().delete(handle, sorter.lastKey);
+            } catch (RocksDBException e) {
+                LOG.error("Failed to delete the keys ingested into the partition '{}' of the database '{}'",
+                          partition.label(), database.name(), e);
+            }
+        }
+    }
+
+    private StatisticsCache.Delta putStatistics() {
+        putDegree();
+        final StatisticsCache.Delta statistics = new StatisticsCache.Delta();
+        final Map<VertexIID.Type, Long> vertexTransitiveCounts = new HashMap<>();
+        vertexCounts.forEach((typeIID, count) -> {
+            put(vertexCountKey(typeIID), longToBytes(count));
+            statistics.vertexCount(typeIID, count);
+            vertexTransitiveCounts.merge(rootTypeIID(typeIID), count, Long::sum);
+        });
+        vertexTransitiveCounts.forEach((rootIID, count) -> {
+            put(vertexTransitiveCountKey(rootIID), longToBytes(count));
+            statistics.vertexTransitiveCount(rootIID, count);
+        });
+        hasEdgeCounts.forEach((types, count) -> {
+            put(hasEdgeCountKey(types.first(), types.second()), longToBytes(count));
+            statistics.hasEdgeCount(types.first(), types.second(), count);
+        });
+        hasEdgeTotalCounts.forEach((rootIID, count) -> {
+            put(hasEdgeTotalCountKey(rootIID), longToBytes(count));
+            statistics.hasEdgeTotalCount(rootIID, count);
+        });
+        rolePlayerCounts.forEach((rolePlayer, count) -> {
+            put(rolePlayerCountKey(rolePlayer.relationType(), rolePlayer.roleType(), rolePlayer.playerType()),
+                longToBytes(count));
+            statistics.rolePlayerCount(rolePlayer, count);
+        });
+        put(snapshotKey(), longToBytes(1));
+        statistics.version(1);
+        return statistics;
+    }
+
+    private VertexIID.Type rootTypeIID(VertexIID.Type typeIID) {
+        switch (typeIID.encoding().prefix()) {
+            case VERTEX_ENTITY_TYPE:
+                return schemaGraph.rootEntityType().iid();
+            case VERTEX_RELATION_TYPE:
+                return schemaGraph.rootRelationType().iid();
+            case VERTEX_ROLE_TYPE:
+                return schemaGraph.rootRoleType().iid();
+            case VERTEX_ATTRIBUTE_TYPE:
+                return schemaGraph.rootAttributeType().iid();
+            default:
+                throw GraknException.of(ILLEGAL_ARGUMENT);
+        }
+    }
+
+    private TypeVertex type(Label label) {
+        final TypeVertex type = schemaGraph.getType(label);
+        if (type == null) throw GraknException.of(ILLEGAL_ARGUMENT);
+        return type;
+    }
+
+    private TypeVertex attributeType(Label label, Encoding.ValueType valueType) {
+        final TypeVertex type = type(label);
+        if (!type.isAttributeType() || type.valueType() != valueType) throw GraknException.of(ILLEGAL_ARGUMENT);
+        return type;
+    }
+
+    private void put(byte[] key) {
+        put(key, EMPTY_ARRAY);
+    }
+
+    private void put(byte[] key, byte[] value) {
+        final Encoding.Partition partition = Encoding.Partition.of(key);
+        try {
+            sorters.computeIfAbsent(partition, p -> new ExternalSorter(directory.resolve(p.label()))).add(key, value);
+        } catch (IOException e) {
+            throw GraknException.of(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        database.unborrowCache(cache);
+        database.closeBulkLoader(this);
+        try {
+            if (Files.exists(directory)) {
+                Files.walk(directory).sorted(reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        } catch (IOException e) {
+            throw GraknException.of(e);
+        }
+    }
+
+    /**
+     * Sorts the keys of a partition, together with their values, using sorted
+     * runs that are spilled to disk whenever the buffer is full, and merged
+     * into SST files at the end. Duplicate keys are written only once.
+     */
+    private static class ExternalSorter {
+
+        private static final Comparator<Pair<byte[], byte[]>> KEY_ORDER =
+                (kv1, kv2) -> Arrays.compareUnsigned(kv1.first(), kv2.first());
+
+        private final Path directory;
+        private final List<Path> runs;
+        private List<Pair<byte[], byte[]>> buffer;
+        private byte[] firstKey;
+        private byte[] lastKey;
+
+        ExternalSorter(Path directory) {
+            this.directory = directory;
+            this.runs = new ArrayList<>();
+            this.buffer = new ArrayList<>();
+        }
+
+        void add(byte[] key, byte[] value) throws IOException {
+            buffer.add(new Pair<>(key, value));
+            if (buffer.size() >= RUN_SIZE) spill();
+        }
+
+        private void spill() throws IOException {
+            buffer.sort(KEY_ORDER);
+            Files.createDirectories(directory);
+            final Path run = directory.resolve("run-" + runs.size());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run)))) {
+                out.writeInt(buffer.size());
+                for (Pair<byte[], byte[]> kv : buffer) {
+                    out.writeInt(kv.first().length);
+                    out.write(kv.first());
+                    out.writeInt(kv.second().length);
+                    out.write(kv.second());
+                }
+            }
+            runs.add(run);
+            buffer = new ArrayList<>();
+        }
+
+        /**
+         * Merges the sorted runs into SST files, writing each key only once.
+         *
+         * @param onDistinctKey called with every distinct key, in order, as it is written
+         * @return the paths of the SST files written
+         */
+        List<String> writeSstFiles(EnvOptions envOptions, org.rocksdb.Options options,
+                                   Consumer<byte[]> onDistinctKey) throws IOException, RocksDBException {
+            if (!buffer.isEmpty()) spill();
+            final PriorityQueue<RunReader> readers = new PriorityQueue<>(
+                    (r1, r2) -> Arrays.compareUnsigned(r1.key, r2.key)
+            );
+            for (Path run : runs) {
+                final RunReader reader = new RunReader(run);
+                if (reader.advance()) readers.add(reader);
+            }
+
+            final List<String> files = new ArrayList<>();
+            SstFileWriter writer = null;
+            long fileSize = 0;
+            try {
+                while (!readers.isEmpty()) {
+                    final RunReader reader = readers.poll();
+                    if (lastKey == null || !Arrays.equals(lastKey, reader.key)) {
+                        if (writer == null) {
+                            final String file = directory.resolve("sst-" + files.size() + ".sst").toString();
+                            writer = new SstFileWriter(envOptions, options);
+                            writer.open(file);
+                            files.add(file);
+                        }
+                        writer.put(reader.key, reader.value);
+                        fileSize += reader.key.length + reader.value.length;
+                        if (firstKey == null) firstKey = reader.key;
+                        lastKey = reader.key;
+                        onDistinctKey.accept(reader.key);
+                        if (fileSize >= SST_FILE_SIZE) {
+                            writer.finish();
+                            writer.close();
+                            writer = null;
+                            fileSize = 0;
+                        }
+                    }
+                    if (reader.advance()) readers.add(reader);
+                }
+                if (writer != null) writer.finish();
+            } finally {
+                if (writer != null) writer.close();
+                for (RunReader reader : readers) reader.close();
+            }
+            return files;
+        }
+
+        private static class RunReader implements AutoCloseable {
+
+            private final DataInputStream in;
+            private int remaining;
+            private byte[] key;
+            private byte[] value;
+
+            RunReader(Path run) throws IOException {
+                in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run)));
+                remaining = in.readInt();
+            }
+
+            boolean advance() throws IOException {
+                if (remaining == 0) {
+                    close();
+                    return false;
+                }
+                key = new byte[in.readInt()];
+                in.readFully(key);
+                value = new byte[in.readInt()];
+                in.readFully(value);
+                remaining--;
+                return true;
+            }
+
+            @Override
+            public void close() throws IOException {
+                in.close();
+            }
+        }
+    }
+}
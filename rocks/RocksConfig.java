@@ -0,0 +1,376 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.rocks;
+
+import grakn.core.common.exception.GraknException;
+import grakn.core.common.parameters.Options;
+import grakn.core.graph.iid.InfixIID;
+import grakn.core.graph.iid.VertexIID;
+import grakn.core.graph.util.Encoding;
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
+import org.rocksdb.ColumnFamilyDescriptor;
+import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.CompactionStyle;
+import org.rocksdb.CompressionType;
+import org.rocksdb.DBOptions;
+import org.rocksdb.LRUCache;
+import org.rocksdb.RocksDB;
+import org.rocksdb.StatsLevel;
+import org.rocksdb.Statistics;
+import org.rocksdb.TickerType;
+import org.rocksdb.UInt64AddOperator;
+import org.rocksdb.WriteBufferManager;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static grakn.common.collection.Collections.list;
+import static grakn.core.common.exception.ErrorMessage.Server.UNRECOGNISED_STORAGE_PROFILE;
+import static org.rocksdb.CompressionType.LZ4_COMPRESSION;
+import static org.rocksdb.CompressionType.NO_COMPRESSION;
+import static org.rocksdb.CompressionType.ZSTD_COMPRESSION;
+
+/**
+ * The RocksDB configuration shared by every database of a {@code RocksGrakn}.
+ *
+ * A single block cache and a single write buffer budget are allocated for the
+ * whole server, and every database (and both of its schema and data keyspaces)
+ * is opened with options that point to them. This way the memory footprint of
+ * the server is bounded by the chosen {@code Profile}, regardless of how many
+ * databases are opened.
+ *
+ * The data keyspace is split into one column family per {@code Encoding.Partition},
+ * each with its own memtable, compaction and bloom filter settings, while the
+ * schema keyspace only uses the default column family.
+ */
+class RocksConfig implements AutoCloseable {
+
+    private static final long MB = 1024L * 1024L;
+    private static final int CORES = Runtime.getRuntime().availableProcessors();
+    private static final int LEVELS = 7;
+    private static final int BLOOM_BITS_PER_KEY = 10;
+    private static final double MEMTABLE_PREFIX_BLOOM_RATIO = 0.1;
+    private static final long STATISTICS_MEMTABLE_SIZE = 4 * MB;
+
+    private final Profile profile;
+    private final LRUCache blockCache;
+    private final WriteBufferManager writeBufferManager;
+    private final UInt64AddOperator mergeOperator;
+    private final BloomFilter bloomFilter;
+    private final Statistics statistics;
+    private final DBOptions dbOptions;
+    private final DBOptions newDBOptions;
+    private final Map<Encoding.Partition, ColumnFamilyOptions> partitionOptions;
+
+    RocksConfig(Options.Database options) {
+        profile = Profile.of(options.storageProfile());
+        final long blockCacheSize = options.storageBlockCacheSize().orElse(profile.blockCacheSize);
+        final long writeBufferSize = options.storageWriteBufferSize().orElse(profile.writeBufferSize);
+
+        blockCache = new LRUCache(blockCacheSize);
+        writeBufferManager = new WriteBufferManager(writeBufferSize, blockCache);
+        mergeOperator = new UInt64AddOperator();
+        bloomFilter = new BloomFilter(BLOOM_BITS_PER_KEY, false);
+        statistics = new Statistics();
+        // only the tickers are read, so histograms and timers, which are costly to record, are not kept
+        statistics.setStatsLevel(StatsLevel.EXCEPT_HISTOGRAM_OR_TIMERS);
+        dbOptions = dbOptions(options, false);
+        newDBOptions = dbOptions(options, true);
+        partitionOptions = new EnumMap<>(Encoding.Partition.class);
+        partitionOptions.put(Encoding.Partition.DEFAULT, defaultOptions());
+        partitionOptions.put(Encoding.Partition.VERTEX, vertexOptions());
+        partitionOptions.put(Encoding.Partition.EDGE, edgeOptions());
+        partitionOptions.put(Encoding.Partition.ATTRIBUTE, attributeOptions());
+        partitionOptions.put(Encoding.Partition.STATISTICS, statisticsOptions());
+    }
+
+    /**
+     * Returns the length of the prefix extracted from every key of a partition,
+     * which is used to build the prefix bloom filters of that partition, or 0 if
+     * the partition has no prefix extractor.
+     *
+     * Keys are capped at this length, so a seek with a prefix at least this long
+     * is guaranteed to land on keys that share the same extracted prefix, and can
+     * therefore be served using {@code prefix_same_as_start}. Shorter seeks must
+     * be done in total order.
+     *
+     * @param partition the partition of the data keyspace
+     * @return the length of the extracted prefix
+     */
+    static int prefixLength(Encoding.Partition partition) {
+        switch (partition) {
+            case DEFAULT:
+            case EDGE:
+                // the IID of a ThingVertex followed by the infix of an edge, which is what adjacency scans seek to
+                return VertexIID.Thing.DEFAULT_LENGTH + InfixIID.LENGTH;
+            case VERTEX:
+                // the IID prefix and type of a ThingVertex, which is what scans over instances of a type seek to
+                return VertexIID.Thing.PREFIX_W_TYPE_LENGTH;
+            case ATTRIBUTE:
+                // the IID prefix, type and value type of an AttributeVertex, which is what value scans seek to
+                return VertexIID.Thing.PREFIX_W_TYPE_LENGTH + 1;
+            case STATISTICS:
+                return 0;
+            default:
+                assert false;
+                return 0;
+        }
+    }
+
+    private ColumnFamilyOptions defaultOptions() {
+        return partitionOptions(Encoding.Partition.DEFAULT, tableConfig(true))
+                .setWriteBufferSize(Math.max(profile.memtableSize / 4, STATISTICS_MEMTABLE_SIZE))
+                .setMaxWriteBufferNumber(profile.memtableCount)
+                .setCompactionStyle(CompactionStyle.LEVEL)
+                .setLevelCompactionDynamicLevelBytes(true);
+    }
+
+    /**
+     * Vertices are mostly read through point lookups, which are served by whole
+     * key bloom filters, and they are small and written once.
+     */
+    private ColumnFamilyOptions vertexOptions() {
+        return partitionOptions(Encoding.Partition.VERTEX, tableConfig(true))
+                .setWriteBufferSize(profile.memtableSize / 2)
+                .setMaxWriteBufferNumber(profile.memtableCount)
+                .setCompactionStyle(CompactionStyle.LEVEL)
+                .setLevelCompactionDynamicLevelBytes(true);
+    }
+
+    /**
+     * Edges are the bulk of the data keyspace and are almost always read through
+     * prefix scans over the adjacency of a vertex, so they rely on prefix bloom
+     * filters rather than whole key filters, and get the largest memtables and a
+     * later level 0 compaction trigger to reduce write amplification.
+     */
+    private ColumnFamilyOptions edgeOptions() {
+        return partitionOptions(Encoding.Partition.EDGE, tableConfig(false))
+                .setWriteBufferSize(profile.memtableSize)
+                .setMaxWriteBufferNumber(profile.memtableCount)
+                .setMinWriteBufferNumberToMerge(Math.min(2, profile.memtableCount - 1))
+                .setLevel0FileNumCompactionTrigger(profile.level0CompactionTrigger * 2)
+                .setCompactionStyle(CompactionStyle.LEVEL)
+                .setLevelCompactionDynamicLevelBytes(true);
+    }
+
+    /**
+     * Attribute vertices and their indexes are looked up by value, and are
+     * written through untracked puts by concurrent transactions.
+     */
+    private ColumnFamilyOptions attributeOptions() {
+        return partitionOptions(Encoding.Partition.ATTRIBUTE, tableConfig(true))
+                .setWriteBufferSize(profile.memtableSize / 2)
+                .setMaxWriteBufferNumber(profile.memtableCount)
+                .setCompactionStyle(CompactionStyle.LEVEL)
+                .setLevelCompactionDynamicLevelBytes(true);
+    }
+
+    /**
+     * Statistics are a small set of counters and short-lived count job keys that
+     * are merged and deleted continuously, so they are kept in small memtables,
+     * left uncompressed and compacted with the universal style, which favours
+     * low write amplification over space amplification.
+     */
+    private ColumnFamilyOptions statisticsOptions() {
+        return new ColumnFamilyOptions()
+                .setMergeOperator(mergeOperator)
+                .setTableFormatConfig(tableConfig(true))
+                .setCompressionType(CompressionType.NO_COMPRESSION)
+                .setWriteBufferSize(STATISTICS_MEMTABLE_SIZE)
+                .setMaxWriteBufferNumber(2)
+                .setCompactionStyle(CompactionStyle.UNIVERSAL);
+    }
+
+    private ColumnFamilyOptions partitionOptions(Encoding.Partition partition, BlockBasedTableConfig tableConfig) {
+        return new ColumnFamilyOptions()
+                .setMergeOperator(mergeOperator)
+                .setTableFormatConfig(tableConfig)
+                .useCappedPrefixExtractor(prefixLength(partition))
+                .setMemtablePrefixBloomSizeRatio(MEMTABLE_PREFIX_BLOOM_RATIO)
+                .setCompressionPerLevel(profile.compressionPerLevel())
+                .setBottommostCompressionType(profile.bottommostCompression)
+                .setLevel0FileNumCompactionTrigger(profile.level0CompactionTrigger);
+    }
+
+    private BlockBasedTableConfig tableConfig(boolean wholeKeyFiltering) {
+        return new BlockBasedTableConfig()
+                .setBlockCache(blockCache)
+                .setBlockSize(profile.blockSize)
+                .setCacheIndexAndFilterBlocks(profile.cacheIndexAndFilterBlocks)
+                .setPinL0FilterAndIndexBlocksInCache(profile.cacheIndexAndFilterBlocks)
+                .setFilterPolicy(bloomFilter)
+                .setWholeKeyFiltering(wholeKeyFiltering)
+                .setFormatVersion(4);
+    }
+
+    Profile profile() {
+        return profile;
+    }
+
+    private DBOptions dbOptions(Options.Database options, boolean createsColumnFamilies) {
+        return new DBOptions()
+                .setStatistics(statistics)
+                .setCreateIfMissing(true)
+                .setCreateMissingColumnFamilies(createsColumnFamilies)
+                .setWriteBufferManager(writeBufferManager)
+                .setMaxOpenFiles(options.storageMaxOpenFiles().orElse(profile.maxOpenFiles))
+                .setMaxBackgroundJobs(options.storageBackgroundJobs().orElse(profile.backgroundJobs));
+    }
+
+    /**
+     * Returns the options to open a keyspace with. Only a new keyspace creates
+     * the column families of its partitions: an existing keyspace that lacks them
+     * must fail to open, rather than come up with empty partitions.
+     *
+     * @param isNew true if the keyspace is being created
+     * @return the options to open the keyspace with
+     */
+    DBOptions dbOptions(boolean isNew) {
+        return isNew ? newDBOptions : dbOptions;
+    }
+
+    /**
+     * Returns the number of internal keys that RocksDB iterators of every database
+     * have stepped over without returning them, since the server started. These
+     * are mostly deletion tombstones, and the older versions of overwritten keys,
+     * that have not been compacted away yet.
+     *
+     * @return the number of keys skipped by iterators
+     */
+    long skippedTombstoneCount() {
+        return statistics.getTickerCount(TickerType.NUMBER_ITER_SKIP);
+    }
+
+    ColumnFamilyOptions partitionOptions(Encoding.Partition partition) {
+        return partitionOptions.get(partition);
+    }
+
+    /**
+     * @return the column families of the schema keyspace, which is not partitioned
+     */
+    List<ColumnFamilyDescriptor> schemaDescriptors() {
+        return list(descriptor(Encoding.Partition.DEFAULT));
+    }
+
+    /**
+     * @return the column families of the data keyspace, in the order of {@code Encoding.Partition}
+     */
+    List<ColumnFamilyDescriptor> dataDescriptors() {
+        final List<ColumnFamilyDescriptor> descriptors = new ArrayList<>();
+        for (Encoding.Partition partition : Encoding.Partition.values()) descriptors.add(descriptor(partition));
+        return descriptors;
+    }
+
+    private ColumnFamilyDescriptor descriptor(Encoding.Partition partition) {
+        final byte[] name = partition == Encoding.Partition.DEFAULT ? RocksDB.DEFAULT_COLUMN_FAMILY : partition.bytes();
+        return new ColumnFamilyDescriptor(name, partitionOptions.get(partition));
+    }
+
+    @Override
+    public void close() {
+        partitionOptions.values().forEach(ColumnFamilyOptions::close);
+        dbOptions.close();
+        newDBOptions.close();
+        statistics.close();
+        mergeOperator.close();
+        bloomFilter.close();
+        writeBufferManager.close();
+        blockCache.close();
+    }
+
+    /**
+     * The storage profiles that can be selected through the {@code storage.profile}
+     * server property. Each profile provides the default sizes of the shared block
+     * cache and write buffer budget, which can be overridden individually.
+     */
+    enum Profile {
+        DEFAULT("default", 256 * MB, 256 * MB, 64 * MB, 3, 4, 4 * 1024, -1, CORES,
+                NO_COMPRESSION, 2, LZ4_COMPRESSION, ZSTD_COMPRESSION, false),
+        OLTP_READ_HEAVY("oltp-read-heavy", 2048 * MB, 256 * MB, 64 * MB, 3, 4, 8 * 1024, -1, CORES,
+                NO_COMPRESSION, 2, LZ4_COMPRESSION, ZSTD_COMPRESSION, true),
+        BULK_LOAD("bulk-load", 256 * MB, 2048 * MB, 256 * MB, 6, 16, 16 * 1024, -1, Math.max(CORES, 4) * 2,
+                NO_COMPRESSION, 3, LZ4_COMPRESSION, LZ4_COMPRESSION, false),
+        LOW_MEMORY("low-memory", 32 * MB, 32 * MB, 8 * MB, 2, 4, 4 * 1024, 512, Math.min(CORES, 2),
+                LZ4_COMPRESSION, 0, LZ4_COMPRESSION, ZSTD_COMPRESSION, true);
+
+        private final String label;
+        private final long blockCacheSize;
+        private final long writeBufferSize;
+        private final long memtableSize;
+        private final int memtableCount;
+        private final int level0CompactionTrigger;
+        private final long blockSize;
+        private final int maxOpenFiles;
+        private final int backgroundJobs;
+        private final CompressionType upperCompression;
+        private final int upperLevels;
+        private final CompressionType lowerCompression;
+        private final CompressionType bottommostCompression;
+        private final boolean cacheIndexAndFilterBlocks;
+
+        Profile(String label, long blockCacheSize, long writeBufferSize, long memtableSize, int memtableCount,
+                int level0CompactionTrigger, long blockSize, int maxOpenFiles, int backgroundJobs,
+                CompressionType upperCompression, int upperLevels, CompressionType lowerCompression,
+                CompressionType bottommostCompression, boolean cacheIndexAndFilterBlocks) {
+            this.label = label;
+            this.blockCacheSize = blockCacheSize;
+            this.writeBufferSize = writeBufferSize;
+            this.memtableSize = memtableSize;
+            this.memtableCount = memtableCount;
+            this.level0CompactionTrigger = level0CompactionTrigger;
+            this.blockSize = blockSize;
+            this.maxOpenFiles = maxOpenFiles;
+            this.backgroundJobs = backgroundJobs;
+            this.upperCompression = upperCompression;
+            this.upperLevels = upperLevels;
+            this.lowerCompression = lowerCompression;
+            this.bottommostCompression = bottommostCompression;
+            this.cacheIndexAndFilterBlocks = cacheIndexAndFilterBlocks;
+        }
+
+        static Profile of(String label) {
+            for (Profile profile : Profile.values()) {
+                if (profile.label.equalsIgnoreCase(label)) return profile;
+            }
+            throw GraknException.of(UNRECOGNISED_STORAGE_PROFILE, label);
+        }
+
+        /**
+         * Returns the compression of every LSM level: the first {@code upperLevels}
+         * levels hold short-lived data and are cheap to (re)compress, while the
+         * remaining levels hold most of the data.
+         *
+         * @return the list of compression types, one per level
+         */
+        List<CompressionType> compressionPerLevel() {
+            final List<CompressionType> compression = new ArrayList<>(LEVELS);
+            for (int level = 0; level < LEVELS; level++) {
+                compression.add(level < upperLevels ? upperCompression : lowerCompression);
+            }
+            return compression;
+        }
+
+        String label() {
+            return label;
+        }
+    }
+}
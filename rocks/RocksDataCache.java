@@ -0,0 +1,562 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.rocks;
+
+import grakn.core.common.iterator.ResourceIterator;
+import grakn.core.graph.iid.VertexIID;
+import grakn.core.graph.util.Encoding;
+
+import javax.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static grakn.core.common.collection.Bytes.bytesHavePrefix;
+import static grakn.core.common.collection.Bytes.compareKeys;
+import static grakn.core.graph.util.Encoding.PrefixType.THING;
+
+/**
+ * A read-through cache of the persisted thing vertices of a database, and of
+ * their adjacency, shared by the read transactions of every session of the
+ * database. Vertices are cached by their IID, together with the keys and values
+ * of the edges under every adjacency prefix of the vertex that has been fully
+ * iterated, so that hot vertices are not read again from RocksDB by every
+ * transaction.
+ *
+ * The cache is versioned by a commit sequence, which is incremented by every
+ * data commit once it has been written into RocksDB. A transaction reads the
+ * sequence before it takes its RocksDB snapshot, and only uses the entries
+ * that were cached after the last commit, up to that sequence, that wrote to
+ * their segment. Before a commit is written into RocksDB, it removes the
+ * entries of every vertex that it writes to, and blocks their segments from
+ * being cached into until the commit is completed, so that no transaction can
+ * cache the state of a vertex from before the commit once the commit is visible.
+ *
+ * The cache is split into segments by the hash of the vertex IID, each of which
+ * is an access-ordered map guarded by its own lock, and evicts its least
+ * recently used vertices once it exceeds its share of the memory budget.
+ */
+public class RocksDataCache {
+
+    private static final int SEGMENTS = 64;
+    private static final int MAX_CACHED_ADJACENCY = 1_000;
+    private static final int MAX_INVALIDATED_VERTICES = 1 << 16;
+    private static final long ENTRY_OVERHEAD = 128;
+    private static final long KEY_VALUE_OVERHEAD = 48;
+
+    private final boolean isEnabled;
+    private final AtomicLong sequence;
+    private final List<Segment> segments;
+    private final Metrics metrics;
+
+    RocksDataCache(long capacity) {
+        isEnabled = capacity > 0;
+        sequence = new AtomicLong(0);
+        segments = new ArrayList<>(SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) segments.add(new Segment(capacity / SEGMENTS));
+        metrics = new Metrics();
+    }
+
+    boolean isEnabled() {
+        return isEnabled;
+    }
+
+    /**
+     * @return the sequence of the last data commit that has been written into RocksDB
+     */
+    long sequence() {
+        return sequence.get();
+    }
+
+    public Metrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns the IID of the thing vertex that a key of the data keyspace
+     * belongs to, which is the key itself for a vertex, or the vertex that
+     * the edge starts from for an edge.
+     *
+     * @param key the key of a vertex or an edge, or a prefix of edges
+     * @return the IID of the thing vertex of the key, or {@code null} if the
+     * key does not belong to a thing vertex, and is never cached
+     */
+    @Nullable
+    static ByteBuffer owner(byte[] key) {
+        if (Encoding.Prefix.of(key[0]).type() != THING) return null;
+        else if (VertexIID.Thing.isWithinIID(key)) return ByteBuffer.wrap(key);
+        else return ByteBuffer.wrap(VertexIID.Thing.extract(key, 0).bytes());
+    }
+
+    private Segment segment(ByteBuffer owner) {
+        final int hash = owner.hashCode();
+        return segments.get((hash ^ (hash >>> 16)) & (SEGMENTS - 1));
+    }
+
+    /**
+     * Reads the value of the key of a thing vertex through the cache.
+     *
+     * @param key      the IID of the thing vertex
+     * @param snapshot the commit sequence read by the transaction before it took its snapshot
+     * @param reader   the function that reads the key from the snapshot of the transaction
+     * @return the value of the key, or {@code null} if the vertex does not exist
+     */
+    byte[] get(byte[] key, long snapshot, Function<byte[], byte[]> reader) {
+        final ByteBuffer owner = ByteBuffer.wrap(key);
+        final Segment segment = segment(owner);
+        synchronized (segment) {
+            final Entry entry = segment.get(owner, snapshot);
+            if (entry != null && entry.hasValue) {
+                metrics.hits.increment();
+                return entry.value;
+            }
+        }
+        metrics.misses.increment();
+        final byte[] value = reader.apply(key);
+        synchronized (segment) {
+            final Entry entry = segment.getOrCreate(owner, snapshot);
+            if (entry != null && !entry.hasValue) {
+                entry.hasValue = true;
+                entry.value = value;
+                segment.resize(entry, value == null ? 0 : value.length + KEY_VALUE_OVERHEAD);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Reads the values of a batch of keys through the cache. The key of a thing
+     * vertex is served and cached as by {@code get}. The key of an edge is served
+     * from the cached adjacency of its vertex, if the edges under a prefix of the
+     * key have been cached, as they are then every edge under that prefix. The
+     * keys that the cache cannot serve are read together in a single batch.
+     *
+     * @param keys     the keys of thing vertices and their edges, or of anything else, which is never cached
+     * @param snapshot the commit sequence read by the transaction before it took its snapshot
+     * @param reader   the function that reads a batch of keys from the snapshot of the transaction
+     * @return the values of the keys, in the same order, with {@code null} for every missing key
+     */
+    List<byte[]> multiGet(List<byte[]> keys, long snapshot, Function<List<byte[]>, List<byte[]>> reader) {
+        final List<byte[]> values = new ArrayList<>(keys.size());
+        final List<Integer> missed = new ArrayList<>();
+        for (byte[] key : keys) {
+            final ByteBuffer owner = owner(key);
+            final byte[][] cached = owner != null ? cached(key, owner, snapshot) : null;
+            if (cached != null) {
+                metrics.hits.increment();
+                values.add(cached[0]);
+            } else {
+                metrics.misses.increment();
+                missed.add(values.size());
+                values.add(null);
+            }
+        }
+        if (missed.isEmpty()) return values;
+
+        final List<byte[]> missedKeys = new ArrayList<>(missed.size());
+        for (int i : missed) missedKeys.add(keys.get(i));
+        final List<byte[]> read = reader.apply(missedKeys);
+        for (int j = 0; j < missed.size(); j++) {
+            final byte[] key = missedKeys.get(j);
+            final byte[] value = read.get(j);
+            values.set(missed.get(j), value);
+            final ByteBuffer owner = owner(key);
+            if (owner == null || owner.capacity() != key.length) continue;
+            final Segment segment = segment(owner);
+            synchronized (segment) {
+                final Entry entry = segment.getOrCreate(owner, snapshot);
+                if (entry != null && !entry.hasValue) {
+                    entry.hasValue = true;
+                    entry.value = value;
+                    segment.resize(entry, value == null ? 0 : value.length + KEY_VALUE_OVERHEAD);
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Looks a key of a thing vertex, or of one of its edges, up in the cache.
+     *
+     * @return a single element array of the value of the key, which is
+     * {@code null} if the key is known not to exist, or {@code null} if the
+     * cache does not know the key
+     */
+    @Nullable
+    private byte[][] cached(byte[] key, ByteBuffer owner, long snapshot) {
+        final Segment segment = segment(owner);
+        synchronized (segment) {
+            final Entry entry = segment.get(owner, snapshot);
+            if (entry == null) return null;
+            if (owner.capacity() == key.length) return entry.hasValue ? new byte[][]{entry.value} : null;
+            for (Map.Entry<ByteBuffer, byte[][]> adjacency : entry.adjacency.entrySet()) {
+                if (!bytesHavePrefix(key, adjacency.getKey().array())) continue;
+                final byte[][] edges = adjacency.getValue();
+                int low = 0;
+                int high = edges.length / 2 - 1;
+                while (low <= high) {
+                    final int mid = (low + high) >>> 1;
+                    final int comparison = compareKeys(edges[2 * mid], key);
+                    if (comparison < 0) low = mid + 1;
+                    else if (comparison > 0) high = mid - 1;
+                    else return new byte[][]{edges[2 * mid + 1]};
+                }
+                return new byte[][]{null};
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Iterates the edges under an adjacency prefix of a thing vertex through
+     * the cache. If the edges are not cached, they are read from the snapshot
+     * of the transaction, and cached once they have been iterated to the end,
+     * if there are no more than {@code MAX_CACHED_ADJACENCY} of them.
+     *
+     * @param prefix      the adjacency prefix, which starts with the IID of the thing vertex
+     * @param owner       the IID of the thing vertex
+     * @param snapshot    the commit sequence read by the transaction before it took its snapshot
+     * @param constructor the function that constructs an element from the key and value of an edge
+     * @param reader      the function that iterates the keys and values of the prefix from the snapshot
+     * @return an iterator of the elements constructed from the edges under the prefix
+     */
+    <G> ResourceIterator<G> iterate(byte[] prefix, ByteBuffer owner, long snapshot,
+                                    BiFunction<byte[], byte[], G> constructor,
+                                    Function<BiFunction<byte[], byte[], byte[][]>, ResourceIterator<byte[][]>> reader) {
+        final ByteBuffer adjacencyPrefix = ByteBuffer.wrap(prefix);
+        final Segment segment = segment(owner);
+        synchronized (segment) {
+            final Entry entry = segment.get(owner, snapshot);
+            final byte[][] edges = entry != null ? entry.adjacency.get(adjacencyPrefix) : null;
+            if (edges != null) {
+                metrics.hits.increment();
+                return new CachedIterator<>(edges, constructor);
+            }
+        }
+        metrics.misses.increment();
+        return new CachingIterator<>(reader.apply((key, value) -> new byte[][]{key, value}), constructor, edges -> {
+            synchronized (segment) {
+                final Entry entry = segment.getOrCreate(owner, snapshot);
+                if (entry != null && !entry.adjacency.containsKey(adjacencyPrefix)) {
+                    entry.adjacency.put(adjacencyPrefix, edges);
+                    long size = prefix.length + KEY_VALUE_OVERHEAD;
+                    for (int i = 0; i < edges.length; i += 2) {
+                        size += edges[i].length + edges[i + 1].length + KEY_VALUE_OVERHEAD;
+                    }
+                    segment.resize(entry, size);
+                }
+            }
+        });
+    }
+
+    /**
+     * Begins the invalidation of the vertices written by a commit, before the
+     * commit is written into RocksDB. The entries of the vertices are removed,
+     * and their segments are blocked from being cached into until the returned
+     * invalidation is completed, once the commit has been written into RocksDB
+     * (or has failed to).
+     *
+     * @param owners the IIDs of the thing vertices that the commit writes to
+     * @return the invalidation, to be completed once the commit is written
+     */
+    Invalidation invalidate(Set<ByteBuffer> owners) {
+        final Map<Segment, List<ByteBuffer>> invalidated = new HashMap<>();
+        if (owners.size() > MAX_INVALIDATED_VERTICES) {
+            for (Segment segment : segments) invalidated.put(segment, null);
+        } else {
+            for (ByteBuffer owner : owners) {
+                invalidated.computeIfAbsent(segment(owner), s -> new ArrayList<>()).add(owner);
+            }
+        }
+        invalidated.forEach((segment, segmentOwners) -> {
+            synchronized (segment) {
+                segment.inFlight++;
+                if (segmentOwners == null) segment.clear();
+                else segmentOwners.forEach(segment::remove);
+            }
+        });
+        return new Invalidation(invalidated.keySet());
+    }
+
+    /**
+     * Begins the invalidation of every cached vertex, before writes that bypass
+     * transactions, such as the ingestion of bulk loaded files, are written into
+     * RocksDB.
+     *
+     * @return the invalidation, to be completed once the writes are written
+     */
+    Invalidation invalidateAll() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.inFlight++;
+                segment.clear();
+            }
+        }
+        return new Invalidation(segments);
+    }
+
+    class Invalidation {
+
+        private final Iterable<Segment> segments;
+
+        private Invalidation(Iterable<Segment> segments) {
+            this.segments = segments;
+        }
+
+        void complete() {
+            final long completed = sequence.incrementAndGet();
+            for (Segment segment : segments) {
+                synchronized (segment) {
+                    segment.inFlight--;
+                    segment.lastInvalidated = completed;
+                }
+            }
+        }
+    }
+
+    private class Segment {
+
+        private final long capacity;
+        private final LinkedHashMap<ByteBuffer, Entry> entries;
+        private long size;
+        private long lastInvalidated;
+        private int inFlight;
+
+        private Segment(long capacity) {
+            this.capacity = capacity;
+            entries = new LinkedHashMap<>(16, 0.75f, true);
+            size = 0;
+            lastInvalidated = 0;
+            inFlight = 0;
+        }
+
+        @Nullable
+        private Entry get(ByteBuffer owner, long snapshot) {
+            final Entry entry = entries.get(owner);
+            if (entry == null || entry.validFrom > snapshot) return null;
+            else return entry;
+        }
+
+        /**
+         * Returns the entry of a vertex to cache the reads of a transaction into,
+         * creating it if needed, or {@code null} if the reads of the transaction
+         * may not be cached, as its snapshot is older than the last commit that
+         * wrote to this segment, or a commit is being written to this segment.
+         */
+        @Nullable
+        private Entry getOrCreate(ByteBuffer owner, long snapshot) {
+            if (!isEnabled || inFlight > 0 || lastInvalidated > snapshot) return null;
+            Entry entry = entries.get(owner);
+            if (entry == null) {
+                entry = new Entry(lastInvalidated);
+                entries.put(owner, entry);
+                size += owner.capacity() + ENTRY_OVERHEAD;
+                metrics.size.add(owner.capacity() + ENTRY_OVERHEAD);
+            }
+            return entry;
+        }
+
+        private void resize(Entry entry, long delta) {
+            entry.size += delta;
+            size += delta;
+            metrics.size.add(delta);
+            final Iterator<Map.Entry<ByteBuffer, Entry>> eldest = entries.entrySet().iterator();
+            while (size > capacity && eldest.hasNext()) {
+                final Map.Entry<ByteBuffer, Entry> evicted = eldest.next();
+                eldest.remove();
+                release(evicted.getKey(), evicted.getValue());
+                metrics.evictions.increment();
+            }
+        }
+
+        private void remove(ByteBuffer owner) {
+            final Entry entry = entries.remove(owner);
+            if (entry != null) release(owner, entry);
+        }
+
+        private void clear() {
+            metrics.size.add(-size);
+            entries.clear();
+            size = 0;
+        }
+
+        private void release(ByteBuffer owner, Entry entry) {
+            final long released = owner.capacity() + ENTRY_OVERHEAD + entry.size;
+            size -= released;
+            metrics.size.add(-released);
+        }
+    }
+
+    private static class Entry {
+
+        private final long validFrom;
+        private final Map<ByteBuffer, byte[][]> adjacency;
+        private boolean hasValue;
+        private byte[] value;
+        private long size;
+
+        private Entry(long validFrom) {
+            this.validFrom = validFrom;
+            adjacency = new HashMap<>();
+            hasValue = false;
+            size = 0;
+        }
+    }
+
+    /**
+     * An iterator over the edges of an adjacency prefix that are cached, as an
+     * array of their keys and values, alternately.
+     */
+    private static class CachedIterator<G> implements ResourceIterator<G> {
+
+        private final byte[][] edges;
+        private final BiFunction<byte[], byte[], G> constructor;
+        private int position;
+
+        private CachedIterator(byte[][] edges, BiFunction<byte[], byte[], G> constructor) {
+            this.edges = edges;
+            this.constructor = constructor;
+            position = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return position < edges.length;
+        }
+
+        @Override
+        public G next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            final G next = constructor.apply(edges[position], edges[position + 1]);
+            position += 2;
+            return next;
+        }
+
+        @Override
+        public void recycle() {
+            position = edges.length;
+        }
+    }
+
+    /**
+     * An iterator over the edges of an adjacency prefix read from storage, which
+     * collects them as it goes, and caches them once it reaches the end of the
+     * prefix, unless there are too many of them to be cached.
+     */
+    private static class CachingIterator<G> implements ResourceIterator<G> {
+
+        private final ResourceIterator<byte[][]> iterator;
+        private final BiFunction<byte[], byte[], G> constructor;
+        private final Consumer<byte[][]> cache;
+        private List<byte[]> edges;
+
+        private CachingIterator(ResourceIterator<byte[][]> iterator, BiFunction<byte[], byte[], G> constructor,
+                                Consumer<byte[][]> cache) {
+            this.iterator = iterator;
+            this.constructor = constructor;
+            this.cache = cache;
+            edges = new ArrayList<>();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (iterator.hasNext()) return true;
+            if (edges != null) {
+                cache.accept(edges.toArray(new byte[0][]));
+                edges = null;
+            }
+            return false;
+        }
+
+        @Override
+        public G next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            final byte[][] edge = iterator.next();
+            if (edges != null) {
+                if (edges.size() < 2 * MAX_CACHED_ADJACENCY) {
+                    edges.add(edge[0]);
+                    edges.add(edge[1]);
+                } else {
+                    edges = null;
+                }
+            }
+            return constructor.apply(edge[0], edge[1]);
+        }
+
+        @Override
+        public void recycle() {
+            edges = null;
+            iterator.recycle();
+        }
+    }
+
+    /**
+     * Counters of the reads served by the cache, and an estimate of its memory use.
+     */
+    public static class Metrics {
+
+        private final LongAdder hits;
+        private final LongAdder misses;
+        private final LongAdder evictions;
+        private final LongAdder size;
+
+        private Metrics() {
+            hits = new LongAdder();
+            misses = new LongAdder();
+            evictions = new LongAdder();
+            size = new LongAdder();
+        }
+
+        public long hitCount() {
+            return hits.sum();
+        }
+
+        public long missCount() {
+            return misses.sum();
+        }
+
+        public double hitRate() {
+            final long hitCount = hitCount();
+            final long readCount = hitCount + missCount();
+            return readCount == 0 ? 0 : (double) hitCount / readCount;
+        }
+
+        public long evictionCount() {
+            return evictions.sum();
+        }
+
+        /**
+         * @return an estimate of the memory used by the cache, in bytes
+         */
+        public long sizeBytes() {
+            return size.sum();
+        }
+    }
+}
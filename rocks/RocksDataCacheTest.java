@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.rocks;
+
+import grakn.core.common.iterator.ResourceIterator;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static grakn.core.common.iterator.Iterators.iterate;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class RocksDataCacheTest {
+
+    private static final byte[] VERTEX = new byte[]{1, 2, 3};
+    private static final byte[] ADJACENCY = new byte[]{1, 2, 3, 4};
+    private static final byte[] EDGE = new byte[]{1, 2, 3, 4, 5};
+    private static final byte[] BEFORE_COMMIT = new byte[]{10};
+    private static final byte[] AFTER_COMMIT = new byte[]{20};
+
+    private final RocksDataCache cache = new RocksDataCache(1 << 20);
+    private final AtomicInteger reads = new AtomicInteger();
+
+    private Function<byte[], byte[]> reader(byte[] value) {
+        return key -> {
+            reads.incrementAndGet();
+            return value;
+        };
+    }
+
+    private Function<BiFunction<byte[], byte[], byte[][]>, ResourceIterator<byte[][]>> edgeReader(byte[] value) {
+        return constructor -> {
+            reads.incrementAndGet();
+            return iterate(singletonList(constructor.apply(EDGE, value)));
+        };
+    }
+
+    private ResourceIterator<byte[]> iterateEdges(long snapshot, byte[] value) {
+        return cache.iterate(ADJACENCY, ByteBuffer.wrap(VERTEX), snapshot, (key, val) -> val, edgeReader(value));
+    }
+
+    private void commit() {
+        cache.invalidate(singleton(ByteBuffer.wrap(VERTEX))).complete();
+    }
+
+    @Test
+    public void test_reads_are_cached_until_a_commit_invalidates_them() {
+        long snapshot = cache.sequence();
+        assertArrayEquals(BEFORE_COMMIT, cache.get(VERTEX, snapshot, reader(BEFORE_COMMIT)));
+        assertArrayEquals(BEFORE_COMMIT, cache.get(VERTEX, snapshot, reader(BEFORE_COMMIT)));
+        assertEquals(1, reads.get());
+        assertEquals(1, cache.metrics().hitCount());
+
+        commit();
+        assertArrayEquals(AFTER_COMMIT, cache.get(VERTEX, cache.sequence(), reader(AFTER_COMMIT)));
+        assertEquals(2, reads.get());
+    }
+
+    @Test
+    public void test_reads_during_a_commit_in_flight_are_not_cached() {
+        RocksDataCache.Invalidation invalidation = cache.invalidate(singleton(ByteBuffer.wrap(VERTEX)));
+        cache.get(VERTEX, cache.sequence(), reader(BEFORE_COMMIT));
+        cache.get(VERTEX, cache.sequence(), reader(BEFORE_COMMIT));
+        assertEquals(2, reads.get());
+
+        invalidation.complete();
+        assertArrayEquals(AFTER_COMMIT, cache.get(VERTEX, cache.sequence(), reader(AFTER_COMMIT)));
+        assertEquals(3, reads.get());
+    }
+
+    @Test
+    public void test_read_that_races_a_commit_is_not_cached() {
+        long snapshot = cache.sequence();
+        byte[] value = cache.get(VERTEX, snapshot, key -> {
+            reads.incrementAndGet();
+            // the commit is written after the read of the snapshot, and before the value is cached
+            commit();
+            return BEFORE_COMMIT;
+        });
+        assertArrayEquals(BEFORE_COMMIT, value);
+
+        assertArrayEquals(AFTER_COMMIT, cache.get(VERTEX, cache.sequence(), reader(AFTER_COMMIT)));
+        assertEquals(2, reads.get());
+    }
+
+    @Test
+    public void test_snapshot_from_before_a_commit_does_not_read_entries_cached_after_it() {
+        long snapshotBeforeCommit = cache.sequence();
+        commit();
+        long snapshotAfterCommit = cache.sequence();
+        cache.get(VERTEX, snapshotAfterCommit, reader(AFTER_COMMIT));
+
+        assertArrayEquals(BEFORE_COMMIT, cache.get(VERTEX, snapshotBeforeCommit, reader(BEFORE_COMMIT)));
+        assertArrayEquals(AFTER_COMMIT, cache.get(VERTEX, snapshotAfterCommit, reader(AFTER_COMMIT)));
+        assertEquals(2, reads.get());
+    }
+
+    @Test
+    public void test_adjacency_is_cached_once_iterated_to_the_end() {
+        long snapshot = cache.sequence();
+        assertArrayEquals(BEFORE_COMMIT, iterateEdges(snapshot, BEFORE_COMMIT).toList().get(0));
+        assertArrayEquals(BEFORE_COMMIT, iterateEdges(snapshot, BEFORE_COMMIT).toList().get(0));
+        assertEquals(1, reads.get());
+
+        commit();
+        assertArrayEquals(AFTER_COMMIT, iterateEdges(cache.sequence(), AFTER_COMMIT).toList().get(0));
+        assertEquals(2, reads.get());
+    }
+
+    @Test
+    public void test_adjacency_iterated_across_a_commit_is_not_cached() {
+        ResourceIterator<byte[]> edges = iterateEdges(cache.sequence(), BEFORE_COMMIT);
+        assertArrayEquals(BEFORE_COMMIT, edges.next());
+        commit();
+        assertFalse(edges.hasNext());
+
+        assertArrayEquals(AFTER_COMMIT, iterateEdges(cache.sequence(), AFTER_COMMIT).toList().get(0));
+        assertEquals(2, reads.get());
+    }
+
+    @Test
+    public void test_disabled_cache_never_caches() {
+        RocksDataCache disabled = new RocksDataCache(0);
+        disabled.get(VERTEX, disabled.sequence(), reader(BEFORE_COMMIT));
+        disabled.get(VERTEX, disabled.sequence(), reader(BEFORE_COMMIT));
+        assertEquals(2, reads.get());
+    }
+}
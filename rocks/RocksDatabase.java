@@ -23,32 +23,57 @@ import grakn.common.concurrent.NamedThreadFactory;
 import grakn.core.Grakn;
 import grakn.core.common.exception.GraknException;
 import grakn.core.common.parameters.Arguments;
+import grakn.core.common.parameters.Label;
 import grakn.core.common.parameters.Options;
+import grakn.core.graph.DataGraph;
 import grakn.core.graph.SchemaGraph;
+import grakn.core.graph.StatisticsCache;
 import grakn.core.graph.util.Encoding;
 import grakn.core.graph.util.KeyGenerator;
+import grakn.core.graph.util.StatisticsBytes;
+import grakn.core.graph.vertex.TypeVertex;
 import grakn.core.logic.LogicCache;
 import grakn.core.traversal.TraversalCache;
+import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.OptimisticTransactionDB;
+import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.Status;
+import org.rocksdb.Transaction;
+import org.rocksdb.WriteOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.StampedLock;
 import java.util.stream.Stream;
 
+import static grakn.common.collection.Collections.list;
+import static grakn.core.common.exception.ErrorMessage.Database.DATABASE_BULK_LOADING;
 import static grakn.core.common.exception.ErrorMessage.Database.DATABASE_CLOSED;
+import static grakn.core.common.exception.ErrorMessage.Database.DATABASE_UNPARTITIONED;
 import static grakn.core.common.exception.ErrorMessage.Internal.DIRTY_INITIALISATION;
 import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
 import static grakn.core.common.exception.ErrorMessage.Internal.UNEXPECTED_INTERRUPTION;
+import static grakn.core.common.exception.ErrorMessage.Migrator.BULK_LOAD_DATABASE_NOT_EMPTY;
 import static grakn.core.common.parameters.Arguments.Session.Type.SCHEMA;
 import static grakn.core.common.parameters.Arguments.Transaction.Type.READ;
 import static grakn.core.common.parameters.Arguments.Transaction.Type.WRITE;
@@ -56,18 +81,29 @@ import static java.util.Comparator.reverseOrder;
 
 public class RocksDatabase implements Grakn.Database {
 
+    private static final Logger LOG = LoggerFactory.getLogger(RocksDatabase.class);
+
+    private static final String BULK_LOAD_DIRECTORY = "bulk-load-";
+
     private final String name;
     private final RocksGrakn rocksGrakn;
     private final OptimisticTransactionDB rocksData;
     private final OptimisticTransactionDB rocksSchema;
+    private final Map<Encoding.Partition, ColumnFamilyHandle> dataPartitions;
+    private final Map<Encoding.Partition, ColumnFamilyHandle> schemaPartitions;
     private final KeyGenerator.Data.Persisted dataKeyGenerator;
     private final KeyGenerator.Schema.Persisted schemaKeyGenerator;
     private final ConcurrentMap<UUID, Pair<RocksSession, Long>> sessions;
     private final StampedLock dataWriteSchemaLock;
     private final AtomicBoolean isOpen;
     private Cache cache;
+    private RocksBulkLoader bulkLoader;
+    private final RocksDataCache dataCache;
+    private final StatisticsCache statisticsCache;
     private final RocksSession.Data statisticsBackgroundCounterSession;
     final StatisticsBackgroundCounter statisticsBackgroundCounter;
+    private final StatisticsSampler statisticsSampler;
+    final GroupCommitter groupCommitter;
 
     private RocksDatabase(RocksGrakn rocksGrakn, String name, boolean isNew) {
         this.name = name;
@@ -77,18 +113,72 @@ public class RocksDatabase implements Grakn.Database {
         sessions = new ConcurrentHashMap<>();
         dataWriteSchemaLock = new StampedLock();
 
+        final RocksConfig config = this.rocksGrakn.rocksConfig();
+        final List<ColumnFamilyHandle> schemaHandles = new ArrayList<>();
+        final List<ColumnFamilyHandle> dataHandles = new ArrayList<>();
         try {
-            rocksSchema = OptimisticTransactionDB.open(this.rocksGrakn.rocksOptions(), directory().resolve(Encoding.ROCKS_SCHEMA).toString());
-            rocksData = OptimisticTransactionDB.open(this.rocksGrakn.rocksOptions(), directory().resolve(Encoding.ROCKS_DATA).toString());
+            final String dataDirectory = directory().resolve(Encoding.ROCKS_DATA).toString();
+            final boolean isDataNew = isNew || !hasPartitions(config, dataDirectory);
+            rocksSchema = OptimisticTransactionDB.open(config.dbOptions(isNew), directory().resolve(Encoding.ROCKS_SCHEMA).toString(),
+                                                       config.schemaDescriptors(), schemaHandles);
+            rocksData = OptimisticTransactionDB.open(config.dbOptions(isDataNew), dataDirectory,
+                                                     config.dataDescriptors(), dataHandles);
         } catch (RocksDBException e) {
             throw GraknException.of(e);
         }
+        schemaPartitions = partitions(schemaHandles);
+        dataPartitions = partitions(dataHandles);
 
         isOpen = new AtomicBoolean(true);
+        dataCache = new RocksDataCache(rocksGrakn.options().storageDataCacheSize());
+        statisticsCache = new StatisticsCache();
+        groupCommitter = new GroupCommitter(rocksData, rocksGrakn.options());
         if (isNew) initialise();
         else load();
         statisticsBackgroundCounterSession = new RocksSession.Data(this, new Options.Session());
-        statisticsBackgroundCounter = new StatisticsBackgroundCounter(statisticsBackgroundCounterSession);
+        statisticsBackgroundCounter = new StatisticsBackgroundCounter(
+                statisticsBackgroundCounterSession, rocksGrakn.options()
+        );
+        statisticsSampler = new StatisticsSampler(statisticsBackgroundCounterSession, rocksGrakn.options());
+    }
+
+    /**
+     * Maps the column family handles of a keyspace to their partitions, given
+     * that they were opened in the order of {@code Encoding.Partition}.
+     */
+    private static Map<Encoding.Partition, ColumnFamilyHandle> partitions(List<ColumnFamilyHandle> handles) {
+        final Map<Encoding.Partition, ColumnFamilyHandle> partitions = new EnumMap<>(Encoding.Partition.class);
+        for (int i = 0; i < handles.size(); i++) partitions.put(Encoding.Partition.values()[i], handles.get(i));
+        return partitions;
+    }
+
+    /**
+     * Returns true if an existing data keyspace has the column families of every
+     * partition, or false if it has none of their keys yet, in which case they can
+     * be created. A keyspace written before the data was split into partitions
+     * holds all of its keys in the default column family, and opening it with new,
+     * empty, partitions would hide all of its data, so it fails to open instead.
+     */
+    private boolean hasPartitions(RocksConfig config, String dataDirectory) throws RocksDBException {
+        final List<byte[]> columnFamilies;
+        try (org.rocksdb.Options options = new org.rocksdb.Options()) {
+            columnFamilies = RocksDB.listColumnFamilies(options, dataDirectory);
+        }
+        final boolean hasPartitions = config.dataDescriptors().stream().allMatch(
+                descriptor -> columnFamilies.stream().anyMatch(name -> Arrays.equals(name, descriptor.getName()))
+        );
+        if (hasPartitions) return true;
+
+        final boolean isEmpty;
+        try (org.rocksdb.Options options = new org.rocksdb.Options();
+             RocksDB rocksDB = RocksDB.openReadOnly(options, dataDirectory);
+             org.rocksdb.RocksIterator iterator = rocksDB.newIterator()) {
+            iterator.seekToFirst();
+            isEmpty = !iterator.isValid();
+        }
+        if (!isEmpty) throw GraknException.of(DATABASE_UNPARTITIONED, name);
+        LOG.warn("Creating the partitions of the data of database '{}', which has none", name);
+        return false;
     }
 
     static RocksDatabase createNewAndOpen(RocksGrakn rocksGrakn, String name) {
@@ -118,7 +208,11 @@ public class RocksDatabase implements Grakn.Database {
         try (RocksSession session = createAndOpenSession(SCHEMA, new Options.Session())) {
             try (RocksTransaction txn = session.transaction(READ)) {
                 schemaKeyGenerator.sync(txn.asSchema().schemaStorage());
-                dataKeyGenerator.sync(txn.asSchema().dataStorage());
+                dataKeyGenerator.sync(txn.asSchema().schemaStorage(), txn.asSchema().dataStorage());
+                statisticsCache.load(txn.asSchema().dataStorage());
+            }
+            try (RocksTransaction txn = session.transaction(WRITE)) {
+                if (txn.graphMgr.data().repairTrigramIndexes()) txn.commit();
             }
         }
     }
@@ -126,20 +220,23 @@ public class RocksDatabase implements Grakn.Database {
     RocksSession createAndOpenSession(Arguments.Session.Type type, Options.Session options) {
         if (!isOpen.get()) throw GraknException.of(DATABASE_CLOSED, name);
 
-        long lock = 0;
-        final RocksSession session;
+        if (!type.isSchema() && !type.isData()) throw GraknException.of(ILLEGAL_STATE);
+        if (isBulkLoading()) throw GraknException.of(DATABASE_BULK_LOADING, name);
 
-        if (type.isSchema()) {
-            lock = dataWriteSchemaLock().writeLock();
-            session = new RocksSession.Schema(this, options);
-        } else if (type.isData()) {
-            session = new RocksSession.Data(this, options);
-        } else {
-            throw GraknException.of(ILLEGAL_STATE);
+        final long lock = type.isSchema() ? dataWriteSchemaLock().writeLock() : 0;
+        try {
+            synchronized (this) {
+                if (bulkLoader != null) throw GraknException.of(DATABASE_BULK_LOADING, name);
+                final RocksSession session = type.isSchema()
+                        ? new RocksSession.Schema(this, options)
+                        : new RocksSession.Data(this, options);
+                sessions.put(session.uuid(), new Pair<>(session, lock));
+                return session;
+            }
+        } catch (RuntimeException e) {
+            if (type.isSchema()) dataWriteSchemaLock().unlockWrite(lock);
+            throw e;
         }
-
-        sessions.put(session.uuid(), new Pair<>(session, lock));
-        return session;
     }
 
     synchronized Cache borrowCache() {
@@ -171,6 +268,77 @@ public class RocksDatabase implements Grakn.Database {
         return rocksGrakn.directory().resolve(name);
     }
 
+    /**
+     * Returns a loader that writes data directly into the data keyspace as SST
+     * files, bypassing transactions. The database must be empty, and holds the
+     * loader exclusively: no session can be opened until the loader is closed,
+     * and no other loader can be opened in the meantime.
+     *
+     * @return a new {@code RocksBulkLoader} for this database
+     */
+    public synchronized RocksBulkLoader bulkLoader() {
+        if (!isOpen.get()) throw GraknException.of(DATABASE_CLOSED, name);
+        if (bulkLoader != null) throw GraknException.of(DATABASE_BULK_LOADING, name);
+        if (!isEmpty()) throw GraknException.of(BULK_LOAD_DATABASE_NOT_EMPTY, name);
+        bulkLoader = new RocksBulkLoader(this, directory().resolve(BULK_LOAD_DIRECTORY + UUID.randomUUID()));
+        return bulkLoader;
+    }
+
+    synchronized void closeBulkLoader(RocksBulkLoader loader) {
+        if (bulkLoader == loader) bulkLoader = null;
+    }
+
+    synchronized boolean isBulkLoading() {
+        return bulkLoader != null;
+    }
+
+    /**
+     * @return true if there are no open sessions and no things stored in the database
+     */
+    private boolean isEmpty() {
+        if (!sessions.isEmpty()) return false;
+        for (Encoding.Partition partition : list(Encoding.Partition.VERTEX, Encoding.Partition.ATTRIBUTE, Encoding.Partition.EDGE)) {
+            try (org.rocksdb.RocksIterator iterator = rocksData.newIterator(dataPartitions.get(partition))) {
+                iterator.seekToFirst();
+                if (iterator.isValid()) return false;
+            }
+        }
+        return true;
+    }
+
+    RocksConfig rocksConfig() {
+        return rocksGrakn.rocksConfig();
+    }
+
+    /**
+     * @return the metrics of the commits of data write transactions in this database
+     */
+    public CommitMetrics commitMetrics() {
+        return groupCommitter.metrics;
+    }
+
+    /**
+     * @return the metrics of the cache of persisted vertices shared by the read transactions of this database
+     */
+    public RocksDataCache.Metrics dataCacheMetrics() {
+        return dataCache.metrics();
+    }
+
+    /**
+     * @return the metrics of the background counting of the statistics of this database
+     */
+    public StatisticsCounterMetrics statisticsCounterMetrics() {
+        return statisticsBackgroundCounter.metrics;
+    }
+
+    RocksDataCache dataCache() {
+        return dataCache;
+    }
+
+    StatisticsCache statisticsCache() {
+        return statisticsCache;
+    }
+
     public Options.Database options() {
         return rocksGrakn.options();
     }
@@ -183,6 +351,14 @@ public class RocksDatabase implements Grakn.Database {
         return rocksSchema;
     }
 
+    Map<Encoding.Partition, ColumnFamilyHandle> dataPartitions() {
+        return dataPartitions;
+    }
+
+    Map<Encoding.Partition, ColumnFamilyHandle> schemaPartitions() {
+        return schemaPartitions;
+    }
+
     KeyGenerator.Schema schemaKeyGenerator() {
         return schemaKeyGenerator;
     }
@@ -214,9 +390,12 @@ public class RocksDatabase implements Grakn.Database {
     void close() {
         if (isOpen.compareAndSet(true, false)) {
             sessions.values().forEach(p -> p.first().close());
+            statisticsSampler.stop();
             statisticsBackgroundCounter.stop();
             statisticsBackgroundCounterSession.close();
             closeCache();
+            dataPartitions.values().forEach(ColumnFamilyHandle::close);
+            schemaPartitions.values().forEach(ColumnFamilyHandle::close);
             rocksData.close();
             rocksSchema.close();
         }
@@ -264,7 +443,7 @@ public class RocksDatabase implements Grakn.Database {
         private boolean invalidated;
 
         private Cache(RocksDatabase database) {
-            schemaStorage = new RocksStorage(database.rocksSchema(), true);
+            schemaStorage = new RocksStorage(database.rocksSchema(), database.schemaPartitions(), true, null);
             schemaGraph = new SchemaGraph(schemaStorage, true);
             traversalCache = new TraversalCache();
             logicCache = new LogicCache();
@@ -309,65 +488,491 @@ public class RocksDatabase implements Grakn.Database {
         }
     }
 
+    /**
+     * Counts the statistics of the attributes and has edges written by data
+     * transactions in the background, from the count jobs that they commit.
+     *
+     * The count jobs are partitioned by the hash of their keys, and each partition
+     * is counted by its own thread, so that the jobs of an attribute or a has edge
+     * are always counted by the same thread. A thread counts its jobs in batches
+     * of bounded size, each in its own write transaction, so that a conflict with
+     * a concurrent commit only retries a single batch. A thread that has counted
+     * every job of its partition waits to be notified of new jobs.
+     */
     static class StatisticsBackgroundCounter {
         private final RocksSession.Data session;
-        private final Thread thread;
-        private final Semaphore countJobNotifications;
-        private boolean isStopped;
+        private final int batchSize;
+        private final List<Worker> workers;
+        private final StatisticsCounterMetrics metrics;
+        private volatile boolean isStopped;
 
-        StatisticsBackgroundCounter(RocksSession.Data session) {
+        StatisticsBackgroundCounter(RocksSession.Data session, Options.Database options) {
             this.session = session;
-            countJobNotifications = new Semaphore(0);
-            thread = NamedThreadFactory.create(session.database.name + "::statistics-background-counter")
-                    .newThread(this::countFn);
-            thread.start();
+            batchSize = options.statisticsCounterBatchSize();
+            final int threads = Math.min(options.statisticsCounterThreads(), StatisticsBytes.COUNT_JOB_PARTITIONS);
+            metrics = new StatisticsCounterMetrics(threads);
+            workers = new ArrayList<>();
+            for (int i = 0; i < threads; i++) workers.add(new Worker(i, threads));
+            workers.forEach(Worker::start);
         }
 
-        public void needsBackgroundCounting() {
-            countJobNotifications.release();
+        public void needsBackgroundCounting(int countJobs) {
+            metrics.enqueued(countJobs);
+            workers.forEach(worker -> worker.countJobNotifications.release());
         }
 
-        private void countFn() {
-            do {
-                try (RocksTransaction.Data tx = session.transaction(WRITE)) {
-                    tx.graphMgr.data().stats().processCountJobs();
-                    tx.commit();
-                } catch (GraknException e) {
-                    if (e.code().isPresent() && e.code().get().equals(DATABASE_CLOSED.code())) {
-                        break;
-                    }
-                    else {
-                        // TODO: Add specific code indicating rocksdb conflict to GraknException status code
-                        boolean txConflicted = e.getCause() instanceof RocksDBException &&
-                                ((RocksDBException) e.getCause()).getStatus().getCode() == Status.Code.Busy;
-                        if (txConflicted) {
-                            countJobNotifications.release();
+        private void stop() {
+            isStopped = true;
+            workers.forEach(worker -> worker.countJobNotifications.release());
+            try {
+                for (Worker worker : workers) worker.thread.join();
+            } catch (InterruptedException e) {
+                throw GraknException.of(UNEXPECTED_INTERRUPTION);
+            }
+        }
+
+        private class Worker {
+            private final int partition;
+            private final DataGraph.Statistics.CountJobRange countJobs;
+            private final Thread thread;
+            private final Semaphore countJobNotifications;
+
+            private Worker(int partition, int partitions) {
+                this.partition = partition;
+                this.countJobs = new DataGraph.Statistics.CountJobRange(partition, partitions);
+                countJobNotifications = new Semaphore(0);
+                thread = NamedThreadFactory.create(
+                        session.database.name + "::statistics-background-counter-" + partition
+                ).newThread(this::countFn);
+            }
+
+            private void start() {
+                thread.start();
+            }
+
+            private void countFn() {
+                do {
+                    final long startNanos = System.nanoTime();
+                    final int counted;
+                    try (RocksTransaction.Data tx = session.transaction(WRITE)) {
+                        counted = tx.graphMgr.data().stats().processCountJobs(countJobs, batchSize);
+                        tx.commit();
+                        countJobs.committed();
+                    } catch (GraknException e) {
+                        if (e.code().isPresent() && e.code().get().equals(DATABASE_CLOSED.code())) {
+                            break;
                         } else {
-                            throw e;
+                            // TODO: Add specific code indicating rocksdb conflict to GraknException status code
+                            final boolean txConflicted = e.getCause() instanceof RocksDBException &&
+                                    ((RocksDBException) e.getCause()).getStatus().getCode() == Status.Code.Busy;
+                            if (txConflicted) {
+                                metrics.conflicted();
+                                continue;
+                            } else {
+                                throw e;
+                            }
                         }
                     }
+                    metrics.counted(counted);
+                    if (counted < batchSize) {
+                        metrics.drained(partition, startNanos);
+                        waitForCountJob();
+                    }
+                } while (!isStopped);
+            }
+
+            private void waitForCountJob() {
+                try {
+                    countJobNotifications.acquire();
+                } catch (InterruptedException e) {
+                    throw GraknException.of(UNEXPECTED_INTERRUPTION);
                 }
-                waitForCountJob();
-            } while (!isStopped);
+                countJobNotifications.drainPermits();
+            }
         }
+    }
 
-        private void waitForCountJob() {
+    /**
+     * Samples the values of the attributes of every attribute type in the
+     * background, at a fixed interval, to rebuild the sketches of their distinct
+     * values and the histograms of their values. Only the attribute types whose
+     * number of attributes has changed significantly since they were last sampled
+     * are sampled again, each in its own write transaction.
+     */
+    static class StatisticsSampler {
+        private final RocksSession.Data session;
+        private final long intervalSeconds;
+        private final int sampleSize;
+        private final CountDownLatch stopped;
+        private final Thread thread;
+
+        StatisticsSampler(RocksSession.Data session, Options.Database options) {
+            this.session = session;
+            intervalSeconds = options.statisticsSampleInterval();
+            sampleSize = options.statisticsSampleSize();
+            stopped = new CountDownLatch(1);
+            thread = NamedThreadFactory.create(session.database.name + "::statistics-sampler").newThread(this::sampleFn);
+            thread.start();
+        }
+
+        private void sampleFn() {
             try {
-                countJobNotifications.acquire();
+                while (!stopped.await(intervalSeconds, TimeUnit.SECONDS)) sample();
             } catch (InterruptedException e) {
                 throw GraknException.of(UNEXPECTED_INTERRUPTION);
             }
-            countJobNotifications.drainPermits();
+        }
+
+        private void sample() {
+            try {
+                final List<Label> attributeTypes;
+                try (RocksTransaction.Data tx = session.transaction(READ)) {
+                    attributeTypes = tx.graphMgr.schema().attributeTypes()
+                            .filter(type -> tx.graphMgr.data().stats().needsSampling(type))
+                            .map(TypeVertex::properLabel).toList();
+                }
+                for (Label label : attributeTypes) {
+                    try (RocksTransaction.Data tx = session.transaction(WRITE)) {
+                        final TypeVertex attributeType = tx.graphMgr.schema().getType(label);
+                        if (attributeType == null) continue;
+                        tx.graphMgr.data().stats().sampleValues(attributeType, sampleSize);
+                        tx.commit();
+                    }
+                }
+            } catch (GraknException e) {
+                if (e.code().isPresent() && e.code().get().equals(DATABASE_CLOSED.code())) return;
+                LOG.warn("Failed to sample the values of the attributes of database '{}'", session.database.name, e);
+            }
         }
 
         private void stop() {
             try {
-                isStopped = true;
-                countJobNotifications.release();
+                stopped.countDown();
                 thread.join();
             } catch (InterruptedException e) {
                 throw GraknException.of(UNEXPECTED_INTERRUPTION);
             }
         }
     }
+
+    /**
+     * Commits the RocksDB transactions of concurrent data write transactions
+     * in groups, so that every group shares a single sync of the write-ahead log.
+     *
+     * The first committer to arrive becomes the leader of a group: it waits for
+     * up to the group commit window, or until the group is full, and then commits
+     * every RocksDB transaction of the group in turn, each still being validated
+     * for conflicts by RocksDB. It then syncs the write-ahead log once, and
+     * releases all the other committers of the group together. Committers that
+     * arrive while a leader is committing its group form the next group.
+     *
+     * Only transactions with {@code SYNC} durability are committed in groups.
+     * Transactions with any other durability, and every transaction if the group
+     * commit window is 0, are committed on their own, with write options that
+     * match their durability.
+     */
+    static class GroupCommitter {
+
+        private final OptimisticTransactionDB rocksDB;
+        private final long windowNanos;
+        private final int maxSize;
+        private final CommitMetrics metrics;
+        private List<Request> pending;
+        private boolean hasLeader;
+
+        GroupCommitter(OptimisticTransactionDB rocksDB, Options.Database options) {
+            this.rocksDB = rocksDB;
+            this.windowNanos = TimeUnit.MICROSECONDS.toNanos(options.storageGroupCommitWindowMicros());
+            this.maxSize = options.storageGroupCommitSize();
+            this.metrics = new CommitMetrics();
+            this.pending = new ArrayList<>();
+            this.hasLeader = false;
+        }
+
+        private boolean isEnabled() {
+            return windowNanos > 0 && maxSize > 1;
+        }
+
+        /**
+         * @return {@code SYNC} if commits are grouped, or {@code ASYNC} otherwise, which is
+         * the durability of the data transactions that do not choose one
+         */
+        Arguments.Transaction.Durability defaultDurability() {
+            return isEnabled() ? Arguments.Transaction.Durability.SYNC : Arguments.Transaction.Durability.ASYNC;
+        }
+
+        /**
+         * Returns the write options to begin a RocksDB transaction with, given the
+         * durability it will be committed with. Transactions that are committed in
+         * groups are not synced on their own, as their whole group is synced at once.
+         *
+         * @param durability the durability of the transaction
+         * @return new write options, owned by the caller
+         */
+        WriteOptions writeOptions(Arguments.Transaction.Durability durability) {
+            return new WriteOptions()
+                    .setSync(durability == Arguments.Transaction.Durability.SYNC && !isEnabled())
+                    .setDisableWAL(durability == Arguments.Transaction.Durability.NO_WAL);
+        }
+
+        void commit(Transaction rocksTx, Arguments.Transaction.Durability durability) throws RocksDBException {
+            if (durability != Arguments.Transaction.Durability.SYNC || !isEnabled()) {
+                rocksTx.commit();
+                metrics.committed(durability, 1, 0);
+                return;
+            }
+
+            final Request request = new Request(rocksTx);
+            final List<Request> group;
+            synchronized (this) {
+                pending.add(request);
+                if (hasLeader) {
+                    if (pending.size() >= maxSize) notifyAll();
+                    group = null;
+                } else {
+                    hasLeader = true;
+                    try {
+                        final long deadline = request.arrival + windowNanos;
+                        long remaining;
+                        while (pending.size() < maxSize && (remaining = deadline - System.nanoTime()) > 0) {
+                            if (!waitFor(remaining)) break;
+                        }
+                    } finally {
+                        group = pending;
+                        pending = new ArrayList<>();
+                        hasLeader = false;
+                    }
+                }
+            }
+
+            if (group != null) commit(group);
+            else request.await();
+            if (request.exception instanceof RocksDBException) throw (RocksDBException) request.exception;
+            else if (request.exception != null) throw (RuntimeException) request.exception;
+        }
+
+        private void commit(List<Request> group) {
+            final long start = System.nanoTime();
+            try {
+                boolean hasCommitted = false;
+                for (Request request : group) {
+                    try {
+                        request.rocksTx.commit();
+                        hasCommitted = true;
+                    } catch (RocksDBException | RuntimeException e) {
+                        request.exception = e;
+                    }
+                }
+                if (hasCommitted) {
+                    try {
+                        rocksDB.flushWal(true);
+                    } catch (RocksDBException | RuntimeException e) {
+                        for (Request request : group) {
+                            if (request.exception == null) request.exception = e;
+                        }
+                    }
+                }
+                long waitNanos = 0;
+                for (Request request : group) waitNanos += start - request.arrival;
+                metrics.committed(Arguments.Transaction.Durability.SYNC, group.size(), waitNanos);
+            } finally {
+                group.forEach(request -> request.done.countDown());
+            }
+        }
+
+        /**
+         * Waits for more commits to join the group of the calling leader. An interrupt
+         * ends the wait early, and is left set on the thread, so that the leader still
+         * commits the group its followers are waiting on.
+         *
+         * @return false if the wait was interrupted
+         */
+        private boolean waitFor(long nanos) {
+            try {
+                TimeUnit.NANOSECONDS.timedWait(this, nanos);
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        private static class Request {
+
+            private final Transaction rocksTx;
+            private final long arrival;
+            private final CountDownLatch done;
+            private Exception exception;
+
+            private Request(Transaction rocksTx) {
+                this.rocksTx = rocksTx;
+                this.arrival = System.nanoTime();
+                this.done = new CountDownLatch(1);
+            }
+
+            /**
+             * Waits for the leader to commit the group of this request. The transaction
+             * is committed by the leader whether or not the follower is interrupted, so
+             * the wait is not ended by an interrupt, which is left set on the thread
+             * once the outcome of the commit is known.
+             */
+            private void await() {
+                boolean interrupted = false;
+                while (true) {
+                    try {
+                        done.await();
+                        break;
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+                if (interrupted) Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Counters of the commits of data write transactions, by durability, and of
+     * the groups in which they were committed together.
+     */
+    public static class CommitMetrics {
+
+        private final Map<Arguments.Transaction.Durability, LongAdder> commits;
+        private final LongAdder groups;
+        private final LongAdder waitNanos;
+        private final LongAccumulator maxGroupSize;
+
+        private CommitMetrics() {
+            commits = new EnumMap<>(Arguments.Transaction.Durability.class);
+            for (Arguments.Transaction.Durability durability : Arguments.Transaction.Durability.values()) {
+                commits.put(durability, new LongAdder());
+            }
+            groups = new LongAdder();
+            waitNanos = new LongAdder();
+            maxGroupSize = new LongAccumulator(Math::max, 0);
+        }
+
+        private void committed(Arguments.Transaction.Durability durability, int size, long totalWaitNanos) {
+            commits.get(durability).add(size);
+            groups.increment();
+            waitNanos.add(totalWaitNanos);
+            maxGroupSize.accumulate(size);
+        }
+
+        public long commitCount() {
+            return commits.values().stream().mapToLong(LongAdder::sum).sum();
+        }
+
+        public long commitCount(Arguments.Transaction.Durability durability) {
+            return commits.get(durability).sum();
+        }
+
+        public long groupCount() {
+            return groups.sum();
+        }
+
+        public long maxGroupSize() {
+            return maxGroupSize.get();
+        }
+
+        public double averageGroupSize() {
+            final long groupCount = groupCount();
+            return groupCount == 0 ? 0 : (double) commitCount() / groupCount;
+        }
+
+        /**
+         * @return the average time in microseconds that a commit waited for its group to be committed
+         */
+        public double averageWaitMicros() {
+            final long commitCount = commitCount();
+            return commitCount == 0 ? 0 : waitNanos.sum() / 1_000.0 / commitCount;
+        }
+    }
+
+    /**
+     * Counters of the count jobs processed by the background counting of the
+     * statistics of a database, and estimates of its backlog and lag.
+     *
+     * The backlog is estimated from the count jobs committed and counted since
+     * every partition was last drained, so a job that overwrites a pending one is
+     * counted twice until then. The lag is the time since the oldest commit whose
+     * count jobs may not have been counted yet, or 0 if every partition has been
+     * drained since the latest such commit.
+     */
+    public static class StatisticsCounterMetrics {
+
+        private final int partitions;
+        private final LongAdder enqueued;
+        private final LongAdder counted;
+        private final LongAdder conflicts;
+        private final Map<Integer, Long> drainedNanos;
+        private long backlogOffset;
+        private long latestEnqueuedNanos;
+        private long pendingSinceNanos;
+        private boolean isPending;
+
+        private StatisticsCounterMetrics(int partitions) {
+            this.partitions = partitions;
+            enqueued = new LongAdder();
+            counted = new LongAdder();
+            conflicts = new LongAdder();
+            drainedNanos = new HashMap<>();
+            backlogOffset = 0;
+            // count jobs may have been left in storage when the database was last closed
+            latestEnqueuedNanos = pendingSinceNanos = System.nanoTime();
+            isPending = true;
+        }
+
+        private synchronized void enqueued(int countJobs) {
+            enqueued.add(countJobs);
+            latestEnqueuedNanos = System.nanoTime();
+            if (!isPending) {
+                pendingSinceNanos = latestEnqueuedNanos;
+                isPending = true;
+            }
+        }
+
+        private void counted(int countJobs) {
+            counted.add(countJobs);
+        }
+
+        private void conflicted() {
+            conflicts.increment();
+        }
+
+        /**
+         * Records that a partition had no count jobs left, in a batch whose
+         * transaction was opened no earlier than {@code sinceNanos}.
+         */
+        private synchronized void drained(int partition, long sinceNanos) {
+            drainedNanos.put(partition, sinceNanos);
+            if (!isPending || drainedNanos.size() < partitions) return;
+            final long drainedSinceNanos = drainedNanos.values().stream().min(Long::compare).get();
+            if (latestEnqueuedNanos - drainedSinceNanos < 0) {
+                backlogOffset = enqueued.sum() - counted.sum();
+                isPending = false;
+            } else if (pendingSinceNanos - drainedSinceNanos < 0) {
+                pendingSinceNanos = drainedSinceNanos;
+            }
+        }
+
+        public long countedJobs() {
+            return counted.sum();
+        }
+
+        /**
+         * @return the number of batches of count jobs that were retried after conflicting with a concurrent commit
+         */
+        public long conflictCount() {
+            return conflicts.sum();
+        }
+
+        public synchronized long backlogSize() {
+            return isPending ? Math.max(0, enqueued.sum() - counted.sum() - backlogOffset) : 0;
+        }
+
+        public synchronized long lagMillis() {
+            return isPending ? TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - pendingSinceNanos) : 0;
+        }
+    }
 }
@@ -26,7 +26,6 @@ import grakn.core.common.exception.GraknException;
 import grakn.core.common.parameters.Arguments;
 import grakn.core.common.parameters.Options;
 import org.rocksdb.RocksDB;
-import org.rocksdb.UInt64AddOperator;
 
 import java.nio.file.Path;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -46,16 +45,14 @@ public class RocksGrakn implements Grakn {
 
     private final Path directory;
     private final Options.Database options;
-    private final org.rocksdb.Options rocksConfig;
+    private final RocksConfig rocksConfig;
     private final AtomicBoolean isOpen;
     private final RocksDatabaseManager databaseMgr;
 
     private RocksGrakn(Path directory, Options.Database options) {
         this.directory = directory;
         this.options = options;
-        this.rocksConfig = new org.rocksdb.Options()
-                .setCreateIfMissing(true)
-                .setMergeOperator(new UInt64AddOperator());
+        this.rocksConfig = new RocksConfig(options);
 
         ExecutorService.init(MAX_THREADS);
         databaseMgr = new RocksDatabaseManager(this);
@@ -75,7 +72,7 @@ public class RocksGrakn implements Grakn {
         return directory;
     }
 
-    org.rocksdb.Options rocksOptions() {
+    RocksConfig rocksConfig() {
         return rocksConfig;
     }
 
@@ -83,6 +80,19 @@ public class RocksGrakn implements Grakn {
         return options;
     }
 
+    /**
+     * Returns the number of internal keys that the RocksDB iterators of every
+     * database have stepped over without returning them, since the server started,
+     * which are mostly deletion tombstones that have not been compacted away yet.
+     * The RocksDB statistics are shared by every database, so they are not split
+     * by database like the other metrics.
+     *
+     * @return the number of keys skipped by iterators
+     */
+    public long skippedTombstoneCount() {
+        return rocksConfig.skippedTombstoneCount();
+    }
+
     @Override
     public RocksSession session(String database, Arguments.Session.Type type) {
         return session(database, type, new Options.Session());
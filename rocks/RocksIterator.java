@@ -20,6 +20,8 @@ package grakn.core.rocks;
 
 import grakn.core.common.iterator.ResourceIterator;
 
+import javax.annotation.Nullable;
+import java.util.Arrays;
 import java.util.NoSuchElementException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiFunction;
@@ -29,9 +31,12 @@ import static grakn.core.common.collection.Bytes.bytesHavePrefix;
 public class RocksIterator<T> implements ResourceIterator<T>, AutoCloseable {
 
     private final byte[] prefix;
+    private final byte[] from;
+    private final byte[] to;
     private final RocksStorage storage;
     private final AtomicBoolean isOpen;
     private final BiFunction<byte[], byte[], T> constructor;
+    private RocksStorage.BoundedIterator boundedIterator;
     private org.rocksdb.RocksIterator internalRocksIterator;
     private State state;
     private T next;
@@ -39,8 +44,15 @@ public class RocksIterator<T> implements ResourceIterator<T>, AutoCloseable {
     private enum State {INIT, EMPTY, FETCHED, COMPLETED}
 
     RocksIterator(RocksStorage storage, byte[] prefix, BiFunction<byte[], byte[], T> constructor) {
+        this(storage, prefix, prefix, null, constructor);
+    }
+
+    RocksIterator(RocksStorage storage, byte[] prefix, byte[] from, @Nullable byte[] to,
+                  BiFunction<byte[], byte[], T> constructor) {
         this.storage = storage;
         this.prefix = prefix;
+        this.from = from;
+        this.to = to;
         this.constructor = constructor;
 
         isOpen = new AtomicBoolean(true);
@@ -48,13 +60,16 @@ public class RocksIterator<T> implements ResourceIterator<T>, AutoCloseable {
     }
 
     private void initalise() {
-        this.internalRocksIterator = storage.getInternalRocksIterator();
-        this.internalRocksIterator.seek(prefix);
+        if (to == null) this.boundedIterator = storage.getInternalRocksIterator(prefix);
+        else this.boundedIterator = storage.getInternalRocksIterator(prefix, to);
+        this.internalRocksIterator = boundedIterator.iterator();
+        this.internalRocksIterator.seek(from);
     }
 
     private boolean fetchAndCheck() {
         final byte[] key;
-        if (!internalRocksIterator.isValid() || !bytesHavePrefix(key = internalRocksIterator.key(), prefix)) {
+        if (!internalRocksIterator.isValid() || !bytesHavePrefix(key = internalRocksIterator.key(), prefix) ||
+                (to != null && Arrays.compareUnsigned(key, to) >= 0)) {
             state = State.COMPLETED;
             recycle();
             return false;
@@ -79,7 +94,10 @@ public class RocksIterator<T> implements ResourceIterator<T>, AutoCloseable {
     @Override
     public void close() {
         if (isOpen.compareAndSet(true, false)) {
-            if (state != State.INIT) storage.recycle(internalRocksIterator);
+            if (state != State.INIT) {
+                if (to == null) storage.recycle(boundedIterator, prefix);
+                else boundedIterator.close();
+            }
             state = State.COMPLETED;
             storage.remove(this);
         }
@@ -22,52 +22,104 @@ import grakn.core.common.concurrent.ManagedReadWriteLock;
 import grakn.core.common.exception.ErrorMessage;
 import grakn.core.common.exception.GraknException;
 import grakn.core.common.iterator.ResourceIterator;
+import grakn.core.common.parameters.Arguments;
+import grakn.core.graph.util.Encoding;
 import grakn.core.graph.util.KeyGenerator;
 import grakn.core.graph.util.Storage;
-import org.rocksdb.AbstractImmutableNativeReference;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.DirectSlice;
 import org.rocksdb.OptimisticTransactionDB;
 import org.rocksdb.OptimisticTransactionOptions;
 import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.Snapshot;
 import org.rocksdb.Transaction;
+import org.rocksdb.WriteBatch;
 import org.rocksdb.WriteOptions;
 
+import javax.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
 
 import static grakn.core.common.collection.Bytes.bytesHavePrefix;
+import static grakn.core.common.exception.ErrorMessage.Transaction.ILLEGAL_OPERATION;
 import static grakn.core.common.exception.ErrorMessage.Transaction.TRANSACTION_CLOSED;
+import static java.util.Collections.emptySet;
 
 class RocksStorage implements Storage {
 
     private static final byte[] EMPTY_ARRAY = new byte[]{};
 
+    private final OptimisticTransactionDB rocksDB;
     private final boolean isReadOnly;
+    private final Map<Encoding.Partition, ColumnFamilyHandle> partitions;
     private final Set<RocksIterator<?>> iterators;
-    private final ConcurrentLinkedQueue<org.rocksdb.RocksIterator> recycled;
+    private final ConcurrentMap<Encoding.Partition, ConcurrentMap<Integer, ConcurrentLinkedQueue<BoundedIterator>>> recycled;
     private final OptimisticTransactionOptions transactionOptions;
     private final WriteOptions writeOptions;
     private final ReadOptions readOptions;
     private final Snapshot snapshot;
     private final ManagedReadWriteLock readWriteLock;
+    private final ConcurrentLinkedQueue<WriteBuffer> writeBuffers;
+    private final ThreadLocal<WriteBuffer> writeBuffer;
     private final AtomicBoolean isOpen;
+    private volatile boolean isBuffering;
     final Transaction rocksTx;
 
-    RocksStorage(OptimisticTransactionDB rocksDB, boolean isReadOnly) {
+    /**
+     * Opens a storage over the current state of a RocksDB keyspace.
+     *
+     * A read-only storage reads directly from the database through a RocksDB
+     * {@code Snapshot}, and never begins a RocksDB transaction, so it does not
+     * allocate any write options or locks: its transaction, transaction options,
+     * write options and lock are all {@code null}, and every write is rejected.
+     *
+     * @param rocksDB      the RocksDB keyspace that the storage reads from and writes to
+     * @param partitions   the column families of the keyspace
+     * @param isReadOnly   true if the storage will never be written to
+     * @param writeOptions the write options to commit with, which decide the durability
+     *                     of the commit, only requested if the storage is not read-only
+     */
+    RocksStorage(OptimisticTransactionDB rocksDB, Map<Encoding.Partition, ColumnFamilyHandle> partitions,
+                 boolean isReadOnly, Supplier<WriteOptions> writeOptions) {
+        this.rocksDB = rocksDB;
         this.isReadOnly = isReadOnly;
+        this.partitions = partitions;
         iterators = ConcurrentHashMap.newKeySet();
-        recycled = new ConcurrentLinkedQueue<>();
-        readWriteLock = new ManagedReadWriteLock();
-        writeOptions = new WriteOptions();
-        transactionOptions = new OptimisticTransactionOptions().setSetSnapshot(true);
-        rocksTx = rocksDB.beginTransaction(writeOptions, transactionOptions);
-        snapshot = rocksTx.getSnapshot();
-        readOptions = new ReadOptions().setSnapshot(snapshot);
+        recycled = new ConcurrentHashMap<>();
+        if (isReadOnly) {
+            readWriteLock = null;
+            writeBuffers = null;
+            writeBuffer = null;
+            this.writeOptions = null;
+            transactionOptions = null;
+            rocksTx = null;
+            snapshot = rocksDB.getSnapshot();
+        } else {
+            readWriteLock = new ManagedReadWriteLock();
+            writeBuffers = new ConcurrentLinkedQueue<>();
+            writeBuffer = ThreadLocal.withInitial(() -> {
+                final WriteBuffer buffer = new WriteBuffer();
+                writeBuffers.add(buffer);
+                return buffer;
+            });
+            this.writeOptions = writeOptions.get();
+            transactionOptions = new OptimisticTransactionOptions().setSetSnapshot(true);
+            rocksTx = rocksDB.beginTransaction(this.writeOptions, transactionOptions);
+            snapshot = rocksTx.getSnapshot();
+        }
+        readOptions = new ReadOptions().setSnapshot(snapshot).setTotalOrderSeek(true);
 
         isOpen = new AtomicBoolean(true);
     }
@@ -80,14 +132,52 @@ class RocksStorage implements Storage {
     @Override
     public byte[] get(byte[] key) {
         validateTransactionIsOpen();
+        if (isReadOnly) {
+            try {
+                return rocksDB.get(handle(key), readOptions, key);
+            } catch (RocksDBException e) {
+                throw exception(e);
+            }
+        }
         try {
             // We don't need to check isOpen.get() as tx.commit() does not involve this method
-            if (!isReadOnly) readWriteLock.lockRead();
-            return rocksTx.get(readOptions, key);
+            readWriteLock.lockRead();
+            return rocksTx.get(handle(key), readOptions, key);
+        } catch (RocksDBException | InterruptedException e) {
+            throw exception(e);
+        } finally {
+            readWriteLock.unlockRead();
+        }
+    }
+
+    /**
+     * Reads the values of a batch of keys in a single call to RocksDB, from the
+     * snapshot of this storage, which crosses JNI once and lets RocksDB look the
+     * keys up in sorted order.
+     *
+     * @param keys the keys to read
+     * @return the values of the keys, in the same order, with {@code null} for every missing key
+     */
+    @Override
+    public List<byte[]> multiGet(List<byte[]> keys) {
+        validateTransactionIsOpen();
+        if (keys.isEmpty()) return new ArrayList<>();
+        final List<ColumnFamilyHandle> handles = new ArrayList<>(keys.size());
+        for (byte[] key : keys) handles.add(handle(key));
+        if (isReadOnly) {
+            try {
+                return rocksDB.multiGetAsList(readOptions, handles, keys);
+            } catch (RocksDBException e) {
+                throw exception(e);
+            }
+        }
+        try {
+            readWriteLock.lockRead();
+            return Arrays.asList(rocksTx.multiGet(readOptions, handles, keys.toArray(new byte[0][])));
         } catch (RocksDBException | InterruptedException e) {
             throw exception(e);
         } finally {
-            if (!isReadOnly) readWriteLock.unlockRead();
+            readWriteLock.unlockRead();
         }
     }
 
@@ -98,7 +188,7 @@ class RocksStorage implements Storage {
         upperBound[upperBound.length - 1] = (byte) (upperBound[upperBound.length - 1] + 1);
         assert upperBound[upperBound.length - 1] != Byte.MIN_VALUE;
 
-        try (org.rocksdb.RocksIterator iterator = getInternalRocksIterator()) {
+        try (org.rocksdb.RocksIterator iterator = newInternalRocksIterator(readOptions, handle(prefix))) {
             iterator.seekForPrev(upperBound);
             if (bytesHavePrefix(iterator.key(), prefix)) return iterator.key();
             else return null;
@@ -107,10 +197,14 @@ class RocksStorage implements Storage {
 
     @Override
     public void delete(byte[] key) {
-        validateTransactionIsOpen();
+        validateTransactionIsWritable();
+        if (isBuffering) {
+            writeBuffer.get().delete(handle(key), key);
+            return;
+        }
         try {
             if (isOpen.get()) readWriteLock.lockWrite();
-            rocksTx.delete(key);
+            rocksTx.delete(handle(key), key);
         } catch (RocksDBException | InterruptedException e) {
             throw exception(e);
         } finally {
@@ -125,10 +219,14 @@ class RocksStorage implements Storage {
 
     @Override
     public void put(byte[] key, byte[] value) {
-        validateTransactionIsOpen();
+        validateTransactionIsWritable();
+        if (isBuffering) {
+            writeBuffer.get().put(handle(key), key, value);
+            return;
+        }
         try {
             if (isOpen.get()) readWriteLock.lockWrite();
-            rocksTx.put(key, value);
+            rocksTx.put(handle(key), key, value);
         } catch (RocksDBException | InterruptedException e) {
             throw exception(e);
         } finally {
@@ -143,10 +241,14 @@ class RocksStorage implements Storage {
 
     @Override
     public void putUntracked(byte[] key, byte[] value) {
-        validateTransactionIsOpen();
+        validateTransactionIsWritable();
+        if (isBuffering) {
+            writeBuffer.get().putUntracked(handle(key), key, value);
+            return;
+        }
         try {
             readWriteLock.lockWrite();
-            rocksTx.putUntracked(key, value);
+            rocksTx.putUntracked(handle(key), key, value);
         } catch (RocksDBException | InterruptedException e) {
             throw exception(e);
         } finally {
@@ -156,10 +258,14 @@ class RocksStorage implements Storage {
 
     @Override
     public void mergeUntracked(byte[] key, byte[] value) {
-        validateTransactionIsOpen();
+        validateTransactionIsWritable();
+        if (isBuffering) {
+            writeBuffer.get().mergeUntracked(handle(key), key, value);
+            return;
+        }
         try {
             readWriteLock.lockWrite();
-            rocksTx.mergeUntracked(key, value);
+            rocksTx.mergeUntracked(handle(key), key, value);
         } catch (RocksDBException | InterruptedException e) {
             throw exception(e);
         } finally {
@@ -167,6 +273,44 @@ class RocksStorage implements Storage {
         }
     }
 
+    /**
+     * Starts buffering every write in a {@code WriteBuffer} confined to the
+     * thread that performs it, rather than writing into the RocksDB transaction
+     * under the write lock. This allows concurrent committers to write without
+     * contending on each other, provided that nothing reads the writes back
+     * until they are merged into the transaction with {@code mergeWriteBuffers()}.
+     */
+    void bufferWrites() {
+        assert !isReadOnly;
+        isBuffering = true;
+    }
+
+    /**
+     * Merges the writes of every thread-confined {@code WriteBuffer} into the
+     * RocksDB transaction, and stops buffering writes. Tracked writes are replayed
+     * through the transaction, so their keys are still validated for conflicts on
+     * commit, while untracked writes are only appended to its write batch.
+     *
+     * This method must only be called once all concurrent writers have completed.
+     *
+     * @return the number of writes merged into the transaction
+     * @throws RocksDBException if RocksDB fails to merge the writes into the transaction
+     */
+    long mergeWriteBuffers() throws RocksDBException {
+        assert !isReadOnly;
+        isBuffering = false;
+        long writes = 0;
+        WriteBuffer buffer;
+        while ((buffer = writeBuffers.poll()) != null) {
+            try {
+                writes += buffer.mergeInto(rocksTx);
+            } finally {
+                buffer.close();
+            }
+        }
+        return writes;
+    }
+
     @Override
     public <G> ResourceIterator<G> iterate(byte[] key, BiFunction<byte[], byte[], G> constructor) {
         validateTransactionIsOpen();
@@ -175,6 +319,16 @@ class RocksStorage implements Storage {
         return iterator;
     }
 
+    @Override
+    public <G> ResourceIterator<G> iterate(byte[] prefix, byte[] from, @Nullable byte[] to,
+                                           BiFunction<byte[], byte[], G> constructor) {
+        assert bytesHavePrefix(from, prefix);
+        validateTransactionIsOpen();
+        final RocksIterator<G> iterator = new RocksIterator<>(this, prefix, from, to, constructor);
+        iterators.add(iterator);
+        return iterator;
+    }
+
     @Override
     public GraknException exception(ErrorMessage error) {
         return GraknException.of(error);
@@ -194,41 +348,314 @@ class RocksStorage implements Storage {
     public void close() {
         if (isOpen.compareAndSet(true, false)) {
             iterators.parallelStream().forEach(RocksIterator::close);
-            recycled.forEach(AbstractImmutableNativeReference::close);
-            snapshot.close();
-            rocksTx.close();
-            transactionOptions.close();
+            closeRecycled();
+            if (isReadOnly) {
+                rocksDB.releaseSnapshot(snapshot);
+            } else {
+                writeBuffers.forEach(WriteBuffer::close);
+                snapshot.close();
+                rocksTx.close();
+                transactionOptions.close();
+                writeOptions.close();
+            }
             readOptions.close();
-            writeOptions.close();
         }
     }
 
+    /**
+     * Rolls back the writes of the RocksDB transaction of this storage. The
+     * pooled iterators read through the writes of the transaction, which are
+     * cleared by the rollback, so they are closed rather than reused.
+     */
+    void rollback() throws RocksDBException {
+        closeRecycled();
+        rocksTx.rollback();
+    }
+
+    private void closeRecycled() {
+        recycled.values().forEach(pools -> pools.values().forEach(pool -> {
+            BoundedIterator iterator;
+            while ((iterator = pool.poll()) != null) iterator.close();
+        }));
+    }
+
     void validateTransactionIsOpen() {
         if (!isOpen()) throw GraknException.of(TRANSACTION_CLOSED);
     }
 
-    org.rocksdb.RocksIterator getInternalRocksIterator() {
-        if (isReadOnly) {
-            final org.rocksdb.RocksIterator iterator = recycled.poll();
-            if (iterator != null) return iterator;
+    private void validateTransactionIsWritable() {
+        validateTransactionIsOpen();
+        if (isReadOnly) throw exception(ILLEGAL_OPERATION);
+    }
+
+    /**
+     * Returns the partition of the keyspace in which a key, or every key with
+     * a given prefix, is stored. Only the data keyspace is partitioned.
+     *
+     * @param key the key, or prefix of keys
+     * @return the partition that the key belongs to
+     */
+    Encoding.Partition partition(byte[] key) {
+        return Encoding.Partition.DEFAULT;
+    }
+
+    private ColumnFamilyHandle handle(byte[] key) {
+        return partitions.get(partition(key));
+    }
+
+    /**
+     * Returns an iterator suitable to scan all the keys starting with {@code prefix}.
+     *
+     * If the prefix is at least as long as the prefix extracted by RocksDB in
+     * the partition of the prefix, the iterator is restricted to keys with the
+     * same extracted prefix, which allows RocksDB to skip SST files and memtables
+     * using prefix bloom filters. Otherwise, we fall back to a total order iterator.
+     *
+     * In both cases, the iterator is bounded by the exclusive upper bound of the
+     * prefix, so that RocksDB stops at the end of the prefix rather than stepping
+     * over the deletion tombstones that follow it, looking for the next live key.
+     *
+     * Iterators are reused from the pool of iterators of the same partition and
+     * prefix length, with their upper bound reset. The iterators of a writable
+     * storage read through the writes of its transaction, including those made
+     * after they were created, as they seek again before every scan.
+     *
+     * @param prefix the prefix that the iterator will seek to
+     * @return a bounded RocksDB iterator over the snapshot of this storage
+     */
+    BoundedIterator getInternalRocksIterator(byte[] prefix) {
+        final Encoding.Partition partition = partition(prefix);
+        final byte[] upperBound = upperBound(prefix);
+        if (upperBound != null) {
+            final ConcurrentMap<Integer, ConcurrentLinkedQueue<BoundedIterator>> pools = recycled.get(partition);
+            final ConcurrentLinkedQueue<BoundedIterator> pool = pools != null ? pools.get(prefix.length) : null;
+            final BoundedIterator iterator = pool != null ? pool.poll() : null;
+            if (iterator != null) {
+                iterator.resetUpperBound(upperBound);
+                return iterator;
+            }
         }
-        return rocksTx.getIterator(readOptions);
+        final ReadOptions options = new ReadOptions().setSnapshot(snapshot);
+        if (isPrefixSeekable(partition, prefix)) options.setPrefixSameAsStart(true);
+        else options.setTotalOrderSeek(true);
+        return new BoundedIterator(options, upperBound, partitions.get(partition));
     }
 
-    public void recycle(org.rocksdb.RocksIterator rocksIterator) {
-        recycled.add(rocksIterator);
+    /**
+     * Returns an iterator suitable to scan the keys starting with {@code prefix},
+     * up to the exclusive upper bound {@code to}. As the bound is specific to the
+     * scan, the iterator is never pooled, and is closed once the scan completes.
+     *
+     * @param prefix the prefix that the keys of the scan start with
+     * @param to     the exclusive upper bound of the keys of the scan
+     * @return a bounded RocksDB iterator over the snapshot of this storage
+     */
+    BoundedIterator getInternalRocksIterator(byte[] prefix, byte[] to) {
+        final Encoding.Partition partition = partition(prefix);
+        final ReadOptions options = new ReadOptions().setSnapshot(snapshot);
+        if (isPrefixSeekable(partition, prefix)) options.setPrefixSameAsStart(true);
+        else options.setTotalOrderSeek(true);
+        return new BoundedIterator(options, to, partitions.get(partition));
+    }
+
+    private org.rocksdb.RocksIterator newInternalRocksIterator(ReadOptions options, ColumnFamilyHandle handle) {
+        if (isReadOnly) return rocksDB.newIterator(handle, options);
+        else return rocksTx.getIterator(options, handle);
+    }
+
+    private static boolean isPrefixSeekable(Encoding.Partition partition, byte[] prefix) {
+        final int prefixLength = RocksConfig.prefixLength(partition);
+        return prefixLength > 0 && prefix.length >= prefixLength;
+    }
+
+    /**
+     * Returns the smallest key of the same length as {@code prefix} that is
+     * greater than every key starting with {@code prefix}, by incrementing the
+     * prefix as an unsigned big-endian number.
+     *
+     * @param prefix the prefix of the keys to bound
+     * @return the exclusive upper bound of the prefix, or {@code null} if the
+     * prefix is empty or only made of {@code 0xFF} bytes, and has no upper bound
+     */
+    private static byte[] upperBound(byte[] prefix) {
+        final byte[] upperBound = Arrays.copyOf(prefix, prefix.length);
+        for (int i = upperBound.length - 1; i >= 0; i--) {
+            if (++upperBound[i] != 0) return upperBound;
+        }
+        return null;
+    }
+
+    void recycle(BoundedIterator iterator, byte[] prefix) {
+        if (iterator.isBounded() && isOpen()) {
+            recycled.computeIfAbsent(partition(prefix), p -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(prefix.length, l -> new ConcurrentLinkedQueue<>()).add(iterator);
+        } else {
+            iterator.close();
+        }
     }
 
     void remove(RocksIterator<?> iterator) {
         iterators.remove(iterator);
     }
 
+    /**
+     * A RocksDB iterator that owns its {@code ReadOptions}, and the upper bound
+     * that they point to. The bound is a {@code DirectSlice} over a direct buffer
+     * of a fixed length, which RocksDB reads on every step of the iterator, so the
+     * iterator can be reused to scan any prefix of the same length by overwriting
+     * the content of the buffer before seeking again.
+     */
+    class BoundedIterator {
+
+        private final ReadOptions options;
+        private final ByteBuffer upperBoundBuffer;
+        private final DirectSlice upperBound;
+        private final org.rocksdb.RocksIterator iterator;
+
+        private BoundedIterator(ReadOptions options, byte[] upperBound, ColumnFamilyHandle handle) {
+            this.options = options;
+            if (upperBound != null) {
+                upperBoundBuffer = ByteBuffer.allocateDirect(upperBound.length);
+                upperBoundBuffer.put(upperBound);
+                this.upperBound = new DirectSlice(upperBoundBuffer, upperBound.length);
+                options.setIterateUpperBound(this.upperBound);
+            } else {
+                upperBoundBuffer = null;
+                this.upperBound = null;
+            }
+            iterator = newInternalRocksIterator(options, handle);
+        }
+
+        org.rocksdb.RocksIterator iterator() {
+            return iterator;
+        }
+
+        private boolean isBounded() {
+            return upperBound != null;
+        }
+
+        private void resetUpperBound(byte[] upperBound) {
+            assert upperBoundBuffer.capacity() == upperBound.length;
+            upperBoundBuffer.clear();
+            upperBoundBuffer.put(upperBound);
+        }
+
+        void close() {
+            iterator.close();
+            options.close();
+            if (upperBound != null) upperBound.close();
+        }
+    }
+
+    /**
+     * The writes of a single thread, buffered until they are merged into the
+     * RocksDB transaction. Tracked writes are kept in a {@code WriteBatch} that
+     * is replayed into the transaction in one call, while untracked writes are
+     * kept in order, to be written into the transaction without being tracked.
+     *
+     * All the tracked writes are merged before all the untracked ones, so the
+     * order in which a tracked and an untracked write were buffered is lost.
+     * No key is therefore ever written both ways while writes are buffered: the
+     * keys written untracked on commit are those of attributes, their indexes and
+     * statistics, which are never written tracked on commit. This is asserted,
+     * by keeping the keys written each way, only when assertions are enabled.
+     */
+    private static class WriteBuffer {
+
+        private final WriteBatch tracked;
+        private final List<Untracked> untracked;
+        private final Set<ByteBuffer> trackedKeys;
+        private final Set<ByteBuffer> untrackedKeys;
+
+        WriteBuffer() {
+            tracked = new WriteBatch();
+            untracked = new ArrayList<>();
+            trackedKeys = new HashSet<>();
+            untrackedKeys = new HashSet<>();
+        }
+
+        void put(ColumnFamilyHandle handle, byte[] key, byte[] value) {
+            assert isOnlyWritten(key, trackedKeys, untrackedKeys);
+            try {
+                tracked.put(handle, key, value);
+            } catch (RocksDBException e) {
+                throw GraknException.of(e);
+            }
+        }
+
+        void delete(ColumnFamilyHandle handle, byte[] key) {
+            assert isOnlyWritten(key, trackedKeys, untrackedKeys);
+            try {
+                tracked.delete(handle, key);
+            } catch (RocksDBException e) {
+                throw GraknException.of(e);
+            }
+        }
+
+        void putUntracked(ColumnFamilyHandle handle, byte[] key, byte[] value) {
+            assert isOnlyWritten(key, untrackedKeys, trackedKeys);
+            untracked.add(new Untracked(handle, key, value, false));
+        }
+
+        void mergeUntracked(ColumnFamilyHandle handle, byte[] key, byte[] value) {
+            assert isOnlyWritten(key, untrackedKeys, trackedKeys);
+            untracked.add(new Untracked(handle, key, value, true));
+        }
+
+        int mergeInto(Transaction rocksTx) throws RocksDBException {
+            final int writes = tracked.count() + untracked.size();
+            if (tracked.count() > 0) rocksTx.rebuildFromWriteBatch(tracked);
+            for (Untracked write : untracked) {
+                if (write.isMerge) rocksTx.mergeUntracked(write.handle, write.key, write.value);
+                else rocksTx.putUntracked(write.handle, write.key, write.value);
+            }
+            untracked.clear();
+            trackedKeys.clear();
+            untrackedKeys.clear();
+            return writes;
+        }
+
+        /**
+         * Records a key as written one way, and checks that it was not written the other.
+         *
+         * @param key        the key written
+         * @param written    the keys written the same way as {@code key}
+         * @param notWritten the keys written the other way
+         * @return true if {@code key} was not written the other way
+         */
+        private static boolean isOnlyWritten(byte[] key, Set<ByteBuffer> written, Set<ByteBuffer> notWritten) {
+            final ByteBuffer wrapped = ByteBuffer.wrap(key);
+            written.add(wrapped);
+            return !notWritten.contains(wrapped);
+        }
+
+        void close() {
+            tracked.close();
+        }
+
+        private static class Untracked {
+
+            private final ColumnFamilyHandle handle;
+            private final byte[] key;
+            private final byte[] value;
+            private final boolean isMerge;
+
+            Untracked(ColumnFamilyHandle handle, byte[] key, byte[] value, boolean isMerge) {
+                this.handle = handle;
+                this.key = key;
+                this.value = value;
+                this.isMerge = isMerge;
+            }
+        }
+    }
+
     static abstract class TransactionBounded extends RocksStorage {
 
         private final RocksTransaction transaction;
 
-        TransactionBounded(OptimisticTransactionDB rocksDB, RocksTransaction transaction) {
-            super(rocksDB, transaction.type().isRead());
+        TransactionBounded(OptimisticTransactionDB rocksDB, Map<Encoding.Partition, ColumnFamilyHandle> partitions,
+                           RocksTransaction transaction, Supplier<WriteOptions> writeOptions) {
+            super(rocksDB, partitions, transaction.type().isRead(), writeOptions);
             this.transaction = transaction;
         }
 
@@ -257,7 +684,7 @@ class RocksStorage implements Storage {
         private final KeyGenerator.Schema schemaKeyGenerator;
 
         Schema(RocksDatabase database, RocksTransaction transaction) {
-            super(database.rocksSchema(), transaction);
+            super(database.rocksSchema(), database.schemaPartitions(), transaction, () -> new WriteOptions().setSync(true));
             this.schemaKeyGenerator = database.schemaKeyGenerator();
         }
 
@@ -270,10 +697,117 @@ class RocksStorage implements Storage {
     static class Data extends TransactionBounded implements Storage.Data {
 
         private final KeyGenerator.Data dataKeyGenerator;
+        private final RocksDataCache dataCache;
+        private final long cacheSequence;
+        private final boolean readsThroughCache;
+        private final Set<ByteBuffer> writtenVertices;
+
+        Data(RocksDatabase database, RocksTransaction transaction, Arguments.Transaction.Durability durability) {
+            this(database, transaction, durability, null);
+        }
 
-        Data(RocksDatabase database, RocksTransaction transaction) {
-            super(database.rocksData(), transaction);
+        /**
+         * Opens a data storage that reads through, or invalidates, the shared
+         * cache of persisted vertices of the database. The commit sequence of
+         * the cache is read before the storage takes its RocksDB snapshot, in
+         * the arguments of the constructor that it delegates to.
+         *
+         * @param database    the database of the transaction
+         * @param transaction the transaction that the storage belongs to
+         * @param durability  the durability of the commit of the transaction
+         * @param dataCache   the shared cache of persisted vertices of the database,
+         *                    or {@code null} if the storage must bypass it
+         */
+        Data(RocksDatabase database, RocksTransaction transaction, Arguments.Transaction.Durability durability,
+             @Nullable RocksDataCache dataCache) {
+            this(database, transaction, durability, dataCache, dataCache != null ? dataCache.sequence() : 0);
+        }
+
+        private Data(RocksDatabase database, RocksTransaction transaction, Arguments.Transaction.Durability durability,
+                     @Nullable RocksDataCache dataCache, long cacheSequence) {
+            super(database.rocksData(), database.dataPartitions(), transaction,
+                  () -> database.groupCommitter.writeOptions(durability));
             this.dataKeyGenerator = database.dataKeyGenerator();
+            this.dataCache = dataCache;
+            this.cacheSequence = cacheSequence;
+            final boolean isCached = dataCache != null && dataCache.isEnabled();
+            readsThroughCache = isCached && transaction.type().isRead();
+            writtenVertices = isCached && transaction.type().isWrite() ? ConcurrentHashMap.newKeySet() : null;
+        }
+
+        @Override
+        Encoding.Partition partition(byte[] key) {
+            return Encoding.Partition.of(key);
+        }
+
+        @Override
+        public byte[] get(byte[] key) {
+            final ByteBuffer owner;
+            if (readsThroughCache && (owner = RocksDataCache.owner(key)) != null && owner.capacity() == key.length) {
+                validateTransactionIsOpen();
+                return dataCache.get(key, cacheSequence, super::get);
+            }
+            return super.get(key);
+        }
+
+        @Override
+        public List<byte[]> multiGet(List<byte[]> keys) {
+            if (readsThroughCache) {
+                validateTransactionIsOpen();
+                return dataCache.multiGet(keys, cacheSequence, super::multiGet);
+            }
+            return super.multiGet(keys);
+        }
+
+        @Override
+        public <G> ResourceIterator<G> iterate(byte[] key, BiFunction<byte[], byte[], G> constructor) {
+            final ByteBuffer owner;
+            if (readsThroughCache && (owner = RocksDataCache.owner(key)) != null && owner.capacity() < key.length) {
+                validateTransactionIsOpen();
+                return dataCache.iterate(key, owner, cacheSequence, constructor, reader -> super.iterate(key, reader));
+            }
+            return super.iterate(key, constructor);
+        }
+
+        @Override
+        public void delete(byte[] key) {
+            super.delete(key);
+            recordWrite(key);
+        }
+
+        @Override
+        public void put(byte[] key, byte[] value) {
+            super.put(key, value);
+            recordWrite(key);
+        }
+
+        @Override
+        public void putUntracked(byte[] key, byte[] value) {
+            super.putUntracked(key, value);
+            recordWrite(key);
+        }
+
+        @Override
+        public void mergeUntracked(byte[] key, byte[] value) {
+            super.mergeUntracked(key, value);
+            recordWrite(key);
+        }
+
+        private void recordWrite(byte[] key) {
+            final ByteBuffer owner;
+            if (writtenVertices != null && (owner = RocksDataCache.owner(key)) != null) writtenVertices.add(owner);
+        }
+
+        /**
+         * Begins the invalidation of the cached vertices that this storage has
+         * written to, which must be completed once its RocksDB transaction has
+         * been committed, or has failed to.
+         *
+         * @return the invalidation of the vertices written by this storage
+         */
+        RocksDataCache.Invalidation invalidateCache() {
+            assert dataCache != null;
+            return dataCache.invalidate(writtenVertices != null ? writtenVertices : emptySet());
         }
 
         @Override
@@ -34,18 +34,25 @@ import grakn.core.reasoner.Reasoner;
 import grakn.core.traversal.TraversalCache;
 import grakn.core.traversal.TraversalEngine;
 import org.rocksdb.RocksDBException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static grakn.common.util.Objects.className;
 import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_CAST;
 import static grakn.core.common.exception.ErrorMessage.Transaction.ILLEGAL_COMMIT;
+import static grakn.core.common.exception.ErrorMessage.Transaction.ILLEGAL_DURABILITY;
 import static grakn.core.common.exception.ErrorMessage.Transaction.SESSION_DATA_VIOLATION;
 import static grakn.core.common.exception.ErrorMessage.Transaction.SESSION_SCHEMA_VIOLATION;
 import static grakn.core.common.exception.ErrorMessage.Transaction.TRANSACTION_CLOSED;
+import static grakn.core.common.parameters.Arguments.Transaction.Durability.SYNC;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 public abstract class RocksTransaction implements Grakn.Transaction {
 
+    private static final Logger LOG = LoggerFactory.getLogger(RocksTransaction.class);
+
     final RocksSession session;
     final Arguments.Transaction.Type type;
     final Context.Transaction context;
@@ -154,12 +161,16 @@ public abstract class RocksTransaction implements Grakn.Transaction {
 
         Schema(RocksSession.Schema session, Arguments.Transaction.Type type, Options.Transaction options) {
             super(session, type, options);
+            if (options.durability().isPresent() && options.durability().get() != SYNC) {
+                throw GraknException.of(ILLEGAL_DURABILITY, options.durability().get());
+            }
 
             schemaStorage = new RocksStorage.Schema(session.database, this);
             SchemaGraph schemaGraph = new SchemaGraph(schemaStorage, type.isRead());
 
-            dataStorage = new RocksStorage.Data(session.database, this);
-            DataGraph dataGraph = new DataGraph(dataStorage, schemaGraph);
+            dataStorage = new RocksStorage.Data(session.database, this, SYNC);
+            DataGraph dataGraph = new DataGraph(dataStorage, schemaGraph, session.database.statisticsCache(),
+                                                type.isRead(), options.readCacheSize(), 0);
 
             graphMgr = new GraphManager(schemaGraph, dataGraph);
             initialise(graphMgr, new TraversalCache(), new LogicCache());
@@ -221,6 +232,7 @@ public abstract class RocksTransaction implements Grakn.Transaction {
                     graphMgr.schema().commit();
                     schemaStorage.rocksTx.commit();
                     session.database.invalidateCache();
+                    commitTrigramIndexes();
                 } catch (RocksDBException e) {
                     rollback();
                     throw GraknException.of(e);
@@ -233,11 +245,34 @@ public abstract class RocksTransaction implements Grakn.Transaction {
             }
         }
 
+        /**
+         * Commits the trigram indexes built or deleted by this transaction into
+         * the data keyspace, after the schema that enables or disables them has
+         * been committed. The two keyspaces cannot be committed atomically, so an
+         * index is only read once the marker of its build has been committed with
+         * it, and an index that is left half way, when the database stops between
+         * the two commits, is repaired when the database is loaded again.
+         *
+         * The data storage of this transaction is not synced on its own when commits
+         * are grouped, so the indexes are committed through the group committer,
+         * which syncs them with the group they join.
+         */
+        private void commitTrigramIndexes() {
+            if (!graphMgr.data().isTrigramIndexModified()) return;
+            try {
+                session.database.groupCommitter.commit(dataStorage.rocksTx, SYNC);
+            } catch (RocksDBException e) {
+                LOG.error("The trigram indexes of the schema committed could not be written, " +
+                                  "and will be repaired when the database is loaded again", e);
+                throw GraknException.of(e);
+            }
+        }
+
         @Override
         public void rollback() {
             try {
                 graphMgr.clear();
-                schemaStorage.rocksTx.rollback();
+                if (!type.isRead()) schemaStorage.rollback();
             } catch (RocksDBException e) {
                 throw GraknException.of(e);
             }
@@ -251,15 +286,21 @@ public abstract class RocksTransaction implements Grakn.Transaction {
     }
 
     public static class Data extends RocksTransaction {
+        // Commits of at least this many writes report the time spent merging and committing them
+        private static final int LARGE_COMMIT_WRITES = 1_000_000;
+
         private final RocksStorage.Data dataStorage;
         private final RocksDatabase.Cache cache;
+        private final Arguments.Transaction.Durability durability;
 
         public Data(RocksSession.Data session, Arguments.Transaction.Type type, Options.Transaction options) {
             super(session, type, options);
 
+            durability = options.durability().orElse(session.database.groupCommitter.defaultDurability());
             cache = session.database.borrowCache();
-            dataStorage = new RocksStorage.Data(session.database, this);
-            DataGraph dataGraph = new DataGraph(dataStorage, cache.schemaGraph());
+            dataStorage = new RocksStorage.Data(session.database, this, durability, session.database.dataCache());
+            DataGraph dataGraph = new DataGraph(dataStorage, cache.schemaGraph(), session.database.statisticsCache(),
+                                                type.isRead(), options.readCacheSize(), options.writeSpillThreshold());
             graphMgr = new GraphManager(cache.schemaGraph(), dataGraph);
 
             initialise(graphMgr, cache.traversal(), cache.logic());
@@ -284,7 +325,8 @@ public abstract class RocksTransaction implements Grakn.Transaction {
          * flush all changes in the graph into storage by calling {@code graph.commit()},
          * which may result in acquiring a lock on the storage to confirm that the data
          * will be committed into storage. The operation will then continue to commit
-         * all the writes into RocksDB by calling {@code rocksTransaction.commit()}.
+         * all the writes into RocksDB through the {@code GroupCommitter} of the database,
+         * which may commit them together with the writes of concurrent transactions.
          * If the operation reaches this state, then the RocksDB commit was successful.
          * We then need let go of the transaction that this resources of hold.
          *
@@ -303,10 +345,27 @@ public abstract class RocksTransaction implements Grakn.Transaction {
                     // TODO: We should benchmark this
                     dataStorage.rocksTx.disableIndexing();
                     conceptMgr.validateThings();
+                    dataStorage.bufferWrites();
                     graphMgr.data().commit();
-                    dataStorage.rocksTx.commit();
+                    final long mergeNanos = System.nanoTime();
+                    final long writes = dataStorage.mergeWriteBuffers();
+                    final long commitNanos = System.nanoTime();
+                    final RocksDataCache.Invalidation invalidation = dataStorage.invalidateCache();
+                    try {
+                        session.database.groupCommitter.commit(dataStorage.rocksTx, durability);
+                    } finally {
+                        invalidation.complete();
+                    }
+                    if (writes >= LARGE_COMMIT_WRITES) {
+                        LOG.info("Merged {} writes into the RocksDB transaction in {} ms, and committed them in {} ms",
+                                 writes, NANOSECONDS.toMillis(commitNanos - mergeNanos),
+                                 NANOSECONDS.toMillis(System.nanoTime() - commitNanos));
+                    }
+                    graphMgr.data().stats().publish();
                     if (graphMgr.data().stats().needsBackgroundCounting()) {
-                        session.database.statisticsBackgroundCounter.needsBackgroundCounting();
+                        session.database.statisticsBackgroundCounter.needsBackgroundCounting(
+                                graphMgr.data().stats().countJobCount()
+                        );
                     }
                 } catch (RocksDBException e) {
                     rollback();
@@ -324,7 +383,7 @@ public abstract class RocksTransaction implements Grakn.Transaction {
         public void rollback() {
             try {
                 graphMgr.clear();
-                dataStorage.rocksTx.rollback();
+                if (!type.isRead()) dataStorage.rollback();
             } catch (RocksDBException e) {
                 throw GraknException.of(e);
             }
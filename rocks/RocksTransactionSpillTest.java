@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.rocks;
+
+import grakn.core.Grakn;
+import grakn.core.common.iterator.ResourceIterator;
+import grakn.core.common.parameters.Arguments;
+import grakn.core.common.parameters.Options;
+import grakn.core.concept.answer.ConceptMap;
+import grakn.core.concept.type.EntityType;
+import grakn.core.test.integration.util.Util;
+import graql.lang.Graql;
+import graql.lang.query.GraqlDefine;
+import graql.lang.query.GraqlInsert;
+import graql.lang.query.GraqlMatch;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RocksTransactionSpillTest {
+
+    private static final Path directory = Paths.get(System.getProperty("user.dir")).resolve("spill-test");
+    private static final String database = "spill-test";
+    private static final int PEOPLE = 2_500;
+    private static final int SPILL_THRESHOLD = 100;
+
+    private static long retainedVertices(Grakn.Transaction tx) {
+        return ((RocksTransaction) tx).graphMgr.data().vertices().count();
+    }
+
+    @Test
+    public void test_match_insert_does_not_retain_the_vertices_it_spills() throws IOException {
+        Util.resetDirectory(directory);
+
+        try (Grakn grakn = RocksGrakn.open(directory)) {
+            grakn.databases().create(database);
+            try (Grakn.Session session = grakn.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (Grakn.Transaction tx = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    final GraqlDefine define = Graql.parseQuery(
+                            "define age sub attribute, value long; person sub entity, owns age;"
+                    );
+                    tx.query().define(define);
+                    tx.commit();
+                }
+            }
+
+            try (Grakn.Session session = grakn.session(database, Arguments.Session.Type.DATA)) {
+                try (Grakn.Transaction tx = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    final EntityType person = tx.concepts().getEntityType("person");
+                    for (int i = 0; i < PEOPLE; i++) person.create();
+                    tx.commit();
+                }
+
+                final Options.Transaction options = new Options.Transaction().writeSpillThreshold(SPILL_THRESHOLD);
+                try (Grakn.Transaction tx = session.transaction(Arguments.Transaction.Type.WRITE, options)) {
+                    final GraqlInsert insert = Graql.parseQuery("match $p isa person; insert $p has age 10;");
+                    final ResourceIterator<ConceptMap> inserted = tx.query().insert(insert);
+
+                    // every person is read by the match, but only those inserted into since the last spill are held
+                    final long retained = retainedVertices(tx);
+                    assertTrue("retained " + retained + " vertices", retained < PEOPLE / 2);
+
+                    // the inserted answers are read again as they are iterated
+                    final List<ConceptMap> answers = inserted.toList();
+                    assertEquals(PEOPLE, answers.size());
+                    answers.forEach(answer -> assertTrue(answer.get("p").isThing()));
+                    tx.commit();
+                }
+
+                try (Grakn.Transaction tx = session.transaction(Arguments.Transaction.Type.READ)) {
+                    final GraqlMatch match = Graql.parseQuery("match $p isa person, has age 10;");
+                    assertEquals(PEOPLE, tx.query().match(match).toList().size());
+                }
+            }
+        }
+    }
+}
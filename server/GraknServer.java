@@ -21,9 +21,9 @@ package grakn.core.server;
 import grabl.tracing.client.GrablTracing;
 import grabl.tracing.client.GrablTracingThreadStatic;
 import grakn.common.concurrent.NamedThreadFactory;
-import grakn.core.Grakn;
 import grakn.core.common.concurrent.ExecutorService;
 import grakn.core.common.exception.GraknException;
+import grakn.core.common.parameters.Options;
 import grakn.core.rocks.RocksGrakn;
 import grakn.core.server.migrator.MigratorClient;
 import grakn.core.server.rpc.GraknRPCService;
@@ -66,7 +66,7 @@ public class GraknServer implements AutoCloseable {
     private static final Logger LOG = LoggerFactory.getLogger(GraknServer.class);
     private static final int MAX_THREADS = Runtime.getRuntime().availableProcessors();
 
-    private final Grakn grakn;
+    private final RocksGrakn grakn;
     private final Server server;
     private final ServerCommand.Start command;
     private final GraknRPCService graknRPCService;
@@ -81,7 +81,7 @@ public class GraknServer implements AutoCloseable {
             LOG.info("Running Grakn Core Server in debug mode.");
         }
 
-        grakn = RocksGrakn.open(command.dataDir());
+        grakn = RocksGrakn.open(command.dataDir(), databaseOptions());
         graknRPCService = new GraknRPCService(grakn);
         migratorRPCService = new MigratorRPCService(grakn);
 
@@ -104,6 +104,25 @@ public class GraknServer implements AutoCloseable {
         }
     }
 
+    private Options.Database databaseOptions() {
+        final Options.Database options = new Options.Database().storageProfile(command.storageProfile());
+        command.storageBlockCacheSize().ifPresent(options::storageBlockCacheSize);
+        command.storageWriteBufferSize().ifPresent(options::storageWriteBufferSize);
+        command.storageMaxOpenFiles().ifPresent(options::storageMaxOpenFiles);
+        command.storageBackgroundJobs().ifPresent(options::storageBackgroundJobs);
+        options.storageGroupCommitWindowMicros(command.storageGroupCommitWindow());
+        options.storageGroupCommitSize(command.storageGroupCommitSize());
+        options.storageDataCacheSize(command.storageDataCacheSize());
+        options.readCacheSize(command.transactionReadCacheSize());
+        options.writeSpillThreshold(command.transactionWriteSpillThreshold());
+        options.statisticsCounterThreads(command.statisticsCounterThreads());
+        options.statisticsCounterBatchSize(command.statisticsCounterBatchSize());
+        options.statisticsSampleInterval(command.statisticsSampleInterval());
+        options.statisticsSampleSize(command.statisticsSampleSize());
+        LOG.info("Using storage profile '{}'", options.storageProfile());
+        return options;
+    }
+
     private void configureTracing() {
         if (this.command.grablTrace()) {
             final GrablTracing grablTracingClient;
@@ -207,7 +226,8 @@ public class GraknServer implements AutoCloseable {
             } else if (command.isImportData()) {
                 ServerCommand.ImportData importDataCommand = command.asImportData();
                 MigratorClient migrator = new MigratorClient(importDataCommand.port());
-                boolean success = migrator.importData(importDataCommand.database(), importDataCommand.filename(), importDataCommand.remapLabels());
+                boolean success = migrator.importData(importDataCommand.database(), importDataCommand.filename(),
+                                                      importDataCommand.remapLabels(), importDataCommand.bulkLoad());
                 System.exit(success ? 0 : 1);
             } else if (command.isExportData()) {
                 ServerCommand.ExportData exportDataCommand = command.asExportData();
@@ -0,0 +1,241 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.server.migrator;
+
+import com.google.protobuf.Parser;
+import grakn.core.common.exception.GraknException;
+import grakn.core.common.parameters.Label;
+import grakn.core.graph.util.Encoding;
+import grakn.core.rocks.RocksBulkLoader;
+import grakn.core.rocks.RocksDatabase;
+import grakn.core.rocks.RocksGrakn;
+import grakn.core.server.Version;
+import grakn.core.server.migrator.proto.DataProto;
+import grakn.core.server.migrator.proto.MigratorProto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static grakn.core.common.exception.ErrorMessage.Database.DATABASE_NOT_FOUND;
+import static grakn.core.common.exception.ErrorMessage.Migrator.FILE_NOT_READABLE;
+import static grakn.core.common.exception.ErrorMessage.Migrator.INVALID_DATA;
+import static grakn.core.common.exception.ErrorMessage.Migrator.TYPE_NOT_FOUND;
+import static grakn.core.graph.util.Encoding.Vertex.Type.ATTRIBUTE_TYPE;
+import static grakn.core.graph.util.Encoding.Vertex.Type.ENTITY_TYPE;
+import static grakn.core.graph.util.Encoding.Vertex.Type.RELATION_TYPE;
+
+/**
+ * Imports data into an empty database through a {@code RocksBulkLoader}, which
+ * writes sorted SST files and ingests them directly, instead of committing the
+ * data through transactions.
+ *
+ * The file is read in two passes: the first puts every entity, relation and
+ * attribute, and the second puts every ownership and role player, once the IIDs
+ * of all the things they refer to are known.
+ */
+public class BulkImporter implements Migrator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BulkImporter.class);
+    private static final Parser<DataProto.Item> ITEM_PARSER = DataProto.Item.parser();
+    private final RocksDatabase database;
+    private final Path filename;
+    private final Map<String, String> remapLabels;
+
+    private final Map<String, byte[]> idMap = new HashMap<>();
+    private final Map<String, Map<String, Label>> roleTypes = new HashMap<>();
+    private long totalThingCount = 0;
+    private long entityCount = 0;
+    private long relationCount = 0;
+    private long attributeCount = 0;
+    private long ownershipCount = 0;
+    private long playerCount = 0;
+    private RocksBulkLoader loader;
+
+    public BulkImporter(final RocksGrakn grakn, final String database, final Path filename, final Map<String, String> remapLabels) {
+        if (!grakn.databases().contains(database)) throw GraknException.of(DATABASE_NOT_FOUND, database);
+        this.database = grakn.databases().get(database);
+        this.filename = filename;
+        this.remapLabels = remapLabels;
+    }
+
+    @Override
+    public MigratorProto.Job.Progress getProgress() {
+        final long current = attributeCount + relationCount + entityCount;
+        return MigratorProto.Job.Progress.newBuilder()
+                .setCurrent(current)
+                .setTotal(Math.max(current, totalThingCount))
+                .build();
+    }
+
+    @Override
+    public void run() {
+        read(item -> {
+            if (item.getItemCase() == DataProto.Item.ItemCase.ENTITY ||
+                    item.getItemCase() == DataProto.Item.ItemCase.RELATION ||
+                    item.getItemCase() == DataProto.Item.ItemCase.ATTRIBUTE) {
+                totalThingCount++;
+            }
+        });
+
+        try (final RocksBulkLoader loader = database.bulkLoader()) {
+            this.loader = loader;
+            read(this::putThing);
+            read(this::putOwnershipsAndRolePlayers);
+            LOG.info("Ingesting {} entities, {} attributes, {} relations ({} players), {} ownerships",
+                     entityCount, attributeCount, relationCount, playerCount, ownershipCount);
+            loader.ingest();
+        }
+    }
+
+    private void read(final Consumer<DataProto.Item> consumer) {
+        try (final InputStream inputStream = new BufferedInputStream(Files.newInputStream(filename))) {
+            DataProto.Item item;
+            while ((item = ITEM_PARSER.parseDelimitedFrom(inputStream)) != null) {
+                consumer.accept(item);
+            }
+        } catch (final IOException e) {
+            throw GraknException.of(FILE_NOT_READABLE, filename.toString());
+        }
+    }
+
+    private void putThing(final DataProto.Item item) {
+        switch (item.getItemCase()) {
+            case HEADER:
+                final DataProto.Item.Header header = item.getHeader();
+                LOG.info("Bulk loading {} from Grakn {} to {} in Grakn {}",
+                         header.getOriginalDatabase(),
+                         header.getGraknVersion(),
+                         database.name(),
+                         Version.VERSION);
+                break;
+            case ENTITY:
+                putEntity(item.getEntity());
+                break;
+            case RELATION:
+                putRelation(item.getRelation());
+                break;
+            case ATTRIBUTE:
+                putAttribute(item.getAttribute());
+                break;
+        }
+    }
+
+    private void putEntity(final DataProto.Item.Entity entityMsg) {
+        final Label entityType = type(entityMsg.getLabel(), ENTITY_TYPE);
+        idMap.put(entityMsg.getId(), loader.putThing(entityType));
+        entityCount++;
+    }
+
+    private void putRelation(final DataProto.Item.Relation relationMsg) {
+        final Label relationType = type(relationMsg.getLabel(), RELATION_TYPE);
+        idMap.put(relationMsg.getId(), loader.putThing(relationType));
+        relationCount++;
+    }
+
+    private void putAttribute(final DataProto.Item.Attribute attributeMsg) {
+        final Label attributeType = type(attributeMsg.getLabel(), ATTRIBUTE_TYPE);
+        final DataProto.ValueObject valueMsg = attributeMsg.getValue();
+        final byte[] iid;
+        switch (valueMsg.getValueCase()) {
+            case STRING:
+                iid = loader.putAttribute(attributeType, valueMsg.getString());
+                break;
+            case BOOLEAN:
+                iid = loader.putAttribute(attributeType, valueMsg.getBoolean());
+                break;
+            case LONG:
+                iid = loader.putAttribute(attributeType, valueMsg.getLong());
+                break;
+            case DOUBLE:
+                iid = loader.putAttribute(attributeType, valueMsg.getDouble());
+                break;
+            case DATETIME:
+                iid = loader.putAttribute(attributeType,
+                                          Instant.ofEpochMilli(valueMsg.getDatetime()).atZone(ZoneId.of("Z")).toLocalDateTime());
+                break;
+            default:
+                throw GraknException.of(INVALID_DATA);
+        }
+        idMap.put(attributeMsg.getId(), iid);
+        attributeCount++;
+    }
+
+    private void putOwnershipsAndRolePlayers(final DataProto.Item item) {
+        switch (item.getItemCase()) {
+            case ENTITY:
+                putOwnerships(item.getEntity().getId(), item.getEntity().getAttributeList());
+                break;
+            case RELATION:
+                putOwnerships(item.getRelation().getId(), item.getRelation().getAttributeList());
+                putRolePlayers(item.getRelation());
+                break;
+            case ATTRIBUTE:
+                putOwnerships(item.getAttribute().getId(), item.getAttribute().getAttributeList());
+                break;
+        }
+    }
+
+    private void putOwnerships(final String ownerId, final List<DataProto.Item.OwnedAttribute> ownedMsgs) {
+        final byte[] ownerIID = idMap.get(ownerId);
+        for (final DataProto.Item.OwnedAttribute ownedMsg : ownedMsgs) {
+            final byte[] attributeIID = idMap.get(ownedMsg.getId());
+            if (ownerIID == null || attributeIID == null) throw GraknException.of(INVALID_DATA);
+            loader.putHas(ownerIID, attributeIID);
+            ownershipCount++;
+        }
+    }
+
+    private void putRolePlayers(final DataProto.Item.Relation relationMsg) {
+        final byte[] relationIID = idMap.get(relationMsg.getId());
+        final Map<String, Label> roles = roleTypes.computeIfAbsent(
+                relabel(relationMsg.getLabel()), relationLabel -> loader.relates(Label.of(relationLabel))
+        );
+        for (final DataProto.Item.Relation.Role roleMsg : relationMsg.getRoleList()) {
+            final Label role = roles.get(relabel(roleMsg.getLabel()));
+            if (role == null) throw GraknException.of(TYPE_NOT_FOUND, relabel(roleMsg.getLabel()), roleMsg.getLabel());
+            for (final DataProto.Item.Relation.Role.Player playerMsg : roleMsg.getPlayerList()) {
+                final byte[] playerIID = idMap.get(playerMsg.getId());
+                if (playerIID == null) throw GraknException.of(INVALID_DATA);
+                loader.putRolePlayer(relationIID, role, playerIID);
+                playerCount++;
+            }
+        }
+    }
+
+    private Label type(final String label, final Encoding.Vertex.Type encoding) {
+        final Label type = Label.of(relabel(label));
+        if (!loader.containsType(type, encoding)) throw GraknException.of(TYPE_NOT_FOUND, relabel(label), label);
+        return type;
+    }
+
+    private String relabel(final String label) {
+        return remapLabels.getOrDefault(label, label);
+    }
+}
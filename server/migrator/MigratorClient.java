@@ -39,11 +39,13 @@ public class MigratorClient {
         stub = MigratorGrpc.newStub(channel);
     }
 
-    public boolean importData(final String database, final String filename, final Map<String, String> remapLabels) {
+    public boolean importData(final String database, final String filename, final Map<String, String> remapLabels,
+                              final boolean bulkLoad) {
         final MigratorProto.ImportData.Req req = MigratorProto.ImportData.Req.newBuilder()
                 .setDatabase(database)
                 .setFilename(filename)
                 .putAllRemapLabels(remapLabels)
+                .setBulkLoad(bulkLoad)
                 .build();
         final ResponseObserver streamObserver = new ResponseObserver(new ProgressPrinter("import"));
         stub.importData(req, streamObserver);
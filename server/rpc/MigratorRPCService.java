@@ -17,8 +17,9 @@
 
 package grakn.core.server.rpc;
 
-import grakn.core.Grakn;
 import grakn.core.common.exception.GraknException;
+import grakn.core.rocks.RocksGrakn;
+import grakn.core.server.migrator.BulkImporter;
 import grakn.core.server.migrator.Exporter;
 import grakn.core.server.migrator.Importer;
 import grakn.core.server.migrator.Migrator;
@@ -38,9 +39,9 @@ import static grakn.core.server.rpc.util.ResponseBuilder.exception;
 public class MigratorRPCService extends MigratorGrpc.MigratorImplBase {
 
     private static final Logger LOG = LoggerFactory.getLogger(MigratorRPCService.class);
-    private final Grakn grakn;
+    private final RocksGrakn grakn;
 
-    public MigratorRPCService(Grakn grakn) {
+    public MigratorRPCService(RocksGrakn grakn) {
         this.grakn = grakn;
     }
 
@@ -52,7 +53,12 @@ public class MigratorRPCService extends MigratorGrpc.MigratorImplBase {
 
     @Override
     public void importData(MigratorProto.ImportData.Req request, StreamObserver<MigratorProto.Job.Res> responseObserver) {
-        Importer importer = new Importer(grakn, request.getDatabase(), Paths.get(request.getFilename()), request.getRemapLabelsMap());
+        Migrator importer;
+        if (request.getBulkLoad()) {
+            importer = new BulkImporter(grakn, request.getDatabase(), Paths.get(request.getFilename()), request.getRemapLabelsMap());
+        } else {
+            importer = new Importer(grakn, request.getDatabase(), Paths.get(request.getFilename()), request.getRemapLabelsMap());
+        }
         runMigrator(importer, responseObserver);
     }
 
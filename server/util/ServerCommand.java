@@ -29,6 +29,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Optional;
 
 import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_CAST;
 
@@ -71,6 +72,86 @@ public interface ServerCommand {
                 description = "Port number of database server in which GRPC clients will connect to")
         private int port;
 
+        @Option(descriptionKey = "storage.profile",
+                names = {"--storage-profile"},
+                defaultValue = ServerDefaults.DEFAULT_STORAGE_PROFILE,
+                description = "Storage profile: default, oltp-read-heavy, bulk-load or low-memory")
+        private String storageProfile;
+
+        @Option(descriptionKey = "storage.block-cache-size",
+                names = {"--storage-block-cache-size"},
+                description = "Size in bytes of the block cache shared by all databases (overrides the storage profile)")
+        private Long storageBlockCacheSize;
+
+        @Option(descriptionKey = "storage.write-buffer-size",
+                names = {"--storage-write-buffer-size"},
+                description = "Size in bytes of the write buffer budget shared by all databases (overrides the storage profile)")
+        private Long storageWriteBufferSize;
+
+        @Option(descriptionKey = "storage.max-open-files",
+                names = {"--storage-max-open-files"},
+                description = "Maximum number of files kept open by each database keyspace (overrides the storage profile)")
+        private Integer storageMaxOpenFiles;
+
+        @Option(descriptionKey = "storage.background-jobs",
+                names = {"--storage-background-jobs"},
+                description = "Number of background flush and compaction jobs (overrides the storage profile)")
+        private Integer storageBackgroundJobs;
+
+        @Option(descriptionKey = "storage.group-commit-window",
+                names = {"--storage-group-commit-window"},
+                defaultValue = ServerDefaults.DEFAULT_STORAGE_GROUP_COMMIT_WINDOW_MICROS + "",
+                description = "Time in microseconds that concurrent data commits wait to be synced to disk together, 0 to disable group commit")
+        private int storageGroupCommitWindow;
+
+        @Option(descriptionKey = "storage.group-commit-size",
+                names = {"--storage-group-commit-size"},
+                defaultValue = ServerDefaults.DEFAULT_STORAGE_GROUP_COMMIT_SIZE + "",
+                description = "Maximum number of data commits synced to disk together")
+        private int storageGroupCommitSize;
+
+        @Option(descriptionKey = "storage.data-cache-size",
+                names = {"--storage-data-cache-size"},
+                defaultValue = ServerDefaults.DEFAULT_STORAGE_DATA_CACHE_SIZE + "",
+                description = "Size in bytes of the cache of persisted vertices shared by the read transactions of each database, 0 to disable it")
+        private long storageDataCacheSize;
+
+        @Option(descriptionKey = "transaction.read-cache-size",
+                names = {"--transaction-read-cache-size"},
+                defaultValue = ServerDefaults.DEFAULT_TRANSACTION_READ_CACHE_SIZE + "",
+                description = "Maximum number of persisted vertices cached by each read transaction, beyond which the least recently used are evicted")
+        private int transactionReadCacheSize;
+
+        @Option(descriptionKey = "transaction.write-spill-threshold",
+                names = {"--transaction-write-spill-threshold"},
+                defaultValue = ServerDefaults.DEFAULT_TRANSACTION_WRITE_SPILL_THRESHOLD + "",
+                description = "Number of vertices held in memory by each write transaction, beyond which they are spilled into its storage write batch, 0 to disable spilling")
+        private int transactionWriteSpillThreshold;
+
+        @Option(descriptionKey = "statistics.counter-threads",
+                names = {"--statistics-counter-threads"},
+                defaultValue = ServerDefaults.DEFAULT_STATISTICS_COUNTER_THREADS + "",
+                description = "Number of threads of each database that count statistics in the background")
+        private int statisticsCounterThreads;
+
+        @Option(descriptionKey = "statistics.counter-batch-size",
+                names = {"--statistics-counter-batch-size"},
+                defaultValue = ServerDefaults.DEFAULT_STATISTICS_COUNTER_BATCH_SIZE + "",
+                description = "Maximum number of count jobs counted in each transaction of the background statistics counter")
+        private int statisticsCounterBatchSize;
+
+        @Option(descriptionKey = "statistics.sample-interval",
+                names = {"--statistics-sample-interval"},
+                defaultValue = ServerDefaults.DEFAULT_STATISTICS_SAMPLE_INTERVAL + "",
+                description = "Interval in seconds at which the values of the attributes of each database are sampled")
+        private int statisticsSampleInterval;
+
+        @Option(descriptionKey = "statistics.sample-size",
+                names = {"--statistics-sample-size"},
+                defaultValue = ServerDefaults.DEFAULT_STATISTICS_SAMPLE_SIZE + "",
+                description = "Maximum number of attributes of each type sampled for the histogram of its values")
+        private int statisticsSampleSize;
+
         @Option(descriptionKey = "grabl.trace",
                 names = {"--grabl-trace"},
                 negatable = true,
@@ -113,6 +194,62 @@ public interface ServerCommand {
             return debug;
         }
 
+        public String storageProfile() {
+            return storageProfile;
+        }
+
+        public Optional<Long> storageBlockCacheSize() {
+            return Optional.ofNullable(storageBlockCacheSize);
+        }
+
+        public Optional<Long> storageWriteBufferSize() {
+            return Optional.ofNullable(storageWriteBufferSize);
+        }
+
+        public Optional<Integer> storageMaxOpenFiles() {
+            return Optional.ofNullable(storageMaxOpenFiles);
+        }
+
+        public Optional<Integer> storageBackgroundJobs() {
+            return Optional.ofNullable(storageBackgroundJobs);
+        }
+
+        public int storageGroupCommitWindow() {
+            return storageGroupCommitWindow;
+        }
+
+        public int storageGroupCommitSize() {
+            return storageGroupCommitSize;
+        }
+
+        public long storageDataCacheSize() {
+            return storageDataCacheSize;
+        }
+
+        public int transactionReadCacheSize() {
+            return transactionReadCacheSize;
+        }
+
+        public int transactionWriteSpillThreshold() {
+            return transactionWriteSpillThreshold;
+        }
+
+        public int statisticsCounterThreads() {
+            return statisticsCounterThreads;
+        }
+
+        public int statisticsCounterBatchSize() {
+            return statisticsCounterBatchSize;
+        }
+
+        public int statisticsSampleInterval() {
+            return statisticsSampleInterval;
+        }
+
+        public int statisticsSampleSize() {
+            return statisticsSampleSize;
+        }
+
         public boolean grablTrace() {
             return grablTrace;
         }
@@ -154,6 +291,10 @@ public interface ServerCommand {
         @Parameters(index = "2..*", arity = "0..*", description = "Schema concept remap labels")
         private Map<String, String> remapLabels = new LinkedHashMap<>();
 
+        @Option(names = {"--bulk-load"},
+                description = "Write the data directly into storage files, bypassing transactions (the database must be empty)")
+        private boolean bulkLoad;
+
         public ImportData(Start startCommand) {
             this.startCommand = startCommand;
         }
@@ -170,6 +311,10 @@ public interface ServerCommand {
             return remapLabels;
         }
 
+        public boolean bulkLoad() {
+            return bulkLoad;
+        }
+
         public int port() {
             return startCommand.port();
         }
@@ -29,6 +29,16 @@ public class ServerDefaults {
     public static final File PROPERTIES_FILE = GRAKN_DIR.resolve("server/conf/grakn.properties").toFile();
     public static final File ASCII_LOGO_FILE = GRAKN_DIR.resolve("server/resources/grakn-core-ascii.txt").toFile();
     public static final int DEFAULT_DATABASE_PORT = 1729;
+    public static final String DEFAULT_STORAGE_PROFILE = "default";
+    public static final int DEFAULT_STORAGE_GROUP_COMMIT_WINDOW_MICROS = 0;
+    public static final int DEFAULT_STORAGE_GROUP_COMMIT_SIZE = 64;
+    public static final long DEFAULT_STORAGE_DATA_CACHE_SIZE = 64L * 1024 * 1024;
+    public static final int DEFAULT_TRANSACTION_READ_CACHE_SIZE = 100_000;
+    public static final int DEFAULT_TRANSACTION_WRITE_SPILL_THRESHOLD = 0;
+    public static final int DEFAULT_STATISTICS_COUNTER_THREADS = 2;
+    public static final int DEFAULT_STATISTICS_COUNTER_BATCH_SIZE = 10_000;
+    public static final int DEFAULT_STATISTICS_SAMPLE_INTERVAL = 60;
+    public static final int DEFAULT_STATISTICS_SAMPLE_SIZE = 1_024;
 
     private static Path getGraknDir() {
         String homeDir;
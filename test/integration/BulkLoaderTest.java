@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.test.integration;
+
+import grakn.core.Grakn;
+import grakn.core.common.exception.GraknException;
+import grakn.core.common.parameters.Arguments;
+import grakn.core.common.parameters.Label;
+import grakn.core.rocks.RocksBulkLoader;
+import grakn.core.rocks.RocksGrakn;
+import grakn.core.test.integration.util.Util;
+import graql.lang.Graql;
+import graql.lang.query.GraqlDefine;
+import graql.lang.query.GraqlInsert;
+import graql.lang.query.GraqlMatch;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class BulkLoaderTest {
+
+    private static Path directory = Paths.get(System.getProperty("user.dir")).resolve("bulk-loader-test");
+    private static String database = "bulk-loader-test";
+
+    private static long count(Grakn.Transaction tx, String query) {
+        final GraqlMatch match = Graql.parseQuery(query);
+        return tx.query().match(match).toList().size();
+    }
+
+    @Test
+    public void test_bulk_loaded_data_can_be_queried_after_restart() throws IOException {
+        Util.resetDirectory(directory);
+
+        try (Grakn grakn = RocksGrakn.open(directory)) {
+            grakn.databases().create(database);
+            try (Grakn.Session session = grakn.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (Grakn.Transaction tx = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    final GraqlDefine define = Graql.parseQuery(
+                            "define " +
+                                    "name sub attribute, value string; " +
+                                    "friendship sub relation, relates friend; " +
+                                    "person sub entity, owns name, plays friendship:friend;"
+                    );
+                    tx.query().define(define);
+                    tx.commit();
+                }
+            }
+
+            try (RocksBulkLoader loader = grakn.databases().get(database).bulkLoader()) {
+                try {
+                    grakn.session(database, Arguments.Session.Type.DATA);
+                    fail();
+                } catch (GraknException ignored) {
+                }
+
+                final Label person = Label.of("person");
+                final Label name = Label.of("name");
+                final byte[] alice = loader.putThing(person);
+                final byte[] bob = loader.putThing(person);
+                final byte[] carol = loader.putThing(person);
+                loader.putHas(alice, loader.putAttribute(name, "alice"));
+                loader.putHas(bob, loader.putAttribute(name, "bob"));
+                loader.putHas(carol, loader.putAttribute(name, "carol"));
+                // the same attribute and ownership put twice are loaded once
+                loader.putHas(alice, loader.putAttribute(name, "alice"));
+
+                final byte[] friendship = loader.putThing(Label.of("friendship"));
+                loader.putRolePlayer(friendship, Label.of("friend", "friendship"), alice);
+                loader.putRolePlayer(friendship, Label.of("friend", "friendship"), bob);
+                loader.ingest();
+            }
+
+            try {
+                grakn.databases().get(database).bulkLoader().close();
+                fail();
+            } catch (GraknException ignored) {
+            }
+        }
+
+        try (Grakn grakn = RocksGrakn.open(directory)) {
+            try (Grakn.Session session = grakn.session(database, Arguments.Session.Type.DATA)) {
+                try (Grakn.Transaction tx = session.transaction(Arguments.Transaction.Type.READ)) {
+                    assertEquals(3, count(tx, "match $x isa person;"));
+                    assertEquals(3, count(tx, "match $x isa name;"));
+                    assertEquals(1, count(tx, "match $x isa person, has name \"alice\";"));
+                    assertEquals(3, count(tx, "match $x isa person, has name $n;"));
+                    assertEquals(2, count(tx, "match (friend: $x, friend: $y) isa friendship;"));
+                    assertEquals(0, count(tx, "match (friend: $x) isa friendship; $x has name \"carol\";"));
+                }
+
+                try (Grakn.Transaction tx = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    final GraqlInsert insert = Graql.parseQuery("insert $x isa person, has name \"dave\";");
+                    tx.query().insert(insert);
+                    tx.commit();
+                }
+
+                try (Grakn.Transaction tx = session.transaction(Arguments.Transaction.Type.READ)) {
+                    assertEquals(4, count(tx, "match $x isa person;"));
+                    assertEquals(4, count(tx, "match $x isa name;"));
+                }
+            }
+        }
+    }
+}
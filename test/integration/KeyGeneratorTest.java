@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2020 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.test.integration;
+
+import grakn.core.Grakn;
+import grakn.core.common.parameters.Arguments;
+import grakn.core.concept.thing.Entity;
+import grakn.core.concept.type.EntityType;
+import grakn.core.rocks.RocksGrakn;
+import grakn.core.test.integration.util.Util;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class KeyGeneratorTest {
+
+    private static Path directory = Paths.get(System.getProperty("user.dir")).resolve("key-generator-test");
+    private static String database = "key-generator-test";
+
+    /**
+     * Creates people from several threads at once, in transactions that
+     * together use up more than one lease of keys per thread, and returns the
+     * IIDs of the people that were committed. Every thread also creates some
+     * people in a transaction that it does not commit.
+     */
+    private static Set<ByteBuffer> createPeople(Grakn grakn, int threads, int transactions, int perTransaction)
+            throws InterruptedException, ExecutionException {
+        final Set<ByteBuffer> iids = ConcurrentHashMap.newKeySet();
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (Grakn.Session session = grakn.session(database, Arguments.Session.Type.DATA)) {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < transactions; i++) {
+                        try (Grakn.Transaction tx = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                            final EntityType person = tx.concepts().getEntityType("person");
+                            for (int j = 0; j < perTransaction; j++) person.create();
+                        }
+                        try (Grakn.Transaction tx = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                            final EntityType person = tx.concepts().getEntityType("person");
+                            final List<Entity> created = new ArrayList<>();
+                            for (int j = 0; j < perTransaction; j++) created.add(person.create());
+                            tx.commit();
+                            // things are given their persisted IIDs when they are committed
+                            created.forEach(entity -> iids.add(ByteBuffer.wrap(entity.getIID())));
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) future.get();
+        } finally {
+            executor.shutdown();
+        }
+        return iids;
+    }
+
+    private static void assertPersonCount(Grakn grakn, long expected) {
+        try (Grakn.Session session = grakn.session(database, Arguments.Session.Type.DATA)) {
+            try (Grakn.Transaction tx = session.transaction(Arguments.Transaction.Type.READ)) {
+                assertEquals(expected, tx.concepts().getEntityType("person").getInstances().count());
+            }
+        }
+    }
+
+    @Test
+    public void test_keys_are_unique_across_lease_refills_and_restarts() throws IOException, InterruptedException, ExecutionException {
+        Util.resetDirectory(directory);
+
+        final Set<ByteBuffer> iidsBeforeRestart;
+        try (Grakn grakn = RocksGrakn.open(directory)) {
+            grakn.databases().create(database);
+            try (Grakn.Session session = grakn.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (Grakn.Transaction tx = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    tx.concepts().putEntityType("person");
+                    tx.commit();
+                }
+            }
+
+            iidsBeforeRestart = createPeople(grakn, 4, 3, 700);
+            assertEquals(4 * 3 * 700, iidsBeforeRestart.size());
+            assertPersonCount(grakn, 4 * 3 * 700);
+        }
+
+        try (Grakn grakn = RocksGrakn.open(directory)) {
+            final Set<ByteBuffer> iidsAfterRestart = createPeople(grakn, 2, 1, 1_500);
+            assertEquals(2 * 1_500, iidsAfterRestart.size());
+            for (ByteBuffer iid : iidsAfterRestart) assertFalse(iidsBeforeRestart.contains(iid));
+            assertPersonCount(grakn, 4 * 3 * 700 + 2 * 1_500);
+        }
+    }
+}
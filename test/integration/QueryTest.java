@@ -31,6 +31,7 @@ import grakn.core.test.integration.util.Util;
 import graql.lang.Graql;
 import graql.lang.query.GraqlDefine;
 import graql.lang.query.GraqlInsert;
+import graql.lang.query.GraqlMatch;
 import graql.lang.query.GraqlUndefine;
 import org.junit.Test;
 
@@ -251,4 +252,76 @@ public class QueryTest {
             }
         }
     }
+
+    @Test
+    public void test_query_contains_through_trigram_index_of_existing_attributes() throws IOException {
+        Util.resetDirectory(directory);
+
+        try (Grakn grakn = RocksGrakn.open(directory)) {
+            grakn.databases().create(database);
+
+            try (Grakn.Session session = grakn.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    final GraqlDefine query = Graql.parseQuery("define name sub attribute, value string; person sub entity, owns name;");
+                    transaction.query().define(query);
+                    transaction.commit();
+                }
+            }
+
+            try (Grakn.Session session = grakn.session(database, Arguments.Session.Type.DATA)) {
+                try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    final GraqlInsert query = Graql.parseQuery(
+                            "insert $a isa person, has name 'alice'; $b isa person, has name 'alicia'; $c isa person, has name 'bob';"
+                    );
+                    transaction.query().insert(query);
+                    transaction.commit();
+                }
+            }
+
+            setTrigramIndex(grakn, true);
+            assertEquals(2, countNamesContaining(grakn, "lic"));
+
+            try (Grakn.Session session = grakn.session(database, Arguments.Session.Type.DATA)) {
+                try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    transaction.query().insert(Graql.parseQuery("insert $m isa person, has name 'malice';").asInsert());
+                    transaction.commit();
+                }
+            }
+            assertEquals(3, countNamesContaining(grakn, "lic"));
+
+            setTrigramIndex(grakn, false);
+            try (Grakn.Session session = grakn.session(database, Arguments.Session.Type.DATA)) {
+                try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    transaction.query().delete(Graql.parseQuery("match $n 'alicia' isa name; delete $n isa name;").asDelete());
+                    transaction.commit();
+                }
+            }
+            setTrigramIndex(grakn, true);
+            assertEquals(2, countNamesContaining(grakn, "lic"));
+        }
+
+        try (Grakn grakn = RocksGrakn.open(directory)) {
+            assertEquals(2, countNamesContaining(grakn, "lic"));
+        }
+    }
+
+    private static void setTrigramIndex(Grakn grakn, boolean isIndexed) {
+        try (Grakn.Session session = grakn.session(database, Arguments.Session.Type.SCHEMA)) {
+            try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                final AttributeType.String name = transaction.concepts().getAttributeType("name").asString();
+                if (isIndexed) name.setTrigramIndex();
+                else name.unsetTrigramIndex();
+                transaction.commit();
+            }
+        }
+    }
+
+    private static int countNamesContaining(Grakn grakn, String substring) {
+        try (Grakn.Session session = grakn.session(database, Arguments.Session.Type.DATA)) {
+            try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+                final GraqlMatch query = Graql.parseQuery("match $n isa name; $n contains '" + substring + "';");
+                return transaction.query().match(query).toList().size();
+            }
+        }
+    }
 }
@@ -260,7 +260,7 @@ public abstract class Predicate<PRED_OP extends Predicate.Operator, PRED_ARG ext
             @Override
             Operator.SubString asSubString() { return this; }
 
-            private static final SubString CONTAINS = new SubString(GraqlToken.Predicate.SubString.CONTAINS) {
+            public static final SubString CONTAINS = new SubString(GraqlToken.Predicate.SubString.CONTAINS) {
                 @Override
                 boolean apply(String vertexValue, Traversal.Parameters.Value predicateValue) {
                     assert predicateValue.isString();
@@ -268,7 +268,7 @@ public abstract class Predicate<PRED_OP extends Predicate.Operator, PRED_ARG ext
                 }
             };
 
-            private static final SubString LIKE = new SubString(GraqlToken.Predicate.SubString.LIKE) {
+            public static final SubString LIKE = new SubString(GraqlToken.Predicate.SubString.LIKE) {
                 @Override
                 boolean apply(String vertexValue, Traversal.Parameters.Value predicateValue) {
                     assert predicateValue.isRegex();
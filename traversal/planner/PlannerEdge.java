@@ -328,7 +328,7 @@ public abstract class PlannerEdge<VERTEX_FROM extends PlannerVertex<?>, VERTEX_T
 
             @Override
             void updateObjective(GraphManager graphMgr) {
-                long cost;
+                double cost;
                 if (to().props().hasIID()) {
                     cost = 1;
                 } else if (predicate.operator().equals(EQ)) {
@@ -341,7 +341,7 @@ public abstract class PlannerEdge<VERTEX_FROM extends PlannerVertex<?>, VERTEX_T
                     }
                 } else {
                     if (!to.props().types().isEmpty()) {
-                        cost = graphMgr.data().stats().thingVertexSum(to.props().types());
+                        cost = graphMgr.data().stats().thingVertexSum(to.props().types()) * to.rangeSelectivity();
                     } else if (!from.props().types().isEmpty()) {
                         Stream<TypeVertex> types = iterate(from.props().types())
                                 .map(l -> graphMgr.schema().getType(l)).filter(TypeVertex::isAttributeType)
@@ -926,6 +926,64 @@ public abstract class PlannerEdge<VERTEX_FROM extends PlannerVertex<?>, VERTEX_T
                 public Thing.RolePlayer.Directional asRolePlayer() {
                     throw GraknException.of(ILLEGAL_CAST, className(this.getClass()), className(Thing.RolePlayer.Directional.class));
                 }
+
+                static double relationCount(GraphManager graphMgr, Set<Label> relationTypes) {
+                    if (relationTypes.isEmpty()) {
+                        return graphMgr.data().stats().thingVertexTransitiveCount(graphMgr.schema().rootRelationType());
+                    } else {
+                        return graphMgr.data().stats().thingVertexSum(relationTypes);
+                    }
+                }
+
+                /**
+                 * Estimates the role instances of a relation from the counts of the
+                 * instances of its role types, for a database without role player counts.
+                 */
+                static double roleCountPerRelation(GraphManager graphMgr, Set<Label> roleTypes) {
+                    double cost = 0;
+                    if (!roleTypes.isEmpty()) {
+                        for (final Label roleType : roleTypes) {
+                            assert roleType.scope().isPresent();
+                            double div = graphMgr.data().stats().thingVertexCount(Label.of(roleType.scope().get()));
+                            if (div > 0) cost += graphMgr.data().stats().thingVertexCount(roleType) / div;
+                        }
+                        cost /= roleTypes.size();
+                    } else {
+                        double div = graphMgr.data().stats().thingVertexTransitiveCount(graphMgr.schema().rootRelationType());
+                        if (div > 0) {
+                            cost = graphMgr.data().stats().thingVertexTransitiveCount(graphMgr.schema().rootRoleType()) / div;
+                        }
+                    }
+                    return cost;
+                }
+
+                /**
+                 * Estimates the role instances played by a player from the counts of the
+                 * instances of its types and role types, for a database without role player counts.
+                 */
+                static double roleCountPerPlayer(GraphManager graphMgr, Set<Label> playerTypes, Set<Label> roleTypes) {
+                    double cost = 0;
+                    if (!roleTypes.isEmpty() && !playerTypes.isEmpty()) {
+                        double div = graphMgr.data().stats().thingVertexSum(playerTypes);
+                        if (div > 0) cost = graphMgr.data().stats().thingVertexSum(roleTypes) / div;
+                    } else {
+                        // TODO: We can refine this by not strictly considering entities being the only divisor
+                        double div = graphMgr.data().stats().thingVertexTransitiveCount(graphMgr.schema().rootEntityType());
+                        if (div > 0) {
+                            cost = graphMgr.data().stats().thingVertexTransitiveCount(graphMgr.schema().rootRoleType()) / div;
+                        }
+                    }
+                    return cost;
+                }
+
+                static double playerCount(GraphManager graphMgr, Set<Label> playerTypes) {
+                    if (playerTypes.isEmpty()) {
+                        // TODO: We can refine this by not strictly considering entities being the only divisor
+                        return graphMgr.data().stats().thingVertexTransitiveCount(graphMgr.schema().rootEntityType());
+                    } else {
+                        return graphMgr.data().stats().thingVertexSum(playerTypes);
+                    }
+                }
             }
 
             static class Has extends Thing {
@@ -1047,11 +1105,18 @@ public abstract class PlannerEdge<VERTEX_FROM extends PlannerVertex<?>, VERTEX_T
                             attributeTypesToOwners.put(graphMgr.schema().rootAttributeType(), set(graphMgr.schema().rootThingType()));
                         }
 
+                        // an equality predicate on the attribute looks up a single value, whose
+                        // number of owners depends on how skewed the ownership of values is
+                        boolean isEquality = from.props().predicates().stream().anyMatch(p -> p.operator().equals(EQ));
                         double cost = 0.0;
                         for (TypeVertex owner : attributeTypesToOwners.keySet()) {
-                            double div = graphMgr.data().stats().thingVertexCount(owner);
-                            if (div > 0) {
-                                cost += graphMgr.data().stats().hasEdgeSum(attributeTypesToOwners.get(owner), owner) / div;
+                            if (isEquality) {
+                                cost += graphMgr.data().stats().hasEdgeEqualityFanOut(attributeTypesToOwners.get(owner), owner);
+                            } else {
+                                double div = graphMgr.data().stats().thingVertexCount(owner);
+                                if (div > 0) {
+                                    cost += graphMgr.data().stats().hasEdgeSum(attributeTypesToOwners.get(owner), owner) / div;
+                                }
                             }
                         }
                         assert !attributeTypesToOwners.isEmpty();
@@ -1097,14 +1162,12 @@ public abstract class PlannerEdge<VERTEX_FROM extends PlannerVertex<?>, VERTEX_T
                     void updateObjective(GraphManager graphMgr) {
                         assert !to.props().hasIID();
                         double cost = 0.0;
-                        if (!to.props().types().isEmpty() && !from.props().types().isEmpty()) {
-                            double div = graphMgr.data().stats().thingVertexSum(from.props().types());
-                            if (div > 0) cost = graphMgr.data().stats().thingVertexSum(to.props().types()) / div;
+                        if (!graphMgr.data().stats().hasRolePlayerCounts()) {
+                            cost = roleCountPerPlayer(graphMgr, from.props().types(), to.props().types());
                         } else {
-                            // TODO: We can refine this by not strictly considering entities being the only divisor
-                            double div = graphMgr.data().stats().thingVertexTransitiveCount(graphMgr.schema().rootEntityType());
+                            double div = playerCount(graphMgr, from.props().types());
                             if (div > 0) {
-                                cost = graphMgr.data().stats().thingVertexTransitiveCount(graphMgr.schema().rootRoleType()) / div;
+                                cost = graphMgr.data().stats().rolePlayerSum(set(), to.props().types(), from.props().types()) / div;
                             }
                         }
                         assert !Double.isNaN(cost);
@@ -1159,20 +1222,16 @@ public abstract class PlannerEdge<VERTEX_FROM extends PlannerVertex<?>, VERTEX_T
                     @Override
                     void updateObjective(GraphManager graphMgr) {
                         assert !to.props().hasIID();
-                        double cost = 0;
-                        if (!to.props().types().isEmpty()) {
-                            cost = 0;
-                            for (final Label roleType : to.props().types()) {
-                                assert roleType.scope().isPresent();
-                                double div = graphMgr.data().stats().thingVertexCount(Label.of(roleType.scope().get()));
-                                if (div > 0) cost += graphMgr.data().stats().thingVertexCount(roleType) / div;
-                            }
-                            assert !to.props().types().isEmpty();
-                            cost /= to.props().types().size();
+                        double cost;
+                        if (!graphMgr.data().stats().hasRolePlayerCounts()) {
+                            cost = roleCountPerRelation(graphMgr, to.props().types());
+                        } else if (to.props().types().isEmpty()) {
+                            cost = graphMgr.data().stats().relationArityMean(from.props().types());
                         } else {
-                            double div = graphMgr.data().stats().thingVertexTransitiveCount(graphMgr.schema().rootRelationType());
+                            cost = 0;
+                            double div = relationCount(graphMgr, from.props().types());
                             if (div > 0) {
-                                cost = graphMgr.data().stats().thingVertexTransitiveCount(graphMgr.schema().rootRoleType()) / div;
+                                cost = graphMgr.data().stats().rolePlayerSum(from.props().types(), to.props().types(), set()) / div;
                             }
                         }
                         assert !Double.isNaN(cost);
@@ -1236,19 +1295,14 @@ public abstract class PlannerEdge<VERTEX_FROM extends PlannerVertex<?>, VERTEX_T
                         double cost = 0;
                         if (to.props().hasIID()) {
                             cost = 1;
-                        } else if (!roleTypes.isEmpty()) {
-                            cost = 0;
-                            for (final Label roleType : roleTypes) {
-                                assert roleType.scope().isPresent();
-                                double div = graphMgr.data().stats().thingVertexCount(Label.of(roleType.scope().get()));
-                                if (div > 0) cost += graphMgr.data().stats().thingVertexCount(roleType) / div;
-                            }
-                            assert !roleTypes.isEmpty();
-                            cost = cost / roleTypes.size();
+                        } else if (!graphMgr.data().stats().hasRolePlayerCounts()) {
+                            cost = roleCountPerRelation(graphMgr, roleTypes);
                         } else {
-                            double div = graphMgr.data().stats().thingVertexTransitiveCount(graphMgr.schema().rootRelationType());
+                            double div = relationCount(graphMgr, from.props().types());
                             if (div > 0) {
-                                cost = graphMgr.data().stats().thingVertexTransitiveCount(graphMgr.schema().rootRoleType()) / div;
+                                cost = graphMgr.data().stats().rolePlayerSum(
+                                        from.props().types(), roleTypes, to.props().types()
+                                ) / div;
                             }
                         }
                         assert !Double.isNaN(cost);
@@ -1267,14 +1321,14 @@ public abstract class PlannerEdge<VERTEX_FROM extends PlannerVertex<?>, VERTEX_T
                         double cost = 0;
                         if (to.props().hasIID()) {
                             cost = 1;
-                        } else if (!roleTypes.isEmpty() && !from.props().types().isEmpty()) {
-                            double div = graphMgr.data().stats().thingVertexSum(from.props().types());
-                            if (div > 0) cost = graphMgr.data().stats().thingVertexSum(roleTypes) / div;
+                        } else if (!graphMgr.data().stats().hasRolePlayerCounts()) {
+                            cost = roleCountPerPlayer(graphMgr, from.props().types(), roleTypes);
                         } else {
-                            // TODO: We can refine this by not strictly considering entities being the only divisor
-                            double div = graphMgr.data().stats().thingVertexTransitiveCount(graphMgr.schema().rootEntityType());
+                            double div = playerCount(graphMgr, from.props().types());
                             if (div > 0) {
-                                cost = graphMgr.data().stats().thingVertexTransitiveCount(graphMgr.schema().rootRoleType()) / div;
+                                cost = graphMgr.data().stats().rolePlayerSum(
+                                        to.props().types(), roleTypes, from.props().types()
+                                ) / div;
                             }
                         }
                         assert !Double.isNaN(cost);
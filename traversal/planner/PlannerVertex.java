@@ -28,6 +28,10 @@ import grakn.core.traversal.graph.TraversalVertex;
 import static grakn.common.util.Objects.className;
 import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_CAST;
 import static grakn.core.traversal.common.Predicate.Operator.Equality.EQ;
+import static grakn.core.traversal.common.Predicate.Operator.Equality.GT;
+import static grakn.core.traversal.common.Predicate.Operator.Equality.GTE;
+import static grakn.core.traversal.common.Predicate.Operator.Equality.LT;
+import static grakn.core.traversal.common.Predicate.Operator.Equality.LTE;
 
 public abstract class PlannerVertex<PROPERTIES extends TraversalVertex.Properties>
         extends TraversalVertex<PlannerEdge.Directional<?, ?>, PROPERTIES> {
@@ -186,6 +190,11 @@ public abstract class PlannerVertex<PROPERTIES extends TraversalVertex.Propertie
 
     public static class Thing extends PlannerVertex<Properties.Thing> {
 
+        // The fractions of the attributes of a type that are estimated to satisfy
+        // range predicates with one bound, or with both a lower and an upper bound
+        static final double HALF_BOUNDED_RANGE_SELECTIVITY = 1.0 / 3;
+        static final double BOUNDED_RANGE_SELECTIVITY = 1.0 / 4;
+
         Thing(Identifier identifier, GraphPlanner planner) {
             super(identifier, planner);
         }
@@ -203,13 +212,28 @@ public abstract class PlannerVertex<PROPERTIES extends TraversalVertex.Propertie
                 if (props().predicates().stream().anyMatch(p -> p.operator().equals(EQ))) {
                     setObjectiveCoefficient(props().types().size());
                 } else {
-                    setObjectiveCoefficient(graph.data().stats().thingVertexSum(props().types()));
+                    setObjectiveCoefficient(graph.data().stats().thingVertexSum(props().types()) * rangeSelectivity());
                 }
             } else {
                 assert !isPotentialStartingVertex;
             }
         }
 
+        /**
+         * Returns the estimated fraction of the attributes of the types of this vertex
+         * that are scanned to satisfy its range predicates, as they are executed as
+         * seeks over the range of values between their bounds.
+         */
+        double rangeSelectivity() {
+            boolean hasLowerBound = props().predicates().stream()
+                    .anyMatch(p -> p.operator().equals(GT) || p.operator().equals(GTE));
+            boolean hasUpperBound = props().predicates().stream()
+                    .anyMatch(p -> p.operator().equals(LT) || p.operator().equals(LTE));
+            if (hasLowerBound && hasUpperBound) return BOUNDED_RANGE_SELECTIVITY;
+            else if (hasLowerBound || hasUpperBound) return HALF_BOUNDED_RANGE_SELECTIVITY;
+            else return 1;
+        }
+
         @Override
         public boolean isThing() { return true; }
 
@@ -36,6 +36,8 @@ import grakn.core.traversal.graph.TraversalEdge;
 import grakn.core.traversal.planner.PlannerEdge;
 import graql.lang.common.GraqlToken;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 
@@ -50,6 +52,8 @@ import static grakn.core.common.iterator.Iterators.link;
 import static grakn.core.common.iterator.Iterators.loop;
 import static grakn.core.common.iterator.Iterators.single;
 import static grakn.core.common.iterator.Iterators.tree;
+import static grakn.core.graph.util.Encoding.Direction.Adjacency.IN;
+import static grakn.core.graph.util.Encoding.Direction.Adjacency.OUT;
 import static grakn.core.graph.util.Encoding.Direction.Edge.BACKWARD;
 import static grakn.core.graph.util.Encoding.Direction.Edge.FORWARD;
 import static grakn.core.graph.util.Encoding.Edge.ISA;
@@ -102,6 +106,27 @@ public abstract class ProcedureEdge<
     public abstract boolean isClosure(GraphManager graphMgr, Vertex<?, ?> fromVertex, Vertex<?, ?> toVertex,
                                       Traversal.Parameters params);
 
+    /**
+     * @return true if this edge can check whether it closes over a whole batch
+     * of candidate vertices at once, through {@code isClosures}
+     */
+    public boolean isBatchClosure() { return false; }
+
+    /**
+     * Checks whether this edge connects a vertex at one end of it to each of a
+     * batch of candidate vertices at its other end, in fewer storage reads than
+     * checking every candidate with {@code isClosure}.
+     *
+     * @param vertex          the vertex at one end of the edge
+     * @param candidates      the candidate vertices at the other end of the edge
+     * @param areCandidatesTo true if the candidates are at the end that the edge goes to
+     * @return whether the edge connects the vertex to each of the candidates, in the same order
+     */
+    public List<Boolean> isClosures(GraphManager graphMgr, Vertex<?, ?> vertex, List<? extends Vertex<?, ?>> candidates,
+                                    boolean areCandidatesTo, Traversal.Parameters params) {
+        throw GraknException.of(ILLEGAL_OPERATION);
+    }
+
     public int order() {
         return order;
     }
@@ -636,6 +661,23 @@ public abstract class ProcedureEdge<
                     super(from, to, order, direction, HAS.name());
                 }
 
+                @Override
+                public boolean isBatchClosure() { return true; }
+
+                @Override
+                public List<Boolean> isClosures(GraphManager graphMgr, Vertex<?, ?> vertex,
+                                                List<? extends Vertex<?, ?>> candidates, boolean areCandidatesTo,
+                                                Traversal.Parameters params) {
+                    // the owner is the start of a forward has edge, and the end of a backward one
+                    boolean isOwner = direction().isForward() == areCandidatesTo;
+                    ThingVertex thing = vertex.asThing();
+                    List<ThingVertex> adjacents = iterate(candidates).map(Vertex::asThing).toList();
+                    List<ThingEdge> edges = isOwner ? thing.outs().edge(HAS, adjacents) : thing.ins().edge(HAS, adjacents);
+                    List<Boolean> closures = new ArrayList<>(edges.size());
+                    for (ThingEdge edge : edges) closures.add(edge != null);
+                    return closures;
+                }
+
                 static class Forward extends Has {
 
                     Forward(ProcedureVertex.Thing from, ProcedureVertex.Thing to, int order) {
@@ -660,8 +702,8 @@ public abstract class ProcedureEdge<
                         } else if (!to.props().types().isEmpty()) {
                             if ((eq = iterate(to.props().predicates())
                                     .filter(p -> p.operator().equals(grakn.core.traversal.common.Predicate.Operator.Equality.EQ)).firstOrNull()) != null) {
-                                iter = to.iteratorOfAttributes(graphMgr, params, eq)
-                                        .filter(a -> owner.outs().edge(HAS, a) != null);
+                                List<? extends AttributeVertex<?>> atts = to.iteratorOfAttributes(graphMgr, params, eq).toList();
+                                iter = iterate(owner.outs().edge(HAS, atts)).noNulls().map(e -> e.to().asAttribute());
                             } else {
                                 iter = iterate(to.props().types()).map(l -> graphMgr.schema().getType(l)).noNulls()
                                         .flatMap(t -> owner.outs().edge(HAS, PrefixIID.of(VERTEX_ATTRIBUTE), t.iid()).to())
@@ -859,6 +901,38 @@ public abstract class ProcedureEdge<
                                                   Vertex<?, ?> toVertex, Traversal.Parameters params,
                                                   Set<ThingVertex> withinScope);
 
+                /**
+                 * Checks whether a player plays a role, that is not within scope, in a
+                 * relation, by scanning the role player edges of whichever of the two
+                 * has fewer of them. Both are bound at this point, so a player that
+                 * plays millions of roles is never scanned to find a single edge that
+                 * its relation would lead to, nor the other way around.
+                 */
+                boolean isRolePlayer(GraphManager graphMgr, ThingVertex rel, ThingVertex player,
+                                     Set<ThingVertex> withinScope) {
+                    if (rel.degree(ROLEPLAYER, OUT) <= player.degree(ROLEPLAYER, IN)) {
+                        if (!roleTypes.isEmpty()) {
+                            return iterate(roleTypes).map(l -> graphMgr.schema().getType(l)).anyMatch(
+                                    rt -> rel.outs().edge(ROLEPLAYER, rt.iid(), player.iid().prefix(), player.iid().type()).get()
+                                            .anyMatch(e -> e.to().equals(player) && !withinScope.contains(e.optimised().get())));
+                        } else {
+                            return rel.outs().edge(ROLEPLAYER).get().anyMatch(
+                                    e -> e.to().equals(player) && !withinScope.contains(e.optimised().get())
+                            );
+                        }
+                    } else {
+                        if (!roleTypes.isEmpty()) {
+                            return iterate(roleTypes).map(l -> graphMgr.schema().getType(l)).anyMatch(
+                                    rt -> player.ins().edge(ROLEPLAYER, rt.iid(), rel.iid().prefix(), rel.iid().type()).get()
+                                            .anyMatch(e -> e.from().equals(rel) && !withinScope.contains(e.optimised().get())));
+                        } else {
+                            return player.ins().edge(ROLEPLAYER).get().anyMatch(
+                                    e -> e.from().equals(rel) && !withinScope.contains(e.optimised().get())
+                            );
+                        }
+                    }
+                }
+
                 @Override
                 public ResourceIterator<? extends Vertex<?, ?>> branchTo(GraphManager graphMgr,
                                                                          Vertex<?, ?> fromVertex,
@@ -932,17 +1006,7 @@ public abstract class ProcedureEdge<
 
                     public boolean isClosure(GraphManager graphMgr, Vertex<?, ?> fromVertex,
                                              Vertex<?, ?> toVertex, Traversal.Parameters params, Set<ThingVertex> withinScope) {
-                        ThingVertex rel = fromVertex.asThing();
-                        ThingVertex player = toVertex.asThing();
-                        if (!roleTypes.isEmpty()) {
-                            return iterate(roleTypes).map(l -> graphMgr.schema().getType(l)).anyMatch(
-                                    rt -> rel.outs().edge(ROLEPLAYER, rt.iid(), player.iid().prefix(), player.iid().type()).get()
-                                            .anyMatch(e -> e.to().equals(player) && !withinScope.contains(e.optimised().get())));
-                        } else {
-                            return rel.outs().edge(ROLEPLAYER).get().anyMatch(
-                                    e -> e.to().equals(player) && !withinScope.contains(e.optimised().get())
-                            );
-                        }
+                        return isRolePlayer(graphMgr, fromVertex.asThing(), toVertex.asThing(), withinScope);
                     }
                 }
 
@@ -989,17 +1053,7 @@ public abstract class ProcedureEdge<
 
                     public boolean isClosure(GraphManager graphMgr, Vertex<?, ?> fromVertex,
                                              Vertex<?, ?> toVertex, Traversal.Parameters params, Set<ThingVertex> withinScope) {
-                        ThingVertex player = fromVertex.asThing();
-                        ThingVertex rel = toVertex.asThing();
-                        if (!roleTypes.isEmpty()) {
-                            return iterate(roleTypes).map(l -> graphMgr.schema().getType(l)).anyMatch(
-                                    rt -> player.ins().edge(ROLEPLAYER, rt.iid(), rel.iid().prefix(), rel.iid().type()).get()
-                                            .anyMatch(e -> e.from().equals(rel) && !withinScope.contains(e.optimised().get())));
-                        } else {
-                            return player.ins().edge(ROLEPLAYER).get().anyMatch(
-                                    e -> e.from().equals(rel) && !withinScope.contains(e.optimised().get())
-                            );
-                        }
+                        return isRolePlayer(graphMgr, toVertex.asThing(), fromVertex.asThing(), withinScope);
                     }
                 }
             }
@@ -23,6 +23,7 @@ import grakn.core.common.iterator.ResourceIterator;
 import grakn.core.common.parameters.Label;
 import grakn.core.graph.GraphManager;
 import grakn.core.graph.edge.ThingEdge;
+import grakn.core.graph.iid.IndexIID;
 import grakn.core.graph.vertex.AttributeVertex;
 import grakn.core.graph.vertex.ThingVertex;
 import grakn.core.graph.vertex.TypeVertex;
@@ -33,14 +34,18 @@ import grakn.core.traversal.common.Predicate;
 import grakn.core.traversal.graph.TraversalVertex;
 
 import javax.annotation.Nullable;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
+import java.util.regex.Pattern;
 
 import static grakn.common.collection.Collections.list;
 import static grakn.common.collection.Collections.set;
@@ -48,15 +53,23 @@ import static grakn.common.util.Objects.className;
 import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_CAST;
 import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
 import static grakn.core.common.exception.ErrorMessage.TypeRead.TYPE_NOT_FOUND;
+import static grakn.core.common.iterator.Iterators.empty;
 import static grakn.core.common.iterator.Iterators.iterate;
 import static grakn.core.common.iterator.Iterators.link;
 import static grakn.core.common.iterator.Iterators.loop;
 import static grakn.core.common.iterator.Iterators.single;
 import static grakn.core.graph.util.Encoding.Edge.Type.RELATES;
 import static grakn.core.graph.util.Encoding.Edge.Type.SUB;
+import static grakn.core.graph.util.Encoding.ValueType.DOUBLE_PRECISION;
 import static grakn.core.graph.util.Encoding.ValueType.STRING;
 import static grakn.core.graph.util.Encoding.Vertex.Type.RELATION_TYPE;
 import static grakn.core.traversal.common.Predicate.Operator.Equality.EQ;
+import static grakn.core.traversal.common.Predicate.Operator.Equality.GT;
+import static grakn.core.traversal.common.Predicate.Operator.Equality.GTE;
+import static grakn.core.traversal.common.Predicate.Operator.Equality.LT;
+import static grakn.core.traversal.common.Predicate.Operator.Equality.LTE;
+import static grakn.core.traversal.common.Predicate.Operator.SubString.CONTAINS;
+import static grakn.core.traversal.common.Predicate.Operator.SubString.LIKE;
 import static java.util.Collections.emptyIterator;
 
 public abstract class ProcedureVertex<
@@ -155,9 +168,14 @@ public abstract class ProcedureVertex<
             assert !props().types().isEmpty();
             ResourceIterator<? extends ThingVertex> iter;
             Optional<Predicate.Value<?>> eq;
+            Set<String> trigrams;
 
             if ((eq = props().predicates().stream().filter(p -> p.operator().equals(EQ)).findFirst()).isPresent()) {
                 iter = iteratorOfAttributes(graphMgr, parameters, eq.get());
+            } else if (props().predicates().stream().anyMatch(p -> isRange(p.operator()))) {
+                iter = iteratorOfAttributeRanges(graphMgr, parameters);
+            } else if (!(trigrams = requiredTrigrams(parameters)).isEmpty()) {
+                iter = iteratorOfAttributeTrigrams(graphMgr, trigrams);
             } else {
                 iter = iterate(props().types().iterator())
                         .map(l -> graphMgr.schema().getType(l)).noNulls()
@@ -234,6 +252,218 @@ public abstract class ProcedureVertex<
                     .map(t -> attributeVertex(graphMgr, t, values.iterator().next())).noNulls();
         }
 
+        /**
+         * Returns the attributes of the types of this vertex, whose values may satisfy its
+         * range predicates, by seeking over the range of values between their tightest
+         * bounds. The range may be wider than the predicates, to account for the precision
+         * of double comparisons, so the predicates still have to be applied on the result.
+         */
+        ResourceIterator<? extends ThingVertex> iteratorOfAttributeRanges(GraphManager graphMgr,
+                                                                          Traversal.Parameters parameters) {
+            assert id().isVariable();
+            List<Traversal.Parameters.Value> lowerBounds = new ArrayList<>();
+            List<Traversal.Parameters.Value> upperBounds = new ArrayList<>();
+            for (Predicate.Value<?> predicate : props().predicates()) {
+                if (predicate.operator().equals(GT) || predicate.operator().equals(GTE)) {
+                    lowerBounds.addAll(parameters.getValues(id().asVariable(), predicate));
+                } else if (predicate.operator().equals(LT) || predicate.operator().equals(LTE)) {
+                    upperBounds.addAll(parameters.getValues(id().asVariable(), predicate));
+                }
+            }
+            return iterate(props().types().iterator())
+                    .map(l -> graphMgr.schema().getType(l)).noNulls().filter(TypeVertex::isAttributeType)
+                    .flatMap(t -> attributeRange(graphMgr, t, lowerBounds, upperBounds));
+        }
+
+        private ResourceIterator<ThingVertex> attributeRange(GraphManager graphMgr, TypeVertex type,
+                                                             List<Traversal.Parameters.Value> lowerBounds,
+                                                             List<Traversal.Parameters.Value> upperBounds) {
+            assert type.isAttributeType();
+            List<Traversal.Parameters.Value> bounds = new ArrayList<>(lowerBounds);
+            bounds.addAll(upperBounds);
+            switch (type.valueType()) {
+                case LONG:
+                    if (!bounds.stream().allMatch(v -> v.isLong() || v.isDouble())) {
+                        return empty();
+                    } else if (bounds.stream().anyMatch(v -> v.isDouble() && v.getDouble().isNaN())) {
+                        return graphMgr.data().get(type);
+                    }
+                    Long lowerLong = null, upperLong = null;
+                    for (Traversal.Parameters.Value v : lowerBounds) {
+                        long bound = v.isLong() ? v.getLong()
+                                : (long) Math.floor(v.getDouble() - 2 * Math.ulp(v.getDouble()) - 1);
+                        if (lowerLong == null || bound > lowerLong) lowerLong = bound;
+                    }
+                    for (Traversal.Parameters.Value v : upperBounds) {
+                        long bound = v.isLong() ? v.getLong()
+                                : (long) Math.ceil(v.getDouble() + 2 * Math.ulp(v.getDouble()) + 1);
+                        if (upperLong == null || bound < upperLong) upperLong = bound;
+                    }
+                    return graphMgr.data().get(type, lowerLong, upperLong).map(v -> v);
+                case DOUBLE:
+                    if (!bounds.stream().allMatch(v -> v.isLong() || v.isDouble())) {
+                        return empty();
+                    } else if (bounds.stream().anyMatch(v -> v.isDouble() && v.getDouble().isNaN())) {
+                        return graphMgr.data().get(type);
+                    }
+                    Double lowerDouble = null, upperDouble = null;
+                    for (Traversal.Parameters.Value v : lowerBounds) {
+                        double bound = (v.isLong() ? v.getLong() : v.getDouble()) - DOUBLE_PRECISION;
+                        if (lowerDouble == null || bound > lowerDouble) lowerDouble = bound;
+                    }
+                    for (Traversal.Parameters.Value v : upperBounds) {
+                        double bound = (v.isLong() ? v.getLong() : v.getDouble()) + DOUBLE_PRECISION;
+                        if (upperDouble == null || bound < upperDouble) upperDouble = bound;
+                    }
+                    return graphMgr.data().get(type, lowerDouble, upperDouble).map(v -> v);
+                case DATETIME:
+                    if (!bounds.stream().allMatch(Traversal.Parameters.Value::isDateTime)) {
+                        return empty();
+                    }
+                    LocalDateTime lowerDateTime = null, upperDateTime = null;
+                    for (Traversal.Parameters.Value v : lowerBounds) {
+                        if (lowerDateTime == null || v.getDateTime().isAfter(lowerDateTime)) lowerDateTime = v.getDateTime();
+                    }
+                    for (Traversal.Parameters.Value v : upperBounds) {
+                        if (upperDateTime == null || v.getDateTime().isBefore(upperDateTime)) upperDateTime = v.getDateTime();
+                    }
+                    return graphMgr.data().get(type, lowerDateTime, upperDateTime).map(v -> v);
+                case STRING:
+                    if (!bounds.stream().allMatch(Traversal.Parameters.Value::isString)) {
+                        return empty();
+                    } else if (!bounds.stream().allMatch(v -> isBelowSurrogates(v.getString()))) {
+                        return graphMgr.data().get(type);
+                    }
+                    String lowerString = null, upperString = null;
+                    for (Traversal.Parameters.Value v : lowerBounds) {
+                        if (lowerString == null || v.getString().compareTo(lowerString) > 0) lowerString = v.getString();
+                    }
+                    for (Traversal.Parameters.Value v : upperBounds) {
+                        if (upperString == null || v.getString().compareTo(upperString) < 0) upperString = v.getString();
+                    }
+                    return graphMgr.data().get(type, lowerString, upperString).map(v -> v);
+                default:
+                    return graphMgr.data().get(type);
+            }
+        }
+
+        /**
+         * Returns the attributes of the types of this vertex, whose values may satisfy its
+         * substring predicates, through the trigram index of the types that have one. The
+         * types without a trigram index are scanned, and the predicates still have to be
+         * applied on the result.
+         */
+        ResourceIterator<? extends ThingVertex> iteratorOfAttributeTrigrams(GraphManager graphMgr, Set<String> trigrams) {
+            return iterate(props().types().iterator())
+                    .map(l -> graphMgr.schema().getType(l)).noNulls().filter(TypeVertex::isAttributeType)
+                    .<ThingVertex>flatMap(t -> {
+                        if (!t.valueType().equals(STRING)) return empty();
+                        else if (!graphMgr.data().hasTrigramIndex(t)) return graphMgr.data().get(t);
+                        else return graphMgr.data().getByTrigrams(t, trigrams).map(v -> v);
+                    });
+        }
+
+        /**
+         * Returns the trigrams that any value satisfying the substring predicates of this
+         * vertex must contain: those of the strings of the {@code contains} predicates, and
+         * those of the literals that every match of the {@code like} predicates contain.
+         */
+        private Set<String> requiredTrigrams(Traversal.Parameters parameters) {
+            Set<String> trigrams = new HashSet<>();
+            for (Predicate.Value<?> predicate : props().predicates()) {
+                if (predicate.operator().equals(CONTAINS)) {
+                    for (Traversal.Parameters.Value value : parameters.getValues(id().asVariable(), predicate)) {
+                        trigrams.addAll(IndexIID.Trigram.trigrams(value.getString()));
+                    }
+                } else if (predicate.operator().equals(LIKE)) {
+                    for (Traversal.Parameters.Value value : parameters.getValues(id().asVariable(), predicate)) {
+                        for (String literal : requiredLiterals(value.getRegex())) {
+                            trigrams.addAll(IndexIID.Trigram.trigrams(literal));
+                        }
+                    }
+                }
+            }
+            return trigrams;
+        }
+
+        /**
+         * Returns the literal strings that every string fully matching a regular expression
+         * contains. This is conservative: literals are only taken outside of groups, classes
+         * and escapes, without the character a quantifier may make optional, and none are
+         * taken from alternations and patterns with flags.
+         */
+        private static List<String> requiredLiterals(Pattern regex) {
+            List<String> literals = new ArrayList<>();
+            String pattern = regex.pattern();
+            if (regex.flags() != 0 || pattern.contains("|") || pattern.contains("(?") || pattern.contains("\\Q")) {
+                return literals;
+            }
+            StringBuilder literal = new StringBuilder();
+            int groupDepth = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                switch (c) {
+                    case '\\':
+                        i++;
+                        break;
+                    case '[':
+                        while (++i < pattern.length() && pattern.charAt(i) != ']') {
+                            if (pattern.charAt(i) == '\\') i++;
+                        }
+                        break;
+                    case '(':
+                        groupDepth++;
+                        break;
+                    case ')':
+                        groupDepth--;
+                        break;
+                    case '{':
+                        while (i + 1 < pattern.length() && pattern.charAt(i + 1) != '}') i++;
+                        i++;
+                        removeLastCharacter(literal);
+                        break;
+                    case '?':
+                    case '*':
+                        removeLastCharacter(literal);
+                        break;
+                    case '+':
+                    case '.':
+                    case '^':
+                    case '$':
+                        break;
+                    default:
+                        if (groupDepth == 0) {
+                            literal.append(c);
+                            continue;
+                        }
+                }
+                if (literal.length() > 0) literals.add(literal.toString());
+                literal.setLength(0);
+            }
+            if (literal.length() > 0) literals.add(literal.toString());
+            return literals;
+        }
+
+        private static void removeLastCharacter(StringBuilder literal) {
+            if (literal.length() > 0) literal.setLength(literal.length() - 1);
+            if (literal.length() > 0 && Character.isHighSurrogate(literal.charAt(literal.length() - 1))) {
+                literal.setLength(literal.length() - 1);
+            }
+        }
+
+        /**
+         * Strings are compared by their UTF-16 characters, but the storage sorts them by
+         * their UTF-8 bytes. Both orders only differ on characters from U+D800 upwards, so
+         * a bound made of characters below U+D800 selects the same strings in both orders.
+         */
+        private static boolean isBelowSurrogates(String value) {
+            return value.chars().allMatch(c -> c < Character.MIN_SURROGATE);
+        }
+
+        private static boolean isRange(Predicate.Operator operator) {
+            return operator.equals(GT) || operator.equals(GTE) || operator.equals(LT) || operator.equals(LTE);
+        }
+
         private AttributeVertex<?> attributeVertex(GraphManager graphMgr, TypeVertex type,
                                                    Traversal.Parameters.Value value) {
             assert type.isAttributeType();
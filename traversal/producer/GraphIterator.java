@@ -29,8 +29,12 @@ import grakn.core.traversal.common.VertexMap;
 import grakn.core.traversal.procedure.GraphProcedure;
 import grakn.core.traversal.procedure.ProcedureEdge;
 
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
@@ -40,12 +44,15 @@ import static java.util.stream.Collectors.toMap;
 
 public class GraphIterator implements ResourceIterator<VertexMap> {
 
+    private static final int CLOSURE_BATCH_SIZE = 32;
+
     private final GraphProcedure procedure;
     private final Traversal.Parameters parameters;
     private final Map<Identifier, ResourceIterator<? extends Vertex<?, ?>>> iterators;
     private final Map<Identifier, Vertex<?, ?>> answer;
     private final Map<Identifier.Variable, Set<ThingVertex>> scoped;
     private final Map<Identifier, ThingVertex> roles;
+    private final Map<Integer, ClosureBatchingIterator> closureBatches;
     private final SeekStack seekStack;
     private final int edgeCount;
     private final GraphManager graphMgr;
@@ -64,6 +71,7 @@ public class GraphIterator implements ResourceIterator<VertexMap> {
         this.iterators = new HashMap<>();
         this.scoped = new HashMap<>();
         this.roles = new HashMap<>();
+        this.closureBatches = new HashMap<>();
         this.answer = new HashMap<>();
         this.answer.put(procedure.startVertex().id(), start);
         this.seekStack = new SeekStack(edgeCount);
@@ -210,7 +218,10 @@ public class GraphIterator implements ResourceIterator<VertexMap> {
             Set<ThingVertex> withinScope = scoped.get(edge.asRolePlayer().scope());
             return edge.asRolePlayer().isClosure(graphMgr, fromVertex, toVertex, parameters, withinScope);
         } else {
-            return edge.isClosure(graphMgr, fromVertex, toVertex, parameters);
+            ClosureBatchingIterator batch = closureBatches.get(edge.order());
+            Boolean isClosure = batch != null ? batch.isClosure(fromVertex, toVertex) : null;
+            if (isClosure != null) return isClosure;
+            else return edge.isClosure(graphMgr, fromVertex, toVertex, parameters);
         }
     }
 
@@ -246,6 +257,15 @@ public class GraphIterator implements ResourceIterator<VertexMap> {
             //       an entire tree, where none of the leaves are referenced by name
             toIter = toIter.limit(1);
         }
+        if (edge.order() < edgeCount) {
+            ProcedureEdge<?, ?> closureEdge = procedure.edge(edge.order() + 1);
+            if (closureEdge.isClosureEdge() && closureEdge.isBatchClosure() &&
+                    (closureEdge.from().id().equals(edge.to().id()) || closureEdge.to().id().equals(edge.to().id()))) {
+                ClosureBatchingIterator batchingIter = new ClosureBatchingIterator(toIter, edge, closureEdge);
+                closureBatches.put(closureEdge.order(), batchingIter);
+                toIter = batchingIter;
+            }
+        }
         return toIter;
     }
 
@@ -288,6 +308,72 @@ public class GraphIterator implements ResourceIterator<VertexMap> {
     @Override
     public void recycle() {}
 
+    /**
+     * Fetches the vertices that a branch edge goes to in batches, and checks the
+     * closure edge that follows the branch edge for every vertex of a batch at
+     * once, so that the closure edge reads the storage once per batch, rather
+     * than once per vertex. The other end of the closure edge is bound before
+     * the branch edge, so it stays the same for every vertex of the iterator.
+     */
+    private class ClosureBatchingIterator implements ResourceIterator<Vertex<?, ?>> {
+
+        private final ResourceIterator<? extends Vertex<?, ?>> iterator;
+        private final ProcedureEdge<?, ?> closureEdge;
+        private final boolean areCandidatesTo;
+        private final Identifier otherID;
+        private final ArrayDeque<Vertex<?, ?>> batch;
+        private final Map<Vertex<?, ?>, Boolean> closures;
+        private Vertex<?, ?> other;
+
+        private ClosureBatchingIterator(ResourceIterator<? extends Vertex<?, ?>> iterator,
+                                        ProcedureEdge<?, ?> branchEdge, ProcedureEdge<?, ?> closureEdge) {
+            this.iterator = iterator;
+            this.closureEdge = closureEdge;
+            this.areCandidatesTo = closureEdge.to().id().equals(branchEdge.to().id());
+            this.otherID = areCandidatesTo ? closureEdge.from().id() : closureEdge.to().id();
+            this.batch = new ArrayDeque<>();
+            this.closures = new HashMap<>();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (batch.isEmpty()) fetch();
+            return !batch.isEmpty();
+        }
+
+        @Override
+        public Vertex<?, ?> next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            return batch.removeFirst();
+        }
+
+        private void fetch() {
+            List<Vertex<?, ?>> candidates = new ArrayList<>(CLOSURE_BATCH_SIZE);
+            while (candidates.size() < CLOSURE_BATCH_SIZE && iterator.hasNext()) candidates.add(iterator.next());
+            closures.clear();
+            if (candidates.isEmpty()) return;
+            other = answer.get(otherID);
+            List<Boolean> isClosures = closureEdge.isClosures(graphMgr, other, candidates, areCandidatesTo, parameters);
+            for (int i = 0; i < candidates.size(); i++) closures.put(candidates.get(i), isClosures.get(i));
+            batch.addAll(candidates);
+        }
+
+        /**
+         * @return whether the closure edge connects the given vertices, or
+         * {@code null} if they were not checked in the current batch
+         */
+        @Nullable
+        private Boolean isClosure(Vertex<?, ?> fromVertex, Vertex<?, ?> toVertex) {
+            if (!(areCandidatesTo ? fromVertex : toVertex).equals(other)) return null;
+            return closures.get(areCandidatesTo ? toVertex : fromVertex);
+        }
+
+        @Override
+        public void recycle() {
+            iterator.recycle();
+        }
+    }
+
     private static class SeekStack {
 
         private boolean[] seek;